@@ -0,0 +1,648 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.cps.etcd.internal;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.Watch.Listener;
+import io.etcd.jetcd.Watch.Watcher;
+import io.etcd.jetcd.kv.DeleteResponse;
+import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.kv.PutResponse;
+import io.etcd.jetcd.options.DeleteOption;
+import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.OptionsUtil;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchEvent;
+import io.etcd.jetcd.watch.WatchEvent.EventType;
+import io.etcd.jetcd.watch.WatchResponse;
+
+/**
+ * An etcd CPS which serves reads from a local copy of the CPS properties in etcd.
+ *
+ * The DSS and the credentials store share the etcd keyspace, so the CPS properties
+ * are the key ranges either side of their prefixes. The ranges are read at one
+ * revision, and etcd watches are then started from that revision, so every change
+ * made afterwards by any process is applied to the local copy. Writes go to etcd
+ * first and are then applied locally, so a process always reads back its own
+ * changes.
+ *
+ * Each cached value remembers the etcd revision it was written at, so a late
+ * write-through can never overwrite a newer value which has already arrived from
+ * the watch. A write-through older than the revision the watch of its key range has
+ * reached has already been seen by the watch, so it is ignored. A deleted property
+ * leaves a tombstone holding the revision of the delete until its watch has passed
+ * that revision, so a write-through can not undo the delete in the meantime.
+ * Tombstones do not count towards the maximum size of the cache.
+ *
+ * The number of cached properties is limited. Once a property has been evicted the
+ * cache can no longer tell that a missing property does not exist in etcd, so reads
+ * of properties which are not cached, and prefix reads, go to etcd until the cache
+ * is next reloaded.
+ *
+ * If the watch fails, the cache is reloaded the next time it is used.
+ *
+ * The cache is turned on using the 'framework.cps.etcd.cache.is.enabled' property.
+ */
+public class Etcd3CachedConfigurationPropertyStore extends Etcd3ConfigurationPropertyStore {
+
+    /**
+     * The CPS property which controls whether the etcd CPS cache is enabled or not.
+     */
+    public static final String FEATURE_FLAG_CPS_PROP_CACHE_ENABLED = "framework.cps.etcd.cache.is.enabled";
+
+    /**
+     * The CPS property which sets the maximum number of properties held in the cache.
+     */
+    public static final String CPS_PROP_CACHE_MAX_ENTRIES = "framework.cps.etcd.cache.max.entries";
+
+    public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+    // Keys which live in the same etcd but which are not CPS properties, so are never cached.
+    // These are in key order, as the CPS key ranges are the gaps between them.
+    private static final String[] UNCACHED_PREFIXES = { "dss.", "secure." };
+
+    // A range end of "\0" means every key from the start of the range onwards
+    private static final ByteSequence ALL_KEYS = ByteSequence.from("\0", UTF_8);
+
+    private static final List<KeyRange> CPS_KEY_RANGES = getCpsKeyRanges();
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final Watch watchClient;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, CachedProperty> propertyCache = new ConcurrentHashMap<>();
+
+    // The keys of the tombstones in the cache, which are purged once the watch has passed them
+    private final ConcurrentLinkedQueue<String> tombstoneKeys = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tombstoneCount = new AtomicInteger();
+
+    // True while the cache holds every cacheable property in etcd,
+    // so a property which is not in the cache does not exist
+    private volatile boolean isComplete = false;
+
+    private final Object loadLock = new Object();
+    // The listeners of the current watches, one for each of the CPS key ranges
+    private volatile List<CacheListener> currentListeners = Collections.emptyList();
+    private volatile boolean resyncRequired = true;
+    private volatile boolean shutdown = false;
+
+    private volatile long revision = 0;
+
+    // The revision the cache was last loaded at
+    private volatile long loadedRevision = 0;
+    private volatile long lastUpdatedTimeMillis = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    public Etcd3CachedConfigurationPropertyStore(Client client, int maxEntries) {
+        super(client);
+        this.watchClient = client.getWatchClient();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the number of reads which were served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of reads which had to go to etcd
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of properties which have been evicted to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the number of times the cache has been loaded from etcd
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * @return the latest etcd revision which has been applied to the cache
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return how long ago the cache last heard from etcd, in milliseconds. etcd sends progress
+     *         notifications on an idle watch, so this keeps growing if the watch has stalled.
+     */
+    public long getMillisSinceLastUpdate() {
+        return System.currentTimeMillis() - lastUpdatedTimeMillis;
+    }
+
+    /**
+     * @return the number of properties in the cache, not counting the tombstones of deleted properties
+     */
+    public int getSize() {
+        return propertyCache.size() - tombstoneCount.get();
+    }
+
+    @Override
+    public @Null String getProperty(@NotNull String key) throws ConfigurationPropertyStoreException {
+        String value;
+        if (!isCacheUsable() || !isCacheable(key)) {
+            missCount.incrementAndGet();
+            value = super.getProperty(key);
+        } else {
+            CachedProperty cachedProperty = propertyCache.get(key);
+            if (cachedProperty != null) {
+                hitCount.incrementAndGet();
+                value = cachedProperty.value;
+            } else if (isComplete) {
+                hitCount.incrementAndGet();
+                value = null;
+            } else {
+                missCount.incrementAndGet();
+                value = super.getProperty(key);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public @NotNull Map<String, String> getProperties(@NotNull List<String> keys) throws ConfigurationPropertyStoreException {
+        if (!isCacheUsable()) {
+            missCount.addAndGet(keys.size());
+            return super.getProperties(keys);
+        }
+
+        Map<String, String> results = new HashMap<>();
+        List<String> keysToFetch = new ArrayList<>();
+        for (String key : keys) {
+            CachedProperty cachedProperty = isCacheable(key) ? propertyCache.get(key) : null;
+            if (cachedProperty != null) {
+                hitCount.incrementAndGet();
+                if (cachedProperty.value != null) {
+                    results.put(key, cachedProperty.value);
+                }
+            } else if (isComplete && isCacheable(key)) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+                keysToFetch.add(key);
+            }
+        }
+
+        if (!keysToFetch.isEmpty()) {
+            results.putAll(super.getProperties(keysToFetch));
+        }
+        return results;
+    }
+
+    @Override
+    public @NotNull Map<String, String> getPrefixedProperties(@NotNull String prefix)
+            throws ConfigurationPropertyStoreException {
+        Map<String, String> results;
+        if (isCacheUsable() && isComplete && isCacheablePrefix(prefix)) {
+            hitCount.incrementAndGet();
+            results = new HashMap<>();
+            for (Entry<String, CachedProperty> entry : propertyCache.entrySet()) {
+                if (entry.getKey().startsWith(prefix) && entry.getValue().value != null) {
+                    results.put(entry.getKey(), entry.getValue().value);
+                }
+            }
+        } else {
+            missCount.incrementAndGet();
+            results = super.getPrefixedProperties(prefix);
+        }
+        return results;
+    }
+
+    @Override
+    public Map<String, String> getPropertiesFromNamespace(String namespace) throws ConfigurationPropertyStoreException {
+        Map<String, String> results;
+        if (isCacheUsable() && isComplete && isCacheablePrefix(namespace + ".")) {
+            results = getPrefixedProperties(namespace + ".");
+        } else {
+            missCount.incrementAndGet();
+            results = super.getPropertiesFromNamespace(namespace);
+        }
+        return results;
+    }
+
+    @Override
+    public List<String> getNamespaces() throws ConfigurationPropertyStoreException {
+        // The namespaces of the uncached keys are needed too, so this always goes to etcd
+        missCount.incrementAndGet();
+        return super.getNamespaces();
+    }
+
+    @Override
+    public void setProperty(@NotNull String key, @NotNull String value) throws ConfigurationPropertyStoreException {
+        ByteSequence bytesKey = ByteSequence.from(key, UTF_8);
+        ByteSequence bytesValue = ByteSequence.from(value, UTF_8);
+        try {
+            PutResponse response = kvClient.put(bytesKey, bytesValue).get();
+            if (isCacheable(key)) {
+                applyPut(key, value, response.getHeader().getRevision());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPropertyStoreException("Could not set key and value.", e);
+        }
+    }
+
+    @Override
+    public void deleteProperty(@NotNull String key) throws ConfigurationPropertyStoreException {
+        ByteSequence bytesKey = ByteSequence.from(key, UTF_8);
+        try {
+            DeleteResponse response = kvClient.delete(bytesKey).get();
+            if (isCacheable(key)) {
+                applyDelete(key, response.getHeader().getRevision());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPropertyStoreException("Could not delete key.", e);
+        }
+    }
+
+    @Override
+    public void deletePrefixedProperties(@NotNull String prefix) throws ConfigurationPropertyStoreException {
+        ByteSequence bsKey = ByteSequence.from(prefix, UTF_8);
+        DeleteOption options = DeleteOption.builder().isPrefix(true).build();
+        try {
+            DeleteResponse response = kvClient.delete(bsKey, options).get();
+            long deleteRevision = response.getHeader().getRevision();
+            for (String key : propertyCache.keySet()) {
+                if (key.startsWith(prefix)) {
+                    applyDelete(key, deleteRevision);
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPropertyStoreException("Failed to delete properties", e);
+        }
+    }
+
+    @Override
+    public void shutdown() throws ConfigurationPropertyStoreException {
+        synchronized (loadLock) {
+            shutdown = true;
+            closeWatch();
+        }
+
+        logger.info("etcd CPS cache shutting down. hits=" + hitCount.get() + " misses=" + missCount.get()
+            + " evictions=" + evictionCount.get() + " reloads=" + reloadCount.get() + " size=" + getSize());
+        super.shutdown();
+    }
+
+    private boolean isCacheUsable() throws ConfigurationPropertyStoreException {
+        if (resyncRequired) {
+            synchronized (loadLock) {
+                // Another thread may have reloaded the cache while we were waiting
+                if (resyncRequired && !shutdown) {
+                    load();
+                }
+            }
+        }
+        return !resyncRequired;
+    }
+
+    private void load() throws ConfigurationPropertyStoreException {
+        logger.debug("Loading the etcd CPS cache");
+
+        closeWatch();
+        isComplete = false;
+        propertyCache.clear();
+        tombstoneKeys.clear();
+        tombstoneCount.set(0);
+
+        // The first range is read at the latest revision, and the others at the same revision
+        long readRevision = 0;
+        int loadedCount = 0;
+        boolean isLoadComplete = true;
+        for (KeyRange range : CPS_KEY_RANGES) {
+            GetResponse response = getRange(range, readRevision);
+            if (readRevision == 0) {
+                readRevision = response.getHeader().getRevision();
+            }
+
+            for (KeyValue kv : response.getKvs()) {
+                if (loadedCount >= maxEntries) {
+                    isLoadComplete = false;
+                    evictionCount.incrementAndGet();
+                } else {
+                    propertyCache.put(kv.getKey().toString(UTF_8), new CachedProperty(kv.getValue().toString(UTF_8), kv.getModRevision()));
+                    loadedCount++;
+                }
+            }
+        }
+
+        loadedRevision = readRevision;
+        revision = readRevision;
+        lastUpdatedTimeMillis = System.currentTimeMillis();
+        isComplete = isLoadComplete;
+        reloadCount.incrementAndGet();
+
+        // Cleared before the watch starts, so a failure reported by the new watch is not lost
+        resyncRequired = false;
+
+        // Watch everything in the CPS ranges which has changed since the revision we loaded
+        List<CacheListener> listeners = new ArrayList<>();
+        for (int i = 0; i < CPS_KEY_RANGES.size(); i++) {
+            listeners.add(new CacheListener(readRevision));
+        }
+        currentListeners = listeners;
+        for (int i = 0; i < CPS_KEY_RANGES.size(); i++) {
+            KeyRange range = CPS_KEY_RANGES.get(i);
+            CacheListener listener = listeners.get(i);
+            WatchOption watchOption = WatchOption.builder()
+                .withRange(range.end)
+                .withRevision(readRevision + 1)
+                .withProgressNotify(true)
+                .build();
+            listener.etcdWatcher = watchClient.watch(range.start, watchOption, listener);
+        }
+
+        logger.debug("Loaded " + loadedCount + " properties into the etcd CPS cache at revision " + readRevision);
+    }
+
+    private GetResponse getRange(KeyRange range, long readRevision) throws ConfigurationPropertyStoreException {
+        GetOption.Builder option = GetOption.builder().withRange(range.end);
+        if (readRevision != 0) {
+            option.withRevision(readRevision);
+        }
+
+        try {
+            return kvClient.get(range.start, option.build()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPropertyStoreException("Could not load the CPS cache, interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ConfigurationPropertyStoreException("Could not load the CPS cache", e);
+        }
+    }
+
+    private void closeWatch() {
+        for (CacheListener listener : currentListeners) {
+            if (listener.etcdWatcher != null) {
+                listener.etcdWatcher.close();
+            }
+        }
+        currentListeners = Collections.emptyList();
+    }
+
+    // The revision up to which the watch of the key's range has reported every change
+    private long getWatchedRevision(String key) {
+        List<CacheListener> listeners = currentListeners;
+        if (listeners.isEmpty()) {
+            return loadedRevision;
+        }
+        return listeners.get(getKeyRangeIndex(key)).watchedRevision;
+    }
+
+    private void applyPut(String key, String value, long modRevision) {
+        CachedProperty newProperty = new CachedProperty(value, modRevision);
+        CachedProperty result = propertyCache.compute(key, (k, existing) -> {
+            CachedProperty kept;
+            if (existing != null) {
+                kept = (existing.modRevision < modRevision) ? newProperty : existing;
+                if (kept == newProperty && existing.value == null) {
+                    tombstoneCount.decrementAndGet();
+                }
+            } else if (modRevision <= getWatchedRevision(key)) {
+                // The watch has already passed this write, so the property has since been deleted or evicted
+                kept = null;
+            } else {
+                kept = newProperty;
+            }
+            return kept;
+        });
+
+        if (result == newProperty && getSize() > maxEntries) {
+            evictOtherThan(key);
+        }
+    }
+
+    private void applyDelete(String key, long modRevision) {
+        CachedProperty tombstone = new CachedProperty(null, modRevision);
+        CachedProperty result = propertyCache.compute(key, (k, existing) -> {
+            CachedProperty kept = existing;
+            if (existing == null && modRevision <= getWatchedRevision(key)) {
+                // The watch has already passed this delete, so there is nothing left for a tombstone to guard
+                kept = null;
+            } else if (existing == null || existing.modRevision < modRevision) {
+                kept = tombstone;
+                if (existing == null || existing.value != null) {
+                    tombstoneCount.incrementAndGet();
+                }
+            }
+            return kept;
+        });
+
+        if (result == tombstone) {
+            tombstoneKeys.add(key);
+        }
+    }
+
+    // A write older than the revision the watch has reached is ignored anyway, so the tombstones older than that are no longer needed
+    private void purgeTombstones() {
+        Iterator<String> keys = tombstoneKeys.iterator();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            CachedProperty cachedProperty = propertyCache.get(key);
+            if (cachedProperty == null || cachedProperty.value != null) {
+                keys.remove();
+            } else if (cachedProperty.modRevision <= getWatchedRevision(key)) {
+                if (propertyCache.remove(key, cachedProperty)) {
+                    tombstoneCount.decrementAndGet();
+                }
+                keys.remove();
+            }
+        }
+    }
+
+    // There is no usage ordering to go by, so any property other than the one just added is evicted.
+    // Tombstones are left alone, as they are not counted and are purged soon anyway
+    private void evictOtherThan(String keyToKeep) {
+        Iterator<Entry<String, CachedProperty>> entries = propertyCache.entrySet().iterator();
+        while (getSize() > maxEntries && entries.hasNext()) {
+            Entry<String, CachedProperty> entry = entries.next();
+            if (!entry.getKey().equals(keyToKeep) && entry.getValue().value != null
+                    && propertyCache.remove(entry.getKey(), entry.getValue())) {
+                isComplete = false;
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean isCacheable(String key) {
+        for (String uncachedPrefix : UNCACHED_PREFIXES) {
+            if (key.startsWith(uncachedPrefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The CPS key ranges are the gaps between the uncached prefixes, so a key's range is the number of those it follows
+    private int getKeyRangeIndex(String key) {
+        int index = 0;
+        for (String uncachedPrefix : UNCACHED_PREFIXES) {
+            if (key.compareTo(uncachedPrefix) > 0) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    private boolean isCacheablePrefix(String prefix) {
+        for (String uncachedPrefix : UNCACHED_PREFIXES) {
+            if (prefix.startsWith(uncachedPrefix) || uncachedPrefix.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<KeyRange> getCpsKeyRanges() {
+        List<KeyRange> ranges = new ArrayList<>();
+        ByteSequence start = ALL_KEYS;
+        for (String uncachedPrefix : UNCACHED_PREFIXES) {
+            ByteSequence bsPrefix = ByteSequence.from(uncachedPrefix, UTF_8);
+            ranges.add(new KeyRange(start, bsPrefix));
+            start = OptionsUtil.prefixEndOf(bsPrefix);
+        }
+        ranges.add(new KeyRange(start, ALL_KEYS));
+        return ranges;
+    }
+
+    private static class KeyRange {
+        private final ByteSequence start;
+        private final ByteSequence end;
+
+        private KeyRange(ByteSequence start, ByteSequence end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // A value of null is a tombstone, recording when the property was deleted
+    private static class CachedProperty {
+        private final String value;
+        private final long modRevision;
+
+        private CachedProperty(String value, long modRevision) {
+            this.value = value;
+            this.modRevision = modRevision;
+        }
+    }
+
+    /**
+     * Applies the changes reported by the etcd watch of one CPS key range to the cache.
+     *
+     * Only the listeners of the current watches may change the cache, so that events
+     * still arriving from a watch which has been replaced are ignored.
+     */
+    private class CacheListener implements Listener {
+
+        private volatile Watcher etcdWatcher;
+
+        // The revision up to which this watch has reported every change in its range
+        private volatile long watchedRevision;
+
+        private CacheListener(long watchedRevision) {
+            this.watchedRevision = watchedRevision;
+        }
+
+        @Override
+        public void onNext(WatchResponse response) {
+            if (!currentListeners.contains(this)) {
+                return;
+            }
+
+            for (WatchEvent event : response.getEvents()) {
+                KeyValue kv = event.getKeyValue();
+                String key = kv.getKey().toString(UTF_8);
+                if (isCacheable(key)) {
+                    if (event.getEventType() == EventType.PUT) {
+                        applyPut(key, kv.getValue().toString(UTF_8), kv.getModRevision());
+                    } else if (event.getEventType() == EventType.DELETE) {
+                        applyDelete(key, kv.getModRevision());
+                    }
+                }
+            }
+
+            // A response may be one batch of several, so only a progress notification
+            // says every change up to the revision in its header has been reported
+            long responseRevision = response.getHeader().getRevision();
+            long reportedRevision = 0;
+            List<WatchEvent> events = response.getEvents();
+            if (!events.isEmpty()) {
+                reportedRevision = events.get(events.size() - 1).getKeyValue().getModRevision();
+            } else if (response.isProgressNotify()) {
+                reportedRevision = responseRevision;
+            }
+            if (reportedRevision > watchedRevision) {
+                watchedRevision = reportedRevision;
+            }
+            if (responseRevision > revision) {
+                revision = responseRevision;
+            }
+            lastUpdatedTimeMillis = System.currentTimeMillis();
+
+            purgeTombstones();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (currentListeners.contains(this)) {
+                logger.warn("The etcd CPS cache watch has failed, the cache will be reloaded", throwable);
+                resyncRequired = true;
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            if (currentListeners.contains(this)) {
+                logger.warn("The etcd CPS cache watch has ended, the cache will be reloaded");
+                resyncRequired = true;
+            }
+        }
+    }
+}
@@ -10,11 +10,14 @@ import java.net.URISyntaxException;
 
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.annotations.Component;
 
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreRegistration;
 import dev.galasa.framework.spi.IFrameworkInitialisation;
+import io.etcd.jetcd.Client;
 
 /**
  * This Class is a small OSGI bean that registers the CPS store as a ETCD
@@ -25,6 +28,8 @@ import dev.galasa.framework.spi.IFrameworkInitialisation;
 @Component(service = { IConfigurationPropertyStoreRegistration.class })
 public class Etcd3ConfigurationPropertyRegistration implements IConfigurationPropertyStoreRegistration {
 
+    private final Log logger = LogFactory.getLog(getClass());
+
     /**
      * This intialise method is a overide that registers the correct store to the
      * framework.
@@ -43,13 +48,45 @@ public class Etcd3ConfigurationPropertyRegistration implements IConfigurationPro
         if (isEtcdUri(cps)) {
             try {
                 URI uri = new URI(cps.toString().substring(5));
-                frameworkInitialisation.registerConfigurationPropertyStore(new Etcd3ConfigurationPropertyStore(uri));
+                Client client = Client.builder().endpoints(uri).build();
+
+                Etcd3ConfigurationPropertyStore store = new Etcd3ConfigurationPropertyStore(client);
+                if (isCacheEnabled(store)) {
+                    store = new Etcd3CachedConfigurationPropertyStore(client, getCacheMaxEntries(store));
+                }
+                frameworkInitialisation.registerConfigurationPropertyStore(store);
             } catch (URISyntaxException e) {
                 throw new ConfigurationPropertyStoreException("Could not create URI", e);
             }
         }
     }
 
+    private boolean isCacheEnabled(Etcd3ConfigurationPropertyStore store) throws ConfigurationPropertyStoreException {
+        String isEnabledPropValue = store.getProperty(Etcd3CachedConfigurationPropertyStore.FEATURE_FLAG_CPS_PROP_CACHE_ENABLED);
+        return Boolean.parseBoolean(isEnabledPropValue);
+    }
+
+    private int getCacheMaxEntries(Etcd3ConfigurationPropertyStore store) throws ConfigurationPropertyStoreException {
+        int maxEntries = Etcd3CachedConfigurationPropertyStore.DEFAULT_MAX_ENTRIES;
+        String maxEntriesPropValue = store.getProperty(Etcd3CachedConfigurationPropertyStore.CPS_PROP_CACHE_MAX_ENTRIES);
+        if (maxEntriesPropValue != null && !maxEntriesPropValue.isBlank()) {
+            try {
+                maxEntries = Integer.parseInt(maxEntriesPropValue.trim());
+            } catch (NumberFormatException e) {
+                maxEntries = 0;
+            }
+
+            if (maxEntries < 1) {
+                logger.warn("Invalid value '" + maxEntriesPropValue + "' for the CPS property "
+                    + Etcd3CachedConfigurationPropertyStore.CPS_PROP_CACHE_MAX_ENTRIES
+                    + ", it must be a whole number of at least 1. Using the default of "
+                    + Etcd3CachedConfigurationPropertyStore.DEFAULT_MAX_ENTRIES);
+                maxEntries = Etcd3CachedConfigurationPropertyStore.DEFAULT_MAX_ENTRIES;
+            }
+        }
+        return maxEntries;
+    }
+
     /**
      * Small method to check the URI for the correct type for etcd.
      * 
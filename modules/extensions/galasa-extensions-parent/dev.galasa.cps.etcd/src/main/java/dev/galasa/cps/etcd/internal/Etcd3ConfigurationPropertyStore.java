@@ -22,8 +22,11 @@ import javax.validation.constraints.Null;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.IConfigurationPropertyStore;
 import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KeyValue;
 import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.kv.TxnResponse;
+import io.etcd.jetcd.op.Op;
 import io.etcd.jetcd.options.GetOption;
 import io.etcd.jetcd.options.OptionsUtil;
 
@@ -34,7 +37,9 @@ import io.etcd.jetcd.options.OptionsUtil;
  * @author Matthew Chivers
  */
 public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConfigurationPropertyStore {
-    
+
+    // etcd rejects transactions with more operations than this by default
+    private static final int MAX_OPERATIONS_PER_TXN = 128;
 
     /**
      * This constructor create a priate KVClient from JETCD for store interactions.
@@ -45,6 +50,10 @@ public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConf
         super(cpsUri);
     }
 
+    public Etcd3ConfigurationPropertyStore(Client client) {
+        super(client);
+    }
+
     /**
      * This is the only method for CPS as managers should only need to get
      * properties from the CPS and not set or watch any.
@@ -71,6 +80,44 @@ public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConf
         }
     }
 
+    /**
+     * Gets all the keys using as few etcd requests as possible, by putting a get of
+     * each key into a single transaction.
+     * 
+     * @param keys The properties to get
+     */
+    @Override
+    public @NotNull Map<String, String> getProperties(@NotNull List<String> keys) throws ConfigurationPropertyStoreException {
+        Map<String, String> returnValues = new HashMap<>();
+
+        for (int start = 0; start < keys.size(); start += MAX_OPERATIONS_PER_TXN) {
+            List<String> batch = keys.subList(start, Math.min(start + MAX_OPERATIONS_PER_TXN, keys.size()));
+
+            Op[] getOperations = new Op[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                getOperations[i] = Op.get(ByteSequence.from(batch.get(i), UTF_8), GetOption.DEFAULT);
+            }
+
+            CompletableFuture<TxnResponse> txnFuture = kvClient.txn().Then(getOperations).commit();
+            try {
+                TxnResponse response = txnFuture.get();
+                for (GetResponse getResponse : response.getGetResponses()) {
+                    for (KeyValue kv : getResponse.getKvs()) {
+                        returnValues.put(kv.getKey().toString(UTF_8), kv.getValue().toString(UTF_8));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConfigurationPropertyStoreException("Could not retrieve keys, interrupted", e);
+            } catch (ExecutionException e) {
+                Thread.currentThread().interrupt();
+                throw new ConfigurationPropertyStoreException("Could not retrieve keys", e);
+            }
+        }
+
+        return returnValues;
+    }
+
     @Override
     public @NotNull Map<String, String> getPrefixedProperties(@NotNull String prefix)
             throws ConfigurationPropertyStoreException {
@@ -34,6 +34,7 @@ import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.IDynamicStatusStore;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.Event;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.PropertyChange;
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KV;
@@ -306,26 +307,32 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
     public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
 
         logger.debug("Etcd extension getting property with a prefix of "+keyPrefix);
+        Map<String, String> keyValues = new HashMap<>();
+        getPrefix(keyPrefix, keyValues);
+        return keyValues;
+    }
+
+    /**
+     * Reads the values with a key prefix into a map
+     * 
+     * @return the revision of the store the values were read at
+     */
+    private long getPrefix(String keyPrefix, Map<String, String> keyValues) throws DynamicStatusStoreException {
         ByteSequence bsPrefix = ByteSequence.from(keyPrefix, UTF_8);
 
         ByteSequence prefixEnd = OptionsUtil.prefixEndOf(bsPrefix);
         GetOption options = GetOption.builder().withRange(prefixEnd).build();
 
         CompletableFuture<GetResponse> getFuture = kvClient.get(bsPrefix, options);
-        Map<String, String> keyValues = new HashMap<>();
 
         try {
             GetResponse response = getFuture.get();
             List<KeyValue> kvs = response.getKvs();
 
-            if (kvs.isEmpty()) {
-                return new HashMap<>();
-            }
-
             for (KeyValue kv : kvs) {
                 keyValues.put(kv.getKey().toString(UTF_8), kv.getValue().toString(UTF_8));
             }
-            return keyValues;
+            return response.getHeader().getRevision();
         } catch (InterruptedException | ExecutionException e) {
             Thread.currentThread().interrupt();
             throw new DynamicStatusStoreException("Could not retrieve key.", e);
@@ -415,9 +422,26 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
     @Override
     public UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException {
         ByteSequence bsKey = ByteSequence.from(keyPrefix, UTF_8);
-        PassthroughWatcher passWatcher = new PassthroughWatcher(watcher);
         ByteSequence prefixEnd = OptionsUtil.prefixEndOf(bsKey);
-        WatchOption watchOption = WatchOption.builder().withRange(prefixEnd).build();
+        return watch(watcher, bsKey, WatchOption.builder().withRange(prefixEnd).build());
+    }
+
+    /**
+     * Reads the values with a key prefix, then watches the prefix from the
+     * revision after the one they were read at, so etcd replays any change made
+     * since the read however long the watch takes to start
+     */
+    @Override
+    public UUID getPrefixAndWatch(IDynamicStatusStoreWatcher watcher, String keyPrefix, Map<String, String> properties) throws DynamicStatusStoreException {
+        long revision = getPrefix(keyPrefix, properties);
+
+        ByteSequence bsKey = ByteSequence.from(keyPrefix, UTF_8);
+        ByteSequence prefixEnd = OptionsUtil.prefixEndOf(bsKey);
+        return watch(watcher, bsKey, WatchOption.builder().withRange(prefixEnd).withRevision(revision + 1).build());
+    }
+
+    private UUID watch(IDynamicStatusStoreWatcher watcher, ByteSequence bsKey, WatchOption watchOption) {
+        PassthroughWatcher passWatcher = new PassthroughWatcher(watcher);
         Watcher etcdWatcher = watchClient.watch(bsKey, watchOption, passWatcher);
         passWatcher.setEtcdWatcher(etcdWatcher);
         watchers.put(passWatcher.getID(), passWatcher);
@@ -456,6 +480,9 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
                 return;
             }
 
+            // The events of one transaction share a revision, and are passed to the watcher together
+            List<PropertyChange> changes = new ArrayList<>();
+            long changesRevision = 0;
             for (WatchEvent event : events) {
                 EventType eventType = event.getEventType();
                 KeyValue eventKey = event.getKeyValue();
@@ -465,28 +492,41 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
                     continue;
                 }
 
+                PropertyChange change;
+                String key = eventKey.getKey().toString(UTF_8);
                 switch (eventType) {
                     case DELETE:
-                        watcher.propertyModified(eventKey.getKey().toString(UTF_8), Event.DELETE, null, null);
+                        change = new PropertyChange(key, Event.DELETE, null, null);
                         break;
                     case PUT:
                         if (eventPrev != null) {
-                            watcher.propertyModified(eventKey.getKey().toString(UTF_8), Event.MODIFIED,
-                                    eventPrev.getValue().toString(UTF_8), eventKey.getValue().toString(UTF_8));
-                        } else {
-                            watcher.propertyModified(eventKey.getKey().toString(UTF_8), Event.NEW, null,
+                            change = new PropertyChange(key, Event.MODIFIED, eventPrev.getValue().toString(UTF_8),
                                     eventKey.getValue().toString(UTF_8));
+                        } else {
+                            change = new PropertyChange(key, Event.NEW, null, eventKey.getValue().toString(UTF_8));
                         }
                         break;
                     case UNRECOGNIZED:
                     default:
                         continue;
                 }
+
+                if (!changes.isEmpty() && eventKey.getModRevision() != changesRevision) {
+                    watcher.propertiesModified(changes);
+                    changes = new ArrayList<>();
+                }
+                changes.add(change);
+                changesRevision = eventKey.getModRevision();
+            }
+
+            if (!changes.isEmpty()) {
+                watcher.propertiesModified(changes);
             }
         }
 
         @Override
         public void onError(Throwable throwable) {
+            watcher.watchFailed(throwable);
         }
 
         @Override
@@ -0,0 +1,312 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.etcd.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dev.galasa.cps.etcd.internal.Etcd3CachedConfigurationPropertyStore;
+import dev.galasa.etcd.internal.mocks.MockEtcdClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient.MockEtcdWatcher;
+
+public class Etcd3CachedConfigurationPropertyStoreTest {
+
+    private List<MockEtcdWatcher> getWatchers(MockEtcdClient mockClient) {
+        return ((MockEtcdWatchClient) mockClient.getWatchClient()).getWatchers();
+    }
+
+    // The latest watcher of the key range holding the "framework." properties
+    private MockEtcdWatcher getCurrentWatcher(MockEtcdClient mockClient) {
+        List<MockEtcdWatcher> watchers = getWatchers(mockClient);
+        for (int i = watchers.size() - 1; i >= 0; i--) {
+            MockEtcdWatcher watcher = watchers.get(i);
+            String start = watcher.getKey().toString();
+            String end = watcher.getOption().getEndKey().get().toString();
+            if (start.compareTo("framework.") <= 0 && (end.equals("\0") || end.compareTo("framework.") > 0)) {
+                return watcher;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testCacheServesReadsFromTheLoadedProperties() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+        mockProps.put("framework.prop2", "value2");
+        mockProps.put("zos.prop3", "value3");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+
+        // When...
+        String value1 = store.getProperty("framework.prop1");
+
+        // A change behind the back of etcd's watch is not seen, so reads must be coming from the cache
+        mockProps.put("framework.prop2", "changed");
+        String value2 = store.getProperty("framework.prop2");
+        String missingValue = store.getProperty("framework.does.not.exist");
+        Map<String, String> frameworkProps = store.getPrefixedProperties("framework.");
+
+        // Then...
+        assertThat(value1).isEqualTo("value1");
+        assertThat(value2).isEqualTo("value2");
+        assertThat(missingValue).isNull();
+        assertThat(frameworkProps).containsOnly(entry("framework.prop1", "value1"), entry("framework.prop2", "value2"));
+        assertThat(store.getHitCount()).isEqualTo(4);
+        assertThat(store.getMissCount()).isEqualTo(0);
+        assertThat(store.getReloadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCacheAppliesChangesFromTheWatch() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+        mockProps.put("framework.prop2", "value2");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+        store.getProperty("framework.prop1");
+
+        MockEtcdWatcher watcher = getCurrentWatcher(mockClient);
+
+        // When...
+        watcher.sendPut("framework.prop1", "new-value1", 10);
+        watcher.sendPut("framework.prop3", "value3", 11);
+        watcher.sendDelete("framework.prop2", 12);
+
+        // An out-of-date change should not overwrite a newer one
+        watcher.sendPut("framework.prop1", "old-value1", 9);
+
+        // Then...
+        assertThat(watcher.getOption().getRevision()).isEqualTo(2);
+        assertThat(store.getProperty("framework.prop1")).isEqualTo("new-value1");
+        assertThat(store.getProperty("framework.prop2")).isNull();
+        assertThat(store.getProperty("framework.prop3")).isEqualTo("value3");
+        assertThat(store.getRevision()).isEqualTo(12);
+        assertThat(store.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheWritesThroughToEtcd() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+        store.getProperty("framework.prop1");
+
+        // When...
+        store.setProperty("framework.prop2", "value2");
+        store.deleteProperty("framework.prop1");
+
+        // Then...
+        assertThat(mockProps).containsOnly(entry("framework.prop2", "value2"));
+        assertThat(store.getProperty("framework.prop1")).isNull();
+        assertThat(store.getProperty("framework.prop2")).isEqualTo("value2");
+        assertThat(store.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheEvictsPropertiesWhenFullAndThenReadsMissingPropertiesFromEtcd() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+        mockProps.put("framework.prop2", "value2");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 2);
+        store.getProperty("framework.prop1");
+
+        // When...
+        store.setProperty("framework.prop3", "value3");
+        String value1 = store.getProperty("framework.prop1");
+        String value2 = store.getProperty("framework.prop2");
+        String value3 = store.getProperty("framework.prop3");
+        String missingValue = store.getProperty("framework.does.not.exist");
+
+        // Then...
+        assertThat(store.getSize()).isEqualTo(2);
+        assertThat(store.getEvictionCount()).isEqualTo(1);
+        assertThat(value1).isEqualTo("value1");
+        assertThat(value2).isEqualTo("value2");
+        assertThat(value3).isEqualTo("value3");
+        assertThat(missingValue).isNull();
+
+        // One of the first two properties was evicted, and the missing property had to be checked in etcd
+        assertThat(store.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCacheDoesNotCacheDssOrCredentialsProperties() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+        mockProps.put("dss.framework.run.U1.status", "running");
+        mockProps.put("secure.credentials.ID.password", "encrypted");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+
+        // When...
+        String dssValue = store.getProperty("dss.framework.run.U1.status");
+        String secureValue = store.getProperty("secure.credentials.ID.password");
+
+        // Then...
+        assertThat(store.getSize()).isEqualTo(1);
+        assertThat(store.getPrefixedProperties("dss.")).containsOnly(entry("dss.framework.run.U1.status", "running"));
+        assertThat(dssValue).isEqualTo("running");
+        assertThat(secureValue).isEqualTo("encrypted");
+        assertThat(store.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCacheOnlyReadsAndWatchesTheCpsKeyRanges() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("cicsts.prop1", "value1");
+        mockProps.put("dss.framework.run.U1.status", "running");
+        mockProps.put("framework.prop2", "value2");
+        mockProps.put("secure.credentials.ID.password", "encrypted");
+        mockProps.put("zos.prop3", "value3");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+
+        // When...
+        store.getProperty("framework.prop2");
+
+        // Then...
+        assertThat(store.getSize()).isEqualTo(3);
+        assertThat(getWatchers(mockClient)).extracting(
+                watcher -> watcher.getKey().toString(),
+                watcher -> watcher.getOption().getEndKey().get().toString())
+            .containsExactly(
+                tuple("\0", "dss."),
+                tuple("dss/", "secure."),
+                tuple("secure/", "\0"));
+    }
+
+    @Test
+    public void testDeleteIsNotUndoneByALateWriteThrough() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+        store.getProperty("framework.prop1");
+
+        MockEtcdWatcher watcher = getCurrentWatcher(mockClient);
+
+        // When...
+        // Another process deletes the property after this process's write reached etcd,
+        // but the watch reports the delete before the write-through is applied
+        watcher.sendDelete("framework.prop1", 10);
+        store.setProperty("framework.prop1", "late-value");
+
+        // Then...
+        assertThat(store.getProperty("framework.prop1")).isNull();
+        assertThat(store.getPrefixedProperties("framework.")).isEmpty();
+        assertThat(store.getProperties(List.of("framework.prop1"))).isEmpty();
+
+        // When...
+        watcher.sendPut("framework.prop1", "new-value", 11);
+
+        // Then...
+        assertThat(store.getProperty("framework.prop1")).isEqualTo("new-value");
+        assertThat(store.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDeletesDoNotFillTheCacheOrMakeItIncomplete() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+        mockProps.put("framework.prop2", "value2");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 3);
+        store.getProperty("framework.prop1");
+
+        // When...
+        // Many short-lived properties are written and deleted before the watch reports any of them
+        for (int i = 0; i < 10; i++) {
+            store.setProperty("framework.temp" + i, "value");
+            store.deleteProperty("framework.temp" + i);
+        }
+        Map<String, String> frameworkProps = store.getPrefixedProperties("framework.");
+
+        // Then...
+        assertThat(frameworkProps).containsOnly(entry("framework.prop1", "value1"), entry("framework.prop2", "value2"));
+        assertThat(store.getSize()).isEqualTo(2);
+        assertThat(store.getEvictionCount()).isEqualTo(0);
+        assertThat(store.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWriteThroughsTheWatchHasAlreadyReportedAreIgnored() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+        store.getProperty("framework.prop1");
+
+        MockEtcdWatcher watcher = getCurrentWatcher(mockClient);
+
+        // When...
+        // The watch reports the delete of a property this process is still writing, and then that
+        // it is up to date, so the tombstone of the delete is no longer kept
+        watcher.sendDelete("framework.prop2", 10);
+        watcher.sendProgress(20);
+        store.setProperty("framework.prop2", "late-value");
+
+        // Then...
+        assertThat(store.getProperty("framework.prop2")).isNull();
+        assertThat(store.getPrefixedProperties("framework.")).containsOnly(entry("framework.prop1", "value1"));
+        assertThat(store.getSize()).isEqualTo(1);
+        assertThat(store.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheReloadsAfterTheWatchFails() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("framework.prop1", "value1");
+
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3CachedConfigurationPropertyStore store = new Etcd3CachedConfigurationPropertyStore(mockClient, 100);
+        store.getProperty("framework.prop1");
+
+        MockEtcdWatcher firstWatcher = getCurrentWatcher(mockClient);
+
+        // When...
+        // A change is made which the cache is not told about, then the watch fails
+        mockProps.put("framework.prop1", "changed");
+        firstWatcher.sendError(new Exception("simulated watch failure"));
+
+        // Then...
+        assertThat(store.getProperty("framework.prop1")).isEqualTo("changed");
+        assertThat(store.getReloadCount()).isEqualTo(2);
+        assertThat(firstWatcher.isClosed()).isTrue();
+        assertThat(getCurrentWatcher(mockClient)).isNotSameAs(firstWatcher);
+
+        // Events from the old watch are ignored
+        firstWatcher.sendPut("framework.prop1", "from-old-watch", 100);
+        assertThat(store.getProperty("framework.prop1")).isEqualTo("changed");
+    }
+}
@@ -5,14 +5,21 @@
  */
 package dev.galasa.etcd.internal;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
 
 import dev.galasa.cps.etcd.internal.Etcd3DynamicStatusStore;
 import dev.galasa.etcd.internal.mocks.MockEtcdClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdKvClient;
 import dev.galasa.etcd.internal.mocks.MockEtcdLeaseClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient.MockEtcdWatcher;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -42,4 +49,90 @@ public class Etcd3DynamicStatusStoreTest {
         assertThat(mockLeaseClient.getLeases()).hasSize(1);
         assertThat(mockLeaseClient.getLeases().get(0).getTTL()).isEqualTo(timeToLiveSecs);
     }
+
+    @Test
+    public void testGetPrefixAndWatchStartsTheWatchAfterTheRevisionRead() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        Etcd3DynamicStatusStore store = new Etcd3DynamicStatusStore(mockClient);
+
+        store.put("dss.framework.run.U1.status", "queued");
+        store.put("dss.framework.run.U2.status", "queued");
+        store.put("dss.framework.other", "value");
+        long revision = ((MockEtcdKvClient) mockClient.getKVClient()).getRevision();
+
+        MockDssWatcher watcher = new MockDssWatcher();
+
+        // When...
+        Map<String, String> properties = new HashMap<>();
+        store.getPrefixAndWatch(watcher, "dss.framework.run.", properties);
+
+        // Then...
+        assertThat(properties).containsOnly(
+            entry("dss.framework.run.U1.status", "queued"),
+            entry("dss.framework.run.U2.status", "queued"));
+
+        MockEtcdWatchClient watchClient = (MockEtcdWatchClient) mockClient.getWatchClient();
+        assertThat(watchClient.getWatchers()).hasSize(1);
+        MockEtcdWatcher etcdWatcher = watchClient.getWatchers().get(0);
+        assertThat(etcdWatcher.getKey().toString()).isEqualTo("dss.framework.run.");
+        assertThat(etcdWatcher.getOption().getRevision()).isEqualTo(revision + 1);
+
+        etcdWatcher.sendPut("dss.framework.run.U1.status", "allocated", revision + 1);
+        assertThat(watcher.getChanges()).containsExactly("dss.framework.run.U1.status=allocated");
+    }
+
+    @Test
+    public void testWatchPassesChangesMadeAtOneRevisionTogether() throws Exception {
+        // Given...
+        MockEtcdClient mockClient = new MockEtcdClient(new HashMap<>());
+        Etcd3DynamicStatusStore store = new Etcd3DynamicStatusStore(mockClient);
+        MockDssWatcher watcher = new MockDssWatcher();
+        store.watchPrefix(watcher, "dss.framework.run.");
+
+        MockEtcdWatchClient watchClient = (MockEtcdWatchClient) mockClient.getWatchClient();
+        MockEtcdWatcher etcdWatcher = watchClient.getWatchers().get(0);
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("dss.framework.run.U1.test", "mybundle/mytest");
+        values.put("dss.framework.run.U1.status", "queued");
+        values.put("dss.framework.run.U2.status", "finished");
+
+        // When...
+        etcdWatcher.sendPuts(values, 5, 5, 6);
+
+        // Then...
+        assertThat(watcher.getChangeGroups()).containsExactly(
+            List.of("dss.framework.run.U1.test=mybundle/mytest", "dss.framework.run.U1.status=queued"),
+            List.of("dss.framework.run.U2.status=finished"));
+    }
+
+    private static class MockDssWatcher implements IDynamicStatusStoreWatcher {
+        private List<String> changes = new ArrayList<>();
+        private List<List<String>> changeGroups = new ArrayList<>();
+
+        @Override
+        public void propertyModified(String key, Event event, String oldValue, String newValue) {
+            changes.add(key + "=" + newValue);
+        }
+
+        @Override
+        public void propertiesModified(List<PropertyChange> changes) {
+            List<String> changeGroup = new ArrayList<>();
+            for (PropertyChange change : changes) {
+                changeGroup.add(change.getKey() + "=" + change.getNewValue());
+            }
+            changeGroups.add(changeGroup);
+            IDynamicStatusStoreWatcher.super.propertiesModified(changes);
+        }
+
+        public List<List<String>> getChangeGroups() {
+            return changeGroups;
+        }
+
+        public List<String> getChanges() {
+            return changes;
+        }
+    }
 }
@@ -22,7 +22,9 @@ import io.etcd.jetcd.KV;
 import io.etcd.jetcd.Txn;
 import io.etcd.jetcd.api.KeyValue;
 import io.etcd.jetcd.api.KeyValue.Builder;
+import io.etcd.jetcd.api.DeleteRangeResponse;
 import io.etcd.jetcd.api.RangeResponse;
+import io.etcd.jetcd.api.ResponseHeader;
 import io.etcd.jetcd.kv.CompactResponse;
 import io.etcd.jetcd.kv.DeleteResponse;
 import io.etcd.jetcd.kv.GetResponse;
@@ -36,10 +38,21 @@ public class MockEtcdKvClient implements KV {
 
     Map<String, String> kvContents = new HashMap<>();
 
+    // Every change made through this client moves the store on by one revision, like etcd does
+    private long revision = 1;
+
     public MockEtcdKvClient(Map<String, String> kvContents) {
         this.kvContents = kvContents;
     }
 
+    public long getRevision() {
+        return revision;
+    }
+
+    private ResponseHeader createHeader() {
+        return ResponseHeader.newBuilder().setRevision(revision).build();
+    }
+
     @Override
     public CompletableFuture<GetResponse> get(ByteSequence key) {
         String keyStr = key.toString();
@@ -47,9 +60,10 @@ public class MockEtcdKvClient implements KV {
 
         RangeResponse rangeResponse;
         if (value == null) {
-            rangeResponse = RangeResponse.newBuilder().build();
+            rangeResponse = RangeResponse.newBuilder().setHeader(createHeader()).build();
         } else {
             rangeResponse = RangeResponse.newBuilder()
+                .setHeader(createHeader())
                 .addKvs(createKeyValue(keyStr, value))
                 .build();
         }
@@ -61,37 +75,55 @@ public class MockEtcdKvClient implements KV {
     public CompletableFuture<GetResponse> get(ByteSequence key, GetOption options) {
         CompletableFuture<GetResponse> response = null;
         String keyStr = key.toString();
-        if (options.isPrefix()) {
+        String endKeyStr = options.getEndKey().map(ByteSequence::toString).orElse(null);
+        if (options.isPrefix() || endKeyStr != null) {
             Map<String, String> matchingKeyValues = kvContents.entrySet()
                 .stream()
-                .filter(entry -> entry.getKey().startsWith(keyStr))
+                .filter(entry -> isInRange(entry.getKey(), keyStr, endKeyStr, options.isPrefix()))
                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
             
             RangeResponse rangeResponse;
             if (matchingKeyValues.isEmpty()) {
-                rangeResponse = RangeResponse.newBuilder().build();
+                rangeResponse = RangeResponse.newBuilder().setHeader(createHeader()).build();
             } else {
                 List<KeyValue> keyValues = new ArrayList<>();
                 for (Entry<String, String> matchingEntry : matchingKeyValues.entrySet()) {
                     KeyValue kv = createKeyValue(matchingEntry.getKey(), matchingEntry.getValue());
                     keyValues.add(kv);
                 }
-                rangeResponse = RangeResponse.newBuilder().addAllKvs(keyValues).build();
+                rangeResponse = RangeResponse.newBuilder().setHeader(createHeader()).addAllKvs(keyValues).build();
 
             }
-            GetResponse mockResponse = new GetResponse(rangeResponse, key);
+            GetResponse mockResponse = new GetResponse(rangeResponse, ByteSequence.EMPTY);
             response = CompletableFuture.completedFuture(mockResponse);
         }
         return response;
     }
 
+    // A range end of "\0" means every key from the start key onwards
+    private boolean isInRange(String key, String startKey, String endKey, boolean isPrefix) {
+        boolean isInRange;
+        if (isPrefix) {
+            isInRange = key.startsWith(startKey);
+        } else if (endKey.equals("\0")) {
+            isInRange = key.compareTo(startKey) >= 0;
+        } else {
+            isInRange = key.compareTo(startKey) >= 0 && key.compareTo(endKey) < 0;
+        }
+        return isInRange;
+    }
+
     @Override
     public CompletableFuture<PutResponse> put(ByteSequence key, ByteSequence value) {
         String keyStr = key.toString();
         String valueStr = value.toString();
         kvContents.put(keyStr, valueStr);
+        revision++;
 
-        return CompletableFuture.completedFuture(null);
+        io.etcd.jetcd.api.PutResponse putResponse = io.etcd.jetcd.api.PutResponse.newBuilder()
+            .setHeader(createHeader())
+            .build();
+        return CompletableFuture.completedFuture(new PutResponse(putResponse, key));
     }
 
     @Override
@@ -118,7 +150,12 @@ public class MockEtcdKvClient implements KV {
         } else {
             kvContents.remove(keyStr);
         }
-        return CompletableFuture.completedFuture(null);
+        revision++;
+
+        DeleteRangeResponse deleteResponse = DeleteRangeResponse.newBuilder()
+            .setHeader(createHeader())
+            .build();
+        return CompletableFuture.completedFuture(new DeleteResponse(deleteResponse, key));
     }
 
     private KeyValue createKeyValue(String key, String value) {
@@ -141,7 +178,7 @@ public class MockEtcdKvClient implements KV {
 
     @Override
     public CompletableFuture<DeleteResponse> delete(ByteSequence key) {
-        throw new UnsupportedOperationException("Unimplemented method 'delete'");
+        return delete(key, DeleteOption.DEFAULT);
     }
 
     @Override
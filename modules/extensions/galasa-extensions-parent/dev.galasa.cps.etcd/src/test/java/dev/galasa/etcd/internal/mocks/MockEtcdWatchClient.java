@@ -5,15 +5,120 @@
  */
 package dev.galasa.etcd.internal.mocks;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.protobuf.ByteString;
+
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.api.Event;
+import io.etcd.jetcd.api.Event.EventType;
+import io.etcd.jetcd.api.KeyValue;
+import io.etcd.jetcd.api.ResponseHeader;
 import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchResponse;
 
 public class MockEtcdWatchClient implements Watch {
 
+    private List<MockEtcdWatcher> watchers = new ArrayList<>();
+
+    public class MockEtcdWatcher implements Watcher {
+        private ByteSequence key;
+        private WatchOption option;
+        private Listener listener;
+        private boolean isClosed = false;
+
+        public MockEtcdWatcher(ByteSequence key, WatchOption option, Listener listener) {
+            this.key = key;
+            this.option = option;
+            this.listener = listener;
+        }
+
+        public ByteSequence getKey() {
+            return key;
+        }
+
+        public WatchOption getOption() {
+            return option;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return isClosed;
+        }
+
+        public void sendPut(String key, String value, long revision) {
+            sendEvent(EventType.PUT, key, value, revision);
+        }
+
+        public void sendDelete(String key, long revision) {
+            sendEvent(EventType.DELETE, key, "", revision);
+        }
+
+        // Sends puts in one response, each at the revision given with it, as etcd reports a transaction
+        public void sendPuts(Map<String, String> values, long... revisions) {
+            io.etcd.jetcd.api.WatchResponse.Builder response = io.etcd.jetcd.api.WatchResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setRevision(revisions[revisions.length - 1]).build());
+            int index = 0;
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                KeyValue kv = KeyValue.newBuilder()
+                    .setKey(ByteString.copyFromUtf8(value.getKey()))
+                    .setValue(ByteString.copyFromUtf8(value.getValue()))
+                    .setModRevision(revisions[index++])
+                    .build();
+                response.addEvents(Event.newBuilder().setType(EventType.PUT).setKv(kv).build());
+            }
+            listener.onNext(new WatchResponse(response.build()));
+        }
+
+        // Sends a progress notification, saying every change up to the revision has been reported
+        public void sendProgress(long revision) {
+            io.etcd.jetcd.api.WatchResponse response = io.etcd.jetcd.api.WatchResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setRevision(revision).build())
+                .build();
+            listener.onNext(new WatchResponse(response));
+        }
+
+        public void sendError(Throwable error) {
+            listener.onError(error);
+        }
+
+        private void sendEvent(EventType eventType, String key, String value, long revision) {
+            KeyValue kv = KeyValue.newBuilder()
+                .setKey(ByteString.copyFromUtf8(key))
+                .setValue(ByteString.copyFromUtf8(value))
+                .setModRevision(revision)
+                .build();
+
+            io.etcd.jetcd.api.WatchResponse response = io.etcd.jetcd.api.WatchResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setRevision(revision).build())
+                .addEvents(Event.newBuilder().setType(eventType).setKv(kv).build())
+                .build();
+            listener.onNext(new WatchResponse(response));
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+
+        @Override
+        public void requestProgress() {
+            throw new UnsupportedOperationException("Unimplemented method 'requestProgress'");
+        }
+    }
+
+    public List<MockEtcdWatcher> getWatchers() {
+        return watchers;
+    }
+
     @Override
     public Watcher watch(ByteSequence key, WatchOption option, Listener listener) {
-        throw new UnsupportedOperationException("Unimplemented method 'watch'");
+        MockEtcdWatcher watcher = new MockEtcdWatcher(key, option, listener);
+        watchers.add(watcher);
+        return watcher;
     }
 
     @Override
@@ -0,0 +1,25 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.internal;
+
+import java.util.List;
+
+import dev.galasa.framework.spi.IEventProducer;
+
+/**
+ * An event producer which can send several events to its topic together
+ */
+public interface IEventBatchProducer extends IEventProducer {
+
+    /**
+     * Send the events to the topic in one transaction, either all of them or none
+     *
+     * @param events - The events, already serialised
+     * @throws KafkaException if the events could not be sent, after which the producer can not be used again
+     */
+    void sendEvents(List<String> events) throws KafkaException;
+
+}
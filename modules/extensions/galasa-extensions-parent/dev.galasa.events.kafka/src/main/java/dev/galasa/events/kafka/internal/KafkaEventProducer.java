@@ -6,32 +6,56 @@
 
 package dev.galasa.events.kafka.internal;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
-import dev.galasa.framework.spi.IEventProducer;
 import dev.galasa.framework.spi.events.IEvent;
 
-public class KafkaEventProducer implements IEventProducer {
+public class KafkaEventProducer implements IEventBatchProducer {
 
-    private final KafkaProducer<String, String> producer;
+    private final Producer<String, String> producer;
     private final String topic;
 
-    public KafkaEventProducer(Properties properties, String topic) {
+    public KafkaEventProducer(Properties properties, String topic) throws KafkaException {
+        this(new KafkaProducer<String, String>(properties), topic);
+    }
 
-        KafkaProducer<String, String> producer = new KafkaProducer<String, String>(properties);
-        producer.initTransactions();
+    public KafkaEventProducer(Producer<String, String> producer, String topic) throws KafkaException {
+        try {
+            producer.initTransactions();
+        } catch (RuntimeException e) {
+            producer.close();
+            throw new KafkaException("Unable to initialise the transactions of the producer for topic " + topic, e);
+        }
         this.producer = producer;
 
         this.topic = topic;
     }
 
     public void sendEvent(IEvent event){
-        producer.beginTransaction();
-        producer.send(new ProducerRecord<>(topic, event.toString()));
-        producer.commitTransaction();
+        try {
+            sendEvents(Collections.singletonList(event.toString()));
+        } catch (KafkaException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public void sendEvents(List<String> events) throws KafkaException {
+        try {
+            producer.beginTransaction();
+            for (String event : events) {
+                producer.send(new ProducerRecord<>(topic, event));
+            }
+            producer.commitTransaction();
+        } catch (RuntimeException e) {
+            // The state of the transaction is not known, so it is left to the broker to abort when this producer is replaced
+            throw new KafkaException("Unable to send " + events.size() + " events to topic " + topic, e);
+        }
     }
 
     public void close(){
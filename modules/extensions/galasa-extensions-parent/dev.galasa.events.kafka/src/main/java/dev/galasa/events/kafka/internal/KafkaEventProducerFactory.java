@@ -21,6 +21,7 @@ public class KafkaEventProducerFactory implements IEventProducerFactory {
 
     public KafkaEventProducerFactory(String authToken, String runName) {
         this.AUTH_TOKEN = authToken;
+        this.runName = runName;
     }
 
     public KafkaEventProducer createProducer(Properties properties, String topic) throws EventsException {
@@ -0,0 +1,430 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.MetricsReporter;
+
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+
+/**
+ * Publishes events to Kafka on a background thread, so that the thread producing
+ * an event never waits on Kafka.
+ *
+ * Events are held in a bounded queue. The sender thread takes whatever has been
+ * queued while it was busy and sends the events for each topic in one
+ * transaction, rather than a transaction per event.
+ *
+ * If Kafka can not be reached, the events are written to a spill file on local
+ * disk instead, as are any later events so that they stay in order, and the
+ * sender retries the spill file with a backoff until Kafka is back. The spill
+ * file only covers the life of the process: events still in it when the
+ * publisher shuts down are counted as lost and the file is deleted. If the queue
+ * is full, the producing thread moves the queued events and its own to the spill
+ * file rather than wait, and a batch the sender was sending at the time is
+ * spilled ahead of them if it can not be sent.
+ */
+public class KafkaEventPublisher implements Runnable {
+
+    public static final int  DEFAULT_MAX_QUEUED_EVENTS    = 10000;
+    public static final long DEFAULT_INITIAL_RETRY_MILLIS = 1000;
+    public static final long DEFAULT_MAX_RETRY_MILLIS     = 60000;
+
+    // At most this many events are sent in one transaction
+    public static final int  EVENTS_PER_BATCH             = 500;
+
+    private static final long IDLE_POLL_MILLIS            = 1000;
+    private static final long SHUTDOWN_WAIT_MILLIS        = 30000;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final IConfigurationPropertyStoreService cps;
+    private final IEventProducerFactory producerFactory;
+    private final KafkaEventSpillFile spillFile;
+    private final long initialRetryNanos;
+    private final long maxRetryNanos;
+
+    // The producers are cached for each topic, and replaced if a send fails
+    private final Map<String, IEventBatchProducer> producers = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<QueuedEvent> queue;
+    private final KafkaEventsMetrics metrics;
+
+    // Events accepted, and events the sender has finished with, whether sent or spilled
+    private final AtomicLong acceptedEventCount = new AtomicLong();
+    private final AtomicLong completedEventCount = new AtomicLong();
+    private final AtomicLong lostEventCount = new AtomicLong();
+    private final Object flushMonitor = new Object();
+
+    // Only used by the sender thread
+    private long retryDelayNanos;
+    private long nextRetryNanos;
+
+    // The number of events in the spill file when the batch being sent was taken from the queue.
+    // Events spilled by publish() after that are newer than the batch, so it goes ahead of them.
+    private int olderSpilledEventCount;
+
+    private final Thread senderThread;
+    private boolean isStarted = false;
+    private volatile boolean isShutdown = false;
+    private volatile boolean isSpilling = false;
+    private volatile boolean isSenderWaiting = false;
+
+    public KafkaEventPublisher(IConfigurationPropertyStoreService cps, IEventProducerFactory producerFactory,
+            KafkaEventSpillFile spillFile) {
+        this(cps, producerFactory, spillFile, DEFAULT_MAX_QUEUED_EVENTS, DEFAULT_INITIAL_RETRY_MILLIS,
+            DEFAULT_MAX_RETRY_MILLIS, Collections.singletonList(new JmxReporter()));
+    }
+
+    public KafkaEventPublisher(IConfigurationPropertyStoreService cps, IEventProducerFactory producerFactory,
+            KafkaEventSpillFile spillFile, int maxQueuedEvents, long initialRetryMillis, long maxRetryMillis,
+            List<MetricsReporter> metricsReporters) {
+        this.cps = cps;
+        this.producerFactory = producerFactory;
+        this.spillFile = spillFile;
+        this.queue = new ArrayBlockingQueue<>(maxQueuedEvents);
+        this.initialRetryNanos = TimeUnit.MILLISECONDS.toNanos(initialRetryMillis);
+        this.maxRetryNanos = TimeUnit.MILLISECONDS.toNanos(maxRetryMillis);
+        this.retryDelayNanos = this.initialRetryNanos;
+        this.nextRetryNanos = System.nanoTime();
+        this.metrics = new KafkaEventsMetrics(metricsReporters, (config, now) -> queue.size(),
+            (config, now) -> spillFile.getEventCount());
+
+        this.senderThread = new Thread(this, "kafka-event-publisher");
+        this.senderThread.setDaemon(true);
+    }
+
+    public synchronized void start() {
+        if (!isStarted) {
+            isStarted = true;
+            senderThread.start();
+        }
+    }
+
+    /**
+     * Queues an event to be published, writing it to the spill file if the queue is full
+     */
+    public void publish(String topic, String event) throws KafkaException {
+        QueuedEvent queuedEvent = new QueuedEvent(topic, event, System.nanoTime());
+        acceptedEventCount.incrementAndGet();
+        if (!isShutdown && queue.offer(queuedEvent)) {
+            if (isSenderWaiting) {
+                LockSupport.unpark(senderThread);
+            }
+            return;
+        }
+
+        // The sender is falling behind or has stopped, so keep the events on disk rather than wait,
+        // moving the queued events there too so that they stay ahead of this one
+        List<QueuedEvent> events = new ArrayList<>();
+        synchronized (spillFile) {
+            queue.drainTo(events);
+            events.add(queuedEvent);
+            try {
+                spill(spillFile.getEventCount(), events);
+            } finally {
+                completeEvents(events.size());
+            }
+        }
+    }
+
+    /**
+     * Waits until every event published before the call has been sent or spilled
+     */
+    public void flush() {
+        long target = acceptedEventCount.get();
+        synchronized (flushMonitor) {
+            while (senderThread.isAlive() && completedEventCount.get() < target) {
+                try {
+                    flushMonitor.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes everything still queued, tries the spill file once more, then
+     * stops the sender thread and closes the producers
+     */
+    public void shutdown() {
+        flush();
+        isShutdown = true;
+        LockSupport.unpark(senderThread);
+        try {
+            senderThread.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The sender may still be using the spill file if it did not stop in time
+        if (!senderThread.isAlive()) {
+            discardSpillFile();
+        }
+        long lostEvents = lostEventCount.get();
+        if (lostEvents > 0) {
+            logger.warn(lostEvents + " events could not be published to Kafka before the events service shut down and have been lost");
+        }
+
+        for (IEventBatchProducer producer : producers.values()) {
+            closeProducer(producer);
+        }
+        producers.clear();
+        metrics.close();
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            List<QueuedEvent> batch = takeBatch();
+            try {
+                if (!batch.isEmpty()) {
+                    publishOrSpill(batch);
+                }
+                if (spillFile.getEventCount() > 0 && (isShutdown || System.nanoTime() - nextRetryNanos >= 0)) {
+                    publishSpilledEvents();
+                }
+            } catch (Exception e) {
+                logger.error("Unexpected error publishing events to Kafka", e);
+            } finally {
+                completeEvents(batch.size());
+            }
+
+            if (isShutdown && queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    public Map<String, IEventBatchProducer> getProducers() {
+        return producers;
+    }
+
+    public KafkaEventsMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getQueuedEventCount() {
+        return queue.size();
+    }
+
+    public long getLostEventCount() {
+        return lostEventCount.get();
+    }
+
+    private List<QueuedEvent> takeBatch() {
+        if (queue.isEmpty()) {
+            waitForEvents(getMillisUntilNextWake());
+        }
+
+        // The batch is taken under the lock publish() holds while it moves the queue to the spill file,
+        // so the events in the spill file at this point are exactly those older than the batch
+        List<QueuedEvent> batch = new ArrayList<>();
+        synchronized (spillFile) {
+            queue.drainTo(batch, EVENTS_PER_BATCH);
+            olderSpilledEventCount = spillFile.getEventCount();
+        }
+        return batch;
+    }
+
+    /**
+     * Waits for publish() to queue an event, without taking it from the queue
+     */
+    private void waitForEvents(long millis) {
+        isSenderWaiting = true;
+        try {
+            // Checked after the flag is set, so an event queued from here on wakes the sender
+            if (queue.isEmpty() && !isShutdown && millis > 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+        } finally {
+            isSenderWaiting = false;
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            isShutdown = true;
+        }
+    }
+
+    private long getMillisUntilNextWake() {
+        if (isShutdown) {
+            return 0;
+        }
+        if (spillFile.getEventCount() > 0) {
+            long untilRetry = TimeUnit.NANOSECONDS.toMillis(nextRetryNanos - System.nanoTime());
+            return Math.max(1, Math.min(IDLE_POLL_MILLIS, untilRetry));
+        }
+        return IDLE_POLL_MILLIS;
+    }
+
+    private void publishOrSpill(List<QueuedEvent> batch) {
+        // Events spilled before the batch was taken are older, so the batch follows them into the spill file
+        if (olderSpilledEventCount > 0) {
+            spillQuietly(batch);
+            return;
+        }
+
+        int sent = send(batch);
+        if (sent < batch.size()) {
+            spillQuietly(batch.subList(sent, batch.size()));
+            scheduleRetry();
+        }
+    }
+
+    private void publishSpilledEvents() throws KafkaException {
+        List<QueuedEvent> events = spillFile.read();
+        int sent = send(events);
+        spillFile.removeFirst(sent);
+
+        if (sent < events.size()) {
+            scheduleRetry();
+        } else {
+            logger.info("Kafka is available again, " + events.size() + " events have been published from " + spillFile.getPath());
+            isSpilling = false;
+            retryDelayNanos = initialRetryNanos;
+        }
+    }
+
+    /**
+     * Sends the events in order, each run of events for the same topic in one
+     * transaction, stopping at the first which fails
+     *
+     * @return the number of events sent
+     */
+    private int send(List<QueuedEvent> events) {
+        int sent = 0;
+        while (sent < events.size()) {
+            String topic = events.get(sent).getTopic();
+            int end = sent + 1;
+            while (end < events.size() && end - sent < EVENTS_PER_BATCH && events.get(end).getTopic().equals(topic)) {
+                end++;
+            }
+            List<QueuedEvent> transaction = events.subList(sent, end);
+
+            if (!sendTransaction(topic, transaction)) {
+                break;
+            }
+            sent = end;
+        }
+        return sent;
+    }
+
+    private boolean sendTransaction(String topic, List<QueuedEvent> events) {
+        IEventBatchProducer producer = null;
+        try {
+            producer = getProducer(topic);
+
+            List<String> values = new ArrayList<>(events.size());
+            for (QueuedEvent event : events) {
+                values.add(event.getEvent());
+            }
+            producer.sendEvents(values);
+        } catch (Exception e) {
+            logger.debug("Unable to publish " + events.size() + " events to the topic " + topic, e);
+            if (producer != null) {
+                producers.remove(topic);
+                closeProducer(producer);
+            }
+            return false;
+        }
+
+        long committedNanos = System.nanoTime();
+        metrics.recordBatch(events.size());
+        for (QueuedEvent event : events) {
+            metrics.recordPublished(event.getQueuedNanos(), committedNanos);
+        }
+        return true;
+    }
+
+    private IEventBatchProducer getProducer(String topic) throws Exception {
+        IEventBatchProducer producer = producers.get(topic);
+        if (producer == null) {
+            logger.info("Creating a new producer as one does not exist for the topic " + topic);
+
+            Properties properties = this.producerFactory.createProducerConfig(cps, topic);
+
+            producer = this.producerFactory.createProducer(properties, topic);
+            producers.put(topic, producer);
+        }
+        return producer;
+    }
+
+    private void closeProducer(IEventBatchProducer producer) {
+        try {
+            producer.close();
+        } catch (Exception e) {
+            logger.debug("Unable to close a Kafka producer", e);
+        }
+    }
+
+    private void spill(int olderEventCount, List<QueuedEvent> events) throws KafkaException {
+        try {
+            spillFile.insert(olderEventCount, events);
+        } catch (KafkaException e) {
+            lostEventCount.addAndGet(events.size());
+            throw e;
+        }
+        metrics.recordSpilled(events.size());
+
+        if (!isSpilling) {
+            isSpilling = true;
+            logger.warn("Unable to publish events to Kafka, events are being written to " + spillFile.getPath() + " until it is available");
+        }
+    }
+
+    /**
+     * Spills events from the sender, ahead of any events publish() has spilled
+     * since the batch they are from was taken from the queue
+     */
+    private void spillQuietly(List<QueuedEvent> events) {
+        try {
+            spill(olderSpilledEventCount, events);
+            olderSpilledEventCount += events.size();
+        } catch (KafkaException e) {
+            logger.error("Unable to keep " + events.size() + " events which could not be published to Kafka", e);
+        }
+    }
+
+    private void discardSpillFile() {
+        int spilledEvents = spillFile.getEventCount();
+        if (spilledEvents > 0) {
+            lostEventCount.addAndGet(spilledEvents);
+        }
+        try {
+            spillFile.delete();
+        } catch (KafkaException e) {
+            logger.warn("Unable to delete the events spill file " + spillFile.getPath(), e);
+        }
+    }
+
+    private void scheduleRetry() {
+        nextRetryNanos = System.nanoTime() + retryDelayNanos;
+        retryDelayNanos = Math.min(maxRetryNanos, retryDelayNanos * 2);
+    }
+
+    private void completeEvents(int count) {
+        completedEventCount.addAndGet(count);
+        synchronized (flushMonitor) {
+            flushMonitor.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A file on local disk holding the events which could not be sent to Kafka,
+ * in the order they were produced, until they can be sent.
+ *
+ * Each event is held as its topic, the time it was queued, and the length and
+ * the UTF-8 bytes of the event, so events may contain any characters.
+ *
+ * The file only lasts as long as the process which writes it. Each publisher
+ * has a file of its own, which starts empty, and the publisher deletes it when
+ * it shuts down.
+ */
+public class KafkaEventSpillFile {
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final Path path;
+
+    // The number of events in the file, so callers can tell if it is empty without reading it
+    private int eventCount = 0;
+
+    public KafkaEventSpillFile(Path path) {
+        this.path = path;
+    }
+
+    public synchronized void append(List<QueuedEvent> events) throws KafkaException {
+        insert(eventCount, events);
+    }
+
+    /**
+     * Adds events to the file after the given number of events already in it, ahead of any
+     * events appended since
+     */
+    public synchronized void insert(int olderEventCount, List<QueuedEvent> events) throws KafkaException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if (olderEventCount >= eventCount) {
+            write(events, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } else {
+            List<QueuedEvent> allEvents = read();
+            List<QueuedEvent> newerEvents = allEvents.subList(olderEventCount, allEvents.size());
+            List<QueuedEvent> reorderedEvents = new ArrayList<>(allEvents.subList(0, olderEventCount));
+            reorderedEvents.addAll(events);
+            reorderedEvents.addAll(newerEvents);
+            write(reorderedEvents, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        eventCount += events.size();
+    }
+
+    public synchronized List<QueuedEvent> read() throws KafkaException {
+        List<QueuedEvent> events = new ArrayList<>();
+        if (eventCount == 0) {
+            return events;
+        }
+
+        try {
+            readEvents(events);
+        } catch (IOException e) {
+            throw new KafkaException("Unable to read the events spill file " + path, e);
+        }
+        return events;
+    }
+
+    /**
+     * Removes the oldest events from the file once they have been sent, keeping
+     * any events appended since they were read
+     */
+    public synchronized void removeFirst(int count) throws KafkaException {
+        if (count >= eventCount) {
+            delete();
+            return;
+        }
+        List<QueuedEvent> events = read();
+        write(events.subList(count, events.size()), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        eventCount = events.size() - count;
+    }
+
+    public synchronized void delete() throws KafkaException {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new KafkaException("Unable to delete the events spill file " + path, e);
+        }
+        eventCount = 0;
+    }
+
+    public synchronized int getEventCount() {
+        return eventCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the events in the file, stopping at an event which was only partly written
+     * as the disk filled up
+     */
+    private void readEvents(List<QueuedEvent> events) throws IOException {
+        byte[] contents = Files.readAllBytes(path);
+        ByteArrayInputStream bytes = new ByteArrayInputStream(contents);
+        DataInputStream in = new DataInputStream(bytes);
+
+        try {
+            while (bytes.available() > 0) {
+                String topic = in.readUTF();
+                long queuedNanos = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > bytes.available()) {
+                    break;
+                }
+                byte[] event = new byte[length];
+                in.readFully(event);
+                events.add(new QueuedEvent(topic, new String(event, StandardCharsets.UTF_8), queuedNanos));
+            }
+        } catch (EOFException e) {
+            // *** The last event was only partly written
+        }
+    }
+
+    private void write(List<QueuedEvent> events, StandardOpenOption... options) throws KafkaException {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+        } catch (IOException e) {
+            throw new KafkaException("Unable to create the directory of the events spill file " + path, e);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, options)))) {
+            for (QueuedEvent event : events) {
+                byte[] bytes = event.getEvent().getBytes(StandardCharsets.UTF_8);
+                out.writeUTF(event.getTopic());
+                out.writeLong(event.getQueuedNanos());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new KafkaException("Unable to write " + events.size() + " events to the events spill file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.Measurable;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.MetricsReporter;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.CumulativeCount;
+import org.apache.kafka.common.metrics.stats.CumulativeSum;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * The metrics of the events publisher, kept in the same way as the Kafka
+ * producer's own metrics and reported over JMX next to them, under
+ * dev.galasa.events.kafka:type=galasa-events-metrics
+ */
+public class KafkaEventsMetrics {
+
+    public static final String JMX_PREFIX = "dev.galasa.events.kafka";
+    public static final String GROUP      = "galasa-events-metrics";
+
+    public static final String QUEUE_DEPTH          = "queue-depth";
+    public static final String SPILL_DEPTH          = "spill-depth";
+    public static final String PUBLISH_LATENCY_AVG  = "publish-latency-avg";
+    public static final String PUBLISH_LATENCY_MAX  = "publish-latency-max";
+    public static final String PUBLISHED_TOTAL      = "published-total";
+    public static final String BATCH_SIZE_AVG       = "batch-size-avg";
+    public static final String SPILLED_TOTAL        = "spilled-total";
+
+    private final Metrics metrics;
+    private final Sensor  publishLatency;
+    private final Sensor  batchSize;
+    private final Sensor  spilled;
+
+    public KafkaEventsMetrics(Measurable queueDepth, Measurable spillDepth) {
+        this(Collections.singletonList(new JmxReporter()), queueDepth, spillDepth);
+    }
+
+    public KafkaEventsMetrics(List<MetricsReporter> reporters, Measurable queueDepth, Measurable spillDepth) {
+        this.metrics = new Metrics(new MetricConfig(), reporters, Time.SYSTEM, new KafkaMetricsContext(JMX_PREFIX));
+
+        metrics.addMetric(metricName(QUEUE_DEPTH, "The number of events waiting to be sent"), queueDepth);
+        metrics.addMetric(metricName(SPILL_DEPTH, "The number of events in the spill file waiting for Kafka to be available"), spillDepth);
+
+        this.publishLatency = metrics.sensor("publish-latency");
+        publishLatency.add(metricName(PUBLISH_LATENCY_AVG, "The average time in ms from an event being produced to it being committed"), new Avg());
+        publishLatency.add(metricName(PUBLISH_LATENCY_MAX, "The longest time in ms from an event being produced to it being committed"), new Max());
+        publishLatency.add(metricName(PUBLISHED_TOTAL, "The number of events committed"), new CumulativeCount());
+
+        this.batchSize = metrics.sensor("batch-size");
+        batchSize.add(metricName(BATCH_SIZE_AVG, "The average number of events committed in one transaction"), new Avg());
+
+        this.spilled = metrics.sensor("spilled");
+        spilled.add(metricName(SPILLED_TOTAL, "The number of events written to the spill file"), new CumulativeSum());
+    }
+
+    public void recordPublished(long queuedNanos, long committedNanos) {
+        publishLatency.record(TimeUnit.NANOSECONDS.toMillis(committedNanos - queuedNanos));
+    }
+
+    public void recordBatch(int events) {
+        batchSize.record(events);
+    }
+
+    public void recordSpilled(int events) {
+        spilled.record(events);
+    }
+
+    public double getValue(String name) {
+        return (double) metrics.metric(metrics.metricName(name, GROUP)).metricValue();
+    }
+
+    public void close() {
+        metrics.close();
+    }
+
+    private MetricName metricName(String name, String description) {
+        return metrics.metricName(name, GROUP, description);
+    }
+}
@@ -7,13 +7,12 @@ package dev.galasa.events.kafka.internal;
 
 import dev.galasa.framework.spi.EventsException;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
-import dev.galasa.framework.spi.IEventProducer;
 import dev.galasa.framework.spi.IEventsService;
 import dev.galasa.framework.spi.events.IEvent;
 
+import java.nio.file.Paths;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.Properties;
+import java.util.UUID;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -22,18 +21,20 @@ public class KafkaEventsService implements IEventsService {
 
     private final Log logger = LogFactory.getLog(getClass());
 
-    private IConfigurationPropertyStoreService cps;
+    // Events are sent to Kafka in the background, so producing one never waits on Kafka
+    private final KafkaEventPublisher publisher;
 
-    private IEventProducerFactory producerFactory;
+    public KafkaEventsService(IConfigurationPropertyStoreService cps, IEventProducerFactory producerFactory) {
+        this(cps, producerFactory, new KafkaEventSpillFile(Paths.get(System.getProperty("java.io.tmpdir"),
+            "galasa-events-" + UUID.randomUUID().toString() + ".spill")));
+    }
 
-    // The EventProducers are cached so they can be reused for performance
-    // Keyed on the name of the topic as one EventProducer is made for each topic
-    // Note: Private but getter method is so unit tests can access this.
-    private Map<String, IEventProducer> producers = new HashMap<String, IEventProducer>();
+    public KafkaEventsService(IConfigurationPropertyStoreService cps, IEventProducerFactory producerFactory, KafkaEventSpillFile spillFile) {
+        this(new KafkaEventPublisher(cps, producerFactory, spillFile));
+    }
 
-    public KafkaEventsService(IConfigurationPropertyStoreService cps, IEventProducerFactory producerFactory) {
-        this.cps = cps;
-        this.producerFactory = producerFactory;
+    public KafkaEventsService(KafkaEventPublisher publisher) {
+        this.publisher = publisher;
     }
 
     @Override
@@ -43,42 +44,30 @@ public class KafkaEventsService implements IEventsService {
             throw new KafkaException("Topic is empty");
         }
 
-        IEventProducer producer = producers.get(topic);
-    
-        if (producer == null) {
-
-            synchronized (producers) {
-
-                producer = producers.get(topic);
-        
-                if (producer == null) {
-                    logger.info("Creating a new producer as one does not exist for the topic " + topic);
-     
-                    Properties properties = this.producerFactory.createProducerConfig(cps, topic);
-                    
-                    producer = this.producerFactory.createProducer(properties, topic);
-                    producers.put(topic, producer);
-                } else {
-                    logger.info("Using the cached producer for the topic " + topic);
-                }
-            }
-
-        }
+        // The event is serialised now, as it is sent later
+        publisher.start();
+        publisher.publish(topic, event.toString());
+    }
 
-        producer.sendEvent(event);
+    /**
+     * Waits until every event produced so far has been sent to Kafka, or written to the spill file
+     */
+    public void flush() {
+        publisher.flush();
     }
 
     @Override
     public void shutdown() {
-        logger.info("Shutting down all cached producers");
-        for (Map.Entry<String, IEventProducer> entry : producers.entrySet()) {
-            entry.getValue().close();
-        }
-        producers.clear();
+        logger.info("Shutting down the Kafka event publisher and all cached producers");
+        publisher.shutdown();
+    }
+
+    public Map<String, IEventBatchProducer> getProducers() {
+        return publisher.getProducers();
     }
 
-    public Map<String, IEventProducer> getProducers() {
-        return producers;
+    public KafkaEventPublisher getPublisher() {
+        return publisher;
     }
     
 }
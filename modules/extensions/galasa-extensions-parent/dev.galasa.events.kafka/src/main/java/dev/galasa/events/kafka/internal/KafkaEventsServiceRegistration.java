@@ -6,11 +6,16 @@
 package dev.galasa.events.kafka.internal;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
 
 import javax.validation.constraints.NotNull;
 
 import org.osgi.service.component.annotations.Component;
 
+import dev.galasa.framework.spi.AbstractManager;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.EventsException;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IEventsServiceRegistration;
@@ -43,7 +48,9 @@ public class KafkaEventsServiceRegistration implements IEventsServiceRegistratio
                 KafkaEventProducerFactory producerFactory = new KafkaEventProducerFactory(authToken, runName);
                 IConfigurationPropertyStoreService cpsService = framework.getConfigurationPropertyService(NAMESPACE);
 
-                frameworkInitialisation.registerEventsService(new KafkaEventsService(cpsService, producerFactory));
+                KafkaEventSpillFile spillFile = new KafkaEventSpillFile(getSpillFilePath(cpsService, runName));
+
+                frameworkInitialisation.registerEventsService(new KafkaEventsService(cpsService, producerFactory, spillFile));
             }
 
         } catch (Exception e) {
@@ -52,4 +59,21 @@ public class KafkaEventsServiceRegistration implements IEventsServiceRegistratio
 
     }
 
+    /**
+     * Events which can not be sent while Kafka is unavailable are kept in a file
+     * in the directory given by kafka.events.spill.directory, or the temporary
+     * directory if it is not set. The file is only for this process, so its name
+     * is unique, and it is deleted when the events service shuts down.
+     */
+    private Path getSpillFilePath(IConfigurationPropertyStoreService cps, String runName) throws ConfigurationPropertyStoreException {
+        String directory = AbstractManager.nulled(cps.getProperty("events", "spill.directory"));
+        if (directory == null) {
+            directory = System.getProperty("java.io.tmpdir");
+        }
+
+        String owner = (runName != null) ? runName : Long.toString(ProcessHandle.current().pid());
+        String fileName = "galasa-events-" + owner + "-" + UUID.randomUUID() + ".spill";
+        return Paths.get(directory, fileName);
+    }
+
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.internal;
+
+/**
+ * An event waiting to be sent, serialised when it was produced.
+ *
+ * The time it was queued is from System.nanoTime(), so it is only comparable
+ * within the process which queued it. The spill file never outlives that process.
+ */
+public class QueuedEvent {
+
+    private final String topic;
+    private final String event;
+    private final long queuedNanos;
+
+    public QueuedEvent(String topic, String event, long queuedNanos) {
+        this.topic = topic;
+        this.event = event;
+        this.queuedNanos = queuedNanos;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public long getQueuedNanos() {
+        return queuedNanos;
+    }
+}
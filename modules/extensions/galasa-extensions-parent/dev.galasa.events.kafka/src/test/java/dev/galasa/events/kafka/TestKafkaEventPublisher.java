@@ -0,0 +1,239 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import dev.galasa.events.kafka.internal.KafkaEventPublisher;
+import dev.galasa.events.kafka.internal.KafkaEventSpillFile;
+import dev.galasa.events.kafka.internal.KafkaEventsMetrics;
+import dev.galasa.events.kafka.internal.QueuedEvent;
+import dev.galasa.events.kafka.mocks.MockKafkaProducerFactory;
+import dev.galasa.extensions.common.mocks.cps.MockConfigurationPropertyStoreService;
+
+public class TestKafkaEventPublisher {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KafkaEventSpillFile createSpillFile() {
+        Path path = temporaryFolder.getRoot().toPath().resolve("events.spill");
+        return new KafkaEventSpillFile(path);
+    }
+
+    private KafkaEventPublisher createPublisher(MockKafkaProducerFactory factory, KafkaEventSpillFile spillFile, int maxQueuedEvents) {
+        MockConfigurationPropertyStoreService mockCps = new MockConfigurationPropertyStoreService(new HashMap<>());
+        return new KafkaEventPublisher(mockCps, factory, spillFile, maxQueuedEvents, 10, 100, new ArrayList<>());
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("Timed out waiting for the publisher").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testEventsQueuedTogetherAreSentInOneTransaction() throws Exception {
+        // Given...
+        MockKafkaProducerFactory factory = new MockKafkaProducerFactory();
+        KafkaEventPublisher publisher = createPublisher(factory, createSpillFile(), 100);
+
+        publisher.publish("Topic.MyTopic", "event1");
+        publisher.publish("Topic.MyTopic", "event2");
+        publisher.publish("Topic.MyTopic", "event3");
+        assertThat(publisher.getMetrics().getValue(KafkaEventsMetrics.QUEUE_DEPTH)).isEqualTo(3.0);
+
+        // When...
+        publisher.start();
+        publisher.flush();
+
+        // Then...
+        assertThat(factory.mockProducers).hasSize(1);
+        MockProducer<String, String> mockProducer = factory.getLatestMockProducer();
+        assertThat(mockProducer.commitCount()).isEqualTo(1);
+        assertThat(factory.getCommittedEvents()).containsExactly("event1", "event2", "event3");
+
+        KafkaEventsMetrics metrics = publisher.getMetrics();
+        assertThat(metrics.getValue(KafkaEventsMetrics.QUEUE_DEPTH)).isEqualTo(0.0);
+        assertThat(metrics.getValue(KafkaEventsMetrics.PUBLISHED_TOTAL)).isEqualTo(3.0);
+        assertThat(metrics.getValue(KafkaEventsMetrics.BATCH_SIZE_AVG)).isEqualTo(3.0);
+        assertThat(metrics.getValue(KafkaEventsMetrics.PUBLISH_LATENCY_MAX)).isGreaterThanOrEqualTo(0.0);
+
+        publisher.shutdown();
+        assertThat(mockProducer.closed()).isTrue();
+    }
+
+    @Test
+    public void testEventsAreSpilledWhileTheBrokerIsUnavailableAndSentInOrderWhenItIsBack() throws Exception {
+        // Given...
+        MockKafkaProducerFactory factory = new MockKafkaProducerFactory();
+        KafkaEventSpillFile spillFile = createSpillFile();
+        KafkaEventPublisher publisher = createPublisher(factory, spillFile, 100);
+        publisher.start();
+
+        publisher.publish("Topic.MyTopic", "event1");
+        publisher.flush();
+        MockProducer<String, String> firstProducer = factory.getLatestMockProducer();
+
+        // When...
+        firstProducer.commitTransactionException = new TimeoutException("The broker is not available");
+        factory.isBrokerAvailable = false;
+        publisher.publish("Topic.MyTopic", "event2");
+        publisher.publish("Topic.MyTopic", "event3");
+        publisher.flush();
+
+        // Then...
+        assertThat(spillFile.getEventCount()).isEqualTo(2);
+        assertThat(spillFile.getPath()).exists();
+        assertThat(firstProducer.closed()).isTrue();
+        assertThat(publisher.getMetrics().getValue(KafkaEventsMetrics.SPILLED_TOTAL)).isEqualTo(2.0);
+
+        // When...
+        factory.isBrokerAvailable = true;
+        waitFor(() -> spillFile.getEventCount() == 0);
+
+        // Then...
+        assertThat(factory.getCommittedEvents()).containsExactly("event1", "event2", "event3");
+        assertThat(spillFile.getPath()).doesNotExist();
+
+        publisher.shutdown();
+    }
+
+    @Test
+    public void testPublishDoesNotWaitWhenTheQueueIsFull() throws Exception {
+        // Given...
+        MockKafkaProducerFactory factory = new MockKafkaProducerFactory();
+        KafkaEventSpillFile spillFile = createSpillFile();
+        KafkaEventPublisher publisher = createPublisher(factory, spillFile, 2);
+
+        // When...
+        publisher.publish("Topic.MyTopic", "event1");
+        publisher.publish("Topic.MyTopic", "event2");
+        publisher.publish("Topic.MyTopic", "event3");
+
+        // Then...
+        assertThat(publisher.getQueuedEventCount()).isEqualTo(0);
+        assertThat(spillFile.getEventCount()).isEqualTo(3);
+
+        // When...
+        publisher.start();
+        waitFor(() -> spillFile.getEventCount() == 0);
+
+        // Then...
+        assertThat(factory.getCommittedEvents()).containsExactly("event1", "event2", "event3");
+
+        publisher.shutdown();
+    }
+
+    @Test
+    public void testSpillFileKeepsEventsAppendedWhileTheOldestAreSent() throws Exception {
+        // Given...
+        KafkaEventSpillFile spillFile = createSpillFile();
+        KafkaEventPublisher publisher = createPublisher(new MockKafkaProducerFactory(), spillFile, 1);
+        publisher.publish("Topic.MyTopic", "event\nwith a new line");
+        publisher.publish("Topic.Other", "event2");
+
+        // When...
+        spillFile.removeFirst(1);
+
+        // Then...
+        assertThat(spillFile.read()).extracting("topic", "event").containsExactly(tuple("Topic.Other", "event2"));
+
+        publisher.shutdown();
+    }
+
+    @Test
+    public void testEventsStillSpilledAtShutdownAreCountedAsLostAndTheSpillFileIsDeleted() throws Exception {
+        // Given...
+        MockKafkaProducerFactory factory = new MockKafkaProducerFactory();
+        factory.isBrokerAvailable = false;
+        KafkaEventSpillFile spillFile = createSpillFile();
+        KafkaEventPublisher publisher = createPublisher(factory, spillFile, 100);
+        publisher.start();
+
+        publisher.publish("Topic.MyTopic", "event1");
+        publisher.publish("Topic.MyTopic", "event2");
+        publisher.flush();
+        assertThat(spillFile.getPath()).exists();
+
+        // When...
+        publisher.shutdown();
+
+        // Then...
+        assertThat(factory.getCommittedEvents()).isEmpty();
+        assertThat(publisher.getLostEventCount()).isEqualTo(2);
+        assertThat(spillFile.getEventCount()).isEqualTo(0);
+        assertThat(spillFile.getPath()).doesNotExist();
+    }
+
+    @Test
+    public void testBatchBeingSentWhenTheQueueIsSpilledIsSpilledAheadOfIt() throws Exception {
+        // Given...
+        MockKafkaProducerFactory factory = new MockKafkaProducerFactory();
+        KafkaEventSpillFile spillFile = createSpillFile();
+        KafkaEventPublisher publisher = createPublisher(factory, spillFile, 2);
+        publisher.start();
+
+        CountDownLatch isSending = new CountDownLatch(1);
+        CountDownLatch canFail = new CountDownLatch(1);
+        factory.beforeCommit = () -> {
+            factory.beforeCommit = null;
+            isSending.countDown();
+            try {
+                canFail.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new TimeoutException("The broker is not available");
+        };
+
+        publisher.publish("Topic.MyTopic", "event1");
+        isSending.await();
+
+        // When...
+        publisher.publish("Topic.MyTopic", "event2");
+        publisher.publish("Topic.MyTopic", "event3");
+        publisher.publish("Topic.MyTopic", "event4");
+        assertThat(spillFile.getEventCount()).isEqualTo(3);
+        canFail.countDown();
+        waitFor(() -> spillFile.getEventCount() == 0 && factory.getCommittedEvents().size() == 4);
+
+        // Then...
+        assertThat(factory.getCommittedEvents()).containsExactly("event1", "event2", "event3", "event4");
+
+        publisher.shutdown();
+    }
+
+    @Test
+    public void testEventsInsertedIntoTheSpillFileGoAheadOfNewerEvents() throws Exception {
+        // Given...
+        KafkaEventSpillFile spillFile = createSpillFile();
+        spillFile.append(List.of(new QueuedEvent("Topic.MyTopic", "event1", 0)));
+        spillFile.append(List.of(new QueuedEvent("Topic.MyTopic", "event4", 0)));
+
+        // When...
+        spillFile.insert(1, List.of(new QueuedEvent("Topic.MyTopic", "event2", 0), new QueuedEvent("Topic.MyTopic", "event3", 0)));
+
+        // Then...
+        assertThat(spillFile.getEventCount()).isEqualTo(4);
+        assertThat(spillFile.read()).extracting("event").containsExactly("event1", "event2", "event3", "event4");
+    }
+}
@@ -22,7 +22,6 @@ import dev.galasa.extensions.common.mocks.cps.MockConfigurationPropertyStoreServ
 import dev.galasa.extensions.common.mocks.events.MockEvent;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.EventsException;
-import dev.galasa.framework.spi.events.IEvent;
 
 public class TestKafkaEventsService {
 
@@ -54,6 +53,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic, mockEvent);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfter = kafkaEventsService.getProducers().size();
@@ -62,8 +62,8 @@ public class TestKafkaEventsService {
         MockEventProducer mockProducer = (MockEventProducer) kafkaEventsService.getProducers().get(topic);
         assertThat(mockProducer).isNotNull();
 
-        List<IEvent> events = mockProducer.getEvents();
-        assertThat(events).contains(mockEvent);
+        List<String> events = mockProducer.getEvents();
+        assertThat(events).contains(mockEvent.toString());
     }
 
     @Test
@@ -80,6 +80,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic, mockEvent1);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfterEvent1 = kafkaEventsService.getProducers().size();
@@ -87,6 +88,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic, mockEvent2);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfterEvent2 = kafkaEventsService.getProducers().size();
@@ -109,6 +111,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic1, mockEvent1);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfterEvent1 = kafkaEventsService.getProducers().size();
@@ -116,6 +119,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic2, mockEvent2);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfterEvent2 = kafkaEventsService.getProducers().size();
@@ -157,6 +161,7 @@ public class TestKafkaEventsService {
 
         // When...
         kafkaEventsService.produceEvent(topic, mockEvent);
+        kafkaEventsService.flush();
 
         // Then...
         int numProducersAfterEvent = kafkaEventsService.getProducers().size();
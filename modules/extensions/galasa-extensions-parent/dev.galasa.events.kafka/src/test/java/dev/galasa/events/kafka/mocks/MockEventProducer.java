@@ -9,26 +9,34 @@ import java.util.Properties;
 import java.util.ArrayList;
 import java.util.List;
 
-import dev.galasa.framework.spi.IEventProducer;
+import dev.galasa.events.kafka.internal.IEventBatchProducer;
 import dev.galasa.framework.spi.events.IEvent;
 
-public class MockEventProducer implements IEventProducer {
+public class MockEventProducer implements IEventBatchProducer {
 
-    public List<IEvent> events = new ArrayList<IEvent>();
+    public List<String> events = new ArrayList<String>();
+    public int transactionCount = 0;
 
     public MockEventProducer(Properties properties, String topic) {
     }
 
     @Override
     public void sendEvent(IEvent event) {
-        events.add(event);
+        events.add(event.toString());
+        transactionCount++;
+    }
+
+    @Override
+    public void sendEvents(List<String> events) {
+        this.events.addAll(events);
+        transactionCount++;
     }
 
     @Override
     public void close() {
     }
 
-    public List<IEvent> getEvents() {
+    public List<String> getEvents() {
         return events;
     }
     
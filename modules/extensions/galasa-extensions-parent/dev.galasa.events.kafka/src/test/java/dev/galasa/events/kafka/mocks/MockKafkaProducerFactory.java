@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.events.kafka.mocks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import dev.galasa.events.kafka.internal.IEventProducerFactory;
+import dev.galasa.events.kafka.internal.KafkaEventProducer;
+import dev.galasa.events.kafka.internal.KafkaException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+
+/**
+ * Creates real event producers, each sending to one of Kafka's MockProducers
+ */
+public class MockKafkaProducerFactory implements IEventProducerFactory {
+
+    public volatile boolean isBrokerAvailable = true;
+
+    // Run before each transaction is committed, so a test can hold a send in flight or fail it
+    public volatile Runnable beforeCommit;
+
+    public List<MockProducer<String, String>> mockProducers = new ArrayList<>();
+
+    @Override
+    public synchronized KafkaEventProducer createProducer(Properties properties, String topic) throws KafkaException {
+        if (!isBrokerAvailable) {
+            throw new KafkaException("The broker is not available");
+        }
+        MockProducer<String, String> mockProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public void commitTransaction() {
+                Runnable hook = beforeCommit;
+                if (hook != null) {
+                    hook.run();
+                }
+                super.commitTransaction();
+            }
+        };
+        mockProducers.add(mockProducer);
+        return new KafkaEventProducer(mockProducer, topic);
+    }
+
+    @Override
+    public Properties createProducerConfig(IConfigurationPropertyStoreService cps, String topic) throws KafkaException {
+        Properties properties = new Properties();
+        properties.put("topic", topic);
+        return properties;
+    }
+
+    public synchronized MockProducer<String, String> getLatestMockProducer() {
+        return mockProducers.get(mockProducers.size() - 1);
+    }
+
+    public synchronized List<String> getCommittedEvents() {
+        List<String> events = new ArrayList<>();
+        for (MockProducer<String, String> mockProducer : mockProducers) {
+            mockProducer.history().forEach(record -> events.add(record.value()));
+        }
+        return events;
+    }
+}
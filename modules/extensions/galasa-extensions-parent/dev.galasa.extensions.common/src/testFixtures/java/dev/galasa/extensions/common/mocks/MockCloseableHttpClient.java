@@ -53,7 +53,7 @@ public class MockCloseableHttpClient extends CloseableHttpClient {
 
     @Override
     public void close() throws IOException {
-        throw new UnsupportedOperationException("Unimplemented method 'close'");
+        // Nothing to release
     }
 
     @Override
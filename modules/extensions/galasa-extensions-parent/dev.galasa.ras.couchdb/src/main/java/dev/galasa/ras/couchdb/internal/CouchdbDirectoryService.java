@@ -9,6 +9,8 @@ import static dev.galasa.extensions.common.Errors.*;
 import static dev.galasa.ras.couchdb.internal.CouchdbRasStore.*;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -22,6 +24,8 @@ import javax.validation.constraints.NotNull;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import org.apache.commons.logging.Log;
 import org.apache.http.HttpEntity;
@@ -37,6 +41,7 @@ import org.apache.http.util.EntityUtils;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.IRasRunResultConsumer;
 import dev.galasa.framework.spi.ras.IRasSearchCriteria;
 import dev.galasa.framework.spi.ras.RasRunResultPage;
 import dev.galasa.framework.spi.ras.RasSearchCriteriaBundle;
@@ -55,7 +60,6 @@ import dev.galasa.framework.spi.ras.ResultArchiveStoreFileStore;
 import dev.galasa.framework.spi.utils.GalasaGson;
 import dev.galasa.extensions.common.api.LogFactory;
 import dev.galasa.extensions.common.couchdb.CouchdbException;
-import dev.galasa.extensions.common.couchdb.pojos.Row;
 import dev.galasa.extensions.common.couchdb.pojos.ViewResponse;
 import dev.galasa.extensions.common.couchdb.pojos.ViewRow;
 import dev.galasa.extensions.common.api.HttpRequestFactory;
@@ -76,6 +80,11 @@ public class CouchdbDirectoryService implements IResultArchiveStoreDirectoryServ
 
     private static final int COUCHDB_RESULTS_LIMIT_PER_QUERY = 100;
 
+    // Only document IDs are returned when counting runs, so much larger pages can be requested
+    private static final int COUCHDB_COUNT_LIMIT_PER_QUERY = 1000;
+
+    private static final String QUEUED_FIELD_NAME = "queued";
+
     public CouchdbDirectoryService(CouchdbRasStore store, LogFactory logFactory, HttpRequestFactory requestFactory) {
         this.store = store;
         this.logFactory = logFactory;
@@ -149,44 +158,109 @@ public class CouchdbDirectoryService implements IResultArchiveStoreDirectoryServ
         return runProvider.getRoot();
     }
 
-    private @NotNull List<IRunResult> getAllRuns() throws ResultArchiveStoreException {
+    /**
+     * Visits every run in the runs database, reading _all_docs a page at a time with the
+     * documents included, so each run is fetched as part of the page rather than individually.
+     *
+     * Each page asks for one more row than it uses, and the ID of that extra row is where
+     * the next page starts.
+     */
+    private void forEachRunInAllDocs(IRasRunResultConsumer consumer) throws ResultArchiveStoreException {
+        String startKey = null;
+        do {
+            AllDocsPage page = getAllDocsPage(startKey, COUCHDB_RESULTS_LIMIT_PER_QUERY);
+
+            // The response has been closed by now, so the consumer is free to make its own requests
+            for (IRunResult run : page.runs) {
+                consumer.accept(run);
+            }
+            startKey = page.nextStartKey;
+        } while (startKey != null);
+    }
 
-        ArrayList<IRunResult> runs = new ArrayList<>();
+    private AllDocsPage getAllDocsPage(String startKey, int pageSize) throws ResultArchiveStoreException {
+        StringBuilder uri = new StringBuilder();
+        uri.append(store.getCouchdbUri()).append("/").append(RUNS_DB).append("/_all_docs?include_docs=true&limit=")
+            .append(pageSize + 1);
+        if (startKey != null) {
+            uri.append("&startkey=").append(URLEncoder.encode(gson.toJson(startKey), UTF8));
+        }
 
-        HttpGet httpGet = requestFactory.getHttpGetRequest(store.getCouchdbUri() + "/" + RUNS_DB + "/_all_docs");
+        HttpGet httpGet = requestFactory.getHttpGetRequest(uri.toString());
 
+        AllDocsPage page = new AllDocsPage();
         try (CloseableHttpResponse response = store.getHttpClient().execute(httpGet)) {
             StatusLine statusLine = response.getStatusLine();
             if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
                 throw new CouchdbRasException("Unable to find runs - " + statusLine.toString());
             }
 
+            // Parse the response as it arrives rather than reading it all into a string first
             HttpEntity entity = response.getEntity();
-            String responseEntity = EntityUtils.toString(entity);
-            FoundRuns found = gson.fromJson(responseEntity, FoundRuns.class);
-            if (found.rows == null) {
-                throw new CouchdbRasException("Unable to find rows - Invalid JSON response");
-            }
-
-            if (found.warning != null) {
-                logger.warn("CouchDB warning detected - " + found.warning);
-            }
-
-            for (Row row : found.rows) {
-                CouchdbRunResult cdbrr = fetchRun(row.id);
-                if (cdbrr != null) {
-                    if (cdbrr.getTestStructure() != null && cdbrr.getTestStructure().isValid()) {
-                        runs.add(cdbrr);
+            try (JsonReader reader = new JsonReader(new InputStreamReader(entity.getContent(), UTF8))) {
+                boolean foundRows = false;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if ("rows".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        foundRows = true;
+                        readAllDocsRows(reader, pageSize, page);
+                    } else if ("warning".equals(name) && reader.peek() == JsonToken.STRING) {
+                        logger.warn("CouchDB warning detected - " + reader.nextString());
+                    } else {
+                        reader.skipValue();
                     }
                 }
+                reader.endObject();
+
+                if (!foundRows) {
+                    throw new CouchdbRasException("Unable to find rows - Invalid JSON response");
+                }
             }
         } catch (CouchdbRasException e) {
             throw e;
         } catch (Exception e) {
             throw new ResultArchiveStoreException("Unable to find runs", e);
         }
+        return page;
+    }
 
-        return runs;
+    private void readAllDocsRows(JsonReader reader, int pageSize, AllDocsPage page) throws IOException, ResultArchiveStoreException {
+        int rowCount = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            rowCount++;
+
+            String id = null;
+            TestStructureCouchdb ts = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("id".equals(name) && reader.peek() == JsonToken.STRING) {
+                    id = reader.nextString();
+                } else if ("doc".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT && rowCount <= pageSize) {
+                    ts = gson.fromJson(reader, TestStructureCouchdb.class);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (rowCount > pageSize) {
+                page.nextStartKey = id;
+            } else if (ts != null && (id == null || !id.startsWith("_design/")) && ts.isValid()) {
+                page.runs.add(new CouchdbRunResult(store, ts, logFactory));
+            }
+        }
+        reader.endArray();
+    }
+
+    private static class AllDocsPage {
+        private final List<IRunResult> runs = new ArrayList<>();
+        private String nextStartKey;
     }
 
     private CouchdbRunResult fetchRun(String id) throws ParseException, IOException, ResultArchiveStoreException {
@@ -360,6 +434,142 @@ public class CouchdbDirectoryService implements IResultArchiveStoreDirectoryServ
         return getRunsPageFromCouchdb(httpPost, find);
     }
 
+    @Override
+    public @NotNull List<IRunResult> getSortedRuns(int maxResults, @NotNull RasSortField sortField,
+            @NotNull IRasSearchCriteria... searchCriterias)
+            throws ResultArchiveStoreException {
+
+        List<IRunResult> runs = null;
+        if (isSortableByCouchdb(sortField, searchCriterias)) {
+            // The runs database is indexed by queued time and the selector constrains it,
+            // so CouchDB can return just the first runs in order
+            HttpPost httpPost = requestFactory.getHttpPostRequest(store.getCouchdbUri() + "/" + RUNS_DB + "/_find");
+
+            Find find = new Find();
+            find.selector = buildGetRunsQuery(searchCriterias);
+            find.execution_stats = true;
+            find.limit = maxResults;
+            find.sort = buildQuerySortJson(sortField);
+
+            runs = getRunsPageFromCouchdb(httpPost, find).getRuns();
+        } else {
+            runs = IResultArchiveStoreDirectoryService.super.getSortedRuns(maxResults, sortField, searchCriterias);
+        }
+        return runs;
+    }
+
+    private boolean isSortableByCouchdb(RasSortField sortField, IRasSearchCriteria... searchCriterias) {
+        boolean isSortable = false;
+        if (QUEUED_FIELD_NAME.equals(sortField.getFieldName())) {
+            for (IRasSearchCriteria searchCriteria : searchCriterias) {
+                if (searchCriteria instanceof RasSearchCriteriaQueuedFrom || searchCriteria instanceof RasSearchCriteriaQueuedTo) {
+                    isSortable = true;
+                    break;
+                }
+            }
+        }
+        return isSortable;
+    }
+
+    @Override
+    public int getRunCount(@NotNull IRasSearchCriteria... searchCriterias) throws ResultArchiveStoreException {
+        if (searchCriterias.length == 0) {
+            return getAllRunsCount();
+        }
+
+        HttpPost httpPost = requestFactory.getHttpPostRequest(store.getCouchdbUri() + "/" + RUNS_DB + "/_find");
+
+        JsonArray fields = new JsonArray();
+        fields.add("_id");
+
+        Find find = new Find();
+        find.selector = buildGetRunsQuery(searchCriterias);
+        find.fields = fields;
+        find.limit = COUCHDB_COUNT_LIMIT_PER_QUERY;
+
+        int runCount = 0;
+        while (true) {
+            FoundRuns found = findRuns(httpPost, find);
+            if (found.docs.isEmpty()) {
+                // No more runs were found, so we've reached the end
+                break;
+            }
+            runCount += found.docs.size();
+
+            if (found.bookmark == null || found.bookmark.equals("nil")) {
+                break;
+            }
+            find.bookmark = found.bookmark;
+        }
+        return runCount;
+    }
+
+    /**
+     * Counts every run in the runs database without reading any runs. The _all_docs
+     * total_rows is the number of documents in the database, and the rows asked for
+     * are just the design documents, which are not runs.
+     */
+    private int getAllRunsCount() throws ResultArchiveStoreException {
+        StringBuilder uri = new StringBuilder();
+        uri.append(store.getCouchdbUri()).append("/").append(RUNS_DB).append("/_all_docs")
+            .append("?startkey=").append(URLEncoder.encode(gson.toJson("_design/"), UTF8))
+            .append("&endkey=").append(URLEncoder.encode(gson.toJson("_design0"), UTF8));
+
+        HttpGet httpGet = requestFactory.getHttpGetRequest(uri.toString());
+
+        int runCount = 0;
+        try (CloseableHttpResponse response = store.getHttpClient().execute(httpGet)) {
+            StatusLine statusLine = response.getStatusLine();
+            String responseEntity = EntityUtils.toString(response.getEntity());
+
+            if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+                throw new CouchdbRasException("Unable to count runs - " + statusLine.toString());
+            }
+
+            JsonObject allDocs = gson.fromJson(responseEntity, JsonObject.class);
+            JsonElement totalRows = allDocs.get("total_rows");
+            JsonElement designDocRows = allDocs.get("rows");
+            if (totalRows == null || designDocRows == null || !designDocRows.isJsonArray()) {
+                throw new CouchdbRasException("Unable to count runs - Invalid JSON response");
+            }
+
+            runCount = totalRows.getAsInt() - designDocRows.getAsJsonArray().size();
+        } catch (CouchdbRasException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ResultArchiveStoreException("Unable to count runs", e);
+        }
+        return runCount;
+    }
+
+    private FoundRuns findRuns(HttpPost httpPost, Find query) throws ResultArchiveStoreException {
+        FoundRuns found = null;
+        httpPost.setEntity(new StringEntity(gson.toJson(query), UTF8));
+
+        try (CloseableHttpResponse response = store.getHttpClient().execute(httpPost)) {
+            StatusLine statusLine = response.getStatusLine();
+            String responseEntity = EntityUtils.toString(response.getEntity());
+
+            if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+                throw new CouchdbRasException("Unable to count runs - " + statusLine.toString());
+            }
+
+            found = gson.fromJson(responseEntity, FoundRuns.class);
+            if (found.docs == null) {
+                throw new CouchdbRasException("Unable to count runs - Invalid JSON response");
+            }
+
+            if (found.warning != null) {
+                logger.warn("CouchDB warning detected - " + found.warning);
+            }
+        } catch (CouchdbRasException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ResultArchiveStoreException("Unable to count runs", e);
+        }
+        return found;
+    }
+
     private RasRunResultPage getRunsPageFromCouchdb(HttpPost httpPost, Find query) throws ResultArchiveStoreException {
         ArrayList<IRunResult> runs = new ArrayList<>();
         RasRunResultPage runsPage = null;
@@ -423,12 +633,20 @@ public class CouchdbDirectoryService implements IResultArchiveStoreDirectoryServ
     public @NotNull List<IRunResult> getRuns(@NotNull IRasSearchCriteria... searchCriterias)
             throws ResultArchiveStoreException {
 
+        ArrayList<IRunResult> runs = new ArrayList<>();
+        forEachRun(runs::add, searchCriterias);
+        return runs;
+    }
+
+    @Override
+    public void forEachRun(@NotNull IRasRunResultConsumer consumer, @NotNull IRasSearchCriteria... searchCriterias)
+            throws ResultArchiveStoreException {
+
         if (searchCriterias.length == 0) {
-            return getAllRuns();
+            forEachRunInAllDocs(consumer);
+            return;
         }
 
-        ArrayList<IRunResult> runs = new ArrayList<>();
-
         HttpPost httpPost = requestFactory.getHttpPostRequest(store.getCouchdbUri() + "/" + RUNS_DB + "/_find");
 
         Find find = new Find();
@@ -440,17 +658,17 @@ public class CouchdbDirectoryService implements IResultArchiveStoreDirectoryServ
             RasRunResultPage runsPage = getRunsPageFromCouchdb(httpPost, find);
 
             List<IRunResult> returnedRuns = runsPage.getRuns();
-            if (!returnedRuns.isEmpty()) {
-                runs.addAll(returnedRuns);
-            } else {
+            if (returnedRuns.isEmpty()) {
                 // No runs were found, so we've reached the end
                 break;
             }
 
+            for (IRunResult run : returnedRuns) {
+                consumer.accept(run);
+            }
+
             find.bookmark = runsPage.getNextCursor();
         }
-
-        return runs;
     }
 
     private JsonObject buildGetRunsQuery(IRasSearchCriteria... searchCriterias) throws ResultArchiveStoreException {
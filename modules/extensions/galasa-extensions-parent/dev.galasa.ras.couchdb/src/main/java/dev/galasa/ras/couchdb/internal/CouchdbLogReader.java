@@ -0,0 +1,93 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.List;
+
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+
+/**
+ * Reads a run log which is stored as a sequence of log documents.
+ *
+ * Each log document is only fetched from CouchDB once everything before it
+ * has been read, so no more than one document's worth of the log is held in
+ * memory at a time. The text read is the same as that returned by
+ * {@link CouchdbRasStore#getLog}, with the lines separated by newlines.
+ */
+public class CouchdbLogReader extends Reader {
+
+    private final CouchdbRasStore store;
+    private final Iterator<String> logRecordIds;
+
+    private String currentChunk = "";
+    private int chunkPosition = 0;
+    private boolean hasReadAnyText = false;
+    private boolean isClosed = false;
+
+    public CouchdbLogReader(CouchdbRasStore store, List<String> logRecordIds) {
+        this.store = store;
+        this.logRecordIds = logRecordIds.iterator();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (isClosed) {
+            throw new IOException("The run log reader has been closed");
+        }
+
+        if (length == 0) {
+            return 0;
+        }
+
+        while (chunkPosition >= currentChunk.length()) {
+            if (!fetchNextChunk()) {
+                return -1;
+            }
+        }
+
+        int charsToCopy = Math.min(length, currentChunk.length() - chunkPosition);
+        currentChunk.getChars(chunkPosition, chunkPosition + charsToCopy, buffer, offset);
+        chunkPosition += charsToCopy;
+        return charsToCopy;
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        currentChunk = "";
+    }
+
+    private boolean fetchNextChunk() throws IOException {
+        if (!logRecordIds.hasNext()) {
+            return false;
+        }
+
+        List<String> lines;
+        try {
+            lines = store.getLogLines(logRecordIds.next());
+        } catch (ResultArchiveStoreException e) {
+            throw new IOException("Unable to read the run log", e);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            if (hasReadAnyText || sb.length() > 0) {
+                sb.append("\n");
+            }
+            sb.append(line);
+        }
+
+        currentChunk = sb.toString();
+        chunkPosition = 0;
+        if (!currentChunk.isEmpty()) {
+            hasReadAnyText = true;
+        }
+        return true;
+    }
+}
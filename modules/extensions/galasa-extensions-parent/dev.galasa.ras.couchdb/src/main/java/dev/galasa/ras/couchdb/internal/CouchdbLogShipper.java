@@ -0,0 +1,403 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import dev.galasa.extensions.common.api.LogFactory;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+
+/**
+ * Ships a run's log lines and test structure updates to CouchDB on a background
+ * thread, so that the test thread never waits on CouchDB when it logs.
+ *
+ * Log lines are held in a bounded queue. The sender thread takes them off in
+ * batches, once a document's worth of lines has built up or the oldest line has
+ * waited long enough, and stores each batch with a single _bulk_docs request.
+ *
+ * Test structure updates are coalesced. Only the latest structure is written,
+ * however many updates were made while the sender was busy, and the structure
+ * is rewritten whenever new log documents have been stored so that it always
+ * lists them.
+ *
+ * If the queue is full, a writer waits briefly for the sender to make room and
+ * then drops the line, which is counted.
+ */
+public class CouchdbLogShipper implements Runnable {
+
+    public static final int  DEFAULT_MAX_QUEUED_LINES       = 10000;
+    public static final long DEFAULT_MAX_BATCH_DELAY_MILLIS = 5000;
+    public static final long DEFAULT_MAX_QUEUE_WAIT_MILLIS  = 100;
+
+    // Each log document holds this many lines at most, and each _bulk_docs request this many documents
+    public static final int  LINES_PER_DOCUMENT             = 100;
+    public static final int  DOCUMENTS_PER_BATCH            = 20;
+
+    private static final long FULL_QUEUE_PARK_NANOS         = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Log logger;
+    private final CouchdbRasStore store;
+    private final String runName;
+    private final String runDocumentId;
+
+    private final int maxQueuedLines;
+    private final long maxBatchDelayNanos;
+    private final long maxQueueWaitNanos;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedLineCount = new AtomicInteger();
+    private volatile long oldestQueuedLineNanos;
+
+    // Lines accepted onto the queue, and lines the sender has finished with, whether stored or not
+    private final AtomicLong acceptedLineCount = new AtomicLong();
+    private final AtomicLong completedLineCount = new AtomicLong();
+
+    private final AtomicLong shippedLineCount = new AtomicLong();
+    private final AtomicLong droppedLineCount = new AtomicLong();
+    private final AtomicLong failedLineCount = new AtomicLong();
+    private final AtomicLong bulkRequestCount = new AtomicLong();
+    private final AtomicLong structureWriteCount = new AtomicLong();
+
+    private final AtomicReference<PendingStructure> pendingStructure = new AtomicReference<>();
+    private final AtomicLong requestedStructureVersion = new AtomicLong();
+    private volatile long completedStructureVersion = 0;
+
+    private final AtomicInteger flushWaiterCount = new AtomicInteger();
+    private final Object flushMonitor = new Object();
+
+    // Only used by the sender thread
+    private long logOrder = 0;
+    private JsonObject lastStructure;
+    private boolean isStructureOutOfDate = false;
+
+    private final Thread senderThread;
+    private volatile boolean isShutdown = false;
+
+    public CouchdbLogShipper(CouchdbRasStore store, String runName, String runDocumentId, JsonObject initialStructure, LogFactory logFactory) {
+        this(store, runName, runDocumentId, initialStructure, logFactory, DEFAULT_MAX_QUEUED_LINES, DEFAULT_MAX_BATCH_DELAY_MILLIS, DEFAULT_MAX_QUEUE_WAIT_MILLIS);
+    }
+
+    public CouchdbLogShipper(CouchdbRasStore store, String runName, String runDocumentId, JsonObject initialStructure, LogFactory logFactory,
+            int maxQueuedLines, long maxBatchDelayMillis, long maxQueueWaitMillis) {
+        this.logger = logFactory.getLog(getClass());
+        this.store = store;
+        this.runName = runName;
+        this.runDocumentId = runDocumentId;
+        this.lastStructure = initialStructure;
+        this.maxQueuedLines = maxQueuedLines;
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+
+        this.senderThread = new Thread(this, "couchdb-ras-log-shipper");
+        this.senderThread.setDaemon(true);
+    }
+
+    public void start() {
+        senderThread.start();
+    }
+
+    /**
+     * Queues a log line to be shipped, waiting briefly for room if the queue is full
+     *
+     * @return false if the line had to be dropped
+     */
+    public boolean writeLine(String line) {
+        long waitDeadline = 0;
+        while (true) {
+            int count = queuedLineCount.get();
+            if (count < maxQueuedLines) {
+                if (queuedLineCount.compareAndSet(count, count + 1)) {
+                    if (count == 0) {
+                        oldestQueuedLineNanos = System.nanoTime();
+                    }
+                    queue.offer(line);
+                    acceptedLineCount.incrementAndGet();
+
+                    if (count + 1 == LINES_PER_DOCUMENT) {
+                        LockSupport.unpark(senderThread);
+                    }
+                    return true;
+                }
+                continue;
+            }
+
+            // The queue is full, so hurry the sender along and give it a chance to make room
+            LockSupport.unpark(senderThread);
+            long now = System.nanoTime();
+            if (waitDeadline == 0) {
+                waitDeadline = now + maxQueueWaitNanos;
+            } else if (now - waitDeadline >= 0 || !senderThread.isAlive()) {
+                if (droppedLineCount.incrementAndGet() == 1) {
+                    logger.warn("The RAS log queue is full, log lines for run " + runName + " are being dropped");
+                }
+                return false;
+            }
+            LockSupport.parkNanos(this, FULL_QUEUE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Queues the test structure to be written, replacing any update which has not been written yet
+     */
+    public synchronized void updateTestStructure(JsonObject structure) {
+        long version = requestedStructureVersion.incrementAndGet();
+        pendingStructure.set(new PendingStructure(version, structure));
+        LockSupport.unpark(senderThread);
+    }
+
+    /**
+     * Waits until every log line and structure update made before the call has been dealt with
+     */
+    public void flush() {
+        long lineTarget = acceptedLineCount.get();
+        long structureTarget = requestedStructureVersion.get();
+
+        flushWaiterCount.incrementAndGet();
+        try {
+            LockSupport.unpark(senderThread);
+            synchronized (flushMonitor) {
+                while (senderThread.isAlive()
+                        && (completedLineCount.get() < lineTarget || completedStructureVersion < structureTarget)) {
+                    try {
+                        flushMonitor.wait(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        } finally {
+            flushWaiterCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Ships everything still queued, then stops the sender thread
+     */
+    public void shutdown() {
+        flush();
+        isShutdown = true;
+        LockSupport.unpark(senderThread);
+        try {
+            senderThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long droppedLines = droppedLineCount.get();
+        long failedLines = failedLineCount.get();
+        if (droppedLines > 0 || failedLines > 0) {
+            logger.warn("Run " + runName + " lost " + droppedLines + " log lines because the RAS log queue was full, and "
+                + failedLines + " log lines because they could not be stored in CouchDB");
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            long linesShipped = 0;
+            try {
+                linesShipped += shipQueuedLines(false);
+                if (isFlushRequested() || isShutdown) {
+                    linesShipped += shipQueuedLines(true);
+                }
+                writeStructureIfRequired();
+            } catch (Exception e) {
+                logger.error("Unexpected error shipping the run log to CouchDB", e);
+            } finally {
+                // Lines only count as done once the structure listing their documents has been written
+                completedLineCount.addAndGet(linesShipped);
+            }
+
+            synchronized (flushMonitor) {
+                flushMonitor.notifyAll();
+            }
+
+            if (isShutdown && queuedLineCount.get() == 0 && pendingStructure.get() == null) {
+                return;
+            }
+
+            if (!isFlushRequested()) {
+                LockSupport.parkNanos(this, getNanosUntilBatchIsDue());
+            }
+        }
+    }
+
+    public int getQueuedLineCount() {
+        return queuedLineCount.get();
+    }
+
+    public long getShippedLineCount() {
+        return shippedLineCount.get();
+    }
+
+    public long getDroppedLineCount() {
+        return droppedLineCount.get();
+    }
+
+    public long getFailedLineCount() {
+        return failedLineCount.get();
+    }
+
+    public long getBulkRequestCount() {
+        return bulkRequestCount.get();
+    }
+
+    public long getStructureWriteCount() {
+        return structureWriteCount.get();
+    }
+
+    private boolean isFlushRequested() {
+        return flushWaiterCount.get() > 0;
+    }
+
+    private long getNanosUntilBatchIsDue() {
+        if (queuedLineCount.get() == 0) {
+            return maxBatchDelayNanos;
+        }
+        long waited = System.nanoTime() - oldestQueuedLineNanos;
+        return Math.max(1, maxBatchDelayNanos - waited);
+    }
+
+    private boolean isBatchDue() {
+        int count = queuedLineCount.get();
+        if (count >= LINES_PER_DOCUMENT) {
+            return true;
+        }
+        return count > 0 && System.nanoTime() - oldestQueuedLineNanos >= maxBatchDelayNanos;
+    }
+
+    private long shipQueuedLines(boolean isEverythingRequired) {
+        long linesShipped = 0;
+        while (isEverythingRequired ? queuedLineCount.get() > 0 : isBatchDue()) {
+            List<LogLines> documents = takeBatch();
+            if (documents.isEmpty()) {
+                break;
+            }
+            linesShipped += shipBatch(documents);
+        }
+        return linesShipped;
+    }
+
+    private List<LogLines> takeBatch() {
+        List<LogLines> documents = new ArrayList<>();
+        List<String> lines = new ArrayList<>(LINES_PER_DOCUMENT);
+
+        while (documents.size() < DOCUMENTS_PER_BATCH) {
+            String line = queue.poll();
+            if (line == null) {
+                break;
+            }
+            if (queuedLineCount.decrementAndGet() > 0) {
+                // The oldest line still queued arrived no earlier than now, as far as batching is concerned
+                oldestQueuedLineNanos = System.nanoTime();
+            }
+
+            lines.add(line);
+            if (lines.size() == LINES_PER_DOCUMENT) {
+                documents.add(createLogDocument(lines));
+                lines = new ArrayList<>(LINES_PER_DOCUMENT);
+            }
+        }
+
+        if (!lines.isEmpty()) {
+            documents.add(createLogDocument(lines));
+        }
+        return documents;
+    }
+
+    private LogLines createLogDocument(List<String> lines) {
+        LogLines logLines = new LogLines();
+        logLines.runName = runName;
+        logLines.runId = runDocumentId;
+        logLines.order = ++logOrder;
+        logLines.lines = lines;
+        return logLines;
+    }
+
+    private int shipBatch(List<LogLines> documents) {
+        int lineCount = 0;
+        for (LogLines document : documents) {
+            lineCount += document.lines.size();
+        }
+
+        try {
+            bulkRequestCount.incrementAndGet();
+            List<String> documentIds = store.createLogDocuments(documents);
+
+            for (int i = 0; i < documents.size(); i++) {
+                String documentId = (i < documentIds.size()) ? documentIds.get(i) : null;
+                int documentLineCount = documents.get(i).lines.size();
+                if (documentId != null) {
+                    store.addLogRecordId(documentId);
+                    shippedLineCount.addAndGet(documentLineCount);
+                    isStructureOutOfDate = true;
+                } else {
+                    failedLineCount.addAndGet(documentLineCount);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Unable to store " + lineCount + " log lines for run " + runName, e);
+            failedLineCount.addAndGet(lineCount);
+        }
+        return lineCount;
+    }
+
+    private void writeStructureIfRequired() {
+        PendingStructure pending = pendingStructure.getAndSet(null);
+        if (pending != null) {
+            lastStructure = pending.structure;
+        } else if (!isStructureOutOfDate || lastStructure == null) {
+            return;
+        }
+
+        // The record IDs are filled in now, so that the structure lists every log document stored so far
+        lastStructure.add("logRecordIds", toJsonArray(store.getLogRecordIds()));
+        lastStructure.add("artifactRecordIds", toJsonArray(store.getArtifactRecordIds()));
+
+        try {
+            structureWriteCount.incrementAndGet();
+            store.writeRunDocument(lastStructure);
+            isStructureOutOfDate = false;
+        } catch (Exception e) {
+            logger.error("Unable to store the test structure for run " + runName, e);
+        } finally {
+            if (pending != null) {
+                completedStructureVersion = pending.version;
+            }
+        }
+    }
+
+    private JsonArray toJsonArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    private static class PendingStructure {
+        private final long version;
+        private final JsonObject structure;
+
+        private PendingStructure(long version, JsonObject structure) {
+            this.version = version;
+            this.structure = structure;
+        }
+    }
+}
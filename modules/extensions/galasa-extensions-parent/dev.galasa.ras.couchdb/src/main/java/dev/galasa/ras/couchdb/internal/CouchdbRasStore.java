@@ -6,6 +6,7 @@
 package dev.galasa.ras.couchdb.internal;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
@@ -13,8 +14,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.validation.constraints.NotNull;
 import org.apache.commons.logging.Log;
 import org.apache.http.HttpStatus;
@@ -23,6 +24,9 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.google.gson.JsonObject;
+
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IResultArchiveStoreService;
@@ -67,7 +71,7 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
     private final IFramework                   framework;                                         // NOSONAR
 
-    private boolean                            shutdown           = false;
+    private volatile boolean                   shutdown           = false;
 
     private final GalasaGson                   gson               = new GalasaGson();
 
@@ -77,12 +81,11 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
     private String                             runDocumentId;
     private String                             runDocumentRevision;
 
-    private long                               logOrder           = 0;
-
-    private final ArrayList<String>            logCache           = new ArrayList<>(100);
+    // Ships the run log and test structure updates to CouchDB in the background
+    private CouchdbLogShipper                  logShipper;
 
-    private ArrayList<String>                  logIds             = new ArrayList<>();
-    private ArrayList<String>                  artifactDocumentId = new ArrayList<>();;
+    private final List<String>                 logIds             = new CopyOnWriteArrayList<>();
+    private final List<String>                 artifactDocumentId = new CopyOnWriteArrayList<>();
     private String                             artifactDocumentRev;
 
     private TestStructure                      lastTestStructure;
@@ -127,6 +130,10 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
             }
 
             createArtifactDocument();
+
+            JsonObject initialStructure = gson.toJsonTree(lastTestStructure).getAsJsonObject();
+            this.logShipper = new CouchdbLogShipper(this, this.run.getName(), this.runDocumentId, initialStructure, this.logFactory);
+            this.logShipper.start();
         }
 
         ResultArchiveStoreFileStore fileStore = new ResultArchiveStoreFileStore();
@@ -155,51 +162,57 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         if (this.run == null) {
             throw new ResultArchiveStoreException("Not a run");
         }
+        checkNotShutdown();
 
         String[] lines = message.split("\r\n?|\n");
-
-        synchronized (logCache) {
-            logCache.addAll(Arrays.asList(lines));
-            if (logCache.size() >= 100) {
-                flushLogCache();
-            }
+        for (String line : lines) {
+            logShipper.writeLine(line);
         }
     }
 
-    private void flushLogCache() throws ResultArchiveStoreException {
-        LogLines logLines = new LogLines();
-        synchronized (logCache) {
-            if (logCache.isEmpty()) {
-                return;
-            }
-            logLines.lines = new ArrayList<>(logCache);
-            logOrder++;
-            logLines.order = logOrder;
-
-            logCache.clear();
+    /**
+     * The log shipper and HTTP client are stopped by shutdown, so anything written
+     * after it would be lost without trace
+     */
+    private void checkNotShutdown() throws ResultArchiveStoreException {
+        if (this.shutdown) {
+            throw new ResultArchiveStoreException("The CouchDB RAS store has been shut down");
         }
-        logLines.runName = this.run.getName();
-        logLines.runId = this.runDocumentId;
+    }
 
-        String jsonStructure = gson.toJson(logLines);
+    /**
+     * Stores a batch of log documents with a single request
+     *
+     * @return the ID of each document stored, in the same order as the documents, or null for any which could not be stored
+     */
+    List<String> createLogDocuments(List<LogLines> logDocuments) throws ResultArchiveStoreException {
+        JsonObject bulkRequest = new JsonObject();
+        bulkRequest.add("docs", gson.toJsonTree(logDocuments));
 
-        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+LOG_DB);
-        request.setEntity(new StringEntity(jsonStructure, StandardCharsets.UTF_8));
+        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+LOG_DB+"/_bulk_docs");
+        request.setEntity(new StringEntity(gson.toJson(bulkRequest), StandardCharsets.UTF_8));
 
-        try{
+        List<String> documentIds = new ArrayList<>();
+        try {
             String entity = sendHttpRequest(request, HttpStatus.SC_CREATED);
-            PutPostResponse putPostResponse = gson.fromJson(entity, PutPostResponse.class);
-            if (putPostResponse.id == null || putPostResponse.rev == null) {
-                throw new CouchdbException("Unable to store the test structure - Invalid JSON response");
+            PutPostResponse[] putPostResponses = gson.fromJson(entity, PutPostResponse[].class);
+            if (putPostResponses == null) {
+                throw new CouchdbException("Unable to store the test log - Invalid JSON response");
             }
 
-            this.logIds.add(putPostResponse.id);
-            this.updateTestStructure(lastTestStructure);
+            for (PutPostResponse putPostResponse : putPostResponses) {
+                if (putPostResponse.ok && putPostResponse.id != null) {
+                    documentIds.add(putPostResponse.id);
+                } else {
+                    documentIds.add(null);
+                }
+            }
         } catch (CouchdbException e) {
             throw new ResultArchiveStoreException(e);
         } catch (Exception e) {
             throw new ResultArchiveStoreException("Unable to store the test log", e);
         }
+        return documentIds;
     }
 
     @Override
@@ -219,36 +232,61 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         if (this.run == null) {
             throw new ResultArchiveStoreException("Not a run");
         }
+        checkNotShutdown();
 
         this.lastTestStructure = testStructure;
-        this.lastTestStructure.setLogRecordIds(this.logIds);
-        this.lastTestStructure.setArtifactRecordIds(this.artifactDocumentId);
+        this.lastTestStructure.setLogRecordIds(new ArrayList<>(this.logIds));
+        this.lastTestStructure.setArtifactRecordIds(new ArrayList<>(this.artifactDocumentId));
         this.lastTestStructure.normalise();
 
-        String jsonStructure = gson.toJson(testStructure);
-
-        HttpEntityEnclosingRequestBase request;
-        if (runDocumentId == null) {
-            request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+RUNS_DB);
-        } else {
-            request = httpRequestFactory.getHttpPutRequest(this.storeUri + "/"+RUNS_DB+"/" + runDocumentId);
-            request.setHeader("If-Match", runDocumentRevision);
+        // Once the run document exists, the structure is written in the background, so the
+        // caller only pays for taking a copy of it
+        if (runDocumentId != null && logShipper != null) {
+            logShipper.updateTestStructure(gson.toJsonTree(testStructure).getAsJsonObject());
+            return;
         }
-        request.setEntity(new StringEntity(jsonStructure, StandardCharsets.UTF_8));
 
+        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+RUNS_DB);
+        request.setEntity(new StringEntity(gson.toJson(testStructure), StandardCharsets.UTF_8));
+        storeRunDocument(request);
+    }
+
+    /**
+     * Replaces the run document with the given test structure
+     */
+    void writeRunDocument(JsonObject testStructure) throws ResultArchiveStoreException {
+        HttpEntityEnclosingRequestBase request = httpRequestFactory.getHttpPutRequest(this.storeUri + "/"+RUNS_DB+"/" + runDocumentId);
+        request.setHeader("If-Match", runDocumentRevision);
+        request.setEntity(new StringEntity(gson.toJson(testStructure), StandardCharsets.UTF_8));
+        storeRunDocument(request);
+    }
+
+    private void storeRunDocument(HttpEntityEnclosingRequestBase request) throws ResultArchiveStoreException {
         try{
             String entity = sendHttpRequest(request, HttpStatus.SC_CREATED);
             PutPostResponse putPostResponse = gson.fromJson(entity, PutPostResponse.class);
-                if (putPostResponse.id == null || putPostResponse.rev == null) {
-                    throw new CouchdbException("Unable to store the test structure - Invalid JSON response");
-                }
-                this.runDocumentId = putPostResponse.id;
-                this.runDocumentRevision = putPostResponse.rev;
+            if (putPostResponse.id == null || putPostResponse.rev == null) {
+                throw new CouchdbException("Unable to store the test structure - Invalid JSON response");
+            }
+            this.runDocumentId = putPostResponse.id;
+            this.runDocumentRevision = putPostResponse.rev;
         } catch (CouchdbException e){
             throw new ResultArchiveStoreException(e);
         }
     }
 
+    void addLogRecordId(String logRecordId) {
+        this.logIds.add(logRecordId);
+    }
+
+    List<String> getLogRecordIds() {
+        return this.logIds;
+    }
+
+    List<String> getArtifactRecordIds() {
+        return this.artifactDocumentId;
+    }
+
     public void retrieveArtifact(CouchdbArtifactPath path, Path cachePath) throws CouchdbException {
         String artifactRecordId = path.getArtifactRecordId();
         String encodedPath;
@@ -266,28 +304,47 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         StringBuilder sb = new StringBuilder();
 
         for (String logRecordId : ts.getLogRecordIds()) {
-            HttpGet httpGet = httpRequestFactory.getHttpGetRequest(this.storeUri + "/"+LOG_DB+"/" + logRecordId);
-
-            try{
-                String entity = sendHttpRequest(httpGet, HttpStatus.SC_OK);
-                LogLines logLines = gson.fromJson(entity, LogLines.class);
-                if (logLines.lines != null) {
-                    for (String line : logLines.lines) {
-                        if (sb.length() > 0) {
-                            sb.append("\n");
-                        }
-                        sb.append(line);
-                    }
+            List<String> lines = getLogLines(logRecordId);
+            for (String line : lines) {
+                if (sb.length() > 0) {
+                    sb.append("\n");
                 }
-            } catch (CouchdbException e) {
-                throw new ResultArchiveStoreException(e);
-            } catch (Exception e) {
-                throw new ResultArchiveStoreException("Unable to find runs", e);
+                sb.append(line);
             }
         }
         return sb.toString();
     }
 
+    /**
+     * Opens a reader which fetches the run's log documents one at a time, in order,
+     * as the log is read.
+     */
+    public Reader getLogReader(TestStructure ts) {
+        List<String> logRecordIds = ts.getLogRecordIds();
+        if (logRecordIds == null) {
+            logRecordIds = new ArrayList<>();
+        }
+        return new CouchdbLogReader(this, logRecordIds);
+    }
+
+    protected @NotNull List<String> getLogLines(String logRecordId) throws ResultArchiveStoreException {
+        List<String> lines = new ArrayList<>();
+        HttpGet httpGet = httpRequestFactory.getHttpGetRequest(this.storeUri + "/"+LOG_DB+"/" + logRecordId);
+
+        try{
+            String entity = sendHttpRequest(httpGet, HttpStatus.SC_OK);
+            LogLines logLines = gson.fromJson(entity, LogLines.class);
+            if (logLines.lines != null) {
+                lines = logLines.lines;
+            }
+        } catch (CouchdbException e) {
+            throw new ResultArchiveStoreException(e);
+        } catch (Exception e) {
+            throw new ResultArchiveStoreException("Unable to find runs", e);
+        }
+        return lines;
+    }
+
     @Override
     public Path getStoredArtifactsRoot() {
         if (this.run == null) {
@@ -298,20 +355,16 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
     @Override
     public void flush() {
-        try {
-            flushLogCache();
-        } catch (ResultArchiveStoreException e) {
-            logger.error("Error with heartbeat flush", e);
+        if (logShipper != null) {
+            logShipper.flush();
         }
     }
 
     @Override
     public void shutdown() {
         this.shutdown = true;
-        try {
-            flushLogCache();
-        } catch (ResultArchiveStoreException e) {
-            logger.error("Error with shutdown flush", e);
+        if (logShipper != null) {
+            logShipper.shutdown();
         }
 
         try {
@@ -5,6 +5,7 @@
  */
 package dev.galasa.ras.couchdb.internal;
 
+import java.io.Reader;
 import java.nio.file.Path;
 
 import dev.galasa.extensions.common.api.LogFactory;
@@ -53,6 +54,11 @@ public class CouchdbRunResult implements IRunResult {
         return this.store.getLog(this.testStructure);
     }
 
+    @Override
+    public Reader getLogReader() throws ResultArchiveStoreException {
+        return this.store.getLogReader(this.testStructure);
+    }
+
 	@Override
 	public void discard() throws ResultArchiveStoreException {
         deleteRunService.discardRun(this.testStructure);
@@ -10,6 +10,7 @@ import com.google.gson.JsonArray;
 public class Find {
 
     public Object    selector;
+    public JsonArray fields;
     public JsonArray sort;
     public Integer   limit;
     public Integer   skip;
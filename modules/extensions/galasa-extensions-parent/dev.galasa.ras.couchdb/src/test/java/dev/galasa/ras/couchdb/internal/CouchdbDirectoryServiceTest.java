@@ -23,6 +23,9 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.util.EntityUtils;
 import org.junit.Test;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
 import dev.galasa.extensions.common.couchdb.pojos.ViewResponse;
 import dev.galasa.extensions.common.couchdb.pojos.ViewRow;
 import dev.galasa.extensions.common.impl.HttpRequestFactoryImpl;
@@ -44,6 +47,7 @@ import dev.galasa.framework.spi.ras.RasSearchCriteriaStatus;
 import dev.galasa.framework.spi.ras.RasSearchCriteriaTestName;
 import dev.galasa.framework.spi.ras.RasSortField;
 import dev.galasa.framework.spi.teststructure.TestStructure;
+import dev.galasa.framework.spi.utils.GalasaGson;
 import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures;
 import dev.galasa.ras.couchdb.internal.mocks.MockLogFactory;
 import dev.galasa.ras.couchdb.internal.pojos.FoundRuns;
@@ -101,6 +105,20 @@ public class CouchdbDirectoryServiceTest extends BaseCouchdbOperationTest {
         }
     }
 
+    class GetAllDocsInteraction extends BaseHttpInteraction {
+
+        public GetAllDocsInteraction(String expectedUri, JsonObject allDocsResponse) {
+            super(expectedUri, HttpStatus.SC_OK);
+            setResponsePayload(allDocsResponse);
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host,request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo("GET");
+        }
+    }
+
     //------------------------------------------
     //
     // Tests for getting runs by criteria
@@ -489,6 +507,121 @@ public class CouchdbDirectoryServiceTest extends BaseCouchdbOperationTest {
         assertThat(runs.get(1).getTestStructure().getRunName()).isEqualTo(mockRun2.getRunName());
     }
 
+    @Test
+    public void testGetSortedRunsByQueuedTimeIsSortedAndLimitedByCouchdb() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun1 = createRunTestStructure("run1-id", "run1", "none");
+        TestStructureCouchdb mockRun2 = createRunTestStructure("run2-id", "run2", "none");
+
+        Instant queuedFromTime = Instant.EPOCH;
+        RasSearchCriteriaQueuedFrom queuedFrom = new RasSearchCriteriaQueuedFrom(queuedFromTime);
+
+        RasSortField queuedSort = new RasSortField("queued", "desc");
+
+        FoundRuns findRunsResponse = new FoundRuns();
+        findRunsResponse.docs = List.of(mockRun1, mockRun2);
+        findRunsResponse.bookmark = "bookmark!";
+
+        String expectedUri = "http://my.uri/galasa_run/_find";
+        List<HttpInteraction> interactions = List.of(
+            new PostCouchdbFindRunsInteraction(
+                expectedUri,
+                findRunsResponse,
+                "$gte",
+                queuedFromTime.toString(),
+                "sort",
+                queuedSort.getFieldName(),
+                queuedSort.getSortDirection(),
+                "\"limit\": 2"
+            )
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        // When...
+        List<IRunResult> runs = directoryService.getSortedRuns(2, queuedSort, queuedFrom);
+
+        // Then...
+        assertThat(runs).hasSize(2);
+        assertThat(runs.get(0).getTestStructure().getRunName()).isEqualTo(mockRun1.getRunName());
+        assertThat(runs.get(1).getTestStructure().getRunName()).isEqualTo(mockRun2.getRunName());
+    }
+
+    @Test
+    public void testGetRunCountOnlyFetchesDocumentIdsOk() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun1 = createRunTestStructure("run1-id", "run1", "none");
+        TestStructureCouchdb mockRun2 = createRunTestStructure("run2-id", "run2", "none");
+        TestStructureCouchdb mockRun3 = createRunTestStructure("run3-id", "run3", "none");
+
+        Instant queuedFromTime = Instant.EPOCH;
+        RasSearchCriteriaQueuedFrom queuedFrom = new RasSearchCriteriaQueuedFrom(queuedFromTime);
+
+        FoundRuns findRunsResponsePage1 = new FoundRuns();
+        findRunsResponsePage1.docs = List.of(mockRun1, mockRun2);
+        findRunsResponsePage1.bookmark = "bookmark1";
+
+        FoundRuns findRunsResponsePage2 = new FoundRuns();
+        findRunsResponsePage2.docs = List.of(mockRun3);
+        findRunsResponsePage2.bookmark = "bookmark2";
+
+        FoundRuns emptyRunsResponse = new FoundRuns();
+        emptyRunsResponse.docs = new ArrayList<>();
+
+        String expectedUri = "http://my.uri/galasa_run/_find";
+        List<HttpInteraction> interactions = List.of(
+            new PostCouchdbFindRunsInteraction(expectedUri, findRunsResponsePage1, "fields", "_id", queuedFromTime.toString()),
+            new PostCouchdbFindRunsInteraction(expectedUri, findRunsResponsePage2, "fields", "_id", findRunsResponsePage1.bookmark),
+            new PostCouchdbFindRunsInteraction(expectedUri, emptyRunsResponse, "fields", "_id", findRunsResponsePage2.bookmark)
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        // When...
+        int runCount = directoryService.getRunCount(queuedFrom);
+
+        // Then...
+        assertThat(runCount).isEqualTo(3);
+    }
+
+    @Test
+    public void testGetRunCountWithNoCriteriaUsesAllDocsTotalRowsOk() throws Exception {
+        // Given...
+        // The database holds 5 documents, one of which is a design document rather than a run
+        JsonObject designDocRow = new JsonObject();
+        designDocRow.addProperty("id", "_design/docs");
+        designDocRow.addProperty("key", "_design/docs");
+
+        JsonArray rows = new JsonArray();
+        rows.add(designDocRow);
+
+        JsonObject allDocsResponse = new JsonObject();
+        allDocsResponse.addProperty("total_rows", 5);
+        allDocsResponse.addProperty("offset", 0);
+        allDocsResponse.add("rows", rows);
+
+        String expectedUri = "http://my.uri/galasa_run/_all_docs"
+            + "?startkey=" + URLEncoder.encode("\"_design/\"", StandardCharsets.UTF_8)
+            + "&endkey=" + URLEncoder.encode("\"_design0\"", StandardCharsets.UTF_8);
+        List<HttpInteraction> interactions = List.of(
+            new GetAllDocsInteraction(expectedUri, allDocsResponse)
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        // When...
+        int runCount = directoryService.getRunCount();
+
+        // Then...
+        assertThat(runCount).isEqualTo(4);
+    }
+
     @Test
     public void testGetRunsPageWithNilBookmarkReturnsPageWithNoNextCursor() throws Exception {
         // Given...
@@ -519,6 +652,120 @@ public class CouchdbDirectoryServiceTest extends BaseCouchdbOperationTest {
         assertThat(runsPage.getNextCursor()).isNull();
     }
 
+    //------------------------------------------
+    //
+    // Tests for getting all runs
+    //
+    //------------------------------------------
+
+    private JsonObject createAllDocsResponse(List<TestStructureCouchdb> runs) {
+        GalasaGson gson = new GalasaGson();
+        JsonArray rows = new JsonArray();
+        for (TestStructureCouchdb run : runs) {
+            JsonObject value = new JsonObject();
+            value.addProperty("rev", run._rev);
+
+            JsonObject row = new JsonObject();
+            row.addProperty("id", run._id);
+            row.addProperty("key", run._id);
+            row.add("value", value);
+            row.add("doc", gson.toJsonTree(run));
+            rows.add(row);
+        }
+
+        JsonObject response = new JsonObject();
+        response.addProperty("total_rows", runs.size());
+        response.addProperty("offset", 0);
+        response.add("rows", rows);
+        return response;
+    }
+
+    @Test
+    public void testGetRunsWithNoCriteriaReadsAllDocsInPagesOk() throws Exception {
+        // Given...
+        // One more run than fits on a page, so a second page has to be read
+        List<TestStructureCouchdb> page1Runs = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            String runName = String.format("run%03d", i);
+            page1Runs.add(createRunTestStructure(runName + "-id", runName, "none"));
+        }
+
+        // Design documents live in the same database, but are not runs
+        TestStructureCouchdb designDoc = createRunTestStructure("_design/docs", "not-a-run", "none");
+        List<TestStructureCouchdb> page2Runs = List.of(page1Runs.get(100), designDoc);
+
+        String nextStartKey = URLEncoder.encode("\"run100-id\"", StandardCharsets.UTF_8);
+        String expectedUri = "http://my.uri/galasa_run/_all_docs?include_docs=true&limit=101";
+        List<HttpInteraction> interactions = List.of(
+            new GetAllDocsInteraction(expectedUri, createAllDocsResponse(page1Runs)),
+            new GetAllDocsInteraction(expectedUri + "&startkey=" + nextStartKey, createAllDocsResponse(page2Runs))
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        // When...
+        List<IRunResult> runs = directoryService.getRuns();
+
+        // Then...
+        assertThat(runs).hasSize(101);
+        assertThat(runs.get(0).getTestStructure().getRunName()).isEqualTo("run000");
+        assertThat(runs.get(99).getTestStructure().getRunName()).isEqualTo("run099");
+        assertThat(runs.get(100).getTestStructure().getRunName()).isEqualTo("run100");
+        assertThat(runs.get(100).getRunId()).isEqualTo("cdb-run100-id");
+    }
+
+    @Test
+    public void testForEachRunWithNoCriteriaPassesEachRunToConsumerOk() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun1 = createRunTestStructure("run1-id", "run1", "none");
+        TestStructureCouchdb mockRun2 = createRunTestStructure("run2-id", "run2", "none");
+
+        JsonObject allDocsResponse = createAllDocsResponse(List.of(mockRun1, mockRun2));
+        allDocsResponse.addProperty("warning", "this is a warning");
+
+        String expectedUri = "http://my.uri/galasa_run/_all_docs?include_docs=true&limit=101";
+        List<HttpInteraction> interactions = List.of(
+            new GetAllDocsInteraction(expectedUri, allDocsResponse)
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        List<String> runNames = new ArrayList<>();
+
+        // When...
+        directoryService.forEachRun(run -> runNames.add(run.getTestStructure().getRunName()));
+
+        // Then...
+        assertThat(runNames).containsExactly("run1", "run2");
+    }
+
+    @Test
+    public void testGetRunsWithNoCriteriaAndNoRowsInResponseThrowsError() throws Exception {
+        // Given...
+        JsonObject allDocsResponse = new JsonObject();
+        allDocsResponse.addProperty("total_rows", 0);
+
+        String expectedUri = "http://my.uri/galasa_run/_all_docs?include_docs=true&limit=101";
+        List<HttpInteraction> interactions = List.of(
+            new GetAllDocsInteraction(expectedUri, allDocsResponse)
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+        CouchdbDirectoryService directoryService = new CouchdbDirectoryService(mockRasStore, mockLogFactory, new HttpRequestFactoryImpl());
+
+        // When...
+        CouchdbRasException thrown = catchThrowableOfType(() -> directoryService.getRuns(), CouchdbRasException.class);
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getMessage()).contains("Unable to find rows", "Invalid JSON response");
+    }
+
     //------------------------------------------
     //
     // Tests for getting runs by run name
@@ -0,0 +1,137 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+
+import dev.galasa.extensions.common.mocks.BaseHttpInteraction;
+import dev.galasa.extensions.common.mocks.HttpInteraction;
+import dev.galasa.extensions.common.mocks.MockCloseableHttpResponse;
+import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures;
+import dev.galasa.ras.couchdb.internal.mocks.MockLogFactory;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+import dev.galasa.ras.couchdb.internal.pojos.TestStructureCouchdb;
+
+public class CouchdbLogReaderTest extends BaseCouchdbOperationTest {
+
+    private CouchdbTestFixtures fixtures = new CouchdbTestFixtures();
+
+    class GetLogDocumentInteraction extends BaseHttpInteraction {
+
+        private boolean isRequested = false;
+
+        public GetLogDocumentInteraction(String expectedUri, int statusCode, List<String> lines) {
+            super(expectedUri, statusCode);
+            LogLines logLines = new LogLines();
+            logLines.lines = lines;
+            setResponsePayload(logLines);
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host,request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo("GET");
+        }
+
+        @Override
+        public MockCloseableHttpResponse getResponse() {
+            isRequested = true;
+            return super.getResponse();
+        }
+
+        public boolean isRequested() {
+            return isRequested;
+        }
+    }
+
+    private String readAll(Reader reader) throws IOException {
+        StringWriter writer = new StringWriter();
+        reader.transferTo(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void testLogReaderFetchesLogDocumentsOnlyWhenTheyAreNeeded() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun = createRunTestStructure("run1-id", "run1", "none");
+        mockRun.setLogRecordIds(List.of("log1", "log2"));
+
+        GetLogDocumentInteraction log1Interaction = new GetLogDocumentInteraction("http://my.uri/galasa_log/log1", HttpStatus.SC_OK, List.of("line1", "line2"));
+        GetLogDocumentInteraction log2Interaction = new GetLogDocumentInteraction("http://my.uri/galasa_log/log2", HttpStatus.SC_OK, List.of("line3"));
+        List<HttpInteraction> interactions = List.of(log1Interaction, log2Interaction);
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+
+        // When...
+        char[] firstChars = new char[5];
+        String log;
+        try (Reader reader = mockRasStore.getLogReader(mockRun)) {
+            int charsRead = reader.read(firstChars);
+            assertThat(charsRead).isEqualTo(5);
+            assertThat(log2Interaction.isRequested()).isFalse();
+
+            log = new String(firstChars) + readAll(reader);
+        }
+
+        // Then...
+        assertThat(log1Interaction.isRequested()).isTrue();
+        assertThat(log2Interaction.isRequested()).isTrue();
+        assertThat(log).isEqualTo("line1\nline2\nline3");
+    }
+
+    @Test
+    public void testLogReaderWithNoLogDocumentsReadsEmptyLog() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun = createRunTestStructure("run1-id", "run1", "none");
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(List.of(), mockLogFactory);
+
+        // When...
+        String log;
+        try (Reader reader = mockRasStore.getLogReader(mockRun)) {
+            log = readAll(reader);
+        }
+
+        // Then...
+        assertThat(log).isEmpty();
+    }
+
+    @Test
+    public void testLogReaderWithMissingLogDocumentThrowsError() throws Exception {
+        // Given...
+        TestStructureCouchdb mockRun = createRunTestStructure("run1-id", "run1", "none");
+        mockRun.setLogRecordIds(List.of("log1"));
+
+        List<HttpInteraction> interactions = List.of(
+            new GetLogDocumentInteraction("http://my.uri/galasa_log/log1", HttpStatus.SC_NOT_FOUND, List.of())
+        );
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore mockRasStore = fixtures.createCouchdbRasStore(interactions, mockLogFactory);
+
+        // When...
+        IOException thrown;
+        try (Reader reader = mockRasStore.getLogReader(mockRun)) {
+            thrown = catchThrowableOfType(() -> readAll(reader), IOException.class);
+        }
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getMessage()).contains("Unable to read the run log");
+    }
+}
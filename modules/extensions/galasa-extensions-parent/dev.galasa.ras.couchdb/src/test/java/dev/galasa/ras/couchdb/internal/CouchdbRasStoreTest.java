@@ -5,17 +5,112 @@
  */
 package dev.galasa.ras.couchdb.internal;
 
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.util.EntityUtils;
 import org.junit.Test;
 
+import dev.galasa.extensions.common.couchdb.pojos.PutPostResponse;
+import dev.galasa.extensions.common.mocks.BaseHttpInteraction;
+import dev.galasa.extensions.common.mocks.HttpInteraction;
+import dev.galasa.extensions.common.mocks.MockCloseableHttpResponse;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.teststructure.TestStructure;
 import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures;
+import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures.CreateArtifactDocInteractionOK;
+import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures.CreateTestDocInteractionOK;
+import dev.galasa.ras.couchdb.internal.mocks.MockLogFactory;
 
 public class CouchdbRasStoreTest {
-    
 
-    CouchdbTestFixtures fixtures = new CouchdbTestFixtures();    
 
-        
-    // Creating the Ras store causes the test structure in the couchdb 
+    CouchdbTestFixtures fixtures = new CouchdbTestFixtures();
+
+    class RecordingHttpInteraction extends BaseHttpInteraction {
+
+        private final String expectedMethod;
+        private volatile String requestBody;
+
+        public RecordingHttpInteraction(String expectedUri, String expectedMethod, Object responsePayload) {
+            super(expectedUri, responsePayload, HttpStatus.SC_CREATED);
+            this.expectedMethod = expectedMethod;
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host, request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo(expectedMethod);
+            try {
+                requestBody = EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read the request body", e);
+            }
+        }
+
+        public String getRequestBody() {
+            return requestBody;
+        }
+
+        public boolean isRequested() {
+            return requestBody != null;
+        }
+    }
+
+    class BlockingHttpInteraction extends RecordingHttpInteraction {
+
+        private final CountDownLatch requestReceived = new CountDownLatch(1);
+        private final CountDownLatch responseReleased = new CountDownLatch(1);
+
+        public BlockingHttpInteraction(String expectedUri, String expectedMethod, Object responsePayload) {
+            super(expectedUri, expectedMethod, responsePayload);
+        }
+
+        @Override
+        public MockCloseableHttpResponse getResponse() {
+            requestReceived.countDown();
+            try {
+                responseReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getResponse();
+        }
+
+        public void awaitRequest() throws InterruptedException {
+            assertThat(requestReceived.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        public void releaseResponse() {
+            responseReleased.countDown();
+        }
+    }
+
+    private PutPostResponse createPutPostResponse(String id, String rev) {
+        PutPostResponse response = new PutPostResponse();
+        response.id = id;
+        response.ok = true;
+        response.rev = rev;
+        return response;
+    }
+
+    private List<HttpInteraction> createStoreInteractions() {
+        List<HttpInteraction> interactions = new ArrayList<>();
+        interactions.add(new CreateTestDocInteractionOK(CouchdbTestFixtures.rasUriStr, CouchdbTestFixtures.documentId1, "124"));
+        interactions.add(new CreateArtifactDocInteractionOK(CouchdbTestFixtures.rasUriStr, CouchdbTestFixtures.documentId1, "124"));
+        return interactions;
+    }
+
+    // Creating the Ras store causes the test structure in the couchdb
     @Test
     public void testCanCreateCouchdbRasStoreOK() throws Exception {
 
@@ -23,4 +118,112 @@ public class CouchdbRasStoreTest {
         fixtures.createCouchdbRasStore(null);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFlushStoresLogLinesInOneBulkRequestAndUpdatesRunDocument() throws Exception {
+        // Given...
+        String runUri = CouchdbTestFixtures.rasUriStr + "/galasa_run/" + CouchdbTestFixtures.documentId1;
+
+        RecordingHttpInteraction bulkDocsInteraction = new RecordingHttpInteraction(
+            CouchdbTestFixtures.rasUriStr + "/galasa_log/_bulk_docs", "POST", List.of(createPutPostResponse("log1", "1")));
+        RecordingHttpInteraction putRunInteraction = new RecordingHttpInteraction(
+            runUri, "PUT", createPutPostResponse(CouchdbTestFixtures.documentId1, "125"));
+
+        List<HttpInteraction> interactions = createStoreInteractions();
+        interactions.add(bulkDocsInteraction);
+        interactions.add(putRunInteraction);
+
+        CouchdbRasStore store = fixtures.createCouchdbRasStore(null, interactions, new MockLogFactory());
+
+        // When...
+        store.writeLog("line1\nline2");
+        store.writeLog(List.of("line3"));
+        store.flush();
+
+        // Then...
+        assertThat(bulkDocsInteraction.getRequestBody()).contains("\"docs\"", "line1", "line2", "line3");
+        assertThat(putRunInteraction.getRequestBody()).contains("\"logRecordIds\"", "\"log1\"");
+    }
+
+    @Test
+    public void testTestStructureUpdatesMadeDuringAWriteAreCoalesced() throws Exception {
+        // Given...
+        String runUri = CouchdbTestFixtures.rasUriStr + "/galasa_run/" + CouchdbTestFixtures.documentId1;
+
+        BlockingHttpInteraction firstPutInteraction = new BlockingHttpInteraction(
+            runUri, "PUT", createPutPostResponse(CouchdbTestFixtures.documentId1, "125"));
+        RecordingHttpInteraction secondPutInteraction = new RecordingHttpInteraction(
+            runUri, "PUT", createPutPostResponse(CouchdbTestFixtures.documentId1, "126"));
+        RecordingHttpInteraction unexpectedPutInteraction = new RecordingHttpInteraction(
+            runUri, "PUT", createPutPostResponse(CouchdbTestFixtures.documentId1, "127"));
+
+        List<HttpInteraction> interactions = createStoreInteractions();
+        interactions.add(firstPutInteraction);
+        interactions.add(secondPutInteraction);
+        interactions.add(unexpectedPutInteraction);
+
+        CouchdbRasStore store = fixtures.createCouchdbRasStore(null, interactions, new MockLogFactory());
+        TestStructure testStructure = new TestStructure();
+        testStructure.setRunName(CouchdbTestFixtures.runName1);
+
+        // When...
+        testStructure.setStatus("building");
+        store.updateTestStructure(testStructure);
+        firstPutInteraction.awaitRequest();
+
+        testStructure.setStatus("running");
+        store.updateTestStructure(testStructure);
+        testStructure.setStatus("finished");
+        store.updateTestStructure(testStructure);
+
+        firstPutInteraction.releaseResponse();
+        store.flush();
+
+        // Then...
+        assertThat(firstPutInteraction.getRequestBody()).contains("building");
+        assertThat(secondPutInteraction.getRequestBody()).contains("finished").doesNotContain("running");
+        assertThat(unexpectedPutInteraction.isRequested()).isFalse();
+    }
+
+    @Test
+    public void testLogLinesAreDroppedWhenTheQueueIsFull() throws Exception {
+        // Given...
+        CouchdbRasStore store = fixtures.createCouchdbRasStore(null);
+
+        // The shipper is not started, so nothing takes lines off its queue
+        CouchdbLogShipper shipper = new CouchdbLogShipper(store, CouchdbTestFixtures.runName1,
+            CouchdbTestFixtures.documentId1, null, new MockLogFactory(), 2, 5000, 0);
+
+        // When...
+        boolean isLine1Queued = shipper.writeLine("line1");
+        boolean isLine2Queued = shipper.writeLine("line2");
+        boolean isLine3Queued = shipper.writeLine("line3");
+
+        // Then...
+        assertThat(isLine1Queued).isTrue();
+        assertThat(isLine2Queued).isTrue();
+        assertThat(isLine3Queued).isFalse();
+        assertThat(shipper.getQueuedLineCount()).isEqualTo(2);
+        assertThat(shipper.getDroppedLineCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWritesAfterShutdownAreRejected() throws Exception {
+        // Given...
+        CouchdbRasStore store = fixtures.createCouchdbRasStore(null);
+        store.shutdown();
+
+        TestStructure testStructure = new TestStructure();
+        testStructure.setRunName(CouchdbTestFixtures.runName1);
+
+        // When...
+        Throwable logThrown = catchThrowable(() -> store.writeLog("too late"));
+        Throwable logListThrown = catchThrowable(() -> store.writeLog(List.of("also too late")));
+        Throwable structureThrown = catchThrowable(() -> store.updateTestStructure(testStructure));
+
+        // Then...
+        assertThat(logThrown).isInstanceOf(ResultArchiveStoreException.class).hasMessageContaining("shut down");
+        assertThat(logListThrown).isInstanceOf(ResultArchiveStoreException.class).hasMessageContaining("shut down");
+        assertThat(structureThrown).isInstanceOf(ResultArchiveStoreException.class).hasMessageContaining("shut down");
+    }
+
+}
@@ -18,6 +18,7 @@ import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
@@ -26,7 +27,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Base64.Decoder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
@@ -65,8 +73,17 @@ public class OidcProvider implements IOidcProvider {
     private static final String BEARER_TOKEN_SCOPE = "openid offline_access profile";
     private static final int JWK_REFRESH_INTERVAL_MINUTES = 10;
 
-    private JsonArray jsonWebKeys;
-    private Instant nextJwkRefresh = Instant.EPOCH;
+    // Don't refresh the keys because of an unknown key ID more often than this
+    private static final long MIN_JWK_FORCED_REFRESH_INTERVAL_SECONDS = 30;
+
+    private static final int MAX_VERIFIED_TOKENS = 10000;
+
+    // Replaced as a whole each time the keys are refreshed
+    private volatile JsonWebKeySet jsonWebKeySet;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     private ITimeService timeService;
 
     private URI issuerUrl;
@@ -233,41 +250,40 @@ public class OidcProvider implements IOidcProvider {
     /**
      * Gets a JSON Web Key with a given key ID ('kid') from an OpenID connect issuer's /keys endpoint, returned as a JSON object
      */
-    public synchronized JsonWebKey getJsonWebKeyByKeyId(String keyId) throws IOException, InterruptedException {
-        // Check if it is time to refresh the cached JSON web keys
-        if (jsonWebKeys == null || nextJwkRefresh.isBefore(timeService.now())) {
-            logger.info("Refreshing cached JSON Web Keys");
-            refreshJsonWebKeys();
-        }
-
-        // Iterate over the JSON array of JWKs, finding the one that matches the given key ID
-        JsonWebKey matchingKey = null;
-        for (JsonElement keyElement : jsonWebKeys) {
-            JsonWebKey key = gson.fromJson(keyElement.toString(), JsonWebKey.class);
-            if (key.getKeyId().equals(keyId)) {
-                matchingKey = key;
-                break;
-            }
-        }
-        return matchingKey;
+    public JsonWebKey getJsonWebKeyByKeyId(String keyId) throws IOException, InterruptedException {
+        return getJsonWebKeys().getKey(keyId);
     }
 
     /**
      * Checks if a given JWT is valid or not
      */
     public boolean isJwtValid(String jwt) throws NoSuchAlgorithmException, InvalidKeySpecException, IOException, InterruptedException {
+        String tokenHash = getTokenHash(jwt);
+
+        // Tokens which have already been verified are valid until they expire, as long
+        // as the key that signed them is still published unchanged by the issuer
+        VerifiedToken verifiedToken = verifiedTokens.get(tokenHash);
+        if (verifiedToken != null) {
+            if (timeService.now().isBefore(verifiedToken.expiresAt)
+                    && getJsonWebKeys().getVerifier(verifiedToken.keyId) == verifiedToken.verifier) {
+                return true;
+            }
+            verifiedTokens.remove(tokenHash, verifiedToken);
+        }
+
         boolean isValid = false;
         try {
             DecodedJWT decodedJwt = JWT.decode(jwt);
 
-            // Try to get the public key used to sign this JWT
-            RSAPublicKey publicKey = getRSAPublicKeyFromIssuer(decodedJwt.getKeyId());
-            if (publicKey != null) {
-                Algorithm algorithm = Algorithm.RSA256(publicKey, null);
-                JWTVerifier verifier = JWT.require(algorithm).withIssuer(issuerUrl.toString()).build();
-
-                decodedJwt = verifier.verify(jwt);
+            // Try to get the verifier for the public key used to sign this JWT
+            JWTVerifier verifier = getVerifierFromIssuer(decodedJwt.getKeyId());
+            if (verifier != null) {
+                decodedJwt = verifier.verify(decodedJwt);
                 isValid = (decodedJwt != null);
+
+                if (isValid) {
+                    addVerifiedToken(tokenHash, decodedJwt, verifier);
+                }
             }
 
         } catch (JWTVerificationException e) {
@@ -277,7 +293,105 @@ public class OidcProvider implements IOidcProvider {
         return isValid;
     }
 
-    // Constructs an RSA public key from a JSON Web Key (JWK) that contains the provided key ID
+    // Gets the verifier for the JSON Web Key (JWK) with the provided key ID, refreshing
+    // the cached keys if the key is not known, since the issuer may have rotated its keys
+    private JWTVerifier getVerifierFromIssuer(String keyId) throws IOException, InterruptedException {
+        JsonWebKeySet jsonWebKeySet = getJsonWebKeys();
+        JWTVerifier verifier = jsonWebKeySet.getVerifier(keyId);
+        if (verifier == null) {
+            // Force the cached keys to be refreshed and try again
+            verifier = refreshJsonWebKeysForUnknownKey(jsonWebKeySet).getVerifier(keyId);
+
+            // If we still failed to get a matching key, then this must be a bad key ID
+            if (verifier == null) {
+                logger.error("Error: No matching JSON Web Key was found with key ID '" + keyId + "'.");
+            }
+        }
+        return verifier;
+    }
+
+    /**
+     * Gets the cached JSON Web Keys, refreshing them if it is time to do so.
+     *
+     * Only one thread refreshes the keys at a time. While the keys are being refreshed,
+     * other threads carry on using the keys that were already cached.
+     */
+    private JsonWebKeySet getJsonWebKeys() throws IOException, InterruptedException {
+        JsonWebKeySet currentKeys = jsonWebKeySet;
+        if (currentKeys != null && !currentKeys.nextRefresh.isBefore(timeService.now())) {
+            return currentKeys;
+        }
+
+        if (currentKeys == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return currentKeys;
+        }
+
+        try {
+            // Another thread may have refreshed the keys while we were waiting
+            currentKeys = jsonWebKeySet;
+            if (currentKeys == null || currentKeys.nextRefresh.isBefore(timeService.now())) {
+                logger.info("Refreshing cached JSON Web Keys");
+                currentKeys = refreshJsonWebKeys(currentKeys);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+        return currentKeys;
+    }
+
+    /**
+     * Refreshes the cached JSON Web Keys because a JWT was signed by a key that is not
+     * known. To stop tokens with bad key IDs from flooding the issuer with requests,
+     * the keys are not refreshed if they were fetched within the last few seconds.
+     */
+    private JsonWebKeySet refreshJsonWebKeysForUnknownKey(JsonWebKeySet keysWithoutKey) throws IOException, InterruptedException {
+        refreshLock.lock();
+        try {
+            JsonWebKeySet currentKeys = jsonWebKeySet;
+
+            // Another thread may have refreshed the keys while we were waiting
+            if (currentKeys == keysWithoutKey
+                    && !timeService.now().isBefore(currentKeys.fetchedAt.plusSeconds(MIN_JWK_FORCED_REFRESH_INTERVAL_SECONDS))) {
+                logger.info("Refreshing cached JSON Web Keys to look for an unknown key ID");
+                currentKeys = refreshJsonWebKeys(currentKeys);
+            }
+            return currentKeys;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void addVerifiedToken(String tokenHash, DecodedJWT decodedJwt, JWTVerifier verifier) {
+        Instant expiresAt = decodedJwt.getExpiresAtAsInstant();
+        if (expiresAt == null) {
+            // Tokens that never expire are verified every time
+            return;
+        }
+
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            Instant now = timeService.now();
+            verifiedTokens.values().removeIf(token -> !now.isBefore(token.expiresAt));
+
+            // Make room by dropping any token, it will be verified again when next used
+            Iterator<String> iterator = verifiedTokens.keySet().iterator();
+            while (verifiedTokens.size() >= MAX_VERIFIED_TOKENS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        verifiedTokens.put(tokenHash, new VerifiedToken(decodedJwt.getKeyId(), verifier, expiresAt));
+    }
+
+    // The verified tokens are keyed by a hash so that the tokens themselves are not kept in memory
+    private String getTokenHash(String jwt) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(jwt.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    // Constructs an RSA public key from a JSON Web Key (JWK)
     // A JWK contains the following fields:
     // {
     //   "use": "sig",
@@ -287,29 +401,13 @@ public class OidcProvider implements IOidcProvider {
     //   "n": "abcdefg",
     //   "e": "xyz"
     // }
-    private RSAPublicKey getRSAPublicKeyFromIssuer(String keyId)
-            throws IOException, InterruptedException, NoSuchAlgorithmException, InvalidKeySpecException {
-
-        // Get the JWK with the given key ID
-        JsonWebKey matchingJwk = getJsonWebKeyByKeyId(keyId);
-        if (matchingJwk == null) {
-            // Force the cached keys to be refreshed and try again
-            nextJwkRefresh = Instant.EPOCH;
-            matchingJwk = getJsonWebKeyByKeyId(keyId);
-
-            // If we still failed to get a matching key, then this must be a bad key ID
-            if (matchingJwk == null) {
-                logger.error("Error: No matching JSON Web Key was found with key ID '" + keyId + "'.");
-                return null;
-            }
-        }
-
+    private RSAPublicKey getRSAPublicKey(JsonWebKey jsonWebKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
         // A JWK contains an 'n' field to represent the key's modulus, and an 'e' field to represent the key's exponent, both are Base64URL-encoded
         Decoder decoder = Base64.getUrlDecoder();
-        BigInteger modulus = new BigInteger(1, decoder.decode(matchingJwk.getRsaModulus()));
-        BigInteger exponent = new BigInteger(1, decoder.decode(matchingJwk.getRsaExponent()));
+        BigInteger modulus = new BigInteger(1, decoder.decode(jsonWebKey.getRsaModulus()));
+        BigInteger exponent = new BigInteger(1, decoder.decode(jsonWebKey.getRsaExponent()));
 
-        // Build a public key from the JWK that was matched
+        // Build a public key from the JWK
         RSAPublicKeySpec keySpec = new RSAPublicKeySpec(modulus, exponent);
         KeyFactory keyFactory = KeyFactory.getInstance("RSA");
         RSAPublicKey generatedPublicKey = (RSAPublicKey) keyFactory.generatePublic(keySpec);
@@ -355,13 +453,67 @@ public class OidcProvider implements IOidcProvider {
 
 
     /**
-     * Refreshes the cached JSON Web Keys used to verify the signature of JWTs
+     * Refreshes the cached JSON Web Keys used to verify the signature of JWTs, building
+     * a verifier for each key up front so that verifying a JWT does not have to.
+     * Must be called while holding the refresh lock.
+     *
+     * If the keys cannot be fetched but some were fetched before, the previous keys
+     * continue to be used until the next attempt.
      */
-    private void refreshJsonWebKeys() throws IOException, InterruptedException {
-        jsonWebKeys = getJsonWebKeysFromIssuer();
+    private JsonWebKeySet refreshJsonWebKeys(JsonWebKeySet previousKeys) throws IOException, InterruptedException {
+        Instant now = timeService.now();
+
+        JsonArray jsonWebKeys;
+        try {
+            jsonWebKeys = getJsonWebKeysFromIssuer();
+        } catch (IOException | JsonSyntaxException e) {
+            if (previousKeys == null) {
+                throw e;
+            }
+            logger.error("Unable to refresh the cached JSON Web Keys, the previous keys will continue to be used", e);
+            jsonWebKeySet = new JsonWebKeySet(previousKeys, now, now.plusSeconds(MIN_JWK_FORCED_REFRESH_INTERVAL_SECONDS));
+            return jsonWebKeySet;
+        }
+
+        Map<String, JsonWebKey> keys = new HashMap<>();
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        for (JsonElement keyElement : jsonWebKeys) {
+            JsonWebKey key = gson.fromJson(keyElement.toString(), JsonWebKey.class);
+            if (key.getKeyId() == null || keys.containsKey(key.getKeyId())) {
+                continue;
+            }
+            keys.put(key.getKeyId(), key);
+
+            // Keep the verifiers of unchanged keys, so the tokens they verified are still trusted
+            JWTVerifier previousVerifier = getUnchangedVerifier(previousKeys, key);
+            if (previousVerifier != null) {
+                verifiers.put(key.getKeyId(), previousVerifier);
+            } else if (key.getRsaModulus() != null && key.getRsaExponent() != null) {
+                try {
+                    Algorithm algorithm = Algorithm.RSA256(getRSAPublicKey(key), null);
+                    verifiers.put(key.getKeyId(), JWT.require(algorithm).withIssuer(issuerUrl.toString()).build());
+                } catch (NoSuchAlgorithmException | InvalidKeySpecException | IllegalArgumentException e) {
+                    logger.error("Unable to build a public key from the JSON Web Key with key ID '" + key.getKeyId() + "'", e);
+                }
+            }
+        }
 
         // Update the next refresh time by the refresh interval
-        nextJwkRefresh = Instant.now().plus(JWK_REFRESH_INTERVAL_MINUTES, ChronoUnit.MINUTES);
+        jsonWebKeySet = new JsonWebKeySet(keys, verifiers, now, now.plus(JWK_REFRESH_INTERVAL_MINUTES, ChronoUnit.MINUTES));
+        return jsonWebKeySet;
+    }
+
+    private JWTVerifier getUnchangedVerifier(JsonWebKeySet previousKeys, JsonWebKey key) {
+        JWTVerifier verifier = null;
+        if (previousKeys != null) {
+            JsonWebKey previousKey = previousKeys.getKey(key.getKeyId());
+            if (previousKey != null
+                    && Objects.equals(previousKey.getRsaModulus(), key.getRsaModulus())
+                    && Objects.equals(previousKey.getRsaExponent(), key.getRsaExponent())) {
+                verifier = previousKeys.getVerifier(key.getKeyId());
+            }
+        }
+        return verifier;
     }
 
     /**
@@ -390,4 +542,48 @@ public class OidcProvider implements IOidcProvider {
             throw new ServletException(error.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The JSON Web Keys fetched from the issuer, with a verifier for each RSA key
+     */
+    private static class JsonWebKeySet {
+        private final Map<String, JsonWebKey> keys;
+        private final Map<String, JWTVerifier> verifiers;
+        private final Instant fetchedAt;
+        private final Instant nextRefresh;
+
+        JsonWebKeySet(Map<String, JsonWebKey> keys, Map<String, JWTVerifier> verifiers, Instant fetchedAt, Instant nextRefresh) {
+            this.keys = Collections.unmodifiableMap(keys);
+            this.verifiers = Collections.unmodifiableMap(verifiers);
+            this.fetchedAt = fetchedAt;
+            this.nextRefresh = nextRefresh;
+        }
+
+        JsonWebKeySet(JsonWebKeySet previousKeys, Instant fetchedAt, Instant nextRefresh) {
+            this(previousKeys.keys, previousKeys.verifiers, fetchedAt, nextRefresh);
+        }
+
+        JsonWebKey getKey(String keyId) {
+            return keyId == null ? null : keys.get(keyId);
+        }
+
+        JWTVerifier getVerifier(String keyId) {
+            return keyId == null ? null : verifiers.get(keyId);
+        }
+    }
+
+    /**
+     * A JWT which has been verified, recording the verifier of the key that signed it and when it expires
+     */
+    private static class VerifiedToken {
+        private final String keyId;
+        private final JWTVerifier verifier;
+        private final Instant expiresAt;
+
+        VerifiedToken(String keyId, JWTVerifier verifier, Instant expiresAt) {
+            this.keyId = keyId;
+            this.verifier = verifier;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
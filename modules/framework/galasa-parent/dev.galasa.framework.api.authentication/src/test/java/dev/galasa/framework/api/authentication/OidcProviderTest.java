@@ -7,9 +7,12 @@ package dev.galasa.framework.api.authentication;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
@@ -543,6 +546,87 @@ public class OidcProviderTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    public void testIsJwtValidWithPreviouslyVerifiedJwtReturnsFalseWhenKeyIsRemoved() throws Exception {
+        // Given...
+        String issuer = "http://dummy-issuer";
+        String keyId = "mock-key";
+
+        KeyPair mockKeyPair = generateMockRsaKeyPair();
+        RSAPublicKey mockPublicKey =  (RSAPublicKey) mockKeyPair.getPublic();
+        RSAPrivateKey mockPrivateKey =  (RSAPrivateKey) mockKeyPair.getPrivate();
+
+        JsonObject mockJwk = createMockJwkObject(keyId, mockPublicKey);
+
+        String validJwt = JWT.create()
+            .withIssuer(issuer)
+            .withKeyId(keyId)
+            .withExpiresAt(Instant.MAX)
+            .sign(Algorithm.RSA256(mockPublicKey, mockPrivateKey));
+
+        MockHttpClient mockHttpClient = new MockHttpClient(createMockOidcDiscoveryResponse());
+        MockTimeService mockTimeService = new MockTimeService(Instant.now());
+        OidcProvider oidcProvider = new OidcProvider(issuer, mockHttpClient, mockTimeService);
+
+        mockHttpClient.setMockResponse(createMockJwksResponse(mockJwk));
+        assertThat(oidcProvider.isJwtValid(validJwt)).isTrue();
+        assertThat(oidcProvider.isJwtValid(validJwt)).isTrue();
+
+        // When...
+        // The issuer stops publishing the key and the cached keys are due to be refreshed
+        mockHttpClient.setMockResponse(createMockJwksResponse("a-different-key"));
+        mockTimeService.setCurrentTime(mockTimeService.now().plus(1, ChronoUnit.HOURS));
+
+        boolean result = oidcProvider.isJwtValid(validJwt);
+
+        // Then...
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testIsJwtValidWithUnknownKeyIdDoesNotRefreshKeysEveryTime() throws Exception {
+        // Given...
+        String issuer = "http://dummy-issuer";
+
+        KeyPair mockKeyPair = generateMockRsaKeyPair();
+        RSAPublicKey mockPublicKey =  (RSAPublicKey) mockKeyPair.getPublic();
+        RSAPrivateKey mockPrivateKey =  (RSAPrivateKey) mockKeyPair.getPrivate();
+
+        String jwtWithUnknownKey = JWT.create()
+            .withIssuer(issuer)
+            .withKeyId("unknown-key")
+            .withExpiresAt(Instant.MAX)
+            .sign(Algorithm.RSA256(mockPublicKey, mockPrivateKey));
+
+        List<HttpRequest> requestsSent = new ArrayList<>();
+        MockHttpClient mockHttpClient = new MockHttpClient(createMockOidcDiscoveryResponse()) {
+            @Override
+            public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> responseBodyHandler) throws IOException, InterruptedException {
+                requestsSent.add(request);
+                return super.send(request, responseBodyHandler);
+            }
+        };
+        MockTimeService mockTimeService = new MockTimeService(Instant.now());
+        OidcProvider oidcProvider = new OidcProvider(issuer, mockHttpClient, mockTimeService);
+
+        mockHttpClient.setMockResponse(createMockJwksResponse(createMockJwkObject("mock-key", mockPublicKey)));
+        requestsSent.clear();
+
+        // When...
+        for (int i = 0; i < 5; i++) {
+            assertThat(oidcProvider.isJwtValid(jwtWithUnknownKey)).isFalse();
+        }
+        int requestsBeforeInterval = requestsSent.size();
+
+        mockTimeService.setCurrentTime(mockTimeService.now().plus(1, ChronoUnit.MINUTES));
+        assertThat(oidcProvider.isJwtValid(jwtWithUnknownKey)).isFalse();
+
+        // Then...
+        // The keys are only fetched once, then once more after the minimum refresh interval
+        assertThat(requestsBeforeInterval).isEqualTo(1);
+        assertThat(requestsSent).hasSize(2);
+    }
+
     @Test
     public void testGetOpenIdConfigurationReturnsValidConfig() throws Exception {
         // Given...
@@ -40,4 +40,10 @@ public class EnvironmentVariables {
      * Kubernetes resources, like deployments for monitors, that are available in its namespace.
      */
     public static final String GALASA_KUBERNETES_NAMESPACE = "NAMESPACE";
+
+    /**
+     * How long, in milliseconds, each RAS directory service has to answer a query before its results are
+     * left out of a response from the RAS API.
+     */
+    public static final String GALASA_RAS_QUERY_TIMEOUT_MILLIS = "GALASA_RAS_QUERY_TIMEOUT_MILLIS";
 }
@@ -15,6 +15,7 @@ import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
 
 public class MockIFrameworkRuns implements IFrameworkRuns{
     protected String groupName;
@@ -88,6 +89,11 @@ public class MockIFrameworkRuns implements IFrameworkRuns{
         return true;
     }
 
+    @Override
+    public @NotNull IRunIndex getRunIndex() throws FrameworkException {
+        throw new UnsupportedOperationException("Unimplemented method 'getRunIndex'");
+    }
+
     public void setMockSubmissionId(String mockSubmissionId) {
         this.mockSubmissionId = mockSubmissionId;
     }
@@ -23,8 +23,10 @@ import dev.galasa.framework.api.ras.internal.routes.RunQueryRoute;
 import dev.galasa.framework.api.ras.internal.routes.TestClassesRoute;
 import dev.galasa.framework.api.common.BaseServlet;
 import dev.galasa.framework.api.common.Environment;
+import dev.galasa.framework.api.common.EnvironmentVariables;
 import dev.galasa.framework.api.common.SystemEnvironment;
 import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.RBACException;
 
 import javax.servlet.Servlet;
@@ -42,10 +44,16 @@ public class RasServlet extends BaseServlet {
 
 	private static final long serialVersionUID = 1L;
 
+	// How long each RAS directory service has to answer before its results are left out of a response
+	public static final long DEFAULT_RAS_QUERY_TIMEOUT_MILLIS = 30000;
+
 	protected Log  logger  =  LogFactory.getLog(this.getClass());
 
 	protected IFileSystem fileSystem = new FileSystem();
 
+	// Queries the RAS directory services at the same time for all the routes, until the servlet is destroyed
+	private RasDirectoryServiceFanOut directoryServiceFanOut;
+
     public RasServlet() {
         this(new SystemEnvironment());
     }
@@ -60,19 +68,52 @@ public class RasServlet extends BaseServlet {
 
 		super.init();
 
+		directoryServiceFanOut = new RasDirectoryServiceFanOut(getRasQueryTimeoutMillis());
+
 		try {
-			addRoute(new RunDetailsRoute(getResponseBuilder(), framework));
-			addRoute(new RunLogRoute(getResponseBuilder(), framework));
-			addRoute(new RunArtifactsListRoute(getResponseBuilder(), fileSystem, framework));
-			addRoute(new RunQueryRoute(getResponseBuilder(), framework));
-			addRoute(new RunArtifactsDownloadRoute(getResponseBuilder(), fileSystem, framework));
-			addRoute(new ResultNamesRoute(getResponseBuilder(), framework));
-			addRoute(new RequestorRoute(getResponseBuilder(), framework));
-			addRoute(new TestClassesRoute(getResponseBuilder(), framework));
+			addRoute(new RunDetailsRoute(getResponseBuilder(), framework, directoryServiceFanOut));
+			addRoute(new RunLogRoute(getResponseBuilder(), framework, directoryServiceFanOut));
+			addRoute(new RunArtifactsListRoute(getResponseBuilder(), fileSystem, framework, directoryServiceFanOut));
+			addRoute(new RunQueryRoute(getResponseBuilder(), framework, directoryServiceFanOut));
+			addRoute(new RunArtifactsDownloadRoute(getResponseBuilder(), fileSystem, framework, directoryServiceFanOut));
+			addRoute(new ResultNamesRoute(getResponseBuilder(), framework, directoryServiceFanOut));
+			addRoute(new RequestorRoute(getResponseBuilder(), framework, directoryServiceFanOut));
+			addRoute(new TestClassesRoute(getResponseBuilder(), framework, directoryServiceFanOut));
 		} catch (RBACException e) {
 			throw new ServletException("Failed to initialise the RAS servlet");
 		}
 		logger.info("RasServlet initialised");
 	}
 
+	@Override
+	public void destroy() {
+		if (directoryServiceFanOut != null) {
+			directoryServiceFanOut.shutdown();
+		}
+		super.destroy();
+	}
+
+	protected RasDirectoryServiceFanOut getDirectoryServiceFanOut() {
+		return directoryServiceFanOut;
+	}
+
+	private long getRasQueryTimeoutMillis() {
+		long timeoutMillis = DEFAULT_RAS_QUERY_TIMEOUT_MILLIS;
+		String timeoutValue = env.getenv(EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_MILLIS);
+		if (timeoutValue != null && !timeoutValue.trim().isEmpty()) {
+			try {
+				timeoutMillis = Long.parseLong(timeoutValue.trim());
+			} catch (NumberFormatException e) {
+				timeoutMillis = -1;
+			}
+
+			if (timeoutMillis < 1) {
+				logger.warn("Invalid value '" + timeoutValue + "' for " + EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_MILLIS
+					+ ", using the default of " + DEFAULT_RAS_QUERY_TIMEOUT_MILLIS + "ms");
+				timeoutMillis = DEFAULT_RAS_QUERY_TIMEOUT_MILLIS;
+			}
+		}
+		return timeoutMillis;
+	}
+
 }
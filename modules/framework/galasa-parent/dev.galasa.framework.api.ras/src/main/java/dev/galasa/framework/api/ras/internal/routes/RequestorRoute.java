@@ -6,6 +6,7 @@
 package dev.galasa.framework.api.ras.internal.routes;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.servlet.ServletException;
@@ -24,6 +25,8 @@ import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceResults;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
 
@@ -39,14 +42,14 @@ public class RequestorRoute extends RunsRoute {
     private static final GalasaGson gson = new GalasaGson();
     private RasQueryParameters sortQueryParameterChecker;
 
-    public RequestorRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+    public RequestorRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
 
        /* 
         * Regex to match endpoints: 
 		*  -> /ras/requestors
 		*  -> /ras/requestors?
 		*/
-        super(responseBuilder, path, framework);
+        super(responseBuilder, path, framework, directoryServiceFanOut);
     }
 
     @Override
@@ -65,7 +68,8 @@ public class RequestorRoute extends RunsRoute {
     }
     
     private String retrieveRequestors(QueryParameters params) throws InternalServletException, ResultArchiveStoreException{
-        List<String> requestorsList = getRequestors();
+        RasDirectoryServiceResults<String> requestorResults = getRequestors();
+        List<String> requestorsList = new ArrayList<>(requestorResults.getResults());
 
         //sorts list
 			Collections.sort(requestorsList);
@@ -79,6 +83,7 @@ public class RequestorRoute extends RunsRoute {
 			JsonElement json = gson.toJsonTree(requestorsList);
             JsonObject requestors = new JsonObject(); 
 			requestors.add("requestors", json);
+            addPartialResultsFlag(requestors, requestorResults.isPartial());
             return requestors.toString();
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ package dev.galasa.framework.api.ras.internal.routes;
 import static dev.galasa.framework.api.common.ServletErrorMessage.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.servlet.ServletException;
@@ -26,6 +27,8 @@ import dev.galasa.framework.api.common.ServletError;
 import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceResults;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
 
@@ -40,12 +43,12 @@ public class ResultNamesRoute extends RunsRoute {
         QUERY_PARAMETER_SORT
     );
 
-	public ResultNamesRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+	public ResultNamesRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
 		/* Regex to match endpoints: 
 		*  -> /ras/resultnames
 		*  -> /ras/resultnames?
 		*/
-		super(responseBuilder, path, framework);
+		super(responseBuilder, path, framework, directoryServiceFanOut);
 	}
 
     @Override
@@ -63,7 +66,8 @@ public class ResultNamesRoute extends RunsRoute {
     }
 
     public String retrieveResults (RasQueryParameters queryParams) throws ServletException, InternalServletException{
-        List<String> resultsList = getResultNames();
+        RasDirectoryServiceResults<String> resultNames = getResultNames();
+        List<String> resultsList = new ArrayList<>(resultNames.getResults());
 
 		try {
             if (queryParams.getSortValue() !=null ){
@@ -79,6 +83,7 @@ public class ResultNamesRoute extends RunsRoute {
 		JsonElement json = gson.toJsonTree(resultsList);
 		JsonObject resultnames = new JsonObject();
 		resultnames.add("resultnames", json);
+		addPartialResultsFlag(resultnames, resultNames.isPartial());
 		return resultnames.toString();
     }
 
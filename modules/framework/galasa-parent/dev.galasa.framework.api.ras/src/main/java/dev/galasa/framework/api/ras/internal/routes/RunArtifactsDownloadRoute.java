@@ -40,6 +40,7 @@ import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
 
@@ -66,11 +67,17 @@ public class RunArtifactsDownloadRoute extends RunArtifactsRoute {
 
     private Map<String, IRunRootArtifact> rootArtifacts = new HashMap<>();
 
-    public RunArtifactsDownloadRoute(ResponseBuilder responseBuilder, IFileSystem fileSystem, IFramework framework) throws RBACException {
+    public RunArtifactsDownloadRoute(
+        ResponseBuilder responseBuilder,
+        IFileSystem fileSystem,
+        IFramework framework,
+        RasDirectoryServiceFanOut directoryServiceFanOut
+    ) throws RBACException {
         super(responseBuilder,
               path,
               fileSystem,
-              framework
+              framework,
+              directoryServiceFanOut
         );
 
         rootArtifacts.put("run.log", new RunLogArtifact());
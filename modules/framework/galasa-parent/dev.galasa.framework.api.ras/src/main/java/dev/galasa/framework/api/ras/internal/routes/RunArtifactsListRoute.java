@@ -34,6 +34,7 @@ import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
 
@@ -52,9 +53,10 @@ public class RunArtifactsListRoute extends RunArtifactsRoute {
     public RunArtifactsListRoute(
         ResponseBuilder responseBuilder,
         IFileSystem fileSystem,
-        IFramework framework
+        IFramework framework,
+        RasDirectoryServiceFanOut directoryServiceFanOut
     ) throws RBACException {
-        super(responseBuilder, path, fileSystem, framework);
+        super(responseBuilder, path, fileSystem, framework, directoryServiceFanOut);
         rootArtifacts = Arrays.asList(
             new RunLogArtifact(),
             new StructureJsonArtifact(),
@@ -20,6 +20,7 @@ import dev.galasa.framework.api.common.ResponseBuilder;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.RBACException;
 
 /**
@@ -38,9 +39,10 @@ public abstract class RunArtifactsRoute extends RunsRoute {
         ResponseBuilder responseBuilder,
         String path,
         IFileSystem fileSystem,
-        IFramework framework
+        IFramework framework,
+        RasDirectoryServiceFanOut directoryServiceFanOut
     ) throws RBACException {
-        super(responseBuilder, path, framework);
+        super(responseBuilder, path, framework, directoryServiceFanOut);
         this.fileSystem = fileSystem;
     }
 
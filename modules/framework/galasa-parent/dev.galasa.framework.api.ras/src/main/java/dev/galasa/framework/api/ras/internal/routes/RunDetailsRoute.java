@@ -31,6 +31,7 @@ import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.BuiltInAction;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
@@ -46,9 +47,9 @@ public class RunDetailsRoute extends RunsRoute {
 
    protected static final String path = "\\/runs\\/([A-Za-z0-9.\\-=]+)\\/?";
 
-   public RunDetailsRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+   public RunDetailsRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
       //  Regex to match endpoint: /ras/runs/{runid}
-      super(responseBuilder, path, framework);
+      super(responseBuilder, path, framework, directoryServiceFanOut);
       this.framework = framework;
    }
 
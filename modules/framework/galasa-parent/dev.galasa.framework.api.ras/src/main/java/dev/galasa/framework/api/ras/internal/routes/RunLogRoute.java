@@ -8,6 +8,10 @@ package dev.galasa.framework.api.ras.internal.routes;
 import static dev.galasa.framework.api.common.ServletErrorMessage.*;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.regex.Matcher;
 
 import javax.servlet.ServletException;
@@ -19,22 +23,41 @@ import dev.galasa.framework.api.common.InternalServletException;
 import dev.galasa.framework.api.common.QueryParameters;
 import dev.galasa.framework.api.common.ResponseBuilder;
 import dev.galasa.framework.api.common.ServletError;
+import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
 import dev.galasa.framework.spi.rbac.RBACException;
 
 /**
  * Implementation to retrieve the run log for a given run based on its runId.
+ *
+ * The log is streamed to the response as it is read from the RAS, so the whole
+ * log never has to be held in memory. A 'lineoffset' query parameter can be
+ * given to skip that many lines from the start of the log, which lets clients
+ * tail a log by asking only for the lines they have not yet seen.
  */
 public class RunLogRoute extends RunsRoute {
 
     protected static final String path = "\\/runs\\/([A-Za-z0-9.\\-=]+)\\/runlog\\/?";
 
-    public RunLogRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+    public static final String QUERY_PARAMETER_LINE_OFFSET = "lineoffset";
+    public static final SupportedQueryParameterNames SUPPORTED_QUERY_PARAMETER_NAMES = new SupportedQueryParameterNames(
+        QUERY_PARAMETER_LINE_OFFSET
+    );
+
+    private static final int LOG_BUFFER_SIZE = 8192;
+
+    public RunLogRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
         //  Regex to match endpoint: /ras/runs/{runid}/runlog
-        super(responseBuilder, path, framework);
+        super(responseBuilder, path, framework, directoryServiceFanOut);
+    }
+
+    @Override
+    public SupportedQueryParameterNames getSupportedQueryParameterNames() {
+        return SUPPORTED_QUERY_PARAMETER_NAMES;
     }
 
     @Override
@@ -43,25 +66,56 @@ public class RunLogRoute extends RunsRoute {
         Matcher matcher = this.getPathRegex().matcher(pathInfo);
         matcher.matches();
         String runId = matcher.group(1);
-        String runLog = getRunlog(runId);
-        if (runLog != null) {
-            return getResponseBuilder().buildResponse(request, res, "text/plain", runLog, HttpServletResponse.SC_OK);
-        } else {
+
+        int lineOffset = Math.max(0, queryParams.getSingleInt(QUERY_PARAMETER_LINE_OFFSET, 0));
+
+        Reader runLogReader = getRunLogReader(runId);
+        if (runLogReader == null) {
             ServletError error = new ServletError(GAL5002_INVALID_RUN_ID, runId);
             throw new InternalServletException(error, HttpServletResponse.SC_NOT_FOUND);
         }
-    }
 
+        try (Reader reader = runLogReader) {
+            res = getResponseBuilder().buildResponse(request, res, "text/plain", HttpServletResponse.SC_OK);
+            writeRunLog(reader, lineOffset, res);
+        }
+        return res;
+    }
 
-    public String getRunlog(String runId) throws ResultArchiveStoreException, InternalServletException {
+    public Reader getRunLogReader(String runId) throws ResultArchiveStoreException, InternalServletException {
 
         IRunResult run = getRunByRunId(runId);
-        String runLog = null;
+        Reader runLogReader = null;
 
         if (run != null) {
-           runLog = run.getLog();
+            runLogReader = run.getLogReader();
         }
 
-        return runLog;
-     }
-}
\ No newline at end of file
+        return runLogReader;
+    }
+
+    private void writeRunLog(Reader reader, int lineOffset, HttpServletResponse res) throws IOException {
+        char[] buffer = new char[LOG_BUFFER_SIZE];
+        int linesToSkip = lineOffset;
+
+        Writer writer = new OutputStreamWriter(res.getOutputStream(), StandardCharsets.UTF_8);
+        int charsRead = reader.read(buffer);
+        while (charsRead != -1) {
+            int start = 0;
+
+            // Skip over the lines before the requested offset
+            while (linesToSkip > 0 && start < charsRead) {
+                if (buffer[start] == '\n') {
+                    linesToSkip--;
+                }
+                start++;
+            }
+
+            if (start < charsRead) {
+                writer.write(buffer, start, charsRead - start);
+            }
+            charsRead = reader.read(buffer);
+        }
+        writer.flush();
+    }
+}
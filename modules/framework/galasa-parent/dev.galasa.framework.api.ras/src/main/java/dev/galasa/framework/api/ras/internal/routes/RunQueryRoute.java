@@ -22,11 +22,13 @@ import dev.galasa.framework.api.ras.internal.common.RasQueryParameters;
 import dev.galasa.framework.api.ras.internal.common.RunResultUtility;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
-import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.ras.IRasSearchCriteria;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceResults;
 import dev.galasa.framework.spi.ras.RasRunResultPage;
+import dev.galasa.framework.spi.ras.RasRunSorter;
 import dev.galasa.framework.spi.ras.RasSearchCriteriaBundle;
 import dev.galasa.framework.spi.ras.RasSearchCriteriaGroup;
 import dev.galasa.framework.spi.ras.RasSearchCriteriaQueuedFrom;
@@ -65,6 +67,14 @@ public class RunQueryRoute extends RunsRoute {
         "testclass", "testName"
     );
 
+    // A mapping of the sort keys supported by page-based pagination to the test structure fields they sort by
+    private final Map<String, String> pageSortKeyMap = Map.of(
+        "from", "queued",
+        "to", "endTime",
+        "testclass", "testShortName",
+        "result", "result"
+    );
+
 	public static final String QUERY_PARAMETER_SORT = "sort";
 	public static final String QUERY_PARAMETER_RESULT = "result";
 	public static final String QUERY_PARAMETER_STATUS = "status";
@@ -93,13 +103,13 @@ public class RunQueryRoute extends RunsRoute {
 
 	private static final GalasaGson gson = new GalasaGson();
 
-	public RunQueryRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+	public RunQueryRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
 		/* Regex to match endpoints:
 		*  -> /ras/runs
 		*  -> /ras/runs/
 		*  -> /ras/runs?{querystring}
 		*/
-		super(responseBuilder, path, framework);
+		super(responseBuilder, path, framework, directoryServiceFanOut);
 	}
 
 	@Override 
@@ -137,6 +147,9 @@ public class RunQueryRoute extends RunsRoute {
 
         RasRunResultPage runsPage = null;
         String responseJson = null;
+
+        // The RAS stores which did not answer in time, so are missing from the results
+        List<String> timedOutServices = new ArrayList<>();
         try {
             if (runIds != null && runIds.size() > 0) {
                 runs = getRunsByIds(runIds);
@@ -148,20 +161,22 @@ public class RunQueryRoute extends RunsRoute {
                 if (includeCursor || pageCursor != null) {
                     String runName = queryParams.getRunName();
                     if (runName != null) {
-                        runsPage = new RasRunResultPage(getRunsByRunName(runName));
+                        runsPage = new RasRunResultPage(getRunsByRunName(runName, timedOutServices));
                     } else {
-                        runsPage = getRunsPage(pageCursor, pageSize, formatSortField(sortValue), criteria);
+                        runsPage = getRunsPage(pageCursor, pageSize, formatSortField(sortValue), criteria, timedOutServices);
                     }
                 } else {
-                    runs = getRuns(criteria);
+                    responseJson = getSortedRunsPage(criteria, queryParams, sortValue, pageNum, pageSize, timedOutServices);
                 }
             }
     
-            if (runsPage == null) {
+            if (responseJson != null) {
+                // The page has already been built
+            } else if (runsPage == null) {
                 runs = sortResults(runs, queryParams, sortValue);
                 responseJson = buildResponseBody(runs, pageNum, pageSize);
             } else {
-                responseJson = buildResponseBody(runsPage, pageSize);
+                responseJson = buildResponseBody(runsPage, pageSize, !timedOutServices.isEmpty());
             }
         } catch (ResultArchiveStoreException e) {
             ServletError error = new ServletError(GAL5003_ERROR_RETRIEVING_RUNS);
@@ -210,7 +225,7 @@ public class RunQueryRoute extends RunsRoute {
 		String requestor = queryParams.getRequestor();
 		String testName = queryParams.getTestName();
 		String bundle = queryParams.getBundle();
-		List<String> result = queryParams.getResultsFromParameters(getResultNames());
+		List<String> result = queryParams.getResultsFromParameters(getResultNames().getResults());
 		List<TestRunLifecycleStatus> statuses = queryParams.getStatusesFromParameters();
 		String runName = queryParams.getRunName();
 		String group = queryParams.getGroup();
@@ -297,7 +312,7 @@ public class RunQueryRoute extends RunsRoute {
         return gson.toJson(runsPage);
 	}
 
-	private String buildResponseBody(RasRunResultPage runsPage, int pageSize) throws ResultArchiveStoreException {
+	private String buildResponseBody(RasRunResultPage runsPage, int pageSize, boolean isPartial) throws ResultArchiveStoreException {
 
 		//Building the object to be returned by the API and splitting
         JsonObject pageJson = new JsonObject();        
@@ -308,6 +323,7 @@ public class RunQueryRoute extends RunsRoute {
         pageJson.addProperty("amountOfRuns", runs.size());
         pageJson.addProperty("nextCursor", runsPage.getNextCursor());
         pageJson.add("runs", tree);
+        addPartialResultsFlag(pageJson, isPartial);
 
         return gson.toJson(pageJson);
 	}
@@ -326,24 +342,169 @@ public class RunQueryRoute extends RunsRoute {
 		return obj;
 	}
 
-	private List<RasRunResult> getRuns(List<IRasSearchCriteria> critList) throws ResultArchiveStoreException, InternalServletException {
+    /**
+     * Builds a page of runs for page-based pagination. Each RAS store counts its
+     * matching runs, sorts them and returns only the runs up to the end of the
+     * requested page, then the runs from each store are merged, so the full set of
+     * matching runs is never held in memory.
+     *
+     * Each store is counted and queried together, and its count is corrected by the
+     * runs it returned, so that runs added or deleted between the two requests do
+     * not leave the total disagreeing with the page.
+     */
+    private String getSortedRunsPage(
+        List<IRasSearchCriteria> critList,
+        RasQueryParameters queryParams,
+        RasSortField sortValue,
+        int pageNum,
+        int pageSize,
+        List<String> timedOutServices
+    ) throws ResultArchiveStoreException, InternalServletException {
+
+        RasSortField storeSortField = getPageSortField(queryParams, sortValue);
+
+        IRasSearchCriteria[] criteria = new IRasSearchCriteria[critList.size()];
+        critList.toArray(criteria);
+
+        // The page number is checked once the runs have been counted, so it is only kept in range here
+        int maxResults = (int) Math.min(Integer.MAX_VALUE, (long) Math.max(pageNum, 1) * pageSize);
+        int firstRunIndex = maxResults - pageSize;
+
+        RasDirectoryServiceResults<SortedRunsInStore> sortedRunsByStore = queryDirectoryServices(
+            directoryService -> new SortedRunsInStore(
+                directoryService.getRunCount(criteria),
+                directoryService.getSortedRuns(maxResults, storeSortField, criteria),
+                maxResults)
+        );
+        timedOutServices.addAll(sortedRunsByStore.getTimedOutServices());
+
+        long totalRuns = 0;
+        List<List<IRunResult>> sortedRuns = new ArrayList<>();
+        for (SortedRunsInStore storeRuns : sortedRunsByStore.getResults()) {
+            totalRuns += storeRuns.runCount;
+            sortedRuns.add(storeRuns.runs);
+        }
 
-		IRasSearchCriteria[] criteria = new IRasSearchCriteria[critList.size()];
+        JsonObject runsPage = null;
+        if (pageNum == 1 && totalRuns == 0) {
+            // No results at all, so return one page saying that.
+            runsPage = pageToJson(new ArrayList<>(), 0, 1, pageSize, 1);
+        } else {
+            long numPages = (totalRuns + pageSize - 1) / pageSize;
+            if (pageNum < 1 || pageNum > numPages) {
+                ServletError error = new ServletError(GAL5004_ERROR_RETRIEVING_PAGE);
+                throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+            }
 
-		critList.toArray(criteria);
+            RasRunSorter sortOrder = new RasRunSorter(storeSortField, 0);
+            List<IRunResult> runsInPage = mergeSortedRuns(sortedRuns, sortOrder, firstRunIndex, pageSize);
 
-		// Collect all the runs from all the RAS stores into a single list
-		List<IRunResult> runs = new ArrayList<>();
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-			runs.addAll(directoryService.getRuns(criteria));
-		}
+            runsPage = pageToJson(convertRunsToRunResults(runsInPage), (int) totalRuns, pageNum, pageSize, (int) numPages);
+        }
+        addPartialResultsFlag(runsPage, !timedOutServices.isEmpty());
+        return gson.toJson(runsPage);
+    }
 
-		List<RasRunResult> runResults = convertRunsToRunResults(runs);
+    /**
+     * The runs a store returned up to the end of the requested page, and its count
+     * of matching runs. A store which returned fewer runs than were asked for has
+     * returned all of its matching runs, so that is its count. Otherwise it has at
+     * least as many runs as it returned.
+     */
+    private static class SortedRunsInStore {
+        private final long runCount;
+        private final List<IRunResult> runs;
+
+        private SortedRunsInStore(int countedRuns, List<IRunResult> runs, int maxResults) {
+            this.runs = runs;
+            if (runs.size() < maxResults) {
+                this.runCount = runs.size();
+            } else {
+                this.runCount = Math.max(countedRuns, runs.size());
+            }
+        }
+    }
 
-		return runResults;
-	}
+    private RasSortField getPageSortField(RasQueryParameters queryParams, RasSortField sortValue) throws InternalServletException {
+        String sortFieldName = sortValue.getFieldName();
+        String testStructureFieldName = pageSortKeyMap.get(sortFieldName);
+        if (testStructureFieldName == null) {
+            ServletError error = new ServletError(GAL5011_SORT_VALUE_NOT_RECOGNIZED, sortFieldName);
+            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+        }
+
+        String sortDirection = queryParams.isAscending(sortValue) ? "asc" : "desc";
+        return new RasSortField(testStructureFieldName, sortDirection);
+    }
+
+    /**
+     * Merges lists of runs which are each in sort order, returning the given range of
+     * the merged runs. Runs with equal sort values are returned in the order of the
+     * stores they came from.
+     */
+    private List<IRunResult> mergeSortedRuns(
+        List<List<IRunResult>> sortedRunsByStore,
+        RasRunSorter sortOrder,
+        int firstRunIndex,
+        int maxRuns
+    ) throws ResultArchiveStoreException {
+
+        Comparator<SortedRunsCursor> cursorOrder = Comparator
+            .<SortedRunsCursor, Comparable<?>>comparing(cursor -> cursor.sortValue, sortOrder::compareSortValues)
+            .thenComparingInt(cursor -> cursor.storeIndex);
+
+        PriorityQueue<SortedRunsCursor> cursors = new PriorityQueue<>(cursorOrder);
+        for (int storeIndex = 0; storeIndex < sortedRunsByStore.size(); storeIndex++) {
+            SortedRunsCursor cursor = new SortedRunsCursor(storeIndex, sortedRunsByStore.get(storeIndex).iterator());
+            if (cursor.next(sortOrder)) {
+                cursors.add(cursor);
+            }
+        }
+
+        List<IRunResult> mergedRuns = new ArrayList<>();
+        int runIndex = 0;
+        while (!cursors.isEmpty() && mergedRuns.size() < maxRuns) {
+            SortedRunsCursor cursor = cursors.poll();
+            if (runIndex >= firstRunIndex) {
+                mergedRuns.add(cursor.run);
+            }
+            runIndex++;
+
+            if (cursor.next(sortOrder)) {
+                cursors.add(cursor);
+            }
+        }
+        return mergedRuns;
+    }
+
+    private static class SortedRunsCursor {
+        private final int storeIndex;
+        private final Iterator<IRunResult> runs;
+        private IRunResult run;
+        private Comparable<?> sortValue;
 
-	private RasRunResultPage getRunsPage(String pageCursor, int maxResults, RasSortField primarySort, List<IRasSearchCriteria> critList) throws ResultArchiveStoreException {
+        private SortedRunsCursor(int storeIndex, Iterator<IRunResult> runs) {
+            this.storeIndex = storeIndex;
+            this.runs = runs;
+        }
+
+        private boolean next(RasRunSorter sortOrder) throws ResultArchiveStoreException {
+            boolean hasNext = runs.hasNext();
+            if (hasNext) {
+                run = runs.next();
+                sortValue = sortOrder.getSortValue(run.getTestStructure());
+            }
+            return hasNext;
+        }
+    }
+
+	private RasRunResultPage getRunsPage(
+        String pageCursor,
+        int maxResults,
+        RasSortField primarySort,
+        List<IRasSearchCriteria> critList,
+        List<String> timedOutServices
+    ) throws ResultArchiveStoreException {
 
 		IRasSearchCriteria[] criteria = new IRasSearchCriteria[critList.size()];
 
@@ -352,8 +513,12 @@ public class RunQueryRoute extends RunsRoute {
 		// Collect all the runs from all the RAS stores into a single list
 		List<IRunResult> runs = new ArrayList<>();
         String nextCursor = null;
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-            RasRunResultPage runsPage = directoryService.getRunsPage(maxResults, primarySort, pageCursor, criteria);
+        RasDirectoryServiceResults<RasRunResultPage> runsPages = queryDirectoryServices(
+            directoryService -> directoryService.getRunsPage(maxResults, primarySort, pageCursor, criteria)
+        );
+        timedOutServices.addAll(runsPages.getTimedOutServices());
+
+		for (RasRunResultPage runsPage : runsPages.getResults()) {
 			runs.addAll(runsPage.getRuns());
             
             String nextRunsToken = runsPage.getNextCursor();
@@ -365,11 +530,15 @@ public class RunQueryRoute extends RunsRoute {
 		return new RasRunResultPage(runs, nextCursor);
 	}
 
-	private List<IRunResult> getRunsByRunName(String runName) throws ResultArchiveStoreException {
+	private List<IRunResult> getRunsByRunName(String runName, List<String> timedOutServices) throws ResultArchiveStoreException {
         
 		List<IRunResult> runs = new ArrayList<>();
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-            List<IRunResult> matchingRuns = directoryService.getRunsByRunName(runName);
+        RasDirectoryServiceResults<List<IRunResult>> matchingRunsByService = queryDirectoryServices(
+            directoryService -> directoryService.getRunsByRunName(runName)
+        );
+        timedOutServices.addAll(matchingRunsByService.getTimedOutServices());
+
+		for (List<IRunResult> matchingRuns : matchingRunsByService.getResults()) {
 			runs.addAll(matchingRuns);
 		}
 		return runs;
@@ -18,6 +18,8 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 
+import com.google.gson.JsonObject;
+
 import dev.galasa.framework.api.common.InternalServletException;
 import dev.galasa.framework.api.common.ProtectedRoute;
 import dev.galasa.framework.api.common.ResponseBuilder;
@@ -27,6 +29,9 @@ import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut.IDirectoryServiceQuery;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceResults;
 import dev.galasa.framework.spi.ras.RasTestClass;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
@@ -52,23 +57,52 @@ public abstract class RunsRoute extends ProtectedRoute {
 
     private IFramework framework;
 
-    public RunsRoute(ResponseBuilder responseBuilder, String path, IFramework framework) throws RBACException {
+    // Queries the RAS directory services at the same time, shared by all the run routes of a servlet
+    private RasDirectoryServiceFanOut directoryServiceFanOut;
+
+    public RunsRoute(
+        ResponseBuilder responseBuilder,
+        String path,
+        IFramework framework,
+        RasDirectoryServiceFanOut directoryServiceFanOut
+    ) throws RBACException {
         super(responseBuilder, path, framework.getRBACService());
         this.framework = framework;
+        this.directoryServiceFanOut = directoryServiceFanOut;
     }
 
     protected IFramework getFramework() {
         return this.framework;
     }
 
-    protected List<String> getResultNames () throws InternalServletException{
+    /**
+     * Runs a query against all the RAS directory services at the same time
+     *
+     * @return the results from each directory service that answered in time
+     * @throws ResultArchiveStoreException
+     */
+    protected <T> RasDirectoryServiceResults<T> queryDirectoryServices(IDirectoryServiceQuery<T> query) throws ResultArchiveStoreException {
+        return directoryServiceFanOut.queryAll(framework.getResultArchiveStore().getDirectoryServices(), query);
+    }
+
+    /**
+     * Marks a response as incomplete if some RAS directory services did not answer in time
+     */
+    protected void addPartialResultsFlag(JsonObject responseJson, boolean isPartial) {
+        if (isPartial) {
+            responseJson.addProperty("partialResults", true);
+        }
+    }
+
+    protected RasDirectoryServiceResults<String> getResultNames () throws InternalServletException{
 		List<String> resultsList = new ArrayList<>();
+        RasDirectoryServiceResults<List<String>> resultNamesByService = null;
 
 		try {
-			for (IResultArchiveStoreDirectoryService directoryService : framework.getResultArchiveStore().getDirectoryServices()) {
-                List<String> results = directoryService.getResultNames();
+            resultNamesByService = queryDirectoryServices(IResultArchiveStoreDirectoryService::getResultNames);
+			for (List<String> results : resultNamesByService.getResults()) {
                 if (results != null){
-				resultsList.addAll(directoryService.getResultNames());
+				resultsList.addAll(results);
                 }
 			}
             for (String defaultResultName : ResultNames.getDefaultResultNames()){
@@ -84,7 +118,7 @@ public abstract class RunsRoute extends ProtectedRoute {
 
 		Collections.sort(resultsList);
 
-		return resultsList;
+		return new RasDirectoryServiceResults<>(resultsList, resultNamesByService.getTimedOutServices());
 	}
 
 
@@ -96,15 +130,10 @@ public abstract class RunsRoute extends ProtectedRoute {
      * @throws InternalServletException
      */
     protected @NotNull IRunResult getRunByRunId(@NotNull String id) throws ResultArchiveStoreException, InternalServletException {
-        IRunResult run = null;
-
-        for (IResultArchiveStoreDirectoryService directoryService : framework.getResultArchiveStore().getDirectoryServices()) {
-
-            run = directoryService.getRunById(id);
-            if (run != null) {
-                break;
-            }
-        }
+        IRunResult run = directoryServiceFanOut.queryFirst(
+            framework.getResultArchiveStore().getDirectoryServices(),
+            directoryService -> directoryService.getRunById(id)
+        );
 
         if (run == null) {
             ServletError error = new ServletError(GAL5091_ERROR_RUN_NOT_FOUND_BY_ID, id);
@@ -113,21 +142,23 @@ public abstract class RunsRoute extends ProtectedRoute {
         return run;
     }
 
-    protected List<String> getRequestors() throws ResultArchiveStoreException{
+    protected RasDirectoryServiceResults<String> getRequestors() throws ResultArchiveStoreException{
 		HashSet<String> requestorSet = new HashSet<>();
-		for (IResultArchiveStoreDirectoryService directoryService : framework.getResultArchiveStore().getDirectoryServices()) {
-			requestorSet.addAll(directoryService.getRequestors());
+        RasDirectoryServiceResults<List<String>> requestorsByService = queryDirectoryServices(IResultArchiveStoreDirectoryService::getRequestors);
+		for (List<String> requestors : requestorsByService.getResults()) {
+			requestorSet.addAll(requestors);
 		}
 		//convert to list of strings
 		List<String> requestors = new ArrayList<>(requestorSet);
-		return requestors;
+		return new RasDirectoryServiceResults<>(requestors, requestorsByService.getTimedOutServices());
 	}
 
-    protected List<RasTestClass> getTestClasses() throws ResultArchiveStoreException, ServletException{
+    protected RasDirectoryServiceResults<RasTestClass> getTestClasses() throws ResultArchiveStoreException, ServletException{
         List<RasTestClass> testClasses = new ArrayList<>();
-        for (IResultArchiveStoreDirectoryService directoryService : framework.getResultArchiveStore().getDirectoryServices()) {
-            testClasses.addAll(directoryService.getTests());
+        RasDirectoryServiceResults<List<RasTestClass>> testClassesByService = queryDirectoryServices(IResultArchiveStoreDirectoryService::getTests);
+        for (List<RasTestClass> serviceTestClasses : testClassesByService.getResults()) {
+            testClasses.addAll(serviceTestClasses);
         }
-        return testClasses;
+        return new RasDirectoryServiceResults<>(testClasses, testClassesByService.getTimedOutServices());
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@
 package dev.galasa.framework.api.ras.internal.routes;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import javax.servlet.ServletException;
@@ -24,6 +25,8 @@ import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceResults;
 import dev.galasa.framework.spi.ras.RasTestClass;
 import dev.galasa.framework.spi.rbac.RBACException;
 import dev.galasa.framework.spi.utils.GalasaGson;
@@ -40,12 +43,12 @@ public class TestClassesRoute extends RunsRoute {
     private static final GalasaGson gson = new GalasaGson();
     private RasQueryParameters sortQueryParameterChecker;
 
-    public TestClassesRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+    public TestClassesRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceFanOut directoryServiceFanOut) throws RBACException {
         /* Regex to match endpoints: 
 		*  -> /ras/testclasses
 		*  -> /ras/testclasses?
 		*/
-        super(responseBuilder, path, framework);
+        super(responseBuilder, path, framework, directoryServiceFanOut);
     }
 
     @Override
@@ -65,7 +68,8 @@ public class TestClassesRoute extends RunsRoute {
     
     private String TestClasses () throws ResultArchiveStoreException, ServletException, InternalServletException {
 
-        List<RasTestClass> classArray = getTestClasses();
+        RasDirectoryServiceResults<RasTestClass> testClassResults = getTestClasses();
+        List<RasTestClass> classArray = new ArrayList<>(testClassResults.getResults());
 
         Comparator<RasTestClass> testClassComparator = Comparator.comparing(RasTestClass::getTestClass);
 
@@ -79,6 +83,7 @@ public class TestClassesRoute extends RunsRoute {
 		JsonElement json = gson.toJsonTree(classArray);
 		JsonObject testclasses = new JsonObject();
 		testclasses.add("testclasses", json);
+        addPartialResultsFlag(testclasses, testClassResults.isPartial());
         return testclasses.toString();
     }
 }
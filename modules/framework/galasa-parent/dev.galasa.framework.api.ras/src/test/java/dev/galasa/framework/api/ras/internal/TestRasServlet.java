@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.ras.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+import dev.galasa.framework.api.common.EnvironmentVariables;
+import dev.galasa.framework.api.common.mocks.FilledMockEnvironment;
+import dev.galasa.framework.api.common.mocks.MockEnvironment;
+import dev.galasa.framework.api.common.mocks.MockFramework;
+import dev.galasa.framework.api.ras.internal.mocks.MockRasServlet;
+import dev.galasa.framework.spi.ras.RasDirectoryServiceFanOut;
+
+public class TestRasServlet {
+
+    private MockRasServlet createServlet(MockEnvironment env) throws Exception {
+        MockRasServlet servlet = new MockRasServlet(env);
+        servlet.setFramework(new MockFramework());
+        servlet.init();
+        return servlet;
+    }
+
+    @Test
+    public void testRasQueryTimeoutDefaultsWhenNotSet() throws Exception {
+        // Given...
+        MockEnvironment env = FilledMockEnvironment.createTestEnvironment();
+
+        // When...
+        MockRasServlet servlet = createServlet(env);
+
+        // Then...
+        assertThat(servlet.getDirectoryServiceFanOut().getTimeoutMillis()).isEqualTo(RasServlet.DEFAULT_RAS_QUERY_TIMEOUT_MILLIS);
+        servlet.destroy();
+    }
+
+    @Test
+    public void testRasQueryTimeoutCanBeSetFromTheEnvironment() throws Exception {
+        // Given...
+        MockEnvironment env = FilledMockEnvironment.createTestEnvironment();
+        env.setenv(EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_MILLIS, "5000");
+
+        // When...
+        MockRasServlet servlet = createServlet(env);
+
+        // Then...
+        assertThat(servlet.getDirectoryServiceFanOut().getTimeoutMillis()).isEqualTo(5000);
+        servlet.destroy();
+    }
+
+    @Test
+    public void testInvalidRasQueryTimeoutUsesTheDefault() throws Exception {
+        // Given...
+        MockEnvironment env = FilledMockEnvironment.createTestEnvironment();
+        env.setenv(EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_MILLIS, "not a number");
+
+        MockEnvironment zeroEnv = FilledMockEnvironment.createTestEnvironment();
+        zeroEnv.setenv(EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_MILLIS, "0");
+
+        // When...
+        MockRasServlet servlet = createServlet(env);
+        MockRasServlet zeroServlet = createServlet(zeroEnv);
+
+        // Then...
+        assertThat(servlet.getDirectoryServiceFanOut().getTimeoutMillis()).isEqualTo(RasServlet.DEFAULT_RAS_QUERY_TIMEOUT_MILLIS);
+        assertThat(zeroServlet.getDirectoryServiceFanOut().getTimeoutMillis()).isEqualTo(RasServlet.DEFAULT_RAS_QUERY_TIMEOUT_MILLIS);
+        servlet.destroy();
+        zeroServlet.destroy();
+    }
+
+    @Test
+    public void testDestroyingTheServletStopsTheQueryThreads() throws Exception {
+        // Given...
+        MockRasServlet servlet = createServlet(FilledMockEnvironment.createTestEnvironment());
+        RasDirectoryServiceFanOut fanOut = servlet.getDirectoryServiceFanOut();
+        assertThat(fanOut.isShutdown()).isFalse();
+
+        // When...
+        servlet.destroy();
+
+        // Then...
+        assertThat(fanOut.isShutdown()).isTrue();
+    }
+}
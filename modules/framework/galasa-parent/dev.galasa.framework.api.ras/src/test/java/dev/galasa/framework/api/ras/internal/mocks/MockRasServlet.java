@@ -6,6 +6,7 @@
 package dev.galasa.framework.api.ras.internal.mocks;
 
 import dev.galasa.framework.IFileSystem;
+import dev.galasa.framework.api.common.Environment;
 import dev.galasa.framework.api.common.mocks.FilledMockEnvironment;
 import dev.galasa.framework.api.common.mocks.IServletUnderTest;
 import dev.galasa.framework.api.ras.internal.RasServlet;
@@ -22,6 +23,10 @@ public class MockRasServlet extends RasServlet implements IServletUnderTest {
 		super(FilledMockEnvironment.createTestEnvironment());
 	}
 
+	public MockRasServlet(Environment env) {
+		super(env);
+	}
+
 	@Override
 	public void setFramework(IFramework framework) {
 		super.framework = framework;
@@ -41,7 +41,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexWithAcceptedSpecialCharactersReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 
 		//Then...
 		assertThat(expectedPath.matcher("/runs/cdb_1234/files/my.properties").matches())
@@ -65,7 +65,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedLocalPathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/lcl-abcd-1234.run/files/run.log";
 
 		//When...
@@ -79,7 +79,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedPathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/lcl-abcd-1234.run/files/artifacts/image123.png";
 
 		//When...
@@ -93,7 +93,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedCouchDBPathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-efgh-5678.run/files/run.log";
 
 		//When...
@@ -107,7 +107,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexLowerCasePathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdbstoredrun/files/run.log";
 
 		//When...
@@ -121,7 +121,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedPathWithCapitalLeadingLetterReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/ABC-DEFG-5678.run/files/run.log";
 
 		//When...
@@ -135,7 +135,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexUpperCasePathReturnsFalse() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/FILES/run.log";
 
 		//When...
@@ -149,7 +149,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedPathWithLeadingNumberReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/files/1run.log";
 
 		//When...
@@ -163,7 +163,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexExpectedPathWithTrailingForwardSlashReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/files/run.log/";
 
 		//When...
@@ -177,7 +177,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexNumberPathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/files/run1.log";
 
 		//When...
@@ -191,7 +191,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexUnexpectedPathReturnsFalse() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/file/run.log";
 
 		//When...
@@ -205,7 +205,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexEmptyPathReturnsFalse() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "";
 
 		//When...
@@ -219,7 +219,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexSpecialCharactersInFilePathReturnsFalse() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 
 		//Then...
 		assertThat(expectedPath.matcher("/runs/cdb-EFGH-5678.run/files/run.log?").matches())
@@ -235,7 +235,7 @@ public class TestRunArtifactsDownloadServlet extends RasServletTest {
 	public void testPathRegexMultipleForwardSlashPathReturnsTrue() throws Exception {
 		//Given...
 		MockFramework mockFramework = new MockFramework();
-		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework).getPathRegex();
+		Pattern expectedPath = new RunArtifactsDownloadRoute(null, null, mockFramework, null).getPathRegex();
 		String inputPath = "/runs/cdb-EFGH-5678.run/files/run.log//////";
 
 		//When...
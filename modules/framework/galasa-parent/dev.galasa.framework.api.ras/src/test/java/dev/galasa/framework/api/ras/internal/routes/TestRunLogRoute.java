@@ -315,6 +315,81 @@ public class TestRunLogRoute extends RasServletTest {
 		assertThat(resp.getContentType()).isEqualTo("text/plain");
 	}
 
+	@Test
+	public void testRunResultWithLineOffsetReturnsRemainingLinesOK() throws Exception {
+		//Given..
+		String runId = "runA";
+		String runLog = "line 1\nline 2\nline 3\nline 4";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", runLog);
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("lineoffset", new String[] { "2" });
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEqualTo("line 3\nline 4");
+		assertThat(resp.getContentType()).isEqualTo("text/plain");
+	}
+
+	@Test
+	public void testRunResultWithLineOffsetPastEndOfLogReturnsEmptyLogOK() throws Exception {
+		//Given..
+		String runId = "runA";
+		String runLog = "line 1\nline 2";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", runLog);
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("lineoffset", new String[] { "10" });
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEmpty();
+	}
+
+	@Test
+	public void testRunResultWithNonIntegerLineOffsetReturnsBadRequestError() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", "hello world");
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("lineoffset", new String[] { "notanumber" });
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(400);
+		checkErrorStructure(outStream.toString() , 5005 , "GAL5005E", "lineoffset", "notanumber");
+	}
+
 	@Test
 	public void testRunResultWithNullLogReturnsNotFoundError() throws Exception {
 		//Given..
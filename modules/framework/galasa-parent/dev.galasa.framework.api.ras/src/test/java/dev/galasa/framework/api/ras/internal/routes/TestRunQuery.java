@@ -976,6 +976,89 @@ public class TestRunQuery extends RasServletTest {
 		assertThat(resp.getContentType()).isEqualTo("application/json");
 	}
 
+	@Test
+	public void testQueryAcrossTwoDirectoryServicesMergesRunsIntoSortedPages() throws Exception {
+		//Given..
+		List<IRunResult> mockInputRunResults = generateTestDataAscendingTime(20,5,1);
+
+		// Split the runs between two RAS stores, so each store holds every other run
+		List<IRunResult> firstStoreRuns = new ArrayList<>();
+		List<IRunResult> secondStoreRuns = new ArrayList<>();
+		for (int i = 0; i < mockInputRunResults.size(); i++) {
+			if (i % 2 == 0) {
+				firstStoreRuns.add(mockInputRunResults.get(i));
+			} else {
+				secondStoreRuns.add(mockInputRunResults.get(i));
+			}
+		}
+
+		//Build Http query parameters
+        int pageSize = 5;
+        int pageNum = 2;
+		Map<String, String[]> parameterMap = setQueryParameter(pageNum,pageSize,null,null,null, 72, null, null);
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(firstStoreRuns, mockRequest);
+		mockServletEnvironment.getDirectoryService().add(new MockResultArchiveStoreDirectoryService(secondStoreRuns));
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		//Then...
+		// The runs from both stores should be returned newest first, as if they came from one store
+        Collections.reverse(mockInputRunResults);
+
+		String expectedJson = generateExpectedJson(mockInputRunResults, pageSize, pageNum);
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEqualTo(expectedJson);
+		assertThat(resp.getContentType()).isEqualTo("application/json");
+	}
+
+	@Test
+	public void testQueryWithOutOfDateRunCountReturnsTotalMatchingThePage() throws Exception {
+		//Given..
+		List<IRunResult> mockInputRunResults = generateTestDataAscendingTime(10,5,1);
+
+		// The store counts runs which are deleted before its runs are fetched
+		MockResultArchiveStoreDirectoryService rasStore = new MockResultArchiveStoreDirectoryService(mockInputRunResults) {
+			@Override
+			public int getRunCount(IRasSearchCriteria... searchCriterias) throws ResultArchiveStoreException {
+				return super.getRunCount(searchCriterias) + 3;
+			}
+		};
+
+		//Build Http query parameters
+        int pageSize = 25;
+        int pageNum = 1;
+		Map<String, String[]> parameterMap = setQueryParameter(pageNum,pageSize,null,null,null, 72, null, null);
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockInputRunResults, mockRequest, rasStore);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		//Then...
+		// The store returned fewer runs than were asked for, so those are all of its runs
+        Collections.reverse(mockInputRunResults);
+
+		String expectedJson = generateExpectedJson(mockInputRunResults, pageSize, pageNum);
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEqualTo(expectedJson);
+	}
+
 	@Test
 	public void testQueryWithRequestorNotSortedWithDBServiceTwentyRecordsPageSizeFivePageThreeReturnsOK() throws Exception {
 		//Given..
@@ -2036,7 +2119,7 @@ public class TestRunQuery extends RasServletTest {
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
 
 		Throwable thrown = catchThrowable( () -> {
-        	new RunQueryRoute( new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params,Instant.now());
+        	new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params,Instant.now());
         });
 
         assertThat(thrown).isNotNull();
@@ -2050,7 +2133,7 @@ public class TestRunQuery extends RasServletTest {
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
 
 		Throwable thrown = catchThrowable( () -> {
-            new RunQueryRoute( new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params,Instant.now());
+            new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params,Instant.now());
         });
 
         assertThat(thrown).isNotNull();
@@ -2064,7 +2147,7 @@ public class TestRunQuery extends RasServletTest {
 		String fromString = fromInstant.toString();
         map.put("from", new String[] {fromString} );
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
-        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
+        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
 
 		assertThat(checker).isNotNull();
         assertThat(checker).isEqualTo(fromInstant);
@@ -2078,7 +2161,7 @@ public class TestRunQuery extends RasServletTest {
         map.put("from", new String[] {fromString} );
 		map.put("runname", new String[] {"runname"} );
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
-        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
+        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
 
 		assertThat(checker).isNotNull();
         assertThat(checker).isEqualTo(fromInstant);
@@ -2089,7 +2172,7 @@ public class TestRunQuery extends RasServletTest {
         Map<String,String[]> map = new HashMap<String,String[]>();
         map.put("runname", new String[] {"runname"} );
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
-        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
+        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
 
 		assertThat(checker).isNull();
     }
@@ -2098,7 +2181,7 @@ public class TestRunQuery extends RasServletTest {
     public void testGetDefaultFromInstantIfNoQueryIsPresentNoQueryReturnsValue() throws Exception {
         Map<String,String[]> map = new HashMap<String,String[]>();
         RasQueryParameters params = new RasQueryParameters(new QueryParameters(map));
-        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework()).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
+        Instant checker = new RunQueryRoute(new ResponseBuilder(), new MockFramework(), null).getQueriedFromTime(params, Instant.parse("2023-07-21T06:10:29.640750Z"));
 
 		assertThat(checker).isNotNull();
     }
@@ -150,6 +150,9 @@ public class DockerController {
             
             getImageId(dockerClient, settings.getEngineImage());
 
+            // *** Keep an in-process index of the runs, so polling does not re-read every run from the DSS
+            framework.getFrameworkRuns().getRunIndex();
+
             // *** Start the run polling
             RunDeleted runDeleted = new RunDeleted(settings, dockerClient, framework.getFrameworkRuns());
             scheduledExecutorService.scheduleWithFixedDelay(runDeleted, 0, settings.getRunPoll(), TimeUnit.SECONDS);
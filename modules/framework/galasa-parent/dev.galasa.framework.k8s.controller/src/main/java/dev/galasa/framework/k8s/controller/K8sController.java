@@ -139,6 +139,9 @@ public class K8sController {
             } else {
                 logger.info("Health monitoring disabled");
             }
+            // *** Keep an in-process index of the runs, so polling does not re-read every run from the DSS
+            framework.getFrameworkRuns().getRunIndex();
+
             // *** Start the run polling
             runCleanup = new RunPodCleanup(settings, api, protoClient, framework.getFrameworkRuns());
             schedulePodCleanup();
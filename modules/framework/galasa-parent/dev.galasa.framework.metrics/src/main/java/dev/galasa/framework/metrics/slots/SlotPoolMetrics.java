@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.metrics.slots;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.osgi.service.component.annotations.Component;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.IMetricsProvider;
+import dev.galasa.framework.spi.IMetricsServer;
+import dev.galasa.framework.spi.MetricsServerException;
+import io.prometheus.client.Counter;
+
+/**
+ * Reports how often the managers' DSS slot pools are contended, so a pool
+ * with too few slots or a struggling DSS shows up on the dashboards.
+ *
+ * Each pool keeps its own counts in the DSS, striped over several keys,
+ * and they are reported as counters labelled with the pool, increased by
+ * how much each of its keys has gone up since the last poll.
+ */
+@Component(service = { IMetricsProvider.class })
+public class SlotPoolMetrics implements IMetricsProvider, Runnable {
+
+    // Followed by the namespace and key of the pool and the stripe, as written by the framework's slot pools
+    private static final String CONTENDED_PREFIX = "metrics.slots.pool.contended.";
+    private static final String ABANDONED_PREFIX = "metrics.slots.pool.abandoned.";
+
+    private final Log                  logger = LogFactory.getLog(getClass());
+    private IFramework                 framework;
+    private IMetricsServer             metricsServer;
+    private IDynamicStatusStoreService dss;
+
+    private Counter                    contendedAcquires;
+    private Counter                    abandonedAcquires;
+
+    // The count last read for each DSS key, so only the increase is added to the counters
+    private final Map<String, Long>    lastCounts = new HashMap<>();
+
+    @Override
+    public boolean initialise(IFramework framework, IMetricsServer metricsServer) throws MetricsServerException {
+        this.framework = framework;
+        this.metricsServer = metricsServer;
+        try {
+            this.dss = this.framework.getDynamicStatusStoreService("framework");
+        } catch (Exception e) {
+            throw new MetricsServerException("Unable to initialise Slot Pool Metrics", e);
+        }
+
+        this.contendedAcquires = Counter.build().name("galasa_slot_pool_contended").labelNames("pool")
+                .help("The number of slot acquires which had to retry because another run took the same slot").register();
+
+        this.abandonedAcquires = Counter.build().name("galasa_slot_pool_abandoned").labelNames("pool")
+                .help("The number of slot acquires which gave up after too many collisions").register();
+
+        return true;
+    }
+
+    @Override
+    public void start() {
+        this.metricsServer.getScheduledExecutorService().scheduleWithFixedDelay(this, 1, 10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public void run() {
+        logger.info("Slot Pool Poll");
+
+        try {
+            updateCounter(this.contendedAcquires, CONTENDED_PREFIX);
+            updateCounter(this.abandonedAcquires, ABANDONED_PREFIX);
+
+            this.metricsServer.metricsPollSuccessful();
+        } catch (Exception e) {
+            logger.error("Problem with Slot Pool poll", e);
+        }
+    }
+
+    private void updateCounter(Counter counter, String prefix) throws DynamicStatusStoreException {
+        for (Entry<String, String> entry : this.dss.getPrefix(prefix).entrySet()) {
+            long count;
+            try {
+                count = Long.parseLong(entry.getValue());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring slot pool metric " + entry.getKey() + " with the value '" + entry.getValue() + "'");
+                continue;
+            }
+
+            // *** A count lower than last time has been reset, so all of it is new
+            Long lastCount = this.lastCounts.put(entry.getKey(), count);
+            long increase = count;
+            if (lastCount != null && count >= lastCount) {
+                increase = count - lastCount;
+            }
+
+            String pool = entry.getKey().substring(prefix.length());
+            int stripe = pool.lastIndexOf('.');
+            if (stripe > 0) {
+                pool = pool.substring(0, stripe);
+            }
+            Counter.Child child = counter.labels(pool);
+            if (increase > 0) {
+                child.inc(increase);
+            }
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -45,9 +46,11 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import dev.galasa.framework.spi.streams.IOBR;
 import dev.galasa.framework.spi.streams.IStream;
 import dev.galasa.framework.spi.streams.IStreamsService;
+import dev.galasa.framework.spi.utils.SystemTimeService;
 import io.prometheus.client.Counter;
 import io.prometheus.client.exporter.HTTPServer;
 
@@ -69,6 +72,8 @@ public class ResourceManagement implements IResourceManagement {
 
     private ResourceManagementProviders                  resourceManagementProviders;
     private ScheduledExecutorService                     scheduledExecutorService;
+    private ResourceManagementSnapshots                  snapshots;
+    private ResourceManagementPartitions                 partitions;
 
     // This flag is set by one thread, and read by another, so we always want the variable to be in memory rather than 
     // in some code-optimised register.
@@ -147,6 +152,19 @@ public class ResourceManagement implements IResourceManagement {
 
             this.healthServer = createHealthServer(healthPort);
 
+            // *** Keep an in-process index of the runs, so the monitors do not re-read every run from the DSS
+            framework.getFrameworkRuns().getRunIndex();
+
+            // *** Share one snapshot of each DSS namespace between the monitors in a sweep
+            this.snapshots = new ResourceManagementSnapshots(framework, new SystemTimeService(), getSnapshotSweepTime(cps));
+
+            // *** Share the runs and resources out between the resource managers which are running,
+            // *** taking our share before the monitors start
+            this.partitions = new ResourceManagementPartitions(dss, this.serverName, getPartitionCount(cps),
+                    Duration.ofSeconds(60), Duration.ofSeconds(60), new SystemTimeService());
+            updateHeartbeat(dss);
+            rebalancePartitions();
+
             MonitorConfiguration monitorConfig = new MonitorConfiguration(stream, bundleIncludes, bundleExcludes);
             this.resourceManagementProviders = new ResourceManagementProviders(framework, cps, bundleContext, this, monitorConfig);
 
@@ -162,6 +180,7 @@ public class ResourceManagement implements IResourceManagement {
             while (!shutdown) {
                 if (System.currentTimeMillis() >= heartbeatExpire) {
                     updateHeartbeat(dss);
+                    rebalancePartitions();
                     heartbeatExpire = System.currentTimeMillis() + 20000;
                 }
 
@@ -184,6 +203,9 @@ public class ResourceManagement implements IResourceManagement {
 
             runWatch.shutdown();
 
+            // *** Let the other resource managers take over our partitions straight away
+            this.partitions.releaseAll();
+
             resourceManagementProviders.shutdown();
             stopMetricsServer(this.metricsServer);
             stopHealthServer(this.healthServer);
@@ -358,6 +380,39 @@ public class ResourceManagement implements IResourceManagement {
         return runThreadCount ;
     }
 
+    Duration getSnapshotSweepTime(IConfigurationPropertyStoreService cps) throws ConfigurationPropertyStoreException {
+        int sweepSeconds = getPositiveIntProperty(cps, "resource.management.snapshot", "seconds", 10);
+        return Duration.ofSeconds(sweepSeconds);
+    }
+
+    /**
+     * @return the value of a CPS property which must be a whole number of at least 1, or the
+     *         default if the property is not set or is not valid
+     */
+    private int getPositiveIntProperty(IConfigurationPropertyStoreService cps, String prefix, String suffix, int defaultValue)
+            throws ConfigurationPropertyStoreException {
+        int value = defaultValue;
+        String property = AbstractManager.nulled(cps.getProperty(prefix, suffix));
+        if (property != null) {
+            try {
+                value = Integer.parseInt(property.trim());
+            } catch (NumberFormatException e) {
+                value = 0;
+            }
+
+            if (value < 1) {
+                logger.warn("Invalid value '" + property + "' for the CPS property framework." + prefix + "." + suffix
+                        + ", it must be a whole number of at least 1. Using the default of " + defaultValue);
+                value = defaultValue;
+            }
+        }
+        return value;
+    }
+
+    int getPartitionCount(IConfigurationPropertyStoreService cps) throws ConfigurationPropertyStoreException {
+        return getPositiveIntProperty(cps, "resource.management", "partitions", 32);
+    }
+
     private String getHostName() {
         String hostName = "unknown";
         try {
@@ -407,6 +462,14 @@ public class ResourceManagement implements IResourceManagement {
         }
     }
 
+    private void rebalancePartitions() {
+        try {
+            this.partitions.rebalance();
+        } catch (DynamicStatusStoreException e) {
+            logger.error("Problem rebalancing the resource management partitions", e);
+        }
+    }
+
     @Activate
     public void activate(BundleContext context) {
         this.bundleContext = context;
@@ -424,6 +487,16 @@ public class ResourceManagement implements IResourceManagement {
         this.successfulRunsCounter.inc();
     }
 
+    @Override
+    public IResourceManagementSnapshot getSnapshot(String namespace) throws FrameworkException {
+        return this.snapshots.getSnapshot(namespace);
+    }
+
+    @Override
+    public boolean isResponsibleFor(String name) {
+        return this.partitions.isResponsibleFor(name);
+    }
+
     protected synchronized Instant getLastSuccessfulRun() {
         return this.lastSuccessfulRun;
     }
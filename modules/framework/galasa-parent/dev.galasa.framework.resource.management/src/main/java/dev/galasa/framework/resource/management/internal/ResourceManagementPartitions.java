@@ -0,0 +1,216 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.resource.management.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.utils.ITimeService;
+
+/**
+ * Shares the runs and resources out between the resource managers which are running.
+ *
+ * Names are hashed into a fixed number of partitions, and each partition is given to
+ * one of the resource managers with a live heartbeat by rendezvous hashing, so a
+ * resource manager starting or stopping only moves its share of the partitions.
+ *
+ * A resource manager only acts on a partition while it holds the lease on it in the
+ * DSS.  The lease holds its own expiry time, as it is renewed with a putSwap, so a
+ * resource manager which dies loses its partitions once its leases have expired.
+ * A lease is released when the partition is given to another resource manager, and
+ * is only taken over by the new owner once released or expired.
+ */
+public class ResourceManagementPartitions {
+
+    private static final String HEARTBEAT_PREFIX = "servers.resourcemonitor.";
+    private static final String HEARTBEAT_SUFFIX = ".heartbeat";
+    private static final String PARTITION_PREFIX = "resource.management.partition.";
+    private static final String LEASE_SEPARATOR  = ",";
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final IDynamicStatusStoreService dss;
+    private final String                     serverName;
+    private final int                        partitionCount;
+    private final Duration                   leaseTime;
+    private final Duration                   heartbeatExpiry;
+    private final ITimeService               timeService;
+
+    // The time until which this resource manager holds the lease on each partition, null if it does not
+    private volatile Instant[]               leasedUntil;
+
+    public ResourceManagementPartitions(IDynamicStatusStoreService dss, String serverName, int partitionCount,
+            Duration leaseTime, Duration heartbeatExpiry, ITimeService timeService) {
+        this.dss = dss;
+        this.serverName = serverName;
+        this.partitionCount = partitionCount;
+        this.leaseTime = leaseTime;
+        this.heartbeatExpiry = heartbeatExpiry;
+        this.timeService = timeService;
+        this.leasedUntil = new Instant[partitionCount];
+    }
+
+    /**
+     * @return true if this resource manager holds an unexpired lease on the partition of the name
+     */
+    public boolean isResponsibleFor(String name) {
+        Instant until = this.leasedUntil[getPartition(name, this.partitionCount)];
+        return until != null && this.timeService.now().isBefore(until);
+    }
+
+    /**
+     * Take, renew or release the lease on each partition, depending on which of the
+     * resource managers with a live heartbeat the partition now belongs to
+     */
+    public synchronized void rebalance() throws DynamicStatusStoreException {
+        Instant now = this.timeService.now();
+        List<String> liveServers = getLiveServers(now);
+        Map<String, String> leases = this.dss.getPrefix(PARTITION_PREFIX);
+
+        Instant newLeaseExpiry = now.plus(this.leaseTime);
+        String newLease = this.serverName + LEASE_SEPARATOR + newLeaseExpiry.toString();
+
+        Instant[] newLeasedUntil = new Instant[this.partitionCount];
+        int held = 0;
+        for (int partition = 0; partition < this.partitionCount; partition++) {
+            String key = PARTITION_PREFIX + partition;
+            String lease = leases.get(key);
+            String leaseOwner = getLeaseOwner(lease);
+
+            if (this.serverName.equals(getOwner(partition, liveServers))) {
+                if (lease == null || this.serverName.equals(leaseOwner) || isLeaseExpired(lease, now)) {
+                    if (this.dss.putSwap(key, lease, newLease)) {
+                        newLeasedUntil[partition] = newLeaseExpiry;
+                        held++;
+                    }
+                }
+            } else if (this.serverName.equals(leaseOwner)) {
+                releaseLease(key, lease);
+            }
+        }
+
+        this.leasedUntil = newLeasedUntil;
+        logger.debug("Holding " + held + " of " + this.partitionCount + " resource management partitions, shared between "
+                + liveServers.size() + " resource managers");
+    }
+
+    /**
+     * Release all the leases held by this resource manager, so the other resource
+     * managers can take the partitions over without waiting for the leases to expire
+     */
+    public synchronized void releaseAll() {
+        Instant[] heldUntil = this.leasedUntil;
+        this.leasedUntil = new Instant[this.partitionCount];
+
+        try {
+            Map<String, String> leases = this.dss.getPrefix(PARTITION_PREFIX);
+            for (int partition = 0; partition < this.partitionCount; partition++) {
+                String key = PARTITION_PREFIX + partition;
+                String lease = leases.get(key);
+                if (heldUntil[partition] != null && this.serverName.equals(getLeaseOwner(lease))) {
+                    releaseLease(key, lease);
+                }
+            }
+        } catch (DynamicStatusStoreException e) {
+            logger.error("Unable to release the resource management partitions", e);
+        }
+    }
+
+    private void releaseLease(String key, String lease) throws DynamicStatusStoreException {
+        try {
+            this.dss.performActions(new DssDelete(key, lease));
+        } catch (DynamicStatusStoreMatchException e) {
+            // *** The lease has already been taken over
+        }
+    }
+
+    private List<String> getLiveServers(Instant now) throws DynamicStatusStoreException {
+        ArrayList<String> liveServers = new ArrayList<>();
+        liveServers.add(this.serverName);
+
+        Instant oldestLiveHeartbeat = now.minus(this.heartbeatExpiry);
+        for (Map.Entry<String, String> entry : this.dss.getPrefix(HEARTBEAT_PREFIX).entrySet()) {
+            String key = entry.getKey();
+            if (!key.endsWith(HEARTBEAT_SUFFIX)) {
+                continue;
+            }
+            String server = key.substring(HEARTBEAT_PREFIX.length(), key.length() - HEARTBEAT_SUFFIX.length());
+            if (server.equals(this.serverName)) {
+                continue;
+            }
+            try {
+                if (Instant.parse(entry.getValue()).isAfter(oldestLiveHeartbeat)) {
+                    liveServers.add(server);
+                }
+            } catch (DateTimeParseException e) {
+                logger.warn("Ignoring resource manager " + server + " with an invalid heartbeat");
+            }
+        }
+        return liveServers;
+    }
+
+    private static String getLeaseOwner(String lease) {
+        if (lease == null) {
+            return null;
+        }
+        int separator = lease.indexOf(LEASE_SEPARATOR);
+        return (separator < 0) ? lease : lease.substring(0, separator);
+    }
+
+    private static boolean isLeaseExpired(String lease, Instant now) {
+        int separator = lease.indexOf(LEASE_SEPARATOR);
+        try {
+            return separator < 0 || !Instant.parse(lease.substring(separator + 1)).isAfter(now);
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return the partition of a name, which is the same in every resource manager
+     */
+    static int getPartition(String name, int partitionCount) {
+        return Math.floorMod(mix(name.hashCode()), partitionCount);
+    }
+
+    /**
+     * @return the server with the highest score for the partition
+     */
+    static String getOwner(int partition, List<String> servers) {
+        String owner = null;
+        long ownerScore = 0;
+        for (String server : servers) {
+            long score = mix(((long) server.hashCode() << 32) ^ partition);
+            if (owner == null || score > ownerScore || (score == ownerScore && server.compareTo(owner) < 0)) {
+                owner = server;
+                ownerScore = score;
+            }
+        }
+        return owner;
+    }
+
+    private static int mix(int value) {
+        return (int) mix((long) value);
+    }
+
+    private static long mix(long value) {
+        // *** The SplitMix64 finaliser, so similar names and servers land in unrelated places
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
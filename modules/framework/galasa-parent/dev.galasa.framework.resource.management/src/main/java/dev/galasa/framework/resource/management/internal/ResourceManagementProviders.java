@@ -30,6 +30,7 @@ public class ResourceManagementProviders {
     
     private Log logger = LogFactory.getLog(this.getClass());
     private List<IResourceManagementProvider> resourceManagementProviders = new ArrayList<IResourceManagementProvider>() ;
+    private IResourceManagement resourceManagement;
 
     public ResourceManagementProviders(
         IFramework framework , 
@@ -39,6 +40,8 @@ public class ResourceManagementProviders {
         MonitorConfiguration monitorConfig
     ) throws FrameworkException {
 
+        this.resourceManagement = resourceManagement;
+
         try {
             final ServiceReference<?>[] rmpServiceReference = bundleContext
                     .getAllServiceReferences(IResourceManagementProvider.class.getName(), null);
@@ -113,6 +116,10 @@ public class ResourceManagementProviders {
 
     public void runFinishedOrDeleted(String runName) {
         logger.debug("runFinishedOrDeleted() entered");
+        if (!resourceManagement.isResponsibleFor(runName)) {
+            logger.debug("Run " + runName + " belongs to another resource manager, runFinishedOrDeleted() exiting");
+            return;
+        }
         for (IResourceManagementProvider provider : resourceManagementProviders) {
             logger.debug("About to call runFinishedOrDeleted() for provider "+provider.getClass().getCanonicalName());
             provider.runFinishedOrDeleted(runName);
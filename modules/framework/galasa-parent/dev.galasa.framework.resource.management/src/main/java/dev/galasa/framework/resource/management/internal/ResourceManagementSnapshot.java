@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.resource.management.internal;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
+
+/**
+ * The properties of a DSS namespace and the active runs at the time of a sweep.
+ * The properties are held sorted by key, so a prefix is found without looking
+ * at the other properties.
+ */
+public class ResourceManagementSnapshot implements IResourceManagementSnapshot {
+
+    private final long                          version;
+    private final Instant                       takenAt;
+    private final NavigableMap<String, String>  properties;
+    private final Set<String>                   activeRunNames;
+
+    public ResourceManagementSnapshot(long version, Instant takenAt, Map<String, String> properties, Set<String> activeRunNames) {
+        this.version = version;
+        this.takenAt = takenAt;
+        this.properties = Collections.unmodifiableNavigableMap(new TreeMap<>(properties));
+        this.activeRunNames = Set.copyOf(activeRunNames);
+    }
+
+    @Override
+    public long getVersion() {
+        return this.version;
+    }
+
+    public Instant getTakenAt() {
+        return this.takenAt;
+    }
+
+    @Override
+    public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) {
+        Map<String, String> prefixProperties = this.properties.tailMap(keyPrefix, true);
+        HashMap<String, String> results = new HashMap<>();
+        for (Map.Entry<String, String> entry : prefixProperties.entrySet()) {
+            if (!entry.getKey().startsWith(keyPrefix)) {
+                break;
+            }
+            results.put(entry.getKey(), entry.getValue());
+        }
+        return results;
+    }
+
+    @Override
+    public @NotNull Set<String> getActiveRunNames() {
+        return this.activeRunNames;
+    }
+}
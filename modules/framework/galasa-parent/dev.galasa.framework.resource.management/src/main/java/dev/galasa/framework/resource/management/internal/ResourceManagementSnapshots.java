@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.resource.management.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.utils.ITimeService;
+
+/**
+ * Takes the snapshots of the DSS namespaces shared by the resource management
+ * monitors, so each namespace is read once per sweep however many monitors it has.
+ *
+ * A snapshot is taken when a monitor first asks for it in a sweep, and is given to
+ * every monitor that asks until it is older than the sweep time.
+ *
+ * The other namespaces which were used in the previous sweep and are due are
+ * taken at the same time, so all of them share one read of the active runs
+ * rather than each namespace reading them again.
+ */
+public class ResourceManagementSnapshots {
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final IFramework                                  framework;
+    private final ITimeService                                timeService;
+    private final Duration                                    sweepTime;
+
+    private final Map<String, ResourceManagementSnapshot>     snapshots = new HashMap<>();
+    private long                                              lastVersion;
+
+    public ResourceManagementSnapshots(IFramework framework, ITimeService timeService, Duration sweepTime) {
+        this.framework = framework;
+        this.timeService = timeService;
+        this.sweepTime = sweepTime;
+    }
+
+    public synchronized ResourceManagementSnapshot getSnapshot(String namespace) throws FrameworkException {
+        Instant now = this.timeService.now();
+
+        ResourceManagementSnapshot snapshot = this.snapshots.get(namespace);
+        if (snapshot != null && isCurrent(snapshot, now)) {
+            return snapshot;
+        }
+
+        takeSnapshots(getNamespacesDue(namespace, now), now);
+        return this.snapshots.get(namespace);
+    }
+
+    private boolean isCurrent(ResourceManagementSnapshot snapshot, Instant now) {
+        return now.isBefore(snapshot.getTakenAt().plus(this.sweepTime));
+    }
+
+    /**
+     * The namespace asked for, and the namespaces whose snapshots were taken in the
+     * previous sweep and are due, as their monitors are likely to ask for them soon.
+     * A namespace whose monitors ask less often is left until it is asked for.
+     */
+    private List<String> getNamespacesDue(String namespace, Instant now) {
+        List<String> namespaces = new ArrayList<>();
+        namespaces.add(namespace);
+
+        Instant previousSweep = now.minus(this.sweepTime.multipliedBy(2));
+        for (Entry<String, ResourceManagementSnapshot> entry : this.snapshots.entrySet()) {
+            ResourceManagementSnapshot snapshot = entry.getValue();
+            if (!entry.getKey().equals(namespace) && !isCurrent(snapshot, now) && snapshot.getTakenAt().isAfter(previousSweep)) {
+                namespaces.add(entry.getKey());
+            }
+        }
+        return namespaces;
+    }
+
+    private void takeSnapshots(List<String> namespaces, Instant now) throws FrameworkException {
+        // *** The properties must be read before the active runs, so that a run which starts
+        // *** between the two reads is active rather than missing and having its properties discarded
+        Map<String, Map<String, String>> namespaceProperties = new LinkedHashMap<>();
+        for (String namespace : namespaces) {
+            namespaceProperties.put(namespace, this.framework.getDynamicStatusStoreService(namespace).getPrefix(""));
+        }
+        Set<String> activeRunNames = Set.copyOf(this.framework.getFrameworkRuns().getActiveRunNames());
+
+        for (Entry<String, Map<String, String>> entry : namespaceProperties.entrySet()) {
+            this.lastVersion++;
+            this.snapshots.put(entry.getKey(), new ResourceManagementSnapshot(this.lastVersion, now, entry.getValue(), activeRunNames));
+
+            logger.trace("Taken snapshot " + this.lastVersion + " of DSS namespace " + entry.getKey() + " with "
+                    + entry.getValue().size() + " properties and " + activeRunNames.size() + " active runs");
+        }
+    }
+}
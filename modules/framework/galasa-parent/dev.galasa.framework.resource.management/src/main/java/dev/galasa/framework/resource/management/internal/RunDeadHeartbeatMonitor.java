@@ -79,6 +79,9 @@ public class RunDeadHeartbeatMonitor implements Runnable {
                     continue;  //*** Ignore shared environments,  handled by a different class
                 }
                 String runName = run.getName();
+                if (!this.resourceManagement.isResponsibleFor(runName)) {
+                    continue;  //*** Another resource manager looks after this run
+                }
                 logger.trace("Checking run " + runName);
 
                 Instant now = timeService.now();
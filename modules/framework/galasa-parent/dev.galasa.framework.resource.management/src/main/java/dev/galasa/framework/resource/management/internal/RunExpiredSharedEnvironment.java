@@ -50,6 +50,9 @@ public class RunExpiredSharedEnvironment implements Runnable {
                     continue;  //*** Only want shared environments
                 }
                 String runName = run.getName();
+                if (!this.resourceManagement.isResponsibleFor(runName)) {
+                    continue;  //*** Another resource manager looks after this run
+                }
                 logger.trace("Checking shared envirnonment " + runName);
 
 
@@ -57,9 +57,12 @@ public class RunFinishedRuns implements Runnable {
 
         logger.info("Starting Finished Run search");
         try {
-            List<IRun> runs = frameworkRuns.getAllRuns();
+            List<IRun> runs = frameworkRuns.getRunIndex().getRunsByStatus("finished");
             for (IRun run : runs) {
                 String runName = run.getName();
+                if (!this.resourceManagement.isResponsibleFor(runName)) {
+                    continue;  //*** Another resource manager looks after this run
+                }
 
                 String status = run.getStatus();
                 if (!"finished".equals(status)) {
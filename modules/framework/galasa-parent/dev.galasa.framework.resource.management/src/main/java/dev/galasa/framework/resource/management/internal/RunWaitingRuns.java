@@ -39,9 +39,12 @@ public class RunWaitingRuns implements Runnable {
     public void run() {
         logger.info("Starting Waiting Run search");
         try {
-            List<IRun> runs = frameworkRuns.getAllRuns();
+            List<IRun> runs = frameworkRuns.getRunIndex().getRunsByStatus("waiting");
             for (IRun run : runs) {
                 String runName = run.getName();
+                if (!this.resourceManagement.isResponsibleFor(runName)) {
+                    continue;  //*** Another resource manager looks after this run
+                }
 
                 String status = run.getStatus();
                 if (!"waiting".equals(status)) {
@@ -8,6 +8,7 @@ package dev.galasa.framework.resource.management.internal;
 import static org.assertj.core.api.Assertions.*;
 
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +21,7 @@ import org.junit.Test;
 
 import dev.galasa.framework.mocks.MockBundleManager;
 import dev.galasa.framework.mocks.MockCapability;
+import dev.galasa.framework.mocks.MockIConfigurationPropertyStoreService;
 import dev.galasa.framework.mocks.MockMavenRepository;
 import dev.galasa.framework.mocks.MockOBR;
 import dev.galasa.framework.mocks.MockRepository;
@@ -206,4 +208,68 @@ public class TestResourceManagement {
         assertThat(thrown).isNotNull();
         assertThat(thrown).hasMessageContaining("simulating an invalid stream!");
     }
+
+    @Test
+    public void testSnapshotSweepTimeCanBeSetInTheCps() throws Exception {
+        // Given...
+        ResourceManagement resourceManagement = new ResourceManagement();
+        MockIConfigurationPropertyStoreService mockCps = new MockIConfigurationPropertyStoreService();
+        mockCps.setProperty("resource.management.snapshot.seconds", "30");
+
+        // When...
+        Duration sweepTime = resourceManagement.getSnapshotSweepTime(mockCps);
+
+        // Then...
+        assertThat(sweepTime).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testInvalidSnapshotSweepTimeUsesTheDefault() throws Exception {
+        // Given...
+        ResourceManagement resourceManagement = new ResourceManagement();
+        MockIConfigurationPropertyStoreService notANumberCps = new MockIConfigurationPropertyStoreService();
+        notANumberCps.setProperty("resource.management.snapshot.seconds", "ten");
+        MockIConfigurationPropertyStoreService negativeCps = new MockIConfigurationPropertyStoreService();
+        negativeCps.setProperty("resource.management.snapshot.seconds", "-5");
+
+        // When...
+        Duration notANumberSweepTime = resourceManagement.getSnapshotSweepTime(notANumberCps);
+        Duration negativeSweepTime = resourceManagement.getSnapshotSweepTime(negativeCps);
+
+        // Then...
+        assertThat(notANumberSweepTime).isEqualTo(Duration.ofSeconds(10));
+        assertThat(negativeSweepTime).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void testPartitionCountCanBeSetInTheCps() throws Exception {
+        // Given...
+        ResourceManagement resourceManagement = new ResourceManagement();
+        MockIConfigurationPropertyStoreService mockCps = new MockIConfigurationPropertyStoreService();
+        mockCps.setProperty("resource.management.partitions", "64");
+
+        // When...
+        int partitionCount = resourceManagement.getPartitionCount(mockCps);
+
+        // Then...
+        assertThat(partitionCount).isEqualTo(64);
+    }
+
+    @Test
+    public void testPartitionCountBelowOneOrNotANumberUsesTheDefault() throws Exception {
+        // Given...
+        ResourceManagement resourceManagement = new ResourceManagement();
+        MockIConfigurationPropertyStoreService zeroCps = new MockIConfigurationPropertyStoreService();
+        zeroCps.setProperty("resource.management.partitions", "0");
+        MockIConfigurationPropertyStoreService notANumberCps = new MockIConfigurationPropertyStoreService();
+        notANumberCps.setProperty("resource.management.partitions", "lots");
+
+        // When...
+        int zeroPartitionCount = resourceManagement.getPartitionCount(zeroCps);
+        int notANumberPartitionCount = resourceManagement.getPartitionCount(notANumberCps);
+
+        // Then...
+        assertThat(zeroPartitionCount).isEqualTo(32);
+        assertThat(notANumberPartitionCount).isEqualTo(32);
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.resource.management.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.mocks.MockTimeService;
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDssAction;
+
+public class TestResourceManagementPartitions {
+
+    private static final int PARTITIONS = 32;
+
+    // A DSS shared by all the resource managers, with a real compare and swap
+    class MockSharedDSSStore extends MockDSSStore {
+        public Map<String, String> properties;
+
+        public MockSharedDSSStore(Map<String, String> properties) {
+            super(properties);
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean putSwap(@NotNull String key, String oldValue, @NotNull String newValue) throws DynamicStatusStoreException {
+            if (!Objects.equals(properties.get(key), oldValue)) {
+                return false;
+            }
+            properties.put(key, newValue);
+            return true;
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+            Map<String, String> results = new HashMap<>();
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public void performActions(IDssAction... actions) throws DynamicStatusStoreException {
+            for (IDssAction action : actions) {
+                DssDelete delete = (DssDelete) action;
+                if (!Objects.equals(properties.get(delete.getKey()), delete.getOldValue())) {
+                    throw new DynamicStatusStoreMatchException();
+                }
+                properties.remove(delete.getKey());
+            }
+        }
+
+        public void heartbeat(String serverName, Instant time) {
+            properties.put("servers.resourcemonitor." + serverName + ".heartbeat", time.toString());
+        }
+    }
+
+    private ResourceManagementPartitions createPartitions(MockSharedDSSStore dss, String serverName, MockTimeService timeService) {
+        return new ResourceManagementPartitions(dss, serverName, PARTITIONS, Duration.ofSeconds(60), Duration.ofSeconds(60), timeService);
+    }
+
+    private List<String> getRunNames() {
+        List<String> runNames = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            runNames.add("U" + i);
+        }
+        return runNames;
+    }
+
+    private void assertEachRunHasOneOwner(List<String> runNames, ResourceManagementPartitions... replicas) {
+        for (String runName : runNames) {
+            int owners = 0;
+            for (ResourceManagementPartitions replica : replicas) {
+                if (replica.isResponsibleFor(runName)) {
+                    owners++;
+                }
+            }
+            assertThat(owners).as("resource managers responsible for " + runName).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testNothingIsOwnedBeforeTheFirstRebalance() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        ResourceManagementPartitions partitions = createPartitions(dss, "rm1", new MockTimeService(Instant.EPOCH));
+
+        // When...
+        boolean isResponsible = partitions.isResponsibleFor("U1");
+
+        // Then...
+        assertThat(isResponsible).isFalse();
+    }
+
+    @Test
+    public void testSingleResourceManagerOwnsEverything() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementPartitions partitions = createPartitions(dss, "rm1", timeService);
+        dss.heartbeat("rm1", timeService.now());
+
+        // When...
+        partitions.rebalance();
+
+        // Then...
+        assertEachRunHasOneOwner(getRunNames(), partitions);
+        assertThat(dss.getPrefix("resource.management.partition.")).hasSize(PARTITIONS)
+            .allSatisfy((key, lease) -> assertThat(lease).startsWith("rm1,"));
+    }
+
+    @Test
+    public void testTwoResourceManagersShareThePartitions() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementPartitions rm1 = createPartitions(dss, "rm1", timeService);
+        ResourceManagementPartitions rm2 = createPartitions(dss, "rm2", timeService);
+        dss.heartbeat("rm1", timeService.now());
+        rm1.rebalance();
+
+        // When...
+        dss.heartbeat("rm2", timeService.now());
+        rm2.rebalance();
+        rm1.rebalance();
+        rm2.rebalance();
+
+        // Then...
+        List<String> runNames = getRunNames();
+        assertEachRunHasOneOwner(runNames, rm1, rm2);
+        assertThat(runNames).anyMatch(rm1::isResponsibleFor);
+        assertThat(runNames).anyMatch(rm2::isResponsibleFor);
+    }
+
+    @Test
+    public void testPartitionIsNotTakenUntilTheOldOwnerReleasesIt() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementPartitions rm1 = createPartitions(dss, "rm1", timeService);
+        ResourceManagementPartitions rm2 = createPartitions(dss, "rm2", timeService);
+        dss.heartbeat("rm1", timeService.now());
+        rm1.rebalance();
+
+        // When...
+        dss.heartbeat("rm2", timeService.now());
+        rm2.rebalance();
+
+        // Then...
+        List<String> runNames = getRunNames();
+        assertEachRunHasOneOwner(runNames, rm1);
+        assertThat(runNames).noneMatch(rm2::isResponsibleFor);
+    }
+
+    @Test
+    public void testPartitionsAreTakenOverWhenAResourceManagerDies() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementPartitions rm1 = createPartitions(dss, "rm1", timeService);
+        ResourceManagementPartitions rm2 = createPartitions(dss, "rm2", timeService);
+        dss.heartbeat("rm1", timeService.now());
+        dss.heartbeat("rm2", timeService.now());
+        rm1.rebalance();
+        rm2.rebalance();
+
+        // When...
+        timeService.setCurrentTime(Instant.EPOCH.plusSeconds(61));
+        dss.heartbeat("rm2", timeService.now());
+        rm2.rebalance();
+
+        // Then...
+        assertEachRunHasOneOwner(getRunNames(), rm2);
+        assertThat(rm1.isResponsibleFor("U1")).isFalse();
+    }
+
+    @Test
+    public void testReleasedPartitionsAreTakenOverStraightAway() throws Exception {
+        // Given...
+        MockSharedDSSStore dss = new MockSharedDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementPartitions rm1 = createPartitions(dss, "rm1", timeService);
+        ResourceManagementPartitions rm2 = createPartitions(dss, "rm2", timeService);
+        dss.heartbeat("rm1", timeService.now());
+        dss.heartbeat("rm2", timeService.now());
+        rm1.rebalance();
+        rm2.rebalance();
+
+        // When...
+        rm1.releaseAll();
+        dss.properties.remove("servers.resourcemonitor.rm1.heartbeat");
+        rm2.rebalance();
+
+        // Then...
+        assertEachRunHasOneOwner(getRunNames(), rm2);
+        assertThat(dss.getPrefix("resource.management.partition.")).hasSize(PARTITIONS)
+            .allSatisfy((key, lease) -> assertThat(lease).startsWith("rm2,"));
+    }
+}
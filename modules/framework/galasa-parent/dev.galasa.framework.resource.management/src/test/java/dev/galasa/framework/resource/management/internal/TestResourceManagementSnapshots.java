@@ -0,0 +1,197 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.resource.management.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.mocks.MockFramework;
+import dev.galasa.framework.mocks.MockTimeService;
+import dev.galasa.framework.resource.management.internal.mocks.MockFrameworkRuns;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFrameworkRuns;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
+
+public class TestResourceManagementSnapshots {
+
+    class MockFrameworkRunsWithNames extends MockFrameworkRuns {
+        public Set<String> activeRunNames = new HashSet<>();
+        public List<String> calls;
+
+        public MockFrameworkRunsWithNames(List<String> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public @NotNull Set<String> getActiveRunNames() throws FrameworkException {
+            calls.add("activeRunNames");
+            return new HashSet<>(activeRunNames);
+        }
+    }
+
+    class MockFrameworkWithNamespaces extends MockFramework {
+        public Map<String, Map<String, String>> namespaces = new HashMap<>();
+        public List<String> calls;
+        public MockFrameworkRunsWithNames runs;
+
+        public MockFrameworkWithNamespaces(List<String> calls) {
+            this.calls = calls;
+            this.runs = new MockFrameworkRunsWithNames(calls);
+        }
+
+        @Override
+        public @NotNull IDynamicStatusStoreService getDynamicStatusStoreService(@NotNull String namespace) throws DynamicStatusStoreException {
+            Map<String, String> properties = namespaces.computeIfAbsent(namespace, key -> new HashMap<>());
+            return new MockDSSStore(properties) {
+                @Override
+                public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+                    calls.add("getPrefix " + namespace + " '" + keyPrefix + "'");
+                    return new HashMap<>(properties);
+                }
+            };
+        }
+
+        @Override
+        public IFrameworkRuns getFrameworkRuns() throws FrameworkException {
+            return runs;
+        }
+    }
+
+    @Test
+    public void testSnapshotIsSharedWithinASweep() throws Exception {
+        // Given...
+        List<String> calls = new ArrayList<>();
+        MockFrameworkWithNamespaces framework = new MockFrameworkWithNamespaces(calls);
+        framework.namespaces.put("linux", new HashMap<>(Map.of(
+            "run.U1.image.IMG1.username", "galasa1",
+            "run.U2.image.IMG1.username", "galasa2",
+            "runid.prefix.L", "U3",
+            "image.IMG1.current.slots", "2")));
+        framework.runs.activeRunNames.add("U1");
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementSnapshots snapshots = new ResourceManagementSnapshots(framework, timeService, Duration.ofSeconds(10));
+
+        // When...
+        IResourceManagementSnapshot first = snapshots.getSnapshot("linux");
+        timeService.setCurrentTime(Instant.EPOCH.plusSeconds(9));
+        IResourceManagementSnapshot second = snapshots.getSnapshot("linux");
+
+        // Then...
+        assertThat(second).isSameAs(first);
+        assertThat(calls).containsExactly("getPrefix linux ''", "activeRunNames");
+        assertThat(first.getPrefix("run.")).containsOnly(
+            entry("run.U1.image.IMG1.username", "galasa1"),
+            entry("run.U2.image.IMG1.username", "galasa2"));
+        assertThat(first.getPrefix("run.U2.")).containsOnly(entry("run.U2.image.IMG1.username", "galasa2"));
+        assertThat(first.getPrefix("slot.")).isEmpty();
+        assertThat(first.getActiveRunNames()).containsOnly("U1");
+    }
+
+    @Test
+    public void testNewSnapshotIsTakenForTheNextSweep() throws Exception {
+        // Given...
+        List<String> calls = new ArrayList<>();
+        MockFrameworkWithNamespaces framework = new MockFrameworkWithNamespaces(calls);
+        framework.namespaces.put("zos", new HashMap<>(Map.of("slot.run.U1.image.SYS1.slot.S1", "active")));
+        framework.runs.activeRunNames.add("U1");
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementSnapshots snapshots = new ResourceManagementSnapshots(framework, timeService, Duration.ofSeconds(10));
+        IResourceManagementSnapshot first = snapshots.getSnapshot("zos");
+
+        // When...
+        framework.namespaces.get("zos").clear();
+        framework.runs.activeRunNames.clear();
+        timeService.setCurrentTime(Instant.EPOCH.plusSeconds(10));
+        IResourceManagementSnapshot second = snapshots.getSnapshot("zos");
+
+        // Then...
+        assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+        assertThat(second.getPrefix("slot.")).isEmpty();
+        assertThat(second.getActiveRunNames()).isEmpty();
+        assertThat(first.getPrefix("slot.")).hasSize(1);
+        assertThat(first.getActiveRunNames()).containsOnly("U1");
+    }
+
+    @Test
+    public void testEachNamespaceHasItsOwnSnapshot() throws Exception {
+        // Given...
+        List<String> calls = new ArrayList<>();
+        MockFrameworkWithNamespaces framework = new MockFrameworkWithNamespaces(calls);
+        framework.namespaces.put("docker", new HashMap<>(Map.of("slot.run.U1.engine.E1", "active")));
+        framework.namespaces.put("openstack", new HashMap<>(Map.of("run.U1.compute.S1", "active")));
+        ResourceManagementSnapshots snapshots = new ResourceManagementSnapshots(framework, new MockTimeService(Instant.EPOCH), Duration.ofSeconds(10));
+
+        // When...
+        IResourceManagementSnapshot docker = snapshots.getSnapshot("docker");
+        IResourceManagementSnapshot openstack = snapshots.getSnapshot("openstack");
+
+        // Then...
+        assertThat(docker.getPrefix("")).containsOnlyKeys("slot.run.U1.engine.E1");
+        assertThat(openstack.getPrefix("")).containsOnlyKeys("run.U1.compute.S1");
+        assertThat(calls).containsExactly("getPrefix docker ''", "activeRunNames", "getPrefix openstack ''", "activeRunNames");
+    }
+
+    @Test
+    public void testNamespacesUsedInTheLastSweepShareOneReadOfTheActiveRuns() throws Exception {
+        // Given...
+        List<String> calls = new ArrayList<>();
+        MockFrameworkWithNamespaces framework = new MockFrameworkWithNamespaces(calls);
+        framework.namespaces.put("docker", new HashMap<>(Map.of("slot.run.U1.engine.E1", "active")));
+        framework.namespaces.put("openstack", new HashMap<>(Map.of("run.U2.compute.S1", "active")));
+        framework.runs.activeRunNames.add("U1");
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementSnapshots snapshots = new ResourceManagementSnapshots(framework, timeService, Duration.ofSeconds(10));
+        snapshots.getSnapshot("docker");
+        snapshots.getSnapshot("openstack");
+        calls.clear();
+
+        // When...
+        framework.runs.activeRunNames.add("U2");
+        timeService.setCurrentTime(Instant.EPOCH.plusSeconds(10));
+        IResourceManagementSnapshot docker = snapshots.getSnapshot("docker");
+        IResourceManagementSnapshot openstack = snapshots.getSnapshot("openstack");
+
+        // Then...
+        assertThat(calls).containsExactly("getPrefix docker ''", "getPrefix openstack ''", "activeRunNames");
+        assertThat(docker.getActiveRunNames()).containsOnly("U1", "U2");
+        assertThat(openstack.getActiveRunNames()).containsOnly("U1", "U2");
+        assertThat(openstack.getPrefix("")).containsOnlyKeys("run.U2.compute.S1");
+    }
+
+    @Test
+    public void testNamespaceNotUsedInTheLastSweepIsLeftUntilItIsAskedFor() throws Exception {
+        // Given...
+        List<String> calls = new ArrayList<>();
+        MockFrameworkWithNamespaces framework = new MockFrameworkWithNamespaces(calls);
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        ResourceManagementSnapshots snapshots = new ResourceManagementSnapshots(framework, timeService, Duration.ofSeconds(10));
+        snapshots.getSnapshot("docker");
+        snapshots.getSnapshot("openstack");
+        calls.clear();
+
+        // When...
+        timeService.setCurrentTime(Instant.EPOCH.plusSeconds(60));
+        snapshots.getSnapshot("docker");
+
+        // Then...
+        assertThat(calls).containsExactly("getPrefix docker ''", "activeRunNames");
+    }
+}
@@ -15,6 +15,7 @@ import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
 
 public class MockFrameworkRuns implements IFrameworkRuns {
 
@@ -65,5 +66,10 @@ public class MockFrameworkRuns implements IFrameworkRuns {
     public boolean reset(String runname) throws DynamicStatusStoreException {
         throw new UnsupportedOperationException("Unimplemented method 'reset'");
     }
+
+    @Override
+    public @NotNull IRunIndex getRunIndex() throws FrameworkException {
+        throw new UnsupportedOperationException("Unimplemented method 'getRunIndex'");
+    }
     
 }
@@ -7,7 +7,9 @@ package dev.galasa.framework.resource.management.internal.mocks;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 
 public class MockResourceManagement implements IResourceManagement {
@@ -21,5 +23,15 @@ public class MockResourceManagement implements IResourceManagement {
     public void resourceManagementRunSuccessful() {
         throw new UnsupportedOperationException("Unimplemented method 'resourceManagementRunSuccessful'");
     }
+
+    @Override
+    public IResourceManagementSnapshot getSnapshot(String namespace) throws FrameworkException {
+        throw new UnsupportedOperationException("Unimplemented method 'getSnapshot'");
+    }
+
+    @Override
+    public boolean isResponsibleFor(String name) {
+        return true;
+    }
     
 }
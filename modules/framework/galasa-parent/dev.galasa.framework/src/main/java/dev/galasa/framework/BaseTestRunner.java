@@ -310,6 +310,13 @@ public class BaseTestRunner {
         return this.cps;
     }
 
+    /**
+     * Copy the manager provisioning timings into the test structure, ready for the next time it is written
+     */
+    protected void recordManagerPhaseTimings(ITestRunManagers managers) {
+        this.testStructure.setManagerPhaseTimings(managers.getManagerPhaseTimings());
+    }
+
     protected void updateStatus(TestRunLifecycleStatus status, String dssTimePropSuffix) throws TestRunException {
         Instant time = Instant.now();
 
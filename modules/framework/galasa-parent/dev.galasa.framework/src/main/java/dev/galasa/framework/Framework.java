@@ -478,6 +478,18 @@ public class Framework implements IFramework, IShuttableFramework {
             }
         }
 
+        // *** Stop the run index watching the Dynamic Status Store
+        if (this.frameworkRuns != null) {
+            try {
+                shutdownLogger.trace("Shutting down the Framework Runs");
+                this.frameworkRuns.shutdown();
+                this.frameworkRuns = null;
+            } catch (Throwable t) {
+                error = true;
+                shutdownLogger.error("Failed to shutdown the Framework Runs", t);
+            }
+        }
+
         // *** Shutdown the Dynamic Status Store
         if (this.dssStore != null) {
             try {
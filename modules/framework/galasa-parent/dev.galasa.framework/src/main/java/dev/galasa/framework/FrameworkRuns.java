@@ -36,6 +36,7 @@ import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
 import dev.galasa.framework.spi.utils.GalasaGson;
 import dev.galasa.framework.spi.utils.GalasaGsonBuilder;
 
@@ -58,6 +59,8 @@ public class FrameworkRuns implements IFrameworkRuns {
 
     private final GalasaGson gson = new GalasaGson();
 
+    private volatile RunIndex                        runIndex;
+
     public FrameworkRuns(IFramework framework) throws FrameworkException {
         this.framework = framework;
         this.dss = framework.getDynamicStatusStoreService("framework");
@@ -67,6 +70,9 @@ public class FrameworkRuns implements IFrameworkRuns {
 
     @Override
     public List<IRun> getActiveRuns() throws FrameworkException {
+        if (runIndex != null) {
+            return runIndex.getActiveRuns();
+        }
 
         List<IRun> runs = getAllRuns();
         Iterator<IRun> iruns = runs.iterator();
@@ -93,6 +99,10 @@ public class FrameworkRuns implements IFrameworkRuns {
 
     @Override
     public @NotNull List<IRun> getQueuedRuns() throws FrameworkException {
+        if (runIndex != null) {
+            return runIndex.getRunsByStatus("queued");
+        }
+
         List<IRun> runs = getAllRuns();
         Iterator<IRun> iruns = runs.iterator();
         while (iruns.hasNext()) {
@@ -108,29 +118,45 @@ public class FrameworkRuns implements IFrameworkRuns {
 
     @Override
     public List<IRun> getAllRuns() throws FrameworkException {
-        HashMap<String, IRun> runs = new HashMap<>();
+        if (runIndex != null) {
+            return runIndex.getAllRuns();
+        }
 
         logger.trace("Fetching all runs from DSS");
         Map<String, String> runProperties = dss.getPrefix(RUN_PREFIX);
         logger.trace("Fetched all runs from DSS");
-        for (String key : runProperties.keySet()) {
+
+        // Build every run from the one set of properties we have just fetched,
+        // rather than going back to the DSS once per run
+        Map<String, Map<String, String>> propertiesByRun = groupPropertiesByRunName(runProperties);
+
+        LinkedList<IRun> returnRuns = new LinkedList<>();
+        for (Map.Entry<String, Map<String, String>> entry : propertiesByRun.entrySet()) {
+            returnRuns.add(new RunImpl(entry.getKey(), entry.getValue()));
+        }
+
+        return returnRuns;
+    }
+
+    private Map<String, Map<String, String>> groupPropertiesByRunName(Map<String, String> runProperties) {
+        HashMap<String, Map<String, String>> propertiesByRun = new HashMap<>();
+        for (Map.Entry<String, String> entry : runProperties.entrySet()) {
+            String key = entry.getKey();
             Matcher matcher = runPattern.matcher(key);
             if (matcher.find()) {
                 String runName = matcher.group(1);
-
-                if (!runs.containsKey(runName)) {
-                    runs.put(runName, new RunImpl(runName, this.dss));
-                }
+                propertiesByRun.computeIfAbsent(runName, k -> new HashMap<>()).put(key, entry.getValue());
             }
         }
-
-        LinkedList<IRun> returnRuns = new LinkedList<>(runs.values());
-
-        return returnRuns;
+        return propertiesByRun;
     }
 
     @Override
     public List<IRun> getAllGroupedRuns(@NotNull String groupName) throws FrameworkException {
+        if (runIndex != null) {
+            return runIndex.getRunsByGroup(groupName);
+        }
+
         List<IRun> allRuns = this.getAllRuns();
         List<IRun> groupedRuns = new LinkedList<IRun>();
 
@@ -313,7 +339,27 @@ public class FrameworkRuns implements IFrameworkRuns {
             return null;
         }
 
-        return new RunImpl(runname, this.dss);
+        return new RunImpl(runname, properties);
+    }
+
+    @Override
+    public synchronized @NotNull IRunIndex getRunIndex() throws FrameworkException {
+        if (runIndex == null) {
+            RunIndex newRunIndex = new RunIndex(this.dss);
+            newRunIndex.start();
+            runIndex = newRunIndex;
+        }
+        return runIndex;
+    }
+
+    /**
+     * Stops the run index from watching the DSS, if it has been started
+     */
+    public synchronized void shutdown() throws DynamicStatusStoreException {
+        if (runIndex != null) {
+            runIndex.shutdown();
+            runIndex = null;
+        }
     }
 
     /**
@@ -197,7 +197,11 @@ public class GherkinTestRunner extends BaseTestRunner {
             try {
                 updateStatus(TestRunLifecycleStatus.GENERATING, null);
                 logger.info("Starting Provision Generate phase");
-                managers.provisionGenerate();
+                try {
+                    managers.provisionGenerate();
+                } finally {
+                    recordManagerPhaseTimings(managers);
+                }
                 createEnvironment(testObject, managers);
             } catch (Exception e) { 
                 logger.error("Provision Generate failed", e);
@@ -221,7 +225,11 @@ public class GherkinTestRunner extends BaseTestRunner {
             try {
                 updateStatus(TestRunLifecycleStatus.BUILDING, null);
                 logger.info("Starting Provision Build phase");
-                managers.provisionBuild();
+                try {
+                    managers.provisionBuild();
+                } finally {
+                    recordManagerPhaseTimings(managers);
+                }
             } catch (FrameworkException e) {
                 this.isRunOK = false;
                 logger.error("Provision build failed",e);
@@ -252,7 +260,11 @@ public class GherkinTestRunner extends BaseTestRunner {
                 try {
                     updateStatus(TestRunLifecycleStatus.PROVSTART, null);
                     logger.info("Starting Provision Start phase");
-                    managers.provisionStart();
+                    try {
+                        managers.provisionStart();
+                    } finally {
+                        recordManagerPhaseTimings(managers);
+                    }
                 } catch (FrameworkException e) {
                     this.isRunOK = false;
                     logger.error("Provision start failed",e);
@@ -0,0 +1,191 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IManager;
+import dev.galasa.framework.spi.teststructure.TestManagerPhaseTiming;
+
+/**
+ * Runs a provisioning phase across the active managers, recording how long each
+ * manager took.
+ *
+ * The managers are expected in provisioning order. In parallel mode the
+ * provisional dependencies between them are turned into a graph, and each
+ * manager is started as soon as every manager it depends on has finished the
+ * phase, with at most a fixed number running at once. If a manager fails, no
+ * more managers are started, the ones already running are allowed to finish, and
+ * the first failure is thrown.
+ */
+public class ManagerProvisioningScheduler {
+
+    /**
+     * A provisioning phase for a single manager
+     */
+    @FunctionalInterface
+    public interface IManagerPhase {
+        void run(IManager manager) throws FrameworkException;
+    }
+
+    private final Log                          logger = LogFactory.getLog(ManagerProvisioningScheduler.class);
+
+    private final List<IManager>               managers;
+    private final List<List<Integer>>          dependents = new ArrayList<>();
+    private final int[]                        dependencyCounts;
+
+    private final List<TestManagerPhaseTiming> timings;
+
+    /**
+     * @param managers the managers, sorted in provisioning order
+     * @param timings  the list to add the timing of each manager's phase to, which
+     *                 must be safe to add to from multiple threads
+     */
+    public ManagerProvisioningScheduler(List<IManager> managers, List<TestManagerPhaseTiming> timings) {
+        this.managers = new ArrayList<>(managers);
+        this.timings = timings;
+        this.dependencyCounts = new int[this.managers.size()];
+
+        // *** A manager can only depend on managers earlier in the provisioning order
+        for (int i = 0; i < this.managers.size(); i++) {
+            List<Integer> managerDependents = new ArrayList<>();
+            for (int j = i + 1; j < this.managers.size(); j++) {
+                if (this.managers.get(j).areYouProvisionalDependentOn(this.managers.get(i))) {
+                    managerDependents.add(j);
+                    dependencyCounts[j]++;
+                }
+            }
+            dependents.add(managerDependents);
+        }
+    }
+
+    /**
+     * Run the phase for each manager in turn, in provisioning order
+     */
+    public void runSequentially(String phaseName, IManagerPhase phase) throws FrameworkException {
+        for (IManager manager : managers) {
+            runPhase(phaseName, phase, manager);
+        }
+    }
+
+    /**
+     * Run the phase for managers which do not depend on each other at the same time
+     *
+     * @param maxThreads the most managers to run at once
+     */
+    public void runInParallel(String phaseName, IManagerPhase phase, int maxThreads) throws FrameworkException {
+        if (managers.isEmpty()) {
+            return;
+        }
+
+        int threadCount = Math.max(1, Math.min(maxThreads, managers.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ProvisioningThreadFactory(phaseName));
+        try {
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+            int[] remainingDependencies = dependencyCounts.clone();
+
+            int running = 0;
+            for (int i = 0; i < managers.size(); i++) {
+                if (remainingDependencies[i] == 0) {
+                    submit(completionService, phaseName, phase, i);
+                    running++;
+                }
+            }
+
+            FrameworkException failure = null;
+            while (running > 0) {
+                int finishedIndex;
+                try {
+                    finishedIndex = completionService.take().get();
+                } catch (ExecutionException e) {
+                    running--;
+                    if (failure == null) {
+                        failure = toFrameworkException(phaseName, e.getCause());
+                        logger.error("Provision " + phaseName + " failed, waiting for the running managers to finish");
+                    }
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FrameworkException("Interrupted during provision " + phaseName, e);
+                }
+                running--;
+
+                // *** After a failure, let the running managers finish but do not start any more
+                if (failure != null) {
+                    continue;
+                }
+
+                for (int dependent : dependents.get(finishedIndex)) {
+                    remainingDependencies[dependent]--;
+                    if (remainingDependencies[dependent] == 0) {
+                        submit(completionService, phaseName, phase, dependent);
+                        running++;
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void submit(CompletionService<Integer> completionService, String phaseName, IManagerPhase phase, int index) {
+        IManager manager = managers.get(index);
+        completionService.submit(() -> {
+            runPhase(phaseName, phase, manager);
+            return index;
+        });
+    }
+
+    private void runPhase(String phaseName, IManagerPhase phase, IManager manager) throws FrameworkException {
+        Instant startTime = Instant.now();
+        try {
+            phase.run(manager);
+        } finally {
+            timings.add(new TestManagerPhaseTiming(manager.getClass().getName(), phaseName, startTime, Instant.now()));
+        }
+    }
+
+    private FrameworkException toFrameworkException(String phaseName, Throwable cause) {
+        if (cause instanceof FrameworkException) {
+            return (FrameworkException) cause;
+        }
+        return new FrameworkException("Problem in provision " + phaseName, cause);
+    }
+
+    private static class ProvisioningThreadFactory implements ThreadFactory {
+
+        private final String        phaseName;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        private ProvisioningThreadFactory(String phaseName) {
+            this.phaseName = phaseName;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "provision-" + phaseName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -39,12 +39,24 @@ public class RunImpl implements IRun {
     private final String  rasRunId;
 
     public RunImpl(String name, IDynamicStatusStoreService dss) throws DynamicStatusStoreException {
+        this(name, dss.getPrefix("run." + name));
+    }
+
+    /**
+     * Builds a run from a set of DSS properties that have already been fetched,
+     * so callers that have loaded many runs in one go do not have to go back to
+     * the DSS for each run.
+     *
+     * @param name          the name of the run
+     * @param runProperties the DSS properties of the run, keyed by their full
+     *                      "run.&lt;name&gt;.xxx" property names. Properties
+     *                      belonging to other runs are ignored.
+     */
+    public RunImpl(String name, Map<String, String> runProperties) {
         this.name = name;
 
         String prefix = "run." + name + ".";
 
-        Map<String, String> runProperties = dss.getPrefix("run." + this.name);
-
         String sHeartbeat = runProperties.get(prefix + "heartbeat");
         if (sHeartbeat != null) {
             this.heartbeat = Instant.parse(sHeartbeat);
@@ -0,0 +1,378 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
+import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
+
+/**
+ * A run index which loads the run properties from the DSS once, then keeps
+ * itself up to date by watching the "run." prefix.
+ *
+ * The properties are read and the watch started together, so that the watch
+ * reports every change made after the read. Changes reported while the index is
+ * loading are held back and replayed on top of the loaded properties.
+ *
+ * The properties of a new run are written in one DSS transaction, and the
+ * changes the DSS reports together are applied together, so the run is seen
+ * with all of its properties at once. A run is only left out of the index while
+ * it has no test or status, as it can not have been written by submitRun.
+ *
+ * If the DSS reports that the watch has failed, the index re-establishes the
+ * watch and reloads everything the next time it is queried.
+ */
+public class RunIndex implements IRunIndex, IDynamicStatusStoreWatcher {
+
+    private final static Log logger = LogFactory.getLog(RunIndex.class);
+
+    private static final String RUN_PREFIX = "run.";
+
+    // The properties every run has had, whichever version of the framework submitted it
+    private static final String[] REQUIRED_PROPERTIES = { "test", "status" };
+
+    private final Pattern runPattern = Pattern.compile("^\\Qrun.\\E(\\w+)\\Q.\\E.*$");
+
+    private final IDynamicStatusStoreService dss;
+
+    // Everything below is guarded by "this"
+    private final Map<String, Map<String, String>> propertiesByRun = new HashMap<>();
+    private final Map<String, IRun> runs = new HashMap<>();
+    private final Map<String, Set<String>> runsByStatus = new HashMap<>();
+    private final Map<String, Set<String>> runsByGroup = new HashMap<>();
+    private final Map<String, Set<String>> runsBySubmissionId = new HashMap<>();
+    private final Map<String, Set<String>> runsByRequestor = new HashMap<>();
+
+    // Not null while the index is being loaded from the DSS
+    private List<List<PropertyChange>> deferredChanges;
+
+    private final Object loadLock = new Object();
+    private UUID watchId;
+    private volatile boolean resyncRequired = true;
+    private volatile boolean shutdown = false;
+
+    public RunIndex(IDynamicStatusStoreService dss) {
+        this.dss = dss;
+    }
+
+    /**
+     * Starts watching the DSS and loads the current runs into the index
+     */
+    public void start() throws FrameworkException {
+        resyncIfRequired();
+    }
+
+    public void shutdown() throws DynamicStatusStoreException {
+        synchronized (loadLock) {
+            shutdown = true;
+            if (watchId != null) {
+                dss.unwatch(watchId);
+                watchId = null;
+            }
+        }
+    }
+
+    @Override
+    public @NotNull List<IRun> getAllRuns() throws FrameworkException {
+        resyncIfRequired();
+        synchronized (this) {
+            return new LinkedList<>(runs.values());
+        }
+    }
+
+    @Override
+    public @NotNull List<IRun> getActiveRuns() throws FrameworkException {
+        resyncIfRequired();
+        LinkedList<IRun> activeRuns = new LinkedList<>();
+        synchronized (this) {
+            for (IRun run : runs.values()) {
+                if (run.getHeartbeat() != null || "allocated".equals(run.getStatus()) || run.isSharedEnvironment()) {
+                    activeRuns.add(run);
+                }
+            }
+        }
+        return activeRuns;
+    }
+
+    @Override
+    public @NotNull List<IRun> getRunsByStatus(@NotNull String status) throws FrameworkException {
+        return getIndexedRuns(runsByStatus, status);
+    }
+
+    @Override
+    public @NotNull List<IRun> getRunsByGroup(@NotNull String groupName) throws FrameworkException {
+        return getIndexedRuns(runsByGroup, groupName);
+    }
+
+    @Override
+    public @NotNull List<IRun> getRunsBySubmissionId(@NotNull String submissionId) throws FrameworkException {
+        return getIndexedRuns(runsBySubmissionId, submissionId);
+    }
+
+    @Override
+    public @NotNull List<IRun> getRunsByRequestor(@NotNull String requestor) throws FrameworkException {
+        return getIndexedRuns(runsByRequestor, requestor);
+    }
+
+    @Override
+    public IRun getRun(@NotNull String runName) throws FrameworkException {
+        resyncIfRequired();
+        synchronized (this) {
+            return runs.get(runName);
+        }
+    }
+
+    /**
+     * The DSS is telling us that a run property has changed.
+     *
+     * This is called on the DSS watch thread, so only in-memory work is done here.
+     */
+    @Override
+    public void propertyModified(String key, Event event, String oldValue, String newValue) {
+        propertiesModified(Collections.singletonList(new PropertyChange(key, event, oldValue, newValue)));
+    }
+
+    /**
+     * The DSS is telling us about run properties which were changed together,
+     * so each run they belong to is rebuilt once all of them have been applied.
+     */
+    @Override
+    public void propertiesModified(List<PropertyChange> changes) {
+        synchronized (this) {
+            if (deferredChanges != null) {
+                deferredChanges.add(changes);
+            } else {
+                applyChanges(changes);
+            }
+        }
+    }
+
+    @Override
+    public void watchFailed(Throwable cause) {
+        logger.warn("The DSS watch of run properties has failed, the run index will be reloaded", cause);
+        resyncRequired = true;
+    }
+
+    private List<IRun> getIndexedRuns(Map<String, Set<String>> index, String value) throws FrameworkException {
+        resyncIfRequired();
+        LinkedList<IRun> matchingRuns = new LinkedList<>();
+        synchronized (this) {
+            Set<String> runNames = index.get(value);
+            if (runNames != null) {
+                for (String runName : runNames) {
+                    matchingRuns.add(runs.get(runName));
+                }
+            }
+        }
+        return matchingRuns;
+    }
+
+    private void resyncIfRequired() throws FrameworkException {
+        if (!resyncRequired) {
+            return;
+        }
+
+        synchronized (loadLock) {
+            // Another thread may have reloaded the index while we were waiting
+            if (!resyncRequired) {
+                return;
+            }
+
+            if (shutdown) {
+                throw new FrameworkException("The run index has been shut down");
+            }
+
+            resyncRequired = false;
+            try {
+                load();
+            } catch (FrameworkException e) {
+                resyncRequired = true;
+                throw e;
+            }
+        }
+    }
+
+    private void load() throws FrameworkException {
+        logger.trace("Loading the run index from the DSS");
+
+        synchronized (this) {
+            deferredChanges = new ArrayList<>();
+        }
+
+        try {
+            if (watchId != null) {
+                try {
+                    dss.unwatch(watchId);
+                } catch (DynamicStatusStoreException e) {
+                    logger.warn("Unable to remove the previous DSS watch of run properties", e);
+                }
+                watchId = null;
+            }
+            Map<String, String> runProperties = new HashMap<>();
+            watchId = dss.getPrefixAndWatch(this, RUN_PREFIX, runProperties);
+
+            synchronized (this) {
+                clear();
+                for (Map.Entry<String, String> entry : runProperties.entrySet()) {
+                    Matcher matcher = runPattern.matcher(entry.getKey());
+                    if (matcher.find()) {
+                        propertiesByRun.computeIfAbsent(matcher.group(1), k -> new HashMap<>())
+                            .put(entry.getKey(), entry.getValue());
+                    }
+                }
+
+                for (Map.Entry<String, Map<String, String>> entry : propertiesByRun.entrySet()) {
+                    if (isComplete(entry.getKey(), entry.getValue())) {
+                        IRun run = new RunImpl(entry.getKey(), entry.getValue());
+                        runs.put(run.getName(), run);
+                        addToIndexes(run);
+                    }
+                }
+
+                for (List<PropertyChange> changes : deferredChanges) {
+                    applyChanges(changes);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                deferredChanges = null;
+            }
+        }
+
+        logger.trace("Loaded the run index from the DSS");
+    }
+
+    private void clear() {
+        propertiesByRun.clear();
+        runs.clear();
+        runsByStatus.clear();
+        runsByGroup.clear();
+        runsBySubmissionId.clear();
+        runsByRequestor.clear();
+    }
+
+    private void applyChanges(List<PropertyChange> changes) {
+        Set<String> changedRunNames = new LinkedHashSet<>();
+        for (PropertyChange change : changes) {
+            if (change.getKey() == null || change.getEvent() == null) {
+                continue;
+            }
+
+            Matcher matcher = runPattern.matcher(change.getKey());
+            if (matcher.find()) {
+                String runName = matcher.group(1);
+                applyChange(runName, change.getKey(), change.getEvent(), change.getNewValue());
+                changedRunNames.add(runName);
+            }
+        }
+
+        for (String runName : changedRunNames) {
+            rebuildRun(runName);
+        }
+    }
+
+    private void applyChange(String runName, String key, Event event, String newValue) {
+        Map<String, String> runProperties = propertiesByRun.get(runName);
+        if (event == Event.DELETE) {
+            if (runProperties != null) {
+                runProperties.remove(key);
+            }
+        } else {
+            if (runProperties == null) {
+                runProperties = new HashMap<>();
+                propertiesByRun.put(runName, runProperties);
+            }
+            runProperties.put(key, newValue);
+        }
+    }
+
+    private void rebuildRun(String runName) {
+        IRun oldRun = runs.remove(runName);
+        if (oldRun != null) {
+            removeFromIndexes(oldRun);
+        }
+
+        Map<String, String> runProperties = propertiesByRun.get(runName);
+        if (runProperties == null) {
+            return;
+        }
+        if (runProperties.isEmpty()) {
+            propertiesByRun.remove(runName);
+            return;
+        }
+
+        if (!isComplete(runName, runProperties)) {
+            return;
+        }
+
+        IRun newRun = new RunImpl(runName, runProperties);
+        runs.put(runName, newRun);
+        addToIndexes(newRun);
+    }
+
+    private boolean isComplete(String runName, Map<String, String> runProperties) {
+        String prefix = RUN_PREFIX + runName + ".";
+        for (String property : REQUIRED_PROPERTIES) {
+            if (!runProperties.containsKey(prefix + property)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToIndexes(IRun run) {
+        addToIndex(runsByStatus, run.getStatus(), run.getName());
+        addToIndex(runsByGroup, run.getGroup(), run.getName());
+        addToIndex(runsBySubmissionId, run.getSubmissionId(), run.getName());
+        addToIndex(runsByRequestor, run.getRequestor(), run.getName());
+    }
+
+    private void removeFromIndexes(IRun run) {
+        removeFromIndex(runsByStatus, run.getStatus(), run.getName());
+        removeFromIndex(runsByGroup, run.getGroup(), run.getName());
+        removeFromIndex(runsBySubmissionId, run.getSubmissionId(), run.getName());
+        removeFromIndex(runsByRequestor, run.getRequestor(), run.getName());
+    }
+
+    private void addToIndex(Map<String, Set<String>> index, String value, String runName) {
+        if (value != null) {
+            index.computeIfAbsent(value, k -> new HashSet<>()).add(runName);
+        }
+    }
+
+    private void removeFromIndex(Map<String, Set<String>> index, String value, String runName) {
+        if (value != null) {
+            Set<String> runNames = index.get(value);
+            if (runNames != null) {
+                runNames.remove(runName);
+                if (runNames.isEmpty()) {
+                    index.remove(value);
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.text.*;
 
 import javax.validation.constraints.NotNull;
@@ -30,17 +31,22 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 
 import dev.galasa.ManagerException;
+import dev.galasa.framework.ManagerProvisioningScheduler.IManagerPhase;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.FrameworkResourceUnavailableException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
 import dev.galasa.framework.spi.ResourceUnavailableException;
 import dev.galasa.framework.spi.Result;
 import dev.galasa.framework.spi.language.GalasaMethod;
 import dev.galasa.framework.spi.language.GalasaTest;
+import dev.galasa.framework.spi.teststructure.TestManagerPhaseTiming;
 
 public class TestRunManagers implements ITestRunManagers {
 
+    private static final int      DEFAULT_PROVISIONING_THREADS = 4;
+
     private final List<IManager>  activeManagers         = new ArrayList<>();
     private final List<IManager>  activeManagersReversed = new ArrayList<>();
     private final Log             logger                 = LogFactory.getLog(TestRunManagers.class);
@@ -50,6 +56,11 @@ public class TestRunManagers implements ITestRunManagers {
 
     private final RepositoryAdmin repositoryAdmin;
 
+    private final List<TestManagerPhaseTiming> managerPhaseTimings = new CopyOnWriteArrayList<>();
+    private ManagerProvisioningScheduler provisioningScheduler;
+    private boolean               isParallelProvisioning = false;
+    private int                   provisioningThreads    = DEFAULT_PROVISIONING_THREADS;
+
     public TestRunManagers(IFramework framework, GalasaTest galasaTest) throws FrameworkException {
         this.framework = framework;
         this.bundleContext = FrameworkUtil.getBundle(getClass()).getBundleContext();
@@ -69,6 +80,39 @@ public class TestRunManagers implements ITestRunManagers {
         logger.debug("The following Managers are sorted in provisioning order:-");
         reportManagers(false);
 
+        this.provisioningScheduler = new ManagerProvisioningScheduler(activeManagers, managerPhaseTimings);
+        loadProvisioningProperties();
+    }
+
+    /**
+     * Parallel provisioning is opt-in, by setting framework.provisioning.parallel to true.
+     * framework.provisioning.parallel.threads limits how many managers provision at once.
+     */
+    private void loadProvisioningProperties() throws FrameworkException {
+        IConfigurationPropertyStoreService cps = framework.getConfigurationPropertyService("framework");
+
+        this.isParallelProvisioning = Boolean.parseBoolean(cps.getProperty("provisioning", "parallel"));
+
+        String threads = cps.getProperty("provisioning.parallel", "threads");
+        if (threads != null) {
+            try {
+                this.provisioningThreads = Integer.parseInt(threads.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '" + threads + "' for framework.provisioning.parallel.threads, using " + DEFAULT_PROVISIONING_THREADS);
+            }
+        }
+
+        if (this.isParallelProvisioning) {
+            logger.info("Managers will be provisioned in parallel, using up to " + this.provisioningThreads + " threads");
+        }
+    }
+
+    private void runProvisioningPhase(String phaseName, IManagerPhase phase) throws FrameworkException {
+        if (isParallelProvisioning) {
+            provisioningScheduler.runInParallel(phaseName, phase, provisioningThreads);
+        } else {
+            provisioningScheduler.runSequentially(phaseName, phase);
+        }
     }
 
     /**
@@ -474,7 +518,7 @@ public class TestRunManagers implements ITestRunManagers {
 
     @Override
     public void provisionGenerate() throws FrameworkException {
-        for (IManager manager : activeManagers) {
+        runProvisioningPhase("generate", manager -> {
             try {
                 manager.provisionGenerate();
             } catch (ResourceUnavailableException e) {
@@ -483,32 +527,36 @@ public class TestRunManagers implements ITestRunManagers {
                 throw new FrameworkException(
                         "Problem in provision generate for manager " + manager.getClass().getName(), e);
             }
-        }
+        });
     }
 
     @Override
     public void provisionBuild() throws FrameworkException {
-        for (IManager manager : activeManagers) {
+        runProvisioningPhase("build", manager -> {
             try {
                 manager.provisionBuild();
             } catch (ManagerException e) {
                 throw new FrameworkException("Problem in provision build for manager " + manager.getClass().getName(),
                         e);
             }
-        }
+        });
     }
 
     @Override
     public void provisionStart() throws FrameworkException {
-        for (IManager manager : activeManagers) {
+        runProvisioningPhase("start", manager -> {
             try {
                 manager.provisionStart();
             } catch (ManagerException e) {
                 throw new FrameworkException("Problem in provision start for manager " + manager.getClass().getName(),
                         e);
             }
+        });
+    }
 
-        }
+    @Override
+    public List<TestManagerPhaseTiming> getManagerPhaseTimings() {
+        return new ArrayList<>(this.managerPhaseTimings);
     }
 
     @Override
@@ -373,7 +373,11 @@ public class TestRunner extends BaseTestRunner {
             try {
                 updateStatus(TestRunLifecycleStatus.GENERATING, null);
                 logger.info("Starting Provision Generate phase");
-                managers.provisionGenerate();
+                try {
+                    managers.provisionGenerate();
+                } finally {
+                    recordManagerPhaseTimings(managers);
+                }
                 createEnvironment(testClassWrapper, managers, dss, runName, isRunOK);
             } catch (Exception e) {
                 logger.error("Provision Generate failed", e);
@@ -405,7 +409,11 @@ public class TestRunner extends BaseTestRunner {
                     try {
                         updateStatus(TestRunLifecycleStatus.BUILDING, null);
                         logger.info("Starting Provision Build phase");
-                        managers.provisionBuild();
+                        try {
+                            managers.provisionBuild();
+                        } finally {
+                            recordManagerPhaseTimings(managers);
+                        }
                     } catch (FrameworkException e) {
                         this.isRunOK = false;
                         logger.error("Provision build failed", e);
@@ -443,7 +451,11 @@ public class TestRunner extends BaseTestRunner {
                     try {
                         updateStatus(TestRunLifecycleStatus.PROVSTART, null);
                         logger.info("Starting Provision Start phase");
-                        managers.provisionStart();
+                        try {
+                            managers.provisionStart();
+                        } finally {
+                            recordManagerPhaseTimings(managers);
+                        }
                     } catch (FrameworkException e) {
                         this.isRunOK = false;
                         logger.error("Provision start failed", e);
@@ -5,6 +5,8 @@
  */
 package dev.galasa.framework.internal.cps;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -80,9 +82,11 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
             infixes = new String[0];
         }
         String[] keys = createOrderedKeyList(prefix, suffix, infixes);
+        Map<String, String> cpsValues = getCpsValues(keys);
+
         String value = null;
         for (String key : keys) {
-            value = getValueAndMakeAccessRecord(key);
+            value = getValueAndMakeAccessRecord(key, cpsValues);
             if (value != null) {
                 return value.trim();
             }
@@ -90,6 +94,43 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
         return null;
     }
 
+    /**
+     * <p>
+     * Fetches, in one request to the CPS store, every key that could be needed to
+     * resolve a property. Keys after the first one that has an override are never
+     * looked at, so they are not fetched.
+     * </p>
+     * 
+     * @param keys - the keys in the order they will be searched
+     * @return - the values found in the CPS store, keyed by property name
+     * @throws ConfigurationPropertyStoreException - if the CPS store could not be
+     *                                             accessed
+     */
+    private Map<String, String> getCpsValues(String[] keys) throws ConfigurationPropertyStoreException {
+        List<String> keysToFetch = new ArrayList<>();
+        for (String key : keys) {
+            if (overrides.getProperty(key) != null) {
+                break;
+            }
+            keysToFetch.add(key);
+        }
+
+        Map<String, String> cpsValues;
+        if (keysToFetch.isEmpty()) {
+            cpsValues = Collections.emptyMap();
+        } else if (keysToFetch.size() == 1) {
+            cpsValues = new HashMap<>();
+            String key = keysToFetch.get(0);
+            String value = cpsStore.getProperty(key);
+            if (value != null) {
+                cpsValues.put(key, value);
+            }
+        } else {
+            cpsValues = cpsStore.getProperties(keysToFetch);
+        }
+        return cpsValues;
+    }
+
     /**
      * <p>
      * This method sets a cps property with a given name and value in the provided namespace
@@ -186,18 +227,16 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
      * <p>
      * This private method is used by the getProperty() method to return a String
      * value for a given key and record any key/value accessed. This method insures
-     * it does the check of the overrides properties first before checking any
-     * cpsService.
+     * it does the check of the overrides properties first before checking the
+     * values fetched from the cpsService.
      * </p>
      * 
      * @param key - generated from the prefix, suffix and infixes provided to the
      *            getProprty().
+     * @param cpsValues - the values already fetched from the CPS store
      * @return - String value returned from either CPS store or the overrides.
-     * @throws ConfigurationPropertyStoreException - throws an exception is the
-     *                                             registered CPS service is not
-     *                                             available.
      */
-    private String getValueAndMakeAccessRecord(String key) throws ConfigurationPropertyStoreException {
+    private String getValueAndMakeAccessRecord(String key, Map<String, String> cpsValues) {
         String value;
 
         value = overrides.getProperty(key);
@@ -206,7 +245,7 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
             return value;
         }
 
-        value = cpsStore.getProperty(key);
+        value = cpsValues.get(key);
         if (value != null) {
             recordPropertyAccessed(key,value,"cps");
             return value;
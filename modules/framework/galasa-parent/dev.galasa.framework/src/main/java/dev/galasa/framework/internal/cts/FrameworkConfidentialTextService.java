@@ -5,8 +5,8 @@
  */
 package dev.galasa.framework.internal.cts;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 
 import org.apache.commons.logging.Log;
@@ -22,7 +22,8 @@ import dev.galasa.framework.spi.IConfidentialTextService;
  *  
  */
 public class FrameworkConfidentialTextService implements IConfidentialTextService {
-    private List<ConfidentialText> confidentialTexts = new ArrayList<>();
+    // Texts may be removed on other threads, such as those writing terminal images, while more are registered
+    private List<ConfidentialText> confidentialTexts = new CopyOnWriteArrayList<>();
     private Log                    logger            = LogFactory.getLog(FrameworkConfidentialTextService.class);
 
     /**
@@ -34,7 +35,7 @@ public class FrameworkConfidentialTextService implements IConfidentialTextServic
      * @param text    - the word or phrase the manager wants obscuring.
      * @param comment - a comment explaining the conidential text.
      */
-    public void registerText(String text, String comment) {
+    public synchronized void registerText(String text, String comment) {
         String number = Integer.toString(confidentialTexts.size() + 1);
         StringBuilder builder = new StringBuilder();
         final String star = "*";
@@ -0,0 +1,325 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.dss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicSlotPool;
+import dev.galasa.framework.spi.IDynamicStatusStoreKeyAccess;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.utils.ITimeService;
+
+/**
+ * <p>
+ * A pool of numbered slots, poolKey.pool.0 to poolKey.pool.(maxSlots - 1), each
+ * holding the name of the run using it.
+ * </p>
+ *
+ * <p>
+ * A run picks its slots at random from the free slots, so runs acquiring slots at
+ * the same time rarely pick the same one.  If they do, the DSS transaction of all
+ * but one of them fails and they retry after a jittered exponential backoff, with
+ * a fresh choice of slots, so no run keeps losing to the same other runs.  A run
+ * gives up after a number of attempts, as if the pool was full, rather than
+ * adding to the load on a busy DSS.
+ * </p>
+ *
+ * <p>
+ * The number of contended and abandoned acquires are counted in the framework
+ * namespace, for the metrics server to report.  Each pool has its own counts, so
+ * runs using different pools never update the same key, and each count is striped
+ * over several keys, so runs contending for the same pool rarely update the same
+ * key either.  An update that keeps colliding is dropped rather than retried, as
+ * the counts are only a guide.
+ * </p>
+ *
+ * <p>
+ * Until every run uses the slot pool, the slots of runs started by older managers
+ * are only counted in the manager's own legacy counter.  If the pool is given the
+ * key of that counter, it counts towards the slots in use, so old and new runs
+ * together never exceed the maximum, and a stale slot with no pool slot held for
+ * it is released by decrementing the counter.  Once no older managers are running
+ * the counter stays at 0.
+ * </p>
+ */
+public class FrameworkDynamicSlotPool implements IDynamicSlotPool {
+
+    // Followed by the namespace and key of the pool
+    public static final String METRIC_CONTENDED = "metrics.slots.pool.contended.";
+    public static final String METRIC_ABANDONED = "metrics.slots.pool.abandoned.";
+
+    // Each count is spread over this many keys, metric.0 to metric.(METRIC_STRIPES - 1)
+    public static final int    METRIC_STRIPES   = 16;
+    private static final int   METRIC_ATTEMPTS  = 3;
+
+    private static final int   MAX_ATTEMPTS           = 8;
+    private static final long  BACKOFF_INITIAL_MILLIS = 50;
+    private static final long  BACKOFF_MAX_MILLIS     = 2000;
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final IDynamicStatusStoreKeyAccess dss;
+    private final IDynamicStatusStoreService   metricsDss;
+    private final String                       slotPrefix;
+    private final String                       legacyCounterKey;
+    private final String                       contendedMetric;
+    private final String                       abandonedMetric;
+    private final ITimeService                 timeService;
+    private final Random                       random;
+
+    public FrameworkDynamicSlotPool(IDynamicStatusStoreKeyAccess dss, IDynamicStatusStoreService metricsDss,
+            String namespace, String poolKey, ITimeService timeService, Random random) {
+        this(dss, metricsDss, namespace, poolKey, null, timeService, random);
+    }
+
+    public FrameworkDynamicSlotPool(IDynamicStatusStoreKeyAccess dss, IDynamicStatusStoreService metricsDss,
+            String namespace, String poolKey, String legacyCounterKey, ITimeService timeService, Random random) {
+        this.dss = dss;
+        this.metricsDss = metricsDss;
+        this.slotPrefix = poolKey + ".pool.";
+        this.legacyCounterKey = legacyCounterKey;
+        this.contendedMetric = METRIC_CONTENDED + namespace + "." + poolKey;
+        this.abandonedMetric = METRIC_ABANDONED + namespace + "." + poolKey;
+        this.timeService = timeService;
+        this.random = random;
+    }
+
+    @Override
+    public String acquireSlot(@NotNull String runName, int maxSlots, IDssAction... otherActions)
+            throws DynamicStatusStoreException {
+        List<String> slots = acquireSlots(runName, 1, maxSlots, otherActions);
+        if (slots.isEmpty()) {
+            return null;
+        }
+        return slots.get(0);
+    }
+
+    @Override
+    public @NotNull List<String> acquireSlots(@NotNull String runName, int count, int maxSlots,
+            IDssAction... otherActions) throws DynamicStatusStoreException {
+        if (count < 1) {
+            return new ArrayList<>();
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt);
+            }
+
+            List<String> freeSlots = getFreeSlots(maxSlots);
+            if (freeSlots.size() < count) {
+                if (attempt > 0) {
+                    incrementMetric(this.contendedMetric);
+                }
+                return new ArrayList<>();
+            }
+
+            Collections.shuffle(freeSlots, this.random);
+            List<String> slots = new ArrayList<>(freeSlots.subList(0, count));
+
+            IDssAction[] actions = new IDssAction[count + otherActions.length];
+            for (int i = 0; i < count; i++) {
+                actions[i] = new DssAdd(this.slotPrefix + slots.get(i), runName);
+            }
+            System.arraycopy(otherActions, 0, actions, count, otherActions.length);
+
+            try {
+                this.dss.performActions(actions);
+                if (attempt > 0) {
+                    incrementMetric(this.contendedMetric);
+                }
+                return slots;
+            } catch (DynamicStatusStoreMatchException e) {
+                logger.trace("Slot pool " + this.slotPrefix + " collision on attempt " + (attempt + 1) + " for run " + runName);
+            }
+        }
+
+        logger.warn("Unable to acquire " + count + " slots in pool " + this.slotPrefix + " for run " + runName
+                + " after " + MAX_ATTEMPTS + " attempts");
+        incrementMetric(this.abandonedMetric);
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean releaseSlot(@NotNull String slot, @NotNull String runName, IDssAction... otherActions)
+            throws DynamicStatusStoreException {
+        return releaseSlots(Collections.singletonList(slot), runName, otherActions);
+    }
+
+    @Override
+    public boolean releaseSlots(@NotNull List<String> slots, @NotNull String runName, IDssAction... otherActions)
+            throws DynamicStatusStoreException {
+        IDssAction[] actions = new IDssAction[slots.size() + otherActions.length];
+        for (int i = 0; i < slots.size(); i++) {
+            actions[i] = new DssDelete(this.slotPrefix + slots.get(i), runName);
+        }
+        System.arraycopy(otherActions, 0, actions, slots.size(), otherActions.length);
+
+        try {
+            this.dss.performActions(actions);
+            return true;
+        } catch (DynamicStatusStoreMatchException e) {
+            logger.debug("Slots " + slots + " in pool " + this.slotPrefix + " are not all held by run " + runName);
+            return false;
+        }
+    }
+
+    @Override
+    public int releaseRunSlots(@NotNull String runName) throws DynamicStatusStoreException {
+        int released = 0;
+        for (Entry<String, String> slot : this.dss.getPrefix(this.slotPrefix).entrySet()) {
+            if (!runName.equals(slot.getValue())) {
+                continue;
+            }
+            try {
+                this.dss.performActions(new DssDelete(slot.getKey(), runName));
+                released++;
+            } catch (DynamicStatusStoreMatchException e) {
+                // *** Already released
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public boolean releaseStaleSlot(@NotNull String runName) throws DynamicStatusStoreException {
+        for (Entry<String, String> slot : this.dss.getPrefix(this.slotPrefix).entrySet()) {
+            if (!runName.equals(slot.getValue())) {
+                continue;
+            }
+            try {
+                this.dss.performActions(new DssDelete(slot.getKey(), runName));
+                return true;
+            } catch (DynamicStatusStoreMatchException e) {
+                // *** Already released
+            }
+        }
+
+        // *** No pool slot, so the run was started by an older manager which used the legacy counter
+        return releaseLegacySlot(runName);
+    }
+
+    @Override
+    public int getUsedSlots() throws DynamicStatusStoreException {
+        return this.dss.getPrefix(this.slotPrefix).size() + getLegacySlots();
+    }
+
+    private List<String> getFreeSlots(int maxSlots) throws DynamicStatusStoreException {
+        Map<String, String> usedSlots = this.dss.getPrefix(this.slotPrefix);
+        int used = usedSlots.size() + getLegacySlots();
+
+        ArrayList<String> freeSlots = new ArrayList<>();
+        // *** The maximum may have been lowered whilst slots above it are in use
+        if (used >= maxSlots) {
+            return freeSlots;
+        }
+
+        for (int slot = 0; slot < maxSlots; slot++) {
+            if (!usedSlots.containsKey(this.slotPrefix + slot)) {
+                freeSlots.add(Integer.toString(slot));
+            }
+        }
+
+        // *** Only as many as the maximum allows, whichever slot numbers are in use
+        int allowed = maxSlots - used;
+        if (freeSlots.size() > allowed) {
+            Collections.shuffle(freeSlots, this.random);
+            return new ArrayList<>(freeSlots.subList(0, allowed));
+        }
+        return freeSlots;
+    }
+
+    private int getLegacySlots() throws DynamicStatusStoreException {
+        if (this.legacyCounterKey == null) {
+            return 0;
+        }
+        return parseLegacyCount(this.dss.get(this.legacyCounterKey));
+    }
+
+    private int parseLegacyCount(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring legacy slot counter " + this.legacyCounterKey + " with the value '" + value + "'");
+            return 0;
+        }
+    }
+
+    private boolean releaseLegacySlot(String runName) throws DynamicStatusStoreException {
+        if (this.legacyCounterKey == null) {
+            return false;
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt);
+            }
+
+            String oldValue = this.dss.get(this.legacyCounterKey);
+            int count = parseLegacyCount(oldValue);
+            if (count == 0) {
+                return false;
+            }
+
+            if (this.dss.putSwap(this.legacyCounterKey, oldValue, Integer.toString(count - 1))) {
+                logger.debug("Released the legacy slot of run " + runName + " from " + this.legacyCounterKey);
+                return true;
+            }
+        }
+
+        logger.warn("Unable to release the legacy slot of run " + runName + " from " + this.legacyCounterKey
+                + " after " + MAX_ATTEMPTS + " attempts");
+        return false;
+    }
+
+    private void incrementMetric(String metric) {
+        try {
+            for (int attempt = 0; attempt < METRIC_ATTEMPTS; attempt++) {
+                String key = metric + "." + this.random.nextInt(METRIC_STRIPES);
+                String oldValue = this.metricsDss.get(key);
+                long count = 1;
+                if (oldValue != null) {
+                    count = Long.parseLong(oldValue) + 1;
+                }
+                if (this.metricsDss.putSwap(key, oldValue, Long.toString(count))) {
+                    return;
+                }
+            }
+            logger.debug("Dropped an update of metric " + metric + " after " + METRIC_ATTEMPTS + " collisions");
+        } catch (Exception e) {
+            logger.warn("Failed to update metric", e);
+        }
+    }
+
+    private void backoff(int attempt) throws DynamicStatusStoreException {
+        long delay = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_INITIAL_MILLIS << (attempt - 1));
+        long jitteredDelay = (delay / 2) + (long) (this.random.nextDouble() * (delay / 2));
+        try {
+            this.timeService.sleepMillis(jitteredDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DynamicStatusStoreException("Slot pool backoff interrupted", e);
+        }
+    }
+}
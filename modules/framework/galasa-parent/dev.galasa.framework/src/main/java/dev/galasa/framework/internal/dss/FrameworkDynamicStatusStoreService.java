@@ -6,13 +6,16 @@
 package dev.galasa.framework.internal.dss;
 
 import java.util.Objects;
+import java.util.Random;
 
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicResource;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicRun;
 import dev.galasa.framework.spi.IDynamicStatusStore;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.utils.SystemTimeService;
 
 /**
  * <p>
@@ -26,12 +29,14 @@ import dev.galasa.framework.spi.IFramework;
 
 public class FrameworkDynamicStatusStoreService extends FrameworkDynamicStoreKeyAccess
         implements IDynamicStatusStoreService {
+    private final IFramework framework;
     private final String namespace;
 
     public FrameworkDynamicStatusStoreService(IFramework framework, IDynamicStatusStore dssStore, String namespace) {
         super(dssStore, "dss." + namespace + ".", namespace);
         Objects.requireNonNull(namespace);
 
+        this.framework = framework;
         this.namespace = namespace;
     }
 
@@ -85,4 +90,24 @@ public class FrameworkDynamicStatusStoreService extends FrameworkDynamicStoreKey
     public IDynamicRun getDynamicRun() throws DynamicStatusStoreException {
         return new FrameworkDynamicRun();
     }
+
+    /**
+     * <p>
+     * Retrieve a pool of slots for a resource, held at poolKey.pool.n in this
+     * namespace.
+     * </p>
+     * 
+     * @param poolKey          - The key of the resource the slots are for
+     * @param legacyCounterKey - The key of the older manager's slot counter, or null
+     * @return A slot pool tailored to this namespace
+     */
+    @Override
+    public IDynamicSlotPool getDynamicSlotPool(String poolKey, String legacyCounterKey) {
+        IDynamicStatusStoreService metricsDss = this;
+        if (!"framework".equals(this.namespace)) {
+            metricsDss = new FrameworkDynamicStatusStoreService(this.framework, getDssStore(), "framework");
+        }
+        return new FrameworkDynamicSlotPool(this, metricsDss, this.namespace, poolKey, legacyCounterKey,
+                new SystemTimeService(), new Random());
+    }
 }
@@ -5,8 +5,10 @@
  */
 package dev.galasa.framework.internal.dss;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -23,6 +25,7 @@ import dev.galasa.framework.spi.IDssResourceAction;
 import dev.galasa.framework.spi.IDynamicStatusStore;
 import dev.galasa.framework.spi.IDynamicStatusStoreKeyAccess;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.PropertyChange;
 
 /**
  * Provides the common key access to the DSS
@@ -153,19 +156,7 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
     public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
         final Map<String, String> gotSet = this.dssStore.getPrefix(prefixKey(keyPrefix));
         final HashMap<String, String> returnSet = new HashMap<>();
-
-        for (Entry<String, String> entry : gotSet.entrySet()) {
-            String key = entry.getKey();
-            final String value = entry.getValue();
-
-            if (key.startsWith(this.prefix)) {
-                key = key.substring(this.prefix.length());
-                returnSet.put(key, value);
-            } else {
-                throw new DynamicStatusStoreException("Somehow we got keys with the wrong prefix");
-            }
-        }
-
+        unprefixKeys(gotSet, returnSet);
         return returnSet;
     }
 
@@ -212,6 +203,27 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
         this.dssStore.deletePrefix(prefixKey(keyPrefix));
     }
 
+    /**
+     * Copy the supplied values, removing the namespace from their keys
+     *
+     * @param gotSet
+     * @param returnSet
+     * @throws DynamicStatusStoreException
+     */
+    private void unprefixKeys(Map<String, String> gotSet, Map<String, String> returnSet) throws DynamicStatusStoreException {
+        for (Entry<String, String> entry : gotSet.entrySet()) {
+            String key = entry.getKey();
+            final String value = entry.getValue();
+
+            if (key.startsWith(this.prefix)) {
+                key = key.substring(this.prefix.length());
+                returnSet.put(key, value);
+            } else {
+                throw new DynamicStatusStoreException("Somehow we got keys with the wrong prefix");
+            }
+        }
+    }
+
     /**
      * Prefix the supplied key with the namespace
      *
@@ -233,6 +245,14 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
         return this.dssStore.watchPrefix(new PassthroughWatcher(watcher, prefix), prefixKey(keyPrefix));
     }
 
+    @Override
+    public UUID getPrefixAndWatch(IDynamicStatusStoreWatcher watcher, String keyPrefix, Map<String, String> properties) throws DynamicStatusStoreException {
+        final HashMap<String, String> gotSet = new HashMap<>();
+        UUID watchId = this.dssStore.getPrefixAndWatch(new PassthroughWatcher(watcher, prefix), prefixKey(keyPrefix), gotSet);
+        unprefixKeys(gotSet, properties);
+        return watchId;
+    }
+
     @Override
     public void unwatch(UUID watchId) throws DynamicStatusStoreException {
         this.dssStore.unwatch(watchId);
@@ -255,6 +275,21 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
             key = key.substring(this.offset);
             watcher.propertyModified(key, event, oldValue, newValue);
         }
+
+        @Override
+        public void propertiesModified(List<PropertyChange> changes) {
+            List<PropertyChange> unprefixedChanges = new ArrayList<>(changes.size());
+            for (PropertyChange change : changes) {
+                unprefixedChanges.add(new PropertyChange(change.getKey().substring(this.offset), change.getEvent(),
+                        change.getOldValue(), change.getNewValue()));
+            }
+            watcher.propertiesModified(unprefixedChanges);
+        }
+
+        @Override
+        public void watchFailed(Throwable cause) {
+            watcher.watchFailed(cause);
+        }
     }
 
     @Override
@@ -8,9 +8,20 @@ package dev.galasa.framework.internal.ras;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IResultArchiveStoreService;
@@ -20,12 +31,33 @@ import dev.galasa.framework.spi.teststructure.TestStructure;
 /**
  * Stub for multiple Result Archive Stores.
  *
- *  
+ * Writes go to the first store straight away. Each of the other stores has its
+ * own writer thread, so a slow secondary store does not hold up the caller and
+ * the writes to each store stay in order.
+ *
+ * Each writer queues at most {@value #SECONDARY_QUEUE_CAPACITY} writes. Once a
+ * secondary store falls that far behind, further writes to it are dropped and
+ * counted rather than held in memory, and the primary store remains the
+ * complete record.
  *
  */
 public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreService {
 
+    static final int SECONDARY_QUEUE_CAPACITY = 1000;
+
+    private static final long SECONDARY_WRITE_TIMEOUT_SECONDS = 30;
+    private static final long SECONDARY_SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long SECONDARY_QUEUE_RETRY_MILLIS = 10;
+
+    private final Log logger = LogFactory.getLog(FrameworkMultipleResultArchiveStore.class);
+
     private final ArrayList<IResultArchiveStoreService> rasServices = new ArrayList<>();
+    private final ArrayList<SecondaryWriter> secondaryWriters = new ArrayList<>();
+
+    @FunctionalInterface
+    private interface IRasWrite {
+        void write(IResultArchiveStoreService rasService) throws ResultArchiveStoreException;
+    }
 
     public FrameworkMultipleResultArchiveStore(@NotNull IFramework framework,
             @NotNull IResultArchiveStoreService rasService) throws ResultArchiveStoreException {
@@ -36,8 +68,53 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
         this.rasServices.add(rasService);
     }
 
-    public void addResultArchiveStoreService(@NotNull IResultArchiveStoreService resultArchiveStoreService) {
+    public synchronized void addResultArchiveStoreService(@NotNull IResultArchiveStoreService resultArchiveStoreService) {
         this.rasServices.add(resultArchiveStoreService);
+
+        int storeNumber = this.rasServices.size();
+        this.secondaryWriters.add(new SecondaryWriter(resultArchiveStoreService, "ras-secondary-writer-" + storeNumber));
+    }
+
+    private synchronized void writeToAllStores(IRasWrite write) throws ResultArchiveStoreException {
+        write.write(this.rasServices.get(0));
+
+        for (SecondaryWriter secondaryWriter : this.secondaryWriters) {
+            secondaryWriter.write(write);
+        }
+    }
+
+    /**
+     * @return the number of writes that never reached a secondary store, either
+     *         because its queue was full or shut down, or because the write failed
+     */
+    synchronized long getLostSecondaryWrites() {
+        long lostWrites = 0;
+        for (SecondaryWriter secondaryWriter : this.secondaryWriters) {
+            lostWrites += secondaryWriter.droppedWrites.get() + secondaryWriter.failedWrites.get();
+        }
+        return lostWrites;
+    }
+
+    /**
+     * Waits for the writes already queued for the secondary stores to finish
+     */
+    private void waitForSecondaryWrites() {
+        List<SecondaryWriter> writers;
+        synchronized (this) {
+            writers = new ArrayList<>(this.secondaryWriters);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDARY_WRITE_TIMEOUT_SECONDS);
+        for (SecondaryWriter secondaryWriter : writers) {
+            try {
+                secondaryWriter.waitForQueuedWrites(deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("Gave up waiting for writes to secondary result archive store " + secondaryWriter.storeName, e);
+            }
+        }
     }
 
     /*
@@ -47,9 +124,7 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
      */
     @Override
     public void writeLog(@NotNull String message) throws ResultArchiveStoreException {
-        for (IResultArchiveStoreService rasService : this.rasServices) {
-            rasService.writeLog(message);
-        }
+        writeToAllStores(rasService -> rasService.writeLog(message));
     }
 
     /*
@@ -59,9 +134,8 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
      */
     @Override
     public void writeLog(@NotNull List<String> messages) throws ResultArchiveStoreException {
-        for (IResultArchiveStoreService rasService : this.rasServices) {
-            rasService.writeLog(messages);
-        }
+        List<String> messagesToWrite = new ArrayList<>(messages);
+        writeToAllStores(rasService -> rasService.writeLog(messagesToWrite));
     }
 
     /*
@@ -73,9 +147,9 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
      */
     @Override
     public void updateTestStructure(@NotNull TestStructure testStructure) throws ResultArchiveStoreException {
-        for (IResultArchiveStoreService rasService : this.rasServices) {
-            rasService.updateTestStructure(testStructure);
-        }
+        // The caller goes on changing its test structure, so the secondary stores are given a copy of it as it is now
+        TestStructure testStructureToWrite = new TestStructure(testStructure);
+        writeToAllStores(rasService -> rasService.updateTestStructure(testStructureToWrite));
     }
 
     /*
@@ -93,6 +167,7 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
 
     @Override
     public void flush() {
+        waitForSecondaryWrites();
         for (IResultArchiveStoreService rasService : this.rasServices) {
             rasService.flush();
         }
@@ -100,6 +175,20 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
 
     @Override
     public void shutdown() {
+        List<SecondaryWriter> writers;
+        synchronized (this) {
+            writers = new ArrayList<>(this.secondaryWriters);
+            for (SecondaryWriter secondaryWriter : writers) {
+                secondaryWriter.executor.shutdown();
+            }
+        }
+
+        // The writes already queued are given one deadline between them to drain
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDARY_SHUTDOWN_TIMEOUT_SECONDS);
+        for (SecondaryWriter secondaryWriter : writers) {
+            secondaryWriter.drain(deadline);
+        }
+
         for (IResultArchiveStoreService rasService : this.rasServices) {
             rasService.shutdown();
         }
@@ -133,6 +222,93 @@ public class FrameworkMultipleResultArchiveStore implements IResultArchiveStoreS
         
         return null;
     }
-    
 
-}
\ No newline at end of file
+    /**
+     * The writer thread and bounded queue of writes for one secondary store
+     */
+    private class SecondaryWriter {
+        private final IResultArchiveStoreService rasService;
+        private final String storeName;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong droppedWrites = new AtomicLong();
+        private final AtomicLong failedWrites = new AtomicLong();
+
+        SecondaryWriter(IResultArchiveStoreService rasService, String threadName) {
+            this.rasService = rasService;
+            this.storeName = rasService.getClass().getName();
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(SECONDARY_QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        void write(IRasWrite write) {
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        write.write(this.rasService);
+                    } catch (Exception e) {
+                        this.failedWrites.incrementAndGet();
+                        logger.error("Unable to write to secondary result archive store " + this.storeName, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Only every so many drops are logged, so a stalled store does not flood the log
+                long dropped = this.droppedWrites.incrementAndGet();
+                if (dropped == 1 || dropped % SECONDARY_QUEUE_CAPACITY == 0) {
+                    logger.warn("Dropped a write to secondary result archive store " + this.storeName
+                            + " as its queue is full or shut down, " + dropped + " dropped so far");
+                }
+            }
+        }
+
+        /**
+         * Queues a marker behind the writes already queued and waits for it to run
+         */
+        void waitForQueuedWrites(long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+            Future<?> marker = null;
+            while (marker == null) {
+                if (this.executor.isShutdown()) {
+                    return;
+                }
+                try {
+                    marker = this.executor.submit(() -> {});
+                } catch (RejectedExecutionException e) {
+                    // The queue is full, so wait for the writer to make room
+                    if (System.nanoTime() - deadline >= 0) {
+                        throw new TimeoutException("The queue of writes stayed full");
+                    }
+                    Thread.sleep(SECONDARY_QUEUE_RETRY_MILLIS);
+                }
+            }
+            marker.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Waits until the deadline for the queued writes to finish, then abandons any that are left
+         */
+        void drain(long deadline) {
+            try {
+                this.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (!this.executor.isTerminated()) {
+                int abandonedWrites = this.executor.shutdownNow().size();
+                this.droppedWrites.addAndGet(abandonedWrites);
+                logger.warn("Abandoned " + abandonedWrites + " writes to secondary result archive store " + this.storeName
+                        + " that were still queued at shutdown");
+            }
+
+            long dropped = this.droppedWrites.get();
+            long failed = this.failedWrites.get();
+            if (dropped > 0 || failed > 0) {
+                logger.warn("Secondary result archive store " + this.storeName + " missed " + dropped
+                        + " dropped writes and " + failed + " failed writes");
+            }
+        }
+    }
+}
@@ -8,26 +8,25 @@ package dev.galasa.framework.internal.ras.directory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Base64.Encoder;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.stream.Stream;
+import java.util.Set;
 
 import javax.validation.constraints.NotNull;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.ras.IRasSearchCriteria;
 import dev.galasa.framework.spi.ras.RasRunResultPage;
+import dev.galasa.framework.spi.ras.RasRunSorter;
 import dev.galasa.framework.spi.ras.RasSortField;
 import dev.galasa.framework.spi.ras.RasTestClass;
 import dev.galasa.framework.spi.teststructure.TestStructure;
@@ -37,18 +36,34 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
 
     public final static String ID_PREFIX = "local-";
 
+    private static final String DEFAULT_SORT_FIELD = "queued";
+    private static final String SORT_ASCENDING     = "asc";
+
+    private static final Set<String> TIME_SORT_FIELDS = Set.of("queued", "startTime", "endTime");
+
     private final Path baseDirectory;
     private final GalasaGson gson;
+    private final DirectoryRASRunCatalogue catalogue;
 
     protected DirectoryRASDirectoryService(@NotNull Path baseDirectory, GalasaGson gson) {
+        this(baseDirectory, gson, (baseDirectory == null) ? null : new DirectoryRASRunCatalogue(baseDirectory, gson));
+    }
+
+    protected DirectoryRASDirectoryService(@NotNull Path baseDirectory, GalasaGson gson, DirectoryRASRunCatalogue catalogue) {
         this.baseDirectory = baseDirectory;
         this.gson = gson;
+        this.catalogue = catalogue;
     }
 
     @Override
     public @NotNull List<IRunResult> getRuns(@NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException{
 
-        ArrayList<IRunResult> runs = new ArrayList<>();
+        return new ArrayList<>(getMatchingRuns(searchCriteria));
+    }
+
+    private List<DirectoryRASRunResult> getMatchingRuns(IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+
+        ArrayList<DirectoryRASRunResult> runs = new ArrayList<>();
 
         List<DirectoryRASRunResult> allRuns = getAllRuns();
 
@@ -57,7 +72,7 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
         for(DirectoryRASRunResult run : allRuns) {
             matched = true;
             for(IRasSearchCriteria criteria : searchCriteria) {
-                if(!criteria.criteriaMatched(run.getTestStructure())) {
+                if(!criteria.criteriaMatched(run.getSummaryStructure())) {
                     matched = false;
                     break;
                 }
@@ -77,17 +92,136 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
 
         List<IRunResult> matchingRuns = new ArrayList<>();
         for (DirectoryRASRunResult run : allRuns) {
-            if (runName.equals(run.getTestStructure().getRunName())) {
+            if (runName.equals(run.getSummaryStructure().getRunName())) {
                 matchingRuns.add(run);
             }
         }
         return matchingRuns;
     }
 
+    /**
+     * Returns a page of the matching runs in sorted order. The cursor records the
+     * sort position of the last run returned, so a page follows on from the
+     * previous one even if runs have been added or removed in the meantime.
+     */
     @Override
     public @NotNull RasRunResultPage getRunsPage(int maxResults, RasSortField primarySort, String pageToken, @NotNull IRasSearchCriteria... searchCriteria)
             throws ResultArchiveStoreException {
-        return new RasRunResultPage(getRuns(searchCriteria));
+
+        String sortFieldName = DEFAULT_SORT_FIELD;
+        boolean isAscending = false;
+        if (primarySort != null) {
+            if (RasRunSorter.isSortField(primarySort.getFieldName())) {
+                sortFieldName = primarySort.getFieldName();
+            }
+            isAscending = SORT_ASCENDING.equals(primarySort.getSortDirection());
+        }
+
+        RasRunSorter sortField = new RasRunSorter(new RasSortField(sortFieldName, SORT_ASCENDING), 0);
+        Comparator<SortKey> comparator = createSortKeyComparator(isAscending);
+
+        List<SortKey> matchingRuns = new ArrayList<>();
+        for (DirectoryRASRunResult run : getMatchingRuns(searchCriteria)) {
+            matchingRuns.add(new SortKey(sortField.getSortValue(run.getSummaryStructure()), run.getRunId(), run));
+        }
+        matchingRuns.sort(comparator);
+
+        int startIndex = 0;
+        if (pageToken != null) {
+            SortKey cursorKey = decodeCursor(pageToken, sortFieldName);
+            while (startIndex < matchingRuns.size() && comparator.compare(matchingRuns.get(startIndex), cursorKey) <= 0) {
+                startIndex++;
+            }
+        }
+
+        int endIndex = matchingRuns.size();
+        if (maxResults > 0) {
+            endIndex = Math.min(endIndex, startIndex + maxResults);
+        }
+
+        List<IRunResult> runs = new ArrayList<>();
+        for (SortKey key : matchingRuns.subList(startIndex, endIndex)) {
+            runs.add(key.run);
+        }
+
+        String nextCursor = null;
+        if (endIndex < matchingRuns.size() && endIndex > startIndex) {
+            nextCursor = encodeCursor(matchingRuns.get(endIndex - 1));
+        }
+        return new RasRunResultPage(runs, nextCursor);
+    }
+
+    /**
+     * Sorts the runs using the summaries held in the run catalogue, so that only the
+     * structures of the runs which are returned need to be read.
+     */
+    @Override
+    public @NotNull List<IRunResult> getSortedRuns(int maxResults, @NotNull RasSortField sortField, @NotNull IRasSearchCriteria... searchCriteria)
+            throws ResultArchiveStoreException {
+        RasRunSorter sorter = new RasRunSorter(sortField, maxResults);
+        for (DirectoryRASRunResult run : getMatchingRuns(searchCriteria)) {
+            sorter.add(run, run.getSummaryStructure());
+        }
+        return sorter.getSortedRuns();
+    }
+
+    @Override
+    public int getRunCount(@NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+        return getMatchingRuns(searchCriteria).size();
+    }
+
+    private static class SortKey {
+        private final Comparable<?>         value;
+        private final String                runId;
+        private final DirectoryRASRunResult run;
+
+        private SortKey(Comparable<?> value, String runId, DirectoryRASRunResult run) {
+            this.value = value;
+            this.runId = runId;
+            this.run = run;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<SortKey> createSortKeyComparator(boolean isAscending) {
+        Comparator<Comparable> valueOrder = Comparator.naturalOrder();
+        if (!isAscending) {
+            valueOrder = valueOrder.reversed();
+        }
+
+        // Runs without a value for the sort field always come last, and runs with equal values are ordered by ID
+        Comparator<SortKey> comparator = Comparator.comparing(key -> (Comparable) key.value, Comparator.nullsLast(valueOrder));
+        return comparator.thenComparing(key -> key.runId);
+    }
+
+    private String encodeCursor(SortKey key) {
+        String value = (key.value == null) ? "" : "v" + key.value.toString();
+        String cursor = value + "\n" + key.runId;
+        return Base64.getUrlEncoder().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SortKey decodeCursor(String pageToken, String sortFieldName) throws ResultArchiveStoreException {
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separatorIndex = cursor.lastIndexOf('\n');
+            if (separatorIndex < 0) {
+                throw new ResultArchiveStoreException("Invalid page cursor");
+            }
+
+            Comparable<?> value = null;
+            String encodedValue = cursor.substring(0, separatorIndex);
+            if (!encodedValue.isEmpty()) {
+                String valueString = encodedValue.substring(1);
+                if (TIME_SORT_FIELDS.contains(sortFieldName)) {
+                    value = Instant.parse(valueString);
+                } else {
+                    value = valueString;
+                }
+            }
+            return new SortKey(value, cursor.substring(separatorIndex + 1), null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResultArchiveStoreException("Invalid page cursor", e);
+        }
     }
 
     @Override
@@ -107,7 +241,7 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
 
         for (DirectoryRASRunResult result : getAllRuns()) {
             if(result!=null) {
-                TestStructure testStructure = result.getTestStructure();
+                TestStructure testStructure = result.getSummaryStructure();
                 if(testStructure != null && testStructure.getTestName()!=null) {
                     requestors.add(testStructure.getRequestor());
                 }
@@ -125,7 +259,7 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
         for (DirectoryRASRunResult result : getAllRuns()) {
             if(result != null) {
 
-                TestStructure testStructure = result.getTestStructure();
+                TestStructure testStructure = result.getSummaryStructure();
                 if(testStructure != null && testStructure.getTestName()!=null) {
                     key = testStructure.getBundle()+"/"+testStructure.getTestName();
                     if(!tests.containsKey(key)){
@@ -144,7 +278,7 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
 
         for (DirectoryRASRunResult result : getAllRuns()) {
             if(result!=null) {
-                TestStructure testStructure = result.getTestStructure();
+                TestStructure testStructure = result.getSummaryStructure();
                 if(testStructure != null  ) {
                     if(testStructure.getResult()==null) {
                         results.add("UNKNOWN");
@@ -160,58 +294,14 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
     }
 
     protected @NotNull List<DirectoryRASRunResult> getAllRuns() throws ResultArchiveStoreException {
+        Encoder encoder = Base64.getEncoder();
 
-        try {
-            ArrayList<DirectoryRASRunResult> runs = new ArrayList<>();
-
-            try (Stream<Path> stream = Files.list(Paths.get(baseDirectory.toUri()))) {
-                stream.forEach(new ConsumeRuns(baseDirectory, runs, gson));
-            }
-
-            return runs;
-
-        } catch (Throwable t) {
-            throw new ResultArchiveStoreException("Unable to obtain runs", t);
+        ArrayList<DirectoryRASRunResult> runs = new ArrayList<>();
+        for (DirectoryRASRunCatalogue.Entry entry : catalogue.getEntries()) {
+            String id = ID_PREFIX + encoder.encodeToString(entry.getDirectory().getBytes(StandardCharsets.UTF_8));
+            runs.add(new DirectoryRASRunResult(baseDirectory.resolve(entry.getDirectory()), gson, id, entry.getSummary()));
         }
-
-    }
-
-    private static class ConsumeRuns implements Consumer<Path> {
-
-        private final Path                        base;
-        private final List<DirectoryRASRunResult> results;
-        private final GalasaGson                        gson;
-        private final Encoder                     encoder;
-
-        private final Log                  logger = LogFactory.getLog(ConsumeRuns.class);
-
-        public ConsumeRuns(Path base, List<DirectoryRASRunResult> results, GalasaGson gson) {
-            this.base    = base;
-            this.results = results;
-            this.gson    = gson;
-            this.encoder = Base64.getEncoder();
-        }
-
-        @Override
-        public void accept(Path path) {
-            if (!Files.isDirectory(path)) {
-                return;
-            }
-
-            Path structureFile = path.resolve("structure.json");
-            if (Files.exists(structureFile)) {
-                try {
-                    Path relativePath = base.relativize(path);
-                    String id = ID_PREFIX + this.encoder.encodeToString(relativePath.toString().getBytes(StandardCharsets.UTF_8));
-
-                    results.add(new DirectoryRASRunResult(path, gson, id));
-                } catch (Throwable t) {
-                    logger.trace("Unable to create a run result from " + structureFile.toString());
-                }
-            }
-
-        }
-
+        return runs;
     }
 
     @Override
@@ -249,7 +339,7 @@ public class DirectoryRASDirectoryService implements IResultArchiveStoreDirector
 
         List<IRunResult> matchingRuns = new ArrayList<>();
         for (DirectoryRASRunResult run : allRuns) {
-            if (groupName.equals(run.getTestStructure().getGroup())) {
+            if (groupName.equals(run.getSummaryStructure().getGroup())) {
                 matchingRuns.add(run);
             }
         }
@@ -0,0 +1,329 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.ras.directory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.teststructure.TestStructure;
+import dev.galasa.framework.spi.utils.GalasaGson;
+import dev.galasa.framework.spi.utils.GalasaGsonBuilder;
+
+/**
+ * A catalogue of the runs held in a local RAS directory, recording the summary
+ * fields of each run's test structure so that queries do not have to read every
+ * structure.json.
+ *
+ * The catalogue is kept in memory and in an append-only file in the RAS base
+ * directory, one JSON entry per line, where a later entry for a run replaces any
+ * earlier one. It is brought up to date lazily, each time it is queried:
+ * <ul>
+ * <li>If the base directory has been modified, runs have been added or removed,
+ * so every run directory is listed and the modified time of each structure.json
+ * is checked.</li>
+ * <li>Otherwise only the runs which have not yet finished are checked.</li>
+ * </ul>
+ * Only the structures which have changed since they were catalogued are read.
+ * The file is compacted once it holds many more entries than there are runs.
+ */
+public class DirectoryRASRunCatalogue {
+
+    public static final String CATALOGUE_FILE_NAME = ".runs.catalogue";
+
+    private static final String STRUCTURE_FILE_NAME = "structure.json";
+    private static final String FINISHED_STATUS     = "finished";
+
+    // Compact the file once it holds this many times more entries than there are runs
+    private static final int    COMPACTION_RATIO    = 2;
+    private static final int    MIN_COMPACTION_SIZE = 100;
+
+    private final Log           logger = LogFactory.getLog(getClass());
+
+    private final Path          baseDirectory;
+    private final Path          catalogueFile;
+    private final GalasaGson    gson;
+
+    // The catalogue file holds one entry per line, so it is written without pretty printing
+    private final Gson          lineGson = new GalasaGsonBuilder(false).getGson();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean             isLoaded = false;
+    private long                catalogueLineCount = 0;
+    private FileTime            lastBaseDirectoryModifiedTime;
+
+    /**
+     * A catalogued run
+     */
+    public static class Entry {
+        private String        directory;
+        private long          structureModified;
+        private boolean       deleted;
+        private TestStructure summary;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public TestStructure getSummary() {
+            return summary;
+        }
+    }
+
+    public DirectoryRASRunCatalogue(@NotNull Path baseDirectory, GalasaGson gson) {
+        this.baseDirectory = baseDirectory;
+        this.catalogueFile = baseDirectory.resolve(CATALOGUE_FILE_NAME);
+        this.gson = gson;
+    }
+
+    /**
+     * Bring the catalogue up to date and return its entries
+     *
+     * @return an entry for each run in the RAS directory, in no particular order
+     * @throws ResultArchiveStoreException if the RAS directory cannot be read
+     */
+    public synchronized @NotNull List<Entry> getEntries() throws ResultArchiveStoreException {
+        if (!isLoaded) {
+            load();
+        }
+
+        try {
+            refresh();
+        } catch (IOException e) {
+            throw new ResultArchiveStoreException("Unable to obtain runs", e);
+        }
+
+        return new ArrayList<>(entries.values());
+    }
+
+    private void load() {
+        isLoaded = true;
+        if (!Files.exists(catalogueFile)) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(catalogueFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                catalogueLineCount++;
+                Entry entry = parseEntry(line);
+                if (entry == null) {
+                    continue;
+                }
+
+                if (entry.deleted) {
+                    entries.remove(entry.directory);
+                } else {
+                    entries.put(entry.directory, entry);
+                }
+            }
+        } catch (IOException e) {
+            // The catalogue is rebuilt from the run directories, so carry on without it
+            logger.warn("Unable to read the RAS run catalogue " + catalogueFile + ", it will be rebuilt", e);
+            entries.clear();
+        }
+    }
+
+    private Entry parseEntry(String line) {
+        try {
+            Entry entry = lineGson.fromJson(line, Entry.class);
+            if (entry == null || entry.directory == null || (!entry.deleted && entry.summary == null)) {
+                return null;
+            }
+            return entry;
+        } catch (JsonParseException e) {
+            // Most likely a partial line left by an interrupted write, the run will be catalogued again
+            logger.trace("Ignoring an invalid RAS run catalogue entry", e);
+            return null;
+        }
+    }
+
+    private void refresh() throws IOException {
+        List<Entry> changedEntries = new ArrayList<>();
+
+        FileTime baseDirectoryModifiedTime = Files.getLastModifiedTime(baseDirectory);
+        if (!baseDirectoryModifiedTime.equals(lastBaseDirectoryModifiedTime)) {
+            refreshAllRuns(changedEntries);
+            lastBaseDirectoryModifiedTime = baseDirectoryModifiedTime;
+        } else {
+            refreshUnfinishedRuns(changedEntries);
+        }
+
+        if (!changedEntries.isEmpty()) {
+            appendEntries(changedEntries);
+        }
+    }
+
+    private void refreshAllRuns(List<Entry> changedEntries) throws IOException {
+        Set<String> runDirectories = new HashSet<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(baseDirectory)) {
+            for (Path path : stream) {
+                if (!Files.isDirectory(path)) {
+                    continue;
+                }
+
+                String directory = path.getFileName().toString();
+                if (refreshRun(directory, changedEntries)) {
+                    runDirectories.add(directory);
+                }
+            }
+        }
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!runDirectories.contains(entry.directory)) {
+                iterator.remove();
+                changedEntries.add(createDeletedEntry(entry.directory));
+            }
+        }
+    }
+
+    private void refreshUnfinishedRuns(List<Entry> changedEntries) {
+        List<String> unfinishedRuns = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (!FINISHED_STATUS.equals(entry.summary.getStatus())) {
+                unfinishedRuns.add(entry.directory);
+            }
+        }
+
+        for (String directory : unfinishedRuns) {
+            if (!refreshRun(directory, changedEntries) && entries.remove(directory) != null) {
+                changedEntries.add(createDeletedEntry(directory));
+            }
+        }
+    }
+
+    /**
+     * Re-catalogue the run if its structure has changed since it was last catalogued
+     *
+     * @return true if the directory holds a run
+     */
+    private boolean refreshRun(String directory, List<Entry> changedEntries) {
+        Path structureFile = baseDirectory.resolve(directory).resolve(STRUCTURE_FILE_NAME);
+
+        long structureModified;
+        try {
+            structureModified = Files.getLastModifiedTime(structureFile).to(TimeUnit.NANOSECONDS);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            logger.trace("Unable to read the modified time of " + structureFile, e);
+            return false;
+        }
+
+        Entry existingEntry = entries.get(directory);
+        if (existingEntry != null && existingEntry.structureModified == structureModified) {
+            return true;
+        }
+
+        TestStructure testStructure;
+        try (InputStreamReader in = new InputStreamReader(Files.newInputStream(structureFile), StandardCharsets.UTF_8)) {
+            testStructure = gson.fromJson(in, TestStructure.class);
+        } catch (Exception e) {
+            logger.trace("Unable to create a run result from " + structureFile.toString());
+            return false;
+        }
+
+        if (testStructure == null) {
+            return false;
+        }
+
+        Entry entry = new Entry();
+        entry.directory = directory;
+        entry.structureModified = structureModified;
+        entry.summary = createSummary(testStructure);
+
+        entries.put(directory, entry);
+        changedEntries.add(entry);
+        return true;
+    }
+
+    private Entry createDeletedEntry(String directory) {
+        Entry entry = new Entry();
+        entry.directory = directory;
+        entry.deleted = true;
+        return entry;
+    }
+
+    private TestStructure createSummary(TestStructure testStructure) {
+        TestStructure summary = new TestStructure();
+        summary.setRunName(testStructure.getRunName());
+        summary.setBundle(testStructure.getBundle());
+        summary.setTestName(testStructure.getTestName());
+        summary.setTestShortName(testStructure.getTestShortName());
+        summary.setRequestor(testStructure.getRequestor());
+        summary.setStatus(testStructure.getStatus());
+        summary.setResult(testStructure.getResult());
+        summary.setGroup(testStructure.getGroup());
+        summary.setSubmissionId(testStructure.getSubmissionId());
+        summary.setQueued(testStructure.getQueued());
+        summary.setStartTime(testStructure.getStartTime());
+        summary.setEndTime(testStructure.getEndTime());
+        return summary;
+    }
+
+    private void appendEntries(List<Entry> changedEntries) {
+        if (catalogueLineCount + changedEntries.size() > Math.max(MIN_COMPACTION_SIZE, (long) entries.size() * COMPACTION_RATIO)) {
+            compact();
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : changedEntries) {
+            lines.append(lineGson.toJson(entry)).append('\n');
+        }
+
+        try {
+            Files.write(catalogueFile, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            catalogueLineCount += changedEntries.size();
+        } catch (IOException e) {
+            logger.warn("Unable to update the RAS run catalogue " + catalogueFile, e);
+        }
+    }
+
+    private void compact() {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries.values()) {
+            lines.append(lineGson.toJson(entry)).append('\n');
+        }
+
+        Path newCatalogueFile = baseDirectory.resolve(CATALOGUE_FILE_NAME + ".new");
+        try {
+            Files.write(newCatalogueFile, lines.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(newCatalogueFile, catalogueFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            catalogueLineCount = entries.size();
+        } catch (IOException e) {
+            logger.warn("Unable to compact the RAS run catalogue " + catalogueFile, e);
+        }
+    }
+}
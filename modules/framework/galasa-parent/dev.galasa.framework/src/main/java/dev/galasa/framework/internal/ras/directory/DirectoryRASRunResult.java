@@ -7,6 +7,8 @@ package dev.galasa.framework.internal.ras.directory;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -21,40 +23,85 @@ import dev.galasa.framework.spi.utils.GalasaGson;
 public class DirectoryRASRunResult implements IRunResult {
 
     private final Path                           runDirectory;
-    private final TestStructure                  testStructure;
-    private final DirectoryRASFileSystemProvider fileSystemProvider;
+    private final GalasaGson                     gson;
+    private final TestStructure                  summary;
+    private TestStructure                        testStructure;
+    private DirectoryRASFileSystemProvider       fileSystemProvider;
     private final String                         id;
 
     protected DirectoryRASRunResult(Path runDirectory, GalasaGson gson, String id)
             throws JsonSyntaxException, JsonIOException, IOException {
         this.runDirectory = runDirectory;
+        this.gson         = gson;
         this.id           = id;
+        this.summary      = null;
 
-        Path structureFile = this.runDirectory.resolve("structure.json");
-        
-        try (InputStreamReader in = new InputStreamReader(Files.newInputStream(structureFile))){
-           this.testStructure = gson.fromJson(in, TestStructure.class);
-        }
-    
+        this.testStructure = readTestStructure();
 
         this.fileSystemProvider = new DirectoryRASFileSystemProvider(this.runDirectory);
     }
+
+    /**
+     * Creates a run result from a run catalogue summary. The full test structure is
+     * only read if it is asked for.
+     */
+    protected DirectoryRASRunResult(Path runDirectory, GalasaGson gson, String id, TestStructure summary) {
+        this.runDirectory = runDirectory;
+        this.gson         = gson;
+        this.id           = id;
+        this.summary      = summary;
+    }
     
     //for testing purposes
     protected DirectoryRASRunResult() {
     	this.testStructure = null;
     	this.runDirectory = null;
+    	this.gson = null;
+    	this.summary = null;
     	this.fileSystemProvider = null;
     	this.id                 = null;
     }
 
+    private TestStructure readTestStructure() throws JsonSyntaxException, JsonIOException, IOException {
+        Path structureFile = this.runDirectory.resolve("structure.json");
+        
+        try (InputStreamReader in = new InputStreamReader(Files.newInputStream(structureFile))){
+           return gson.fromJson(in, TestStructure.class);
+        }
+    }
+
     @Override
-    public TestStructure getTestStructure() throws ResultArchiveStoreException {
+    public synchronized TestStructure getTestStructure() throws ResultArchiveStoreException {
+        if (this.testStructure == null && this.summary != null) {
+            try {
+                this.testStructure = readTestStructure();
+            } catch (Exception e) {
+                throw new ResultArchiveStoreException("Unable to read the test structure in " + this.runDirectory.toString(), e);
+            }
+        }
         return this.testStructure;
     }
 
+    /**
+     * Returns the summary fields of the test structure, which can be used to match
+     * and sort runs without reading the full test structure
+     */
+    public TestStructure getSummaryStructure() throws ResultArchiveStoreException {
+        if (this.summary != null) {
+            return this.summary;
+        }
+        return getTestStructure();
+    }
+
     @Override
-    public Path getArtifactsRoot() throws ResultArchiveStoreException {
+    public synchronized Path getArtifactsRoot() throws ResultArchiveStoreException {
+        if (this.fileSystemProvider == null && this.runDirectory != null) {
+            try {
+                this.fileSystemProvider = new DirectoryRASFileSystemProvider(this.runDirectory);
+            } catch (IOException e) {
+                throw new ResultArchiveStoreException("Unable to create the RAS Provider for " + this.runDirectory.toString(), e);
+            }
+        }
         return this.fileSystemProvider.getActualFileSystem().getPath("/");
     }
 
@@ -73,6 +120,21 @@ public class DirectoryRASRunResult implements IRunResult {
         return "";
     }
 
+    @Override
+    public Reader getLogReader() throws ResultArchiveStoreException {
+
+        Path runLog = runDirectory.resolve("run.log");
+        if (Files.exists(runLog)) {
+            try {
+                return Files.newBufferedReader(runLog, StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new ResultArchiveStoreException("Unable to read the run log at " + runLog.toString(), e);
+            }
+        }
+
+        return Reader.nullReader();
+    }
+
     public void discard() throws ResultArchiveStoreException {
         //TODO
     }
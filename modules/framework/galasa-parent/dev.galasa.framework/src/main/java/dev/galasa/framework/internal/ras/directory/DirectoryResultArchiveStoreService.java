@@ -7,7 +7,13 @@ package dev.galasa.framework.internal.ras.directory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -17,32 +23,59 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.annotations.Component;
 
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IResultArchiveStoreService;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 import dev.galasa.framework.spi.utils.GalasaGson;
+import dev.galasa.framework.spi.utils.ITimeService;
+import dev.galasa.framework.spi.utils.SystemTimeService;
 
 /**
  * A RAS Service for storing the result archive store
  *
- *  
+ * The run log is written through a channel which is kept open for the whole run.
+ * Messages are encoded into a buffer which is written out when it fills, when
+ * it has held data for more than a second, and whenever the RAS is flushed.
+ * Setting the CPS property framework.resultarchive.store.directory.fsync to true
+ * also forces the run log to disk on each flush.
  *
+ * Test structure updates which arrive less than a second after the last write
+ * of structure.json are held back, and only the latest of them is written once
+ * the interval has passed or the RAS is flushed.
+ *
+ * A background thread owned by the service checks every second for buffered
+ * log messages or a held back test structure which are due to be written, so
+ * they reach the disk even when nothing else is written or flushed.
  */
 @Component(service = { IResultArchiveStoreService.class })
 public class DirectoryResultArchiveStoreService implements IResultArchiveStoreService {
 
     private static final Charset           UTF8     = Charset.forName("utf-8");
 
+    private static final int               LOG_BUFFER_SIZE           = 64 * 1024;
+    private static final long              LOG_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final long              STRUCTURE_WRITE_INTERVAL_MILLIS = 1000;
+
+    private final Log                      logger   = LogFactory.getLog(getClass());
+
     private final IFramework               framework;                           // NOSONAR
     private final URI                      rasUri;
     private final Path                     baseDirectory;
+    private final ITimeService             timeService;
 
     private boolean                        shutdown = false;
 
@@ -50,16 +83,41 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
     private Path                           testStructureFile;
     private Path                           runLog;
 
+    private final Object                   logLock  = new Object();
+    private FileChannel                    runLogChannel;
+    private final ByteBuffer               logBuffer = ByteBuffer.allocateDirect(LOG_BUFFER_SIZE);
+    private final CharsetEncoder           logEncoder = UTF8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private long                           logBufferStartMillis;
+    private boolean                        isFsyncRequired = false;
+
+    private final Object                   structureLock = new Object();
+    private String                         pendingStructureJson;
+    private long                           lastStructureWriteMillis;
+    private boolean                        isStructureWritten = false;
+
     private final GalasaGson                     gson     = new GalasaGson();
 
     private DirectoryRASFileSystemProvider provider;
 
+    private ScheduledExecutorService       flushScheduler;
+
+    // Shared by the directory services, so the run catalogue is only loaded once
+    private final DirectoryRASRunCatalogue     runCatalogue;
+
     public DirectoryResultArchiveStoreService(IFramework framework, URI rasUri) throws ResultArchiveStoreException {
+        this(framework, rasUri, new SystemTimeService());
+    }
+
+    public DirectoryResultArchiveStoreService(IFramework framework, URI rasUri, ITimeService timeService) throws ResultArchiveStoreException {
         this.framework = framework;
         this.rasUri = rasUri;
+        this.timeService = timeService;
 
         // *** Create the base RAS directory
         this.baseDirectory = Paths.get(this.rasUri);
+        this.runCatalogue = new DirectoryRASRunCatalogue(this.baseDirectory, this.gson);
         try {
             Files.createDirectories(this.baseDirectory);
         } catch (final Exception e) {
@@ -78,13 +136,16 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
         this.testStructureFile = this.runDirectory.resolve("structure.json");
         this.runLog = this.runDirectory.resolve("run.log");
 
-        // *** Create an empty run log so we append it
+        // *** Create an empty run log and keep it open so we can append to it
         try {
             Files.createFile(this.runLog);
+            this.runLogChannel = FileChannel.open(this.runLog, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
         } catch (final IOException e) {
             throw new ResultArchiveStoreException("Unable to create Run Log", e);
         }
 
+        this.isFsyncRequired = isFsyncRequired();
+
         // *** Setup the provider to do all the work
         try {
             this.provider = new DirectoryRASFileSystemProvider(this.runDirectory);
@@ -92,6 +153,24 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
             throw new ResultArchiveStoreException("Unable to create the RAS Provider", e);
         }
 
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ras-directory-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushScheduler.scheduleWithFixedDelay(this::flushDue, LOG_FLUSH_INTERVAL_MILLIS, LOG_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isFsyncRequired() throws ResultArchiveStoreException {
+        try {
+            IConfigurationPropertyStoreService cps = this.framework.getConfigurationPropertyService("framework");
+            if (cps == null) {
+                return false;
+            }
+            return Boolean.parseBoolean(cps.getProperty("resultarchive.store.directory", "fsync"));
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ResultArchiveStoreException("Unable to read the directory RAS fsync property", e);
+        }
     }
 
     /**
@@ -151,12 +230,82 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
             message = framework.getConfidentialTextService().removeConfidentialText(message);
 
         try {
-            Files.write(this.runLog, message.getBytes(UTF8), StandardOpenOption.APPEND);
+            synchronized (logLock) {
+                if (this.runLogChannel == null) {
+                    // *** The RAS has been shutdown, so write straight to the file
+                    Files.write(this.runLog, message.getBytes(UTF8), StandardOpenOption.APPEND);
+                    return;
+                }
+
+                bufferLogMessage(message);
+                if (isLogFlushDue()) {
+                    flushLogBuffer();
+                }
+            }
         } catch (final Exception e) {
             throw new ResultArchiveStoreException("Unable to write message to run log", e);
         }
     }
 
+    /**
+     * Encode the message straight into the log buffer, writing the buffer out
+     * whenever it fills. Must be called holding the log lock.
+     */
+    private void bufferLogMessage(String message) throws IOException {
+        if (this.logBuffer.position() == 0) {
+            this.logBufferStartMillis = currentTimeMillis();
+        }
+
+        CharBuffer chars = CharBuffer.wrap(message);
+        this.logEncoder.reset();
+        CoderResult result;
+        do {
+            result = this.logEncoder.encode(chars, this.logBuffer, true);
+            if (result.isOverflow()) {
+                writeLogBuffer();
+            }
+        } while (!result.isUnderflow());
+
+        while (this.logEncoder.flush(this.logBuffer).isOverflow()) {
+            writeLogBuffer();
+        }
+    }
+
+    private void writeLogBuffer() throws IOException {
+        this.logBuffer.flip();
+        while (this.logBuffer.hasRemaining()) {
+            this.runLogChannel.write(this.logBuffer);
+        }
+        this.logBuffer.clear();
+        this.logBufferStartMillis = currentTimeMillis();
+    }
+
+    private boolean isLogFlushDue() {
+        return currentTimeMillis() - this.logBufferStartMillis >= LOG_FLUSH_INTERVAL_MILLIS;
+    }
+
+    private boolean isStructureWriteDue() {
+        return currentTimeMillis() - this.lastStructureWriteMillis >= STRUCTURE_WRITE_INTERVAL_MILLIS;
+    }
+
+    private long currentTimeMillis() {
+        return this.timeService.now().toEpochMilli();
+    }
+
+    private void flushLogBuffer() throws IOException {
+        synchronized (logLock) {
+            if (this.runLogChannel == null) {
+                return;
+            }
+            if (this.logBuffer.position() > 0) {
+                writeLogBuffer();
+            }
+            if (this.isFsyncRequired) {
+                this.runLogChannel.force(false);
+            }
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -186,12 +335,29 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
         try {
             testStructure.normalise();
             final String json = this.gson.toJson(testStructure);
-            Files.write(this.testStructureFile, json.getBytes(UTF8));
+            synchronized (structureLock) {
+                this.pendingStructureJson = json;
+                if (!this.isStructureWritten || isStructureWriteDue()) {
+                    writePendingStructure();
+                }
+            }
         } catch (final Exception e) {
             throw new ResultArchiveStoreException("Unable to write the test structure", e);
         }
     }
 
+    private void writePendingStructure() throws IOException {
+        synchronized (structureLock) {
+            if (this.pendingStructureJson == null) {
+                return;
+            }
+            Files.write(this.testStructureFile, this.pendingStructureJson.getBytes(UTF8));
+            this.pendingStructureJson = null;
+            this.lastStructureWriteMillis = currentTimeMillis();
+            this.isStructureWritten = true;
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -202,12 +368,65 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
         return this.provider.getActualFileSystem().getPath("/");
     }
 
+    /**
+     * Write out the buffered log messages and the held back test structure if
+     * they have been waiting for longer than their interval. Called every second
+     * by the flush thread.
+     */
+    void flushDue() {
+        try {
+            synchronized (logLock) {
+                if (this.logBuffer.position() > 0 && isLogFlushDue()) {
+                    flushLogBuffer();
+                }
+            }
+        } catch (final Exception e) {
+            logger.error("Unable to flush the run log", e);
+        }
+
+        try {
+            synchronized (structureLock) {
+                if (this.pendingStructureJson != null && isStructureWriteDue()) {
+                    writePendingStructure();
+                }
+            }
+        } catch (final Exception e) {
+            logger.error("Unable to write the test structure", e);
+        }
+    }
+
     @Override
     public void flush() {
+        try {
+            flushLogBuffer();
+        } catch (final IOException e) {
+            logger.error("Unable to flush the run log", e);
+        }
+
+        try {
+            writePendingStructure();
+        } catch (final IOException e) {
+            logger.error("Unable to write the test structure", e);
+        }
     }
 
     @Override
     public void shutdown() {
+        if (this.flushScheduler != null) {
+            this.flushScheduler.shutdown();
+        }
+        flush();
+
+        synchronized (logLock) {
+            if (this.runLogChannel != null) {
+                try {
+                    this.runLogChannel.close();
+                } catch (final IOException e) {
+                    logger.error("Unable to close the run log", e);
+                }
+                this.runLogChannel = null;
+            }
+        }
         this.shutdown = true;
     }
 
@@ -218,7 +437,7 @@ public class DirectoryResultArchiveStoreService implements IResultArchiveStoreSe
     @Override
     public @NotNull List<IResultArchiveStoreDirectoryService> getDirectoryServices() {
         ArrayList<IResultArchiveStoreDirectoryService> dirs = new ArrayList<>(1);
-        dirs.add(new DirectoryRASDirectoryService(this.baseDirectory, gson));
+        dirs.add(new DirectoryRASDirectoryService(this.baseDirectory, gson, this.runCatalogue));
         return dirs;
     }
 
@@ -5,13 +5,22 @@
  */
 package dev.galasa.framework.internal.rbac;
 
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
 import dev.galasa.framework.spi.auth.AuthStoreException;
 import dev.galasa.framework.spi.auth.IAuthStoreService;
 import dev.galasa.framework.spi.auth.IUser;
@@ -21,7 +30,20 @@ import dev.galasa.framework.spi.rbac.Role;
 
 import org.apache.commons.logging.*;
 
-public class CacheRBACImpl implements CacheRBAC {
+/**
+ * Caches the actions each user is permitted to perform.
+ *
+ * The DSS holds the shared cache, so that every API server instance sees the same
+ * users-to-actions mappings. In front of it, each instance keeps a bounded
+ * in-memory map of the actions already parsed into bit sets, so most permission
+ * checks do not need a DSS round-trip and no lock is held while checking.
+ *
+ * The in-memory map is kept coherent with the DSS by watching the user actions
+ * properties, so a user invalidated on one API server is dropped by all of them.
+ * If the watch cannot be set up, or fails, the in-memory map is emptied and not
+ * used until the watch has been set up again.
+ */
+public class CacheRBACImpl implements CacheRBAC, IDynamicStatusStoreWatcher {
 
     // Only keep users-to-actions entries in the cache for 24 hours
     private static final long CACHED_ACTIONS_TIME_TO_LIVE_SECS = 24 * 60 * 60;
@@ -29,23 +51,58 @@ public class CacheRBACImpl implements CacheRBAC {
     private static final String USER_PROPERTY_PREFIX = "user.";
     private static final String ACTIONS_PROPERTY_SUFFIX = ".actions";
 
+    private static final int DEFAULT_MAX_LOCAL_USERS = 1000;
+
+    // How long to wait before trying to set up a failed DSS watch again
+    private static final long WATCH_RETRY_INTERVAL_MILLIS = 60 * 1000;
+
     private IDynamicStatusStoreService dssService;
     private IAuthStoreService authStoreService;
     private RBACService rbacService;
     private final Log logger = LogFactory.getLog(getClass());
 
+    private final int maxLocalUsers;
+    private final Map<String, BitSet> localUserActions = new ConcurrentHashMap<>();
+
+    // Each action ID is given a bit in the users' action bit sets the first time it is seen
+    private final Map<String, Integer> actionIndexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextActionIndex = new AtomicInteger();
+
+    // Changed whenever the local cache may have become out of date, so that a user's
+    // actions read from the DSS are not cached locally if they changed during the read
+    private final AtomicLong localCacheGeneration = new AtomicLong();
+
+    private final Object watchLock = new Object();
+    private volatile boolean isWatching = false;
+    private long nextWatchAttemptMillis = 0;
+    private UUID watchId;
+
+    private final LongAdder localCacheHits = new LongAdder();
+    private final LongAdder localCacheMisses = new LongAdder();
+
     public CacheRBACImpl(
         IDynamicStatusStoreService dssService,
         IAuthStoreService authStoreService,
         RBACService rbacService
+    ) {
+        this(dssService, authStoreService, rbacService, DEFAULT_MAX_LOCAL_USERS);
+    }
+
+    public CacheRBACImpl(
+        IDynamicStatusStoreService dssService,
+        IAuthStoreService authStoreService,
+        RBACService rbacService,
+        int maxLocalUsers
     ) {
         this.dssService = dssService;
         this.authStoreService = authStoreService;
         this.rbacService = rbacService;
+        this.maxLocalUsers = maxLocalUsers;
     }
 
     @Override
-    public synchronized void addUser(String loginId, Set<String> actionIds) throws RBACException {
+    public void addUser(String loginId, Set<String> actionIds) throws RBACException {
+        long generation = localCacheGeneration.get();
         try {
             String commaSeparatedActionIds = String.join(",", actionIds);
             String actionsKey = getUserActionsPropertyKey(loginId);
@@ -53,46 +110,34 @@ public class CacheRBACImpl implements CacheRBAC {
         } catch (DynamicStatusStoreException e) {
             throw new RBACException("Failed to cache user actions", e);
         }
+        cacheLocally(loginId, toActionBits(actionIds), generation);
     }
 
     @Override
-    public synchronized boolean isActionPermitted(String loginId, String actionId) throws RBACException {
+    public boolean isActionPermitted(String loginId, String actionId) throws RBACException {
+        startWatchingIfRequired();
 
-        boolean isActionPermitted = false;
-        try {
-            String userActionsKey = getUserActionsPropertyKey(loginId);
-            String commaSeparatedUserActions = dssService.get(userActionsKey);
-
-            Set<String> userActions = new HashSet<>();
-            if (commaSeparatedUserActions == null) {
-                // Cache miss, so get the user's actions from the auth store
-                IUser user = getUserFromAuthStore(loginId);
-                if (user==null) {
-                    // The user record doesn't exist.
-                    // So we know the user isn't permitted right now.
-                    logger.info("User does not have a user record. Permission denied.");
-                    isActionPermitted = false;
-                } else {
-
-                    userActions = getUserActionsFromAuthStore(user);
-
-                    // Add this user to the cache
-                    addUser(loginId, userActions);
-                }
-            } else {
-                userActions = Set.of(commaSeparatedUserActions.split(","));
-            }
+        BitSet userActions = null;
+        if (isWatching) {
+            userActions = localUserActions.get(loginId);
+        }
 
-            // Check if the user is allowed to perform the given action
-            isActionPermitted = userActions.contains(actionId);
-        } catch (DynamicStatusStoreException e) {
-            throw new RBACException("Error occurred when accessing the DSS", e);
+        if (userActions != null) {
+            localCacheHits.increment();
+        } else {
+            localCacheMisses.increment();
+            userActions = getUserActions(loginId);
         }
-        return isActionPermitted;
+
+        // Check if the user is allowed to perform the given action
+        Integer actionIndex = actionIndexes.get(actionId);
+        return actionIndex != null && userActions.get(actionIndex);
     }
 
     @Override
-    public synchronized void invalidateUser(String loginId) throws RBACException {
+    public void invalidateUser(String loginId) throws RBACException {
+        localCacheGeneration.incrementAndGet();
+        localUserActions.remove(loginId);
         try {
             String userActionsKey = getUserActionsPropertyKey(loginId);
             dssService.delete(userActionsKey);
@@ -101,7 +146,164 @@ public class CacheRBACImpl implements CacheRBAC {
         }
     }
 
-    private synchronized IUser getUserFromAuthStore(String loginId) throws RBACException {
+    /**
+     * The DSS is telling us that a user's actions have changed, possibly on another API server.
+     *
+     * This is called on the DSS watch thread, so only in-memory work is done here.
+     */
+    @Override
+    public void propertyModified(String key, Event event, String oldValue, String newValue) {
+        String loginId = getLoginIdFromPropertyKey(key);
+        if (loginId == null) {
+            return;
+        }
+
+        localCacheGeneration.incrementAndGet();
+        if (event == Event.DELETE || newValue == null) {
+            localUserActions.remove(loginId);
+        } else {
+            putLocally(loginId, parseActionBits(newValue));
+        }
+    }
+
+    @Override
+    public void watchFailed(Throwable cause) {
+        logger.warn("The DSS watch of cached user actions has failed, the local cache will not be used until it is set up again", cause);
+        synchronized (watchLock) {
+            isWatching = false;
+            nextWatchAttemptMillis = 0;
+        }
+        localCacheGeneration.incrementAndGet();
+        localUserActions.clear();
+    }
+
+    /**
+     * @return the number of permission checks answered from the in-memory cache
+     */
+    public long getLocalCacheHits() {
+        return localCacheHits.sum();
+    }
+
+    /**
+     * @return the number of permission checks which had to read the DSS
+     */
+    public long getLocalCacheMisses() {
+        return localCacheMisses.sum();
+    }
+
+    private BitSet getUserActions(String loginId) throws RBACException {
+        long generation = localCacheGeneration.get();
+
+        String commaSeparatedUserActions;
+        try {
+            String userActionsKey = getUserActionsPropertyKey(loginId);
+            commaSeparatedUserActions = dssService.get(userActionsKey);
+        } catch (DynamicStatusStoreException e) {
+            throw new RBACException("Error occurred when accessing the DSS", e);
+        }
+
+        BitSet userActions;
+        if (commaSeparatedUserActions == null) {
+            // Cache miss, so get the user's actions from the auth store
+            IUser user = getUserFromAuthStore(loginId);
+            if (user == null) {
+                // The user record doesn't exist.
+                // So we know the user isn't permitted right now.
+                logger.info("User does not have a user record. Permission denied.");
+                userActions = new BitSet();
+            } else {
+                Set<String> userActionIds = getUserActionsFromAuthStore(user);
+
+                // Add this user to the cache
+                addUser(loginId, userActionIds);
+                userActions = toActionBits(userActionIds);
+            }
+        } else {
+            userActions = parseActionBits(commaSeparatedUserActions);
+            cacheLocally(loginId, userActions, generation);
+        }
+        return userActions;
+    }
+
+    private void cacheLocally(String loginId, BitSet userActions, long generation) {
+        // If the DSS has reported changes since the actions were read, the watch has
+        // already brought the local cache up to date, so leave it alone
+        if (!isWatching || localCacheGeneration.get() != generation) {
+            return;
+        }
+
+        putLocally(loginId, userActions);
+
+        // A change may have been reported while the actions were being added, so let the next check read them again
+        if (localCacheGeneration.get() != generation) {
+            localUserActions.remove(loginId);
+        }
+    }
+
+    private void putLocally(String loginId, BitSet userActions) {
+        if (localUserActions.size() >= maxLocalUsers && !localUserActions.containsKey(loginId)) {
+            // Make room by dropping any user, they will be read from the DSS again when next checked
+            Iterator<String> iterator = localUserActions.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        localUserActions.put(loginId, userActions);
+    }
+
+    private void startWatchingIfRequired() {
+        if (isWatching) {
+            return;
+        }
+
+        synchronized (watchLock) {
+            long now = System.currentTimeMillis();
+            if (isWatching || now < nextWatchAttemptMillis) {
+                return;
+            }
+
+            if (watchId != null) {
+                try {
+                    dssService.unwatch(watchId);
+                } catch (DynamicStatusStoreException e) {
+                    logger.warn("Unable to remove the previous DSS watch of cached user actions", e);
+                }
+                watchId = null;
+            }
+
+            try {
+                watchId = dssService.watchPrefix(this, USER_PROPERTY_PREFIX);
+                localUserActions.clear();
+                isWatching = true;
+            } catch (DynamicStatusStoreException e) {
+                logger.warn("Unable to watch the cached user actions in the DSS, the local cache will not be used", e);
+                nextWatchAttemptMillis = now + WATCH_RETRY_INTERVAL_MILLIS;
+            }
+        }
+    }
+
+    private BitSet toActionBits(Set<String> actionIds) {
+        BitSet actionBits = new BitSet();
+        for (String actionId : actionIds) {
+            actionBits.set(getActionIndex(actionId));
+        }
+        return actionBits;
+    }
+
+    private BitSet parseActionBits(String commaSeparatedActionIds) {
+        BitSet actionBits = new BitSet();
+        for (String actionId : commaSeparatedActionIds.split(",")) {
+            actionBits.set(getActionIndex(actionId));
+        }
+        return actionBits;
+    }
+
+    private int getActionIndex(String actionId) {
+        return actionIndexes.computeIfAbsent(actionId, id -> nextActionIndex.getAndIncrement());
+    }
+
+    private IUser getUserFromAuthStore(String loginId) throws RBACException {
         IUser user = null;
         try {
             user = authStoreService.getUserByLoginId(loginId);
@@ -123,4 +325,13 @@ public class CacheRBACImpl implements CacheRBAC {
         // dss.rbac.user.<loginId>.actions = <comma-separated action IDs>
         return USER_PROPERTY_PREFIX + loginId + ACTIONS_PROPERTY_SUFFIX;
     }
+
+    private String getLoginIdFromPropertyKey(String key) {
+        String loginId = null;
+        if (key != null && key.startsWith(USER_PROPERTY_PREFIX) && key.endsWith(ACTIONS_PROPERTY_SUFFIX)
+                && key.length() > USER_PROPERTY_PREFIX.length() + ACTIONS_PROPERTY_SUFFIX.length()) {
+            loginId = key.substring(USER_PROPERTY_PREFIX.length(), key.length() - ACTIONS_PROPERTY_SUFFIX.length());
+        }
+        return loginId;
+    }
 }
@@ -63,6 +63,20 @@ public class CharacterConstant implements ICharacter {
         return character;
     }
 
+    /**
+     * @return - returns the constant chacacter.
+     */
+    public char charAt(int index) { // NOSONAR
+        return character;
+    }
+
+    /**
+     * @return - returns 0 if the constant chacacter, otherwise -1.
+     */
+    public int indexOf(char c) {
+        return (c == character) ? 0 : -1;
+    }
+
     /**
      * @return - returns the constant chacacter.
      */
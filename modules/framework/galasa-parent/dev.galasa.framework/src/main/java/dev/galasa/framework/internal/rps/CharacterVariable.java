@@ -30,6 +30,7 @@ public class CharacterVariable implements ICharacter {
     public static final String   NUMBERS   = "0123456789";
 
     private ArrayList<Character> chars     = new ArrayList<>();
+    private String               charString;
 
     /**
      * This constructor takes in a node which contains the deifnition of the
@@ -96,6 +97,26 @@ public class CharacterVariable implements ICharacter {
         return chars.get(0);
     }
 
+    /**
+     * This method returns the chracter at a position in the array list chars.
+     * 
+     * @return - char, chracter at the position.
+     */
+    public char charAt(int index) {
+        return chars.get(index);
+    }
+
+    /**
+     * This method returns the position of a chracter in the array list chars,
+     * searching a string of them rather than the array list as it is called for
+     * every resource in use when allocating.
+     * 
+     * @return - int, position of the chracter, -1 if not acceptable.
+     */
+    public int indexOf(char c) {
+        return charString.indexOf(c);
+    }
+
     /**
      * This method returns the number of possible responses that can be achieved
      * from the getRadomChar().
@@ -134,6 +155,12 @@ public class CharacterVariable implements ICharacter {
         }
 
         Collections.sort(chars);
+
+        StringBuilder sb = new StringBuilder(chars.size());
+        for (char c : chars) {
+            sb.append(c);
+        }
+        charString = sb.toString();
     }
 
     /**
@@ -71,4 +71,22 @@ public interface ICharacter {
      * @return - int.
      */
     int numberOfCombinations();
+
+    /**
+     * This method returns the character at a position in the order defined,
+     * without storing the character in the object.
+     * 
+     * @param index - position in the order, from 0 to numberOfCombinations - 1.
+     * @return - the character at that position. E.g {a-z} with 2 would return c.
+     */
+    char charAt(int index);
+
+    /**
+     * This method returns the position of a character in the order defined.
+     * 
+     * @param c - the character to look for.
+     * @return - int, the position, or -1 if the character is not in the
+     *         definition.
+     */
+    int indexOf(char c);
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.rps;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
+
+/**
+ * This class holds which of the resources of a resource string definition are
+ * in use, so free resources and runs of consecutive free resources can be found
+ * without checking each resource name against the DSS.
+ *
+ * Definitions with up to DENSE_LIMIT resources are held as one bit per resource
+ * in the order of getNextResource. Larger definitions, such as {A-Z} eight
+ * times over, only hold the names of the resources in use, and candidates are
+ * generated and checked against them, as free resources are then easy to find
+ * at random.
+ *
+ *
+ */
+public class ResourceBitmap {
+
+    public static final long DENSE_LIMIT     = 1L << 24;
+
+    private static final int RANDOM_ATTEMPTS = 100;
+
+    private final ResourceString definition;
+    private final long           numberOfCombinations;
+
+    // Only one of these is used, depending on the size of the definition
+    private final BitSet         used;
+    private final Set<String>    usedResources;
+
+    public ResourceBitmap(ResourceString definition) {
+        this.definition = definition;
+        this.numberOfCombinations = definition.getNumberOfCombinations();
+        if (numberOfCombinations <= DENSE_LIMIT) {
+            this.used = new BitSet();
+            this.usedResources = null;
+        } else {
+            this.used = null;
+            this.usedResources = new HashSet<>();
+        }
+    }
+
+    /**
+     * This method marks a resource as in use, if it is in the range of the
+     * definition.
+     *
+     * @param resource - the resource name.
+     */
+    public void markUsed(String resource) {
+        if (used == null) {
+            usedResources.add(resource);
+            return;
+        }
+        long index = definition.getIndex(resource);
+        if (index >= 0) {
+            used.set((int) index);
+        }
+    }
+
+    /**
+     * This method takes a run of consecutive free resources from a random
+     * position.
+     *
+     * @param random            - the source of the random position.
+     * @param returnConsecutive - the number of consecutive resources needed.
+     * @return - the resource names, marked as used, or an empty list if no run
+     *         was found.
+     */
+    public List<String> takeRandom(Random random, int returnConsecutive) {
+        if (used == null) {
+            for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+                List<String> resources = probe(definition.getRandomResource(), returnConsecutive, returnConsecutive);
+                if (!resources.isEmpty()) {
+                    return take(resources);
+                }
+            }
+            return new ArrayList<>();
+        }
+
+        int start = findFree(random.nextInt((int) numberOfCombinations), returnConsecutive);
+        if (start < 0) {
+            return new ArrayList<>();
+        }
+        return take(start, returnConsecutive);
+    }
+
+    /**
+     * This method takes the first run of consecutive free resources.
+     *
+     * @param returnConsecutive - the number of consecutive resources needed.
+     * @return - the resource names, marked as used, or an empty list if there
+     *         is no run long enough.
+     */
+    public List<String> takeFirst(int returnConsecutive) {
+        if (used == null) {
+            // One of the first (used + 1) runs of this length must be free
+            long maxResources = ((long) usedResources.size() + 2) * returnConsecutive;
+            List<String> resources = probe(definition.getFirstResource(), returnConsecutive, maxResources);
+            return take(resources);
+        }
+
+        int start = findFree(0, returnConsecutive);
+        if (start < 0) {
+            return new ArrayList<>();
+        }
+        return take(start, returnConsecutive);
+    }
+
+    /**
+     * @return - long, the number of resources in the definition.
+     */
+    public long getNumberOfCombinations() {
+        return numberOfCombinations;
+    }
+
+    private int findFree(int start, int returnConsecutive) {
+        int found = findFree(start, (int) numberOfCombinations, returnConsecutive);
+        if (found < 0 && start > 0) {
+            found = findFree(0, start + returnConsecutive - 1, returnConsecutive);
+        }
+        return found;
+    }
+
+    private int findFree(int from, int to, int returnConsecutive) {
+        to = (int) Math.min(to, numberOfCombinations);
+        int candidate = used.nextClearBit(from);
+        while (candidate + returnConsecutive <= to) {
+            int nextUsed = used.nextSetBit(candidate);
+            if (nextUsed < 0 || nextUsed >= candidate + returnConsecutive) {
+                return candidate;
+            }
+            candidate = used.nextClearBit(nextUsed);
+        }
+        return -1;
+    }
+
+    private List<String> take(int start, int returnConsecutive) {
+        List<String> resources = new ArrayList<>(returnConsecutive);
+        for (int i = start; i < start + returnConsecutive; i++) {
+            resources.add(definition.getResource(i));
+        }
+        used.set(start, start + returnConsecutive);
+        return resources;
+    }
+
+    private List<String> take(List<String> resources) {
+        usedResources.addAll(resources);
+        return resources;
+    }
+
+    /**
+     * Walks forward through the definition from a resource, looking for a run of
+     * free resources, without wrapping round past the last resource.
+     */
+    private List<String> probe(String resource, int returnConsecutive, long maxResources) {
+        List<String> resources = new ArrayList<>(returnConsecutive);
+        for (long checked = 0; checked < maxResources; checked++) {
+            if (usedResources.contains(resource)) {
+                resources.clear();
+            } else {
+                resources.add(resource);
+                if (resources.size() == returnConsecutive) {
+                    return resources;
+                }
+            }
+
+            try {
+                resource = definition.getNextResource();
+            } catch (InsufficientResourcesAvailableException e) {
+                break;
+            }
+        }
+        return new ArrayList<>();
+    }
+}
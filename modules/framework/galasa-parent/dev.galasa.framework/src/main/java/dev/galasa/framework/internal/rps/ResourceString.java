@@ -129,15 +129,64 @@ public class ResourceString {
      * This method calculates and returns the number of combinations that a resource
      * string definition could provide.
      * 
-     * @return - int, number of combinations.
+     * @return - long, number of combinations, or Long.MAX_VALUE if there are
+     *         more than a long can hold.
      */
-    public int getNumberOfCombinations() {
-        int combintations = 1;
+    public long getNumberOfCombinations() {
+        long combintations = 1;
         for (ICharacter c : string) {
             if (c instanceof CharacterVariable) {
-                combintations *= c.numberOfCombinations();
+                try {
+                    combintations = Math.multiplyExact(combintations, c.numberOfCombinations());
+                } catch (ArithmeticException e) {
+                    return Long.MAX_VALUE;
+                }
             }
         }
         return combintations;
     }
-}
\ No newline at end of file
+
+    /**
+     * This method returns the resource name at a position in the order of
+     * getNextResource, where the first resource is position 0.
+     * 
+     * @param index - long, from 0 to getNumberOfCombinations() - 1.
+     * @return - string, for the definition: APPLID{9}{9}{9} position 42 would be
+     *         APPLID042.
+     */
+    public String getResource(long index) {
+        char[] resource = new char[string.size()];
+        for (int i = string.size() - 1; i >= 0; i--) {
+            ICharacter character = string.get(i);
+            int combinations = character.numberOfCombinations();
+            resource[i] = character.charAt((int) (index % combinations));
+            index /= combinations;
+        }
+        return new String(resource);
+    }
+
+    /**
+     * This method returns the position of a resource name in the order of
+     * getNextResource.
+     * 
+     * @param resource - the resource name.
+     * @return - long, for the definition: APPLID{9}{9}{9} APPLID042 would be 42,
+     *         -1 if the resource is not in the range defined. Only meaningful if
+     *         getNumberOfCombinations() is less than Long.MAX_VALUE.
+     */
+    public long getIndex(String resource) {
+        if (resource.length() != string.size()) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < string.size(); i++) {
+            ICharacter character = string.get(i);
+            int position = character.indexOf(resource.charAt(i));
+            if (position < 0) {
+                return -1;
+            }
+            index = (index * character.numberOfCombinations()) + position;
+        }
+        return index;
+    }
+}
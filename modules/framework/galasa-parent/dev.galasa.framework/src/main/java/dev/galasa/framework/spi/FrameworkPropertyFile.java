@@ -12,17 +12,24 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Properties;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.TreeMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
@@ -47,15 +54,33 @@ import dev.galasa.framework.spi.IFrameworkPropertyFileWatcher.Event;
  * and the watchng of values inside the properties.
  * </p>
  * 
- *  
+ * <p>
+ * Reads are served from an immutable, sorted snapshot of the file, so they do not
+ * take any locks. Before each read the file is checked with a single stat, and the
+ * snapshot is only reloaded if the file has been changed by someone else.
+ * </p>
+ * 
+ * <p>
+ * Every change is a read-modify-write of the file while holding an exclusive
+ * FileChannel lock, so changes made by other processes are never lost. Within this
+ * JVM, changes to the same file are serialised by a lock for that file only, so
+ * different property files can be updated at the same time.
+ * </p>
  *
  */
 
 public class FrameworkPropertyFile implements FileAlterationListener {
-    private Properties             currentProperties = new Properties();
-    private HashMap<UUID, Watch>   watches           = new HashMap<>();
+
+    // One lock per property file, shared by every instance in this JVM which uses the file.
+    // A JVM cannot hold two overlapping FileChannel locks on the same file.
+    private static final ConcurrentHashMap<Path, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
+
+    private volatile Snapshot      snapshot          = Snapshot.EMPTY;
+    private Map<UUID, Watch>       watches           = new ConcurrentHashMap<>();
     private URI                    file;
     private File                   propertyFile;
+    private Path                   path;
+    private ReentrantLock          fileLock;
     private String                 parent;
     private FileAlterationObserver observer;
     private FileAlterationMonitor  monitor;
@@ -75,6 +100,8 @@ public class FrameworkPropertyFile implements FileAlterationListener {
     public FrameworkPropertyFile(URI file) throws FrameworkPropertyFileException {
         this.file = file;
         this.propertyFile = new File(file);
+        this.path = Paths.get(file).toAbsolutePath().normalize();
+        this.fileLock = fileLocks.computeIfAbsent(this.path, p -> new ReentrantLock());
         this.parent = propertyFile.getParent();
 
         load();
@@ -97,10 +124,8 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @param key
      * @return - corresponding value from the key, null if non-exsisting
      */
-    public synchronized String get(final String key) {
-        observer.checkAndNotify();
-        return currentProperties.getProperty(key);
-
+    public String get(final String key) {
+        return getLatestSnapshot().properties.get(key);
     }
 
     /**
@@ -113,14 +138,14 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      *                  store.
      * @return A map of any size or null. The key is a string which starts with the specified prefix.
      */
-    public synchronized Map<String, String> getPrefix(String keyPrefix) {
+    public Map<String, String> getPrefix(String keyPrefix) {
         Map<String, String> values = new HashMap<>();
-        observer.checkAndNotify();
-        for (Object k : currentProperties.keySet()) {
-            String key = (String) k;
-            if (key.startsWith(keyPrefix)) {
-                values.put(key, currentProperties.getProperty(key));
+        for (Map.Entry<String, String> entry : getLatestSnapshot().properties.tailMap(keyPrefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(keyPrefix)) {
+                // The keys are sorted, so no later key can have the prefix either
+                break;
             }
+            values.put(entry.getKey(), entry.getValue());
         }
         return values;
     }
@@ -133,13 +158,21 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * 
      * @return - List of namespaces
      */
-    public synchronized List<String> getNamespaces() {
+    public List<String> getNamespaces() {
         List<String> namespaces = new ArrayList<>();
-        observer.checkAndNotify();
-        for (Object k : currentProperties.keySet()) {
-            String name = ((String)k).substring(0,((String)k).indexOf("."));
-            if(!namespaces.contains(name)) {
-                namespaces.add(name);
+        NavigableMap<String, String> properties = getLatestSnapshot().properties;
+
+        String key = properties.isEmpty() ? null : properties.firstKey();
+        while (key != null) {
+            int indexOfFirstDot = key.indexOf(".");
+            if (indexOfFirstDot < 0) {
+                key = properties.higherKey(key);
+            } else {
+                String namespace = key.substring(0, indexOfFirstDot);
+                namespaces.add(namespace);
+
+                // Every key in this namespace sorts before namespace + "/", as '/' follows '.'
+                key = properties.ceilingKey(namespace + "/");
             }
         }
         return namespaces;
@@ -155,25 +188,12 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      *            properties.
      * @throws FrameworkPropertyFileException
      */
-    public synchronized void delete(String key) throws FrameworkPropertyFileException {
-        // Make the current properties as close to the values in the file as 
-        // we can. So when we write they are up-to-date.
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-
-        // There is a small window here when another JVM may write to the file,
-        // which will get lost when we over-write it.
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-                this.currentProperties.remove(key);
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-            } catch (IOException e) {
-                fpfLog.error("Unable to delete the key: " + key, e);
-                throw new FrameworkPropertyFileException("Unable to delete key: " + key, e);
-            }
+    public void delete(String key) throws FrameworkPropertyFileException {
+        try {
+            update(properties -> properties.remove(key) != null);
+        } catch (IOException e) {
+            fpfLog.error("Unable to delete the key: " + key, e);
+            throw new FrameworkPropertyFileException("Unable to delete key: " + key, e);
         }
     }
 
@@ -184,28 +204,12 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @param keys - a set of string keys to remove from properties
      * @throws FrameworkPropertyFileException
      */
-    public synchronized void delete(Set<String> keys) throws FrameworkPropertyFileException {
-        // Make the current properties as close to the values in the file as 
-        // we can. So when we write they are up-to-date.
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-        // There is a small window here when another JVM may write to the file,
-        // which will get lost when we over-write it.
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-
-                for (String key : keys) {
-                    this.currentProperties.remove(key);
-                }
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-            } catch (IOException e) {
-                fpfLog.error("Unable to delete keys", e);
-                throw new FrameworkPropertyFileException("Unable to delete keys.", e);
-            }
+    public void delete(Set<String> keys) throws FrameworkPropertyFileException {
+        try {
+            update(properties -> properties.keySet().removeAll(keys));
+        } catch (IOException e) {
+            fpfLog.error("Unable to delete keys", e);
+            throw new FrameworkPropertyFileException("Unable to delete keys.", e);
         }
     }
 
@@ -215,141 +219,88 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @param prefix - a prefix of keys to remove from properties
      * @throws FrameworkPropertyFileException
      */
-    public synchronized void deletePrefix(String prefix) throws FrameworkPropertyFileException {
-        Set<String> deleteKeys = new HashSet<>();
-
-        // refresh our cache of properties from the file contents.
-        // Note that we can't do this while holding a write lock as the check
-        // attempts to get a read lock which fails, as the write lock is held.
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-        // There is a small timing window here where another JVM will enter and write a
-        // new set of properties to the file. We have no lock protecting it, so are 
-        // likely to over-write the file with our property cache values...
-        // Meaning this code is not able to protect itself from other JVMs interfering, and 
-        // vice-versa.
-
-        synchronized (FrameworkPropertyFile.class) {
-            try {
-                // Block other JVMs from writing to the property file while we delete things.
-                try (FileChannel fileChannel = getWriteChannel(false)) {
-
-                    // Gather the list of keys to be deleted.
-                    for (Object k : currentProperties.keySet()) {
-                        String key = (String) k;
-                        if (key.startsWith(prefix)) {
-                            deleteKeys.add(key);
-                        }
-                    }
-
-                    // Make a note of the current property values, so we retain a before... and after...
-                    // set to be used later notifying any observers of property changes.
-                    Properties oldProperties = (Properties) this.currentProperties.clone();
-
-                    // Now delete the keys
-                    for (String key : deleteKeys) {
-                        this.currentProperties.remove(key);
-                    }
-
-                    write(fileChannel, this.currentProperties);
-                    fileModified(this.currentProperties, oldProperties);
-                }
-            } catch (IOException e) {
-                fpfLog.error("Failed to update file with DSS actions", e);
-                throw new FrameworkPropertyFileException("Unable to delete key prefix: " + prefix, e);
-            }
+    public void deletePrefix(String prefix) throws FrameworkPropertyFileException {
+        try {
+            update(properties -> removePrefix(properties, prefix));
+        } catch (IOException e) {
+            fpfLog.error("Failed to update file with DSS actions", e);
+            throw new FrameworkPropertyFileException("Unable to delete key prefix: " + prefix, e);
         }
     }
 
-    public synchronized void performActions(IDssAction... actions) throws DynamicStatusStoreException, DynamicStatusStoreMatchException {
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-
+    public void performActions(IDssAction... actions) throws DynamicStatusStoreException, DynamicStatusStoreMatchException {
+        try {
+            update(properties -> {
                 for(IDssAction action : actions) {
                     if (action instanceof DssAdd) {
-                        performActionsAdd((DssAdd) action);
+                        performActionsAdd(properties, (DssAdd) action);
                     } else if (action instanceof DssDelete) {
-                        performActionsDelete((DssDelete) action);
+                        performActionsDelete(properties, (DssDelete) action);
                     } else if (action instanceof DssDeletePrefix) {
-                        performActionsDeletePrefix((DssDeletePrefix) action);
+                        performActionsDeletePrefix(properties, (DssDeletePrefix) action);
                     } else if (action instanceof DssUpdate) {
-                        performActionsUpdate((DssUpdate) action);
+                        performActionsUpdate(properties, (DssUpdate) action);
                     } else if (action instanceof DssSwap) {
-                        performActionsSwap((DssSwap) action);
+                        performActionsSwap(properties, (DssSwap) action);
                     } else {
                         throw new DynamicStatusStoreException("Unrecognised DSS Action - " + action.getClass().getName());
                     }
                 }
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-            } catch (IOException e) {
-                fpfLog.error("Failed to update file with DSS actions", e);
-                throw new DynamicStatusStoreException("Failed to update file with DSS actions", e);
-            }
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Failed to update file with DSS actions", e);
+            throw new DynamicStatusStoreException("Failed to update file with DSS actions", e);
         }
     }
 
-    private void performActionsAdd(DssAdd dssAdd) throws DynamicStatusStoreMatchException {
+    private void performActionsAdd(NavigableMap<String, String> properties, DssAdd dssAdd) throws DynamicStatusStoreMatchException {
         String key = dssAdd.getKey();
         String value = dssAdd.getValue();
 
-        String currentValue = this.currentProperties.getProperty(key);
+        String currentValue = properties.get(key);
         if (currentValue != null) {
             throw new DynamicStatusStoreMatchException("Attempt to add new property '" + key + "' but it already exists");
         }
 
-        this.currentProperties.put(key, value);
+        properties.put(key, value);
     }
 
 
-    private void performActionsDelete(DssDelete dssDelete) throws DynamicStatusStoreMatchException {
+    private void performActionsDelete(NavigableMap<String, String> properties, DssDelete dssDelete) throws DynamicStatusStoreMatchException {
         String key = dssDelete.getKey();
         String oldValue = dssDelete.getOldValue();
 
         if (oldValue != null) {
-            String currentValue = this.currentProperties.getProperty(key);
+            String currentValue = properties.get(key);
             if (!oldValue.equals(currentValue)) {
                 throw new DynamicStatusStoreMatchException("Attempt to delete property '" + key + "', but current value '" + currentValue + "' does not match required value '" +oldValue + "'");
             }
         }
 
-        this.currentProperties.remove(key);
+        properties.remove(key);
     }
 
 
-    private void performActionsDeletePrefix(DssDeletePrefix dssDeletePrefix) {
-        ArrayList<String> toBeDeleted = new ArrayList<>();
-        for (Object k : this.currentProperties.keySet()) {
-            String key = (String) k;
-            if (key.startsWith(dssDeletePrefix.getPrefix())) {
-                toBeDeleted.add(key);
-            }
-        }
-        
-        for(String key : toBeDeleted) {
-            this.currentProperties.remove(key);
-        }
-        
+    private void performActionsDeletePrefix(NavigableMap<String, String> properties, DssDeletePrefix dssDeletePrefix) {
+        removePrefix(properties, dssDeletePrefix.getPrefix());
     }
 
 
-    private void performActionsUpdate(DssUpdate dssUpdate) {
+    private void performActionsUpdate(NavigableMap<String, String> properties, DssUpdate dssUpdate) {
         String key   = dssUpdate.getKey();
         String value = dssUpdate.getValue();
 
-        this.currentProperties.put(key, value);
+        properties.put(key, value);
     }
 
 
-    private void performActionsSwap(DssSwap dssSwap) throws DynamicStatusStoreMatchException {
+    private void performActionsSwap(NavigableMap<String, String> properties, DssSwap dssSwap) throws DynamicStatusStoreMatchException {
         String key      = dssSwap.getKey();
         String newValue = dssSwap.getNewValue();
         String oldValue = dssSwap.getOldValue();
         
-        String currentValue = this.currentProperties.getProperty(key);
+        String currentValue = properties.get(key);
 
         if (oldValue == null) {
             if (currentValue != null) {
@@ -361,7 +312,17 @@ public class FrameworkPropertyFile implements FileAlterationListener {
             }
         }
         
-        this.currentProperties.put(key, newValue);
+        properties.put(key, newValue);
+    }
+
+    private boolean removePrefix(NavigableMap<String, String> properties, String prefix) {
+        boolean isChanged = false;
+        NavigableMap<String, String> candidates = properties.tailMap(prefix, true);
+        while (!candidates.isEmpty() && candidates.firstKey().startsWith(prefix)) {
+            candidates.pollFirstEntry();
+            isChanged = true;
+        }
+        return isChanged;
     }
 
 
@@ -371,15 +332,21 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * stored in the java properties file defined by the URI.
      * </p>
      * 
+     * <p>
+     * The file channel is left open, so the caller keeps its lock until it closes the
+     * channel.
+     * </p>
+     * 
      * @param fileChannel   - a write file channel that has an exclusive lock.
      * @param newProperties - the most up to date properties in memory
      * @throws IOException
      */
-    public synchronized void write(FileChannel fileChannel, Properties newProperties) throws IOException {
+    public void write(FileChannel fileChannel, Properties newProperties) throws IOException {
         fileChannel.truncate(0);
+        fileChannel.position(0);
         OutputStream out = Channels.newOutputStream(fileChannel);
         newProperties.store(out, null);
-        out.close();
+        out.flush();
     }
 
     /**
@@ -393,54 +360,34 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @param value - String value
      * @throws FrameworkPropertyFileException
      */
-    public synchronized void set(String key, String value) throws FrameworkPropertyFileException {
-
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-
-                this.currentProperties.put(key, value);
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-            } catch (IOException e) {
-                fpfLog.error("Unable to set key value pair: " + key + ":" + value, e);
-                throw new FrameworkPropertyFileException("Failed Setting value: " + key + "=" + value, e);
-            }
+    public void set(String key, String value) throws FrameworkPropertyFileException {
+        try {
+            update(properties -> !value.equals(properties.put(key, value)));
+        } catch (IOException e) {
+            fpfLog.error("Unable to set key value pair: " + key + ":" + value, e);
+            throw new FrameworkPropertyFileException("Failed Setting value: " + key + "=" + value, e);
         }
     }
 
     /**
      * <p>
-     * This method is used for setting multiple k-v pairs into the file. This method
-     * is sycnronized on the class to ensure all values are set before any other
-     * work is completed
+     * This method is used for setting multiple k-v pairs into the file. All the
+     * values are written to the file in one go.
      * </p>
      * 
      * @param values - a String String map of k-v pairs.
      * @throws FrameworkPropertyFileException
      * @throws IOException
      */
-    public synchronized void set(Map<String, String> values) throws FrameworkPropertyFileException, IOException {
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-
-                this.currentProperties.putAll(values);
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-            } catch (IOException e) {
-                fpfLog.error("Unable to set values", e);
-                throw new FrameworkPropertyFileException("Unable to set values", e);
-            }
+    public void set(Map<String, String> values) throws FrameworkPropertyFileException, IOException {
+        try {
+            update(properties -> {
+                properties.putAll(values);
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to set values", e);
+            throw new FrameworkPropertyFileException("Unable to set values", e);
         }
     }
 
@@ -455,9 +402,8 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * <p>
      * The watcher service uses two methods of detecting changes to the file. A
      * polling service which montiors the file every 50ms for any changes. It also
-     * uses the checkAndNotify() methods provided from the observer set up on the
-     * class intialiastion, which is a manual check for file changes which notifies
-     * any watches.
+     * checks the file before every read, and notifies any watches of the changes it
+     * finds.
      * </p>
      * 
      * @param watcher - an interface for the watchers inplementation.
@@ -541,8 +487,8 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * </p>
      * 
      * <p>
-     * This method is sycnronized on the class to ensure all values are set before
-     * any other work is completed
+     * The check and the set are made while holding the lock on the file, so no other
+     * process can change the value in between.
      * </p>
      * 
      * <p>
@@ -556,35 +502,9 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @return returns a boolean which informs if the set took place.
      * @throws FrameworkPropertyFileException
      */
-    public synchronized boolean setAtomic(String key, String oldValue, String newValue)
+    public boolean setAtomic(String key, String oldValue, String newValue)
             throws FrameworkPropertyFileException {
-
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-                if (oldValue == null && oldProperties.get(key) == null) {
-                    this.currentProperties.put(key, newValue);
-                } else {
-                    if (oldValue == null) {
-                        return false;
-                    }
-                    if (!this.currentProperties.replace(key, oldValue, newValue)) {
-                        return false;
-                    }
-                }
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
-                return true;
-            } catch (IOException e) {
-                fpfLog.error("Failed to set Atomically", e);
-                throw new FrameworkPropertyFileException("Failed to set atomically", e);
-            }
-        }
+        return setAtomic(key, oldValue, newValue, Collections.emptyMap());
     }
 
     /**
@@ -595,8 +515,8 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * </p>
      * 
      * <p>
-     * This method is sycnronized on the class to ensure all values are set before
-     * any other work is completed
+     * The check and the sets are made while holding the lock on the file, so no other
+     * process can change the values in between.
      * </p>
      * 
      * <p>
@@ -611,37 +531,26 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @return - boolean for if the atomic set was done
      * @throws FrameworkPropertyFileException
      */
-    public synchronized boolean setAtomic(String key, String oldValue, String newValue, Map<String, String> otherValues)
+    public boolean setAtomic(String key, String oldValue, String newValue, Map<String, String> otherValues)
             throws FrameworkPropertyFileException {
-
-        if (observer!=null) {
-            observer.checkAndNotify();
-        }
-
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getWriteChannel(false)) {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-
-                if (oldValue == null && oldProperties.get(key) == null) {
-                    this.currentProperties.put(key, newValue);
-                } else {
-                    if (oldValue == null) {
-                        return false;
-                    }
-                    if (!this.currentProperties.replace(key, oldValue, newValue)) {
+        try {
+            return update(properties -> {
+                String currentValue = properties.get(key);
+                if (oldValue == null) {
+                    if (currentValue != null) {
                         return false;
                     }
+                } else if (!oldValue.equals(currentValue)) {
+                    return false;
                 }
 
-                this.currentProperties.putAll(otherValues);
-
-                write(fileChannel, this.currentProperties);
-                fileModified(this.currentProperties, oldProperties);
+                properties.put(key, newValue);
+                properties.putAll(otherValues);
                 return true;
-            } catch (IOException e) {
-                fpfLog.error("Failed to set Atomically", e);
-                throw new FrameworkPropertyFileException("Failed to set atomically", e);
-            }
+            });
+        } catch (IOException e) {
+            fpfLog.error("Failed to set Atomically", e);
+            throw new FrameworkPropertyFileException("Failed to set atomically", e);
         }
     }
 
@@ -653,7 +562,7 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @throws FrameworkPropertyFileException
      */
     public synchronized void destroy() throws FrameworkPropertyFileException {
-        currentProperties = null;
+        snapshot = Snapshot.EMPTY;
         observer = null;
         try {
             if (monitor != null) {
@@ -675,14 +584,18 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @param newProperties - loaded from file
      * @param oldProperties - in memory currently
      */
-    private synchronized void fileModified(Properties newProperties, Properties oldProperties) {
+    private void fileModified(Map<String, String> newProperties, Map<String, String> oldProperties) {
+        if (this.watches.isEmpty()) {
+            return;
+        }
+
         // Checks a list of Strings that are keys to watch. Compares file to loaded.
         for (Watch watch : this.watches.values()) {
-            for (Object oNewKey : newProperties.keySet()) {
-                String newKey = (String) oNewKey;
-                String newValue = newProperties.getProperty(newKey);
+            for (Map.Entry<String, String> newEntry : newProperties.entrySet()) {
+                String newKey = newEntry.getKey();
+                String newValue = newEntry.getValue();
                 if (watch.matchKey(newKey)) {
-                    String oldValue = oldProperties.getProperty(newKey);
+                    String oldValue = oldProperties.get(newKey);
                     if (oldValue == null) {
                         watch.watcher.propertyModified(newKey, Event.NEW, oldValue, newValue);
                     } else if (!oldValue.equals(newValue)) {
@@ -692,12 +605,12 @@ public class FrameworkPropertyFile implements FileAlterationListener {
             }
 
             // Check for deleted properties
-            for (Object oOldKey : oldProperties.keySet()) {
-                String oldKey = (String) oOldKey;
-                String oldValue = oldProperties.getProperty(oldKey);
+            for (Map.Entry<String, String> oldEntry : oldProperties.entrySet()) {
+                String oldKey = oldEntry.getKey();
+                String oldValue = oldEntry.getValue();
 
                 if (watch.matchKey(oldKey)) {
-                    String newValue = newProperties.getProperty(oldKey);
+                    String newValue = newProperties.get(oldKey);
                     if (newValue == null) {
                         watch.watcher.propertyModified(oldKey, Event.DELETE, oldValue, newValue);
                     }
@@ -706,6 +619,108 @@ public class FrameworkPropertyFile implements FileAlterationListener {
         }
     }
 
+    /**
+     * <p>
+     * This method changes the properties in the file. The file is locked, re-read if
+     * anyone else has changed it since our snapshot was taken, changed, and written
+     * back before the lock is released.
+     * </p>
+     * 
+     * @param change - makes the changes to a copy of the properties, returning false
+     *               if nothing needs to be written
+     * @return - the value returned by the change
+     * @throws IOException
+     */
+    private <E extends Exception> boolean update(PropertiesChange<E> change) throws IOException, E {
+        fileLock.lock();
+        try (FileChannel fileChannel = getWriteChannel(false)) {
+            Snapshot oldSnapshot = this.snapshot;
+            FileStamp stamp = readFileStamp();
+            if (!stamp.equals(oldSnapshot.stamp)) {
+                oldSnapshot = new Snapshot(read(fileChannel), stamp);
+                publish(oldSnapshot);
+            }
+
+            TreeMap<String, String> newProperties = new TreeMap<>(oldSnapshot.properties);
+            if (!change.apply(newProperties)) {
+                return false;
+            }
+
+            Properties propertiesToWrite = new Properties();
+            propertiesToWrite.putAll(newProperties);
+            write(fileChannel, propertiesToWrite);
+
+            publish(new Snapshot(newProperties, readFileStamp()));
+            return true;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * This method returns the latest properties, reloading them first if the file has
+     * been changed since the current snapshot was taken.
+     * </p>
+     * 
+     * @return - the latest snapshot of the properties
+     */
+    private Snapshot getLatestSnapshot() {
+        Snapshot currentSnapshot = this.snapshot;
+        try {
+            if (!readFileStamp().equals(currentSnapshot.stamp)) {
+                reloadIfChanged();
+                currentSnapshot = this.snapshot;
+            }
+        } catch (IOException | FrameworkPropertyFileException e) {
+            // The file may have gone, so carry on with what we have
+            fpfLog.debug("Unable to check the property file for changes: " + propertyFile, e);
+        }
+        return currentSnapshot;
+    }
+
+    private void reloadIfChanged() throws IOException, FrameworkPropertyFileException {
+        fileLock.lock();
+        try {
+            // Another thread may have reloaded the file while we were waiting for the lock
+            if (!readFileStamp().equals(this.snapshot.stamp)) {
+                load();
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Makes a new snapshot the current one, and tells the watchers about any
+     * differences between it and the old one.
+     * </p>
+     */
+    private void publish(Snapshot newSnapshot) {
+        Snapshot oldSnapshot = this.snapshot;
+        this.snapshot = newSnapshot;
+        fileModified(newSnapshot.properties, oldSnapshot.properties);
+    }
+
+    private FileStamp readFileStamp() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+    }
+
+    private NavigableMap<String, String> read(FileChannel fileChannel) throws IOException {
+        Properties fileProperties = new Properties();
+        fileChannel.position(0);
+        InputStream in = Channels.newInputStream(fileChannel);
+        fileProperties.load(in);
+
+        TreeMap<String, String> properties = new TreeMap<>();
+        for (String key : fileProperties.stringPropertyNames()) {
+            properties.put(key, fileProperties.getProperty(key));
+        }
+        return properties;
+    }
+
     /**
      * <p>
      * This method is used for returning a file channel that can be used for reading
@@ -716,8 +731,7 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * @return - a read file channel
      * @throws IOException
      */
-    private synchronized FileChannel getReadChannel(boolean shared) throws IOException {
-        Path path = Paths.get(file);
+    private FileChannel getReadChannel(boolean shared) throws IOException {
         FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
         try {
             fileChannel.lock(0, Long.MAX_VALUE, shared);
@@ -730,17 +744,16 @@ public class FrameworkPropertyFile implements FileAlterationListener {
 
     /**
      * <p>
-     * This method is used to return a file channel that can be used for writing to
-     * the properties file. It is expected to be an exlusive lock
+     * This method is used to return a file channel that can be used for reading and
+     * writing the properties file. It is expected to be an exlusive lock
      * </p>
      * 
      * @param shared - expected to be false for a write to the file
-     * @return - a write file channel
+     * @return - a read and write file channel
      * @throws IOException
      */
-    private synchronized FileChannel getWriteChannel(boolean shared) throws IOException {
-        Path path = Paths.get(file);
-        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.WRITE);
+    private FileChannel getWriteChannel(boolean shared) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
         try {
             fileChannel.lock(0, Long.MAX_VALUE, shared);
             return fileChannel;
@@ -756,28 +769,24 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * in a memory loaded properties
      * </p>
      * 
-     * *
      * <p>
-     * This method is sycnronized on the class to ensure all values are set before
-     * any other work is completed
+     * Any watches are told about the differences between the old and new properties.
      * </p>
      * 
      * @throws FrameworkPropertyFileException
      */
-    public synchronized void load() throws FrameworkPropertyFileException {
-        Properties newProperties = new Properties();
-        synchronized (FrameworkPropertyFile.class) {
-            try (FileChannel fileChannel = getReadChannel(true)) {
-                InputStream in = Channels.newInputStream(fileChannel);
-                newProperties.load(in);
-                in.close();
-            } catch (IOException e) {
-                fpfLog.error("Unable to Load Property from file", e);
-                throw new FrameworkPropertyFileException(
-                        "Unable to Load Property from file: " + propertyFile.toString(), e);
-            }
+    public void load() throws FrameworkPropertyFileException {
+        fileLock.lock();
+        try (FileChannel fileChannel = getReadChannel(true)) {
+            FileStamp stamp = readFileStamp();
+            publish(new Snapshot(read(fileChannel), stamp));
+        } catch (IOException e) {
+            fpfLog.error("Unable to Load Property from file", e);
+            throw new FrameworkPropertyFileException(
+                    "Unable to Load Property from file: " + propertyFile.toString(), e);
+        } finally {
+            fileLock.unlock();
         }
-        this.currentProperties = newProperties;
     }
 
     /**
@@ -809,15 +818,11 @@ public class FrameworkPropertyFile implements FileAlterationListener {
      * exception is logged
      * </p>
      */
-    public synchronized void onFileChange(File file) {
-        synchronized (FrameworkPropertyFile.class) {
-            try {
-                Properties oldProperties = (Properties) this.currentProperties.clone();
-                load();
-                fileModified(this.currentProperties, oldProperties);
-            } catch (FrameworkPropertyFileException e) {
-                fpfLog.error("Error encounted loading file changes", e);
-            }
+    public void onFileChange(File file) {
+        try {
+            reloadIfChanged();
+        } catch (IOException | FrameworkPropertyFileException e) {
+            fpfLog.error("Error encounted loading file changes", e);
         }
     }
 
@@ -915,6 +920,64 @@ public class FrameworkPropertyFile implements FileAlterationListener {
         }
     }
 
+    /**
+     * <p>
+     * An immutable copy of the properties, and the state of the file they were read from
+     * </p>
+     */
+    private static class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new TreeMap<>(), null);
+
+        private final NavigableMap<String, String> properties;
+        private final FileStamp                    stamp;
+
+        private Snapshot(NavigableMap<String, String> properties, FileStamp stamp) {
+            this.properties = Collections.unmodifiableNavigableMap(properties);
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * <p>
+     * The modified time and size of the property file, which change whenever the file
+     * is written.
+     * </p>
+     */
+    private static class FileStamp {
+
+        private final FileTime lastModified;
+        private final long     size;
+
+        private FileStamp(FileTime lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp otherStamp = (FileStamp) other;
+            return this.size == otherStamp.size && this.lastModified.equals(otherStamp.lastModified);
+        }
+
+        @Override
+        public int hashCode() {
+            return lastModified.hashCode() * 31 + Long.hashCode(size);
+        }
+    }
+
+    /**
+     * <p>
+     * A change to be made to a copy of the properties while the file is locked
+     * </p>
+     */
+    private interface PropertiesChange<E extends Exception> {
+        boolean apply(NavigableMap<String, String> properties) throws E;
+    }
+
     public synchronized void shutdown() throws FrameworkPropertyFileException {
         if (this.monitor != null) {
             try {
@@ -15,6 +15,7 @@ import java.util.UUID;
 
 import javax.validation.constraints.NotNull;
 
+import dev.galasa.framework.internal.rps.ResourceBitmap;
 import dev.galasa.framework.internal.rps.ResourceString;
 
 /**
@@ -247,7 +248,9 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
     }
 
     /**
-     * This method generates the resources from the given restrictions. On the first
+     * This method generates the resources from the given restrictions. The
+     * resources in use are read from the DSS in one go, and together with the
+     * rejected resources are marked in a bitmap for each definition. On the first
      * pass random generation is attempted to make sure load is equally spread
      * across resources. If random generation fails, sequential generation of
      * resources is then attempted. The InsufficentResourceException is thrown if
@@ -272,149 +275,101 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
     private List<String> generateResources(List<ResourceString> resourceDefinitions, List<String> rejectedResources,
             int numberOfResources, IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
             throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
-        List<String> generatedResources = new ArrayList<>();
-        List<String> bannedResources = new ArrayList<>();
-
-        if (rejectedResources == null) {
-            rejectedResources = new ArrayList<>();
+        Map<String, String> inUse = dss.getPrefix(keyPrefix);
+        List<String> usedResources = new ArrayList<>(inUse.size() + ((rejectedResources == null) ? 0 : rejectedResources.size()));
+        if (rejectedResources != null) {
+            usedResources.addAll(rejectedResources);
+        }
+        for (String key : inUse.keySet()) {
+            if (key.startsWith(keyPrefix)) {
+                usedResources.add(key.substring(keyPrefix.length()));
+            }
         }
 
-        bannedResources.addAll(rejectedResources);
-
-        try {
-            for (int i = 0; i < numberOfResources; i += returnConsecutive) {
-                ResourceString randomDefinition = resourceDefinitions.get(random.nextInt(resourceDefinitions.size()));
+        List<String> generatedResources = new ArrayList<>();
+        List<ResourceBitmap> bitmaps = createResourceBitmaps(resourceDefinitions, usedResources);
+        for (int i = 0; i < numberOfResources; i += returnConsecutive) {
+            ResourceBitmap randomDefinition = bitmaps.get(random.nextInt(bitmaps.size()));
 
-                List<String> newResources = generateRandomResources(randomDefinition, bannedResources, dss, keyPrefix,
-                        returnConsecutive);
-                generatedResources.addAll(newResources);
-                bannedResources.addAll(newResources);
+            List<String> newResources = generateRandomResources(randomDefinition, returnConsecutive);
+            if (newResources.isEmpty()) {
+                break;
             }
+            generatedResources.addAll(newResources);
+        }
+        if (generatedResources.size() >= numberOfResources) {
             return generatedResources;
-        } catch (InsufficientResourcesAvailableException | DynamicStatusStoreException e) {
-            bannedResources.clear();
-            bannedResources.addAll(rejectedResources);
-            generatedResources.clear();
         }
 
-        try {
-            for (ResourceString definition : resourceDefinitions) {
-                for (int i = 0; i < numberOfResources; i += returnConsecutive) {
-                    if (generatedResources.size() == numberOfResources) {
-                        break;
-                    } else {
-                        List<String> newResources = generateSequentialResources(definition, bannedResources, dss,
-                                keyPrefix, returnConsecutive);
-                        generatedResources.addAll(newResources);
-                        bannedResources.addAll(newResources);
-                    }
-                }
-                if (generatedResources.size() == numberOfResources) {
-                    break;
-                }
+        generatedResources.clear();
+        bitmaps = createResourceBitmaps(resourceDefinitions, usedResources);
+        for (int i = 0; i < numberOfResources; i += returnConsecutive) {
+            List<String> newResources = generateSequentialResources(bitmaps, returnConsecutive);
+            if (newResources.isEmpty()) {
+                throw new InsufficientResourcesAvailableException("There is not enough resource available");
             }
-            if (generatedResources.size() != numberOfResources) {
-                throw new InsufficientResourcesAvailableException("There is not enough available resource.");
-            }
-            return generatedResources;
-        } catch (InsufficientResourcesAvailableException | DynamicStatusStoreException e) {
-            throw new InsufficientResourcesAvailableException("There is not enough resource available", e);
+            generatedResources.addAll(newResources);
         }
+        return generatedResources;
     }
 
     /**
-     * This method is used for the random generation of the resources.
+     * This method creates a bitmap for each resource definition, marking the
+     * resources that are rejected or are found in the DSS as used.
      * 
-     * @param definition            -the resource string passed that define the
-     *                              available resources to generate.
-     * @param bannedReosurceStrings - the resources that are not allowed to be added
-     *                              to the return list
-     * @param dss                   - the dynamic status store to check against.
-     * @param keyPrefix             - the prefix for the resource if it was to be
-     *                              found in the DSS.
-     * @param returnConsecutive     - the "chunk" size to generate consecutive
-     *                              resources too.
-     * @return - return list of generated resources that are randomly distributed.
-     * @throws DynamicStatusStoreException
-     * @throws InsufficientResourcesAvailableException
+     * @param resourceDefinitions - the resource strings passed that define the
+     *                            availabble resources to generate.
+     * @param usedResources       - the resource strings which are rejected or in
+     *                            use.
+     * @return - a bitmap for each definition, in the same order.
      */
-    private List<String> generateRandomResources(ResourceString definition, List<String> bannedReosurceStrings,
-            IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
-            throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
-        String randomResource = definition.getRandomResource();
-        List<String> resources = new ArrayList<>();
-        int attempts = 0;
-
-        while (resources.size() < returnConsecutive) {
-            if (!(bannedReosurceStrings.contains(randomResource)) && ((dss.get(keyPrefix + randomResource)) == null)) {
-                resources.add(randomResource);
-            } else {
-                resources.clear();
-                attempts++;
-                if (attempts / definition.getNumberOfCombinations() > 0.4) {
-                    throw new InsufficientResourcesAvailableException(
-                            "Random generation is hitting too many banned resoruces");
-                }
+    private List<ResourceBitmap> createResourceBitmaps(List<ResourceString> resourceDefinitions,
+            List<String> usedResources) {
+        List<ResourceBitmap> bitmaps = new ArrayList<>();
+        for (ResourceString definition : resourceDefinitions) {
+            ResourceBitmap bitmap = new ResourceBitmap(definition);
+            for (String resource : usedResources) {
+                bitmap.markUsed(resource);
             }
-            if (resources.size() < returnConsecutive) {
-                try {
-                    randomResource = definition.getNextResource();
-                } catch (InsufficientResourcesAvailableException e) {
-                    resources.clear();
-                    randomResource = definition.getNextResource();
-                }
-            }
-
+            bitmaps.add(bitmap);
         }
-        return resources;
+        return bitmaps;
+    }
+
+    /**
+     * This method is used for the random generation of the resources.
+     * 
+     * @param definition        - the bitmap of the resource string that defines
+     *                          the available resources to generate.
+     * @param returnConsecutive - the "chunk" size to generate consecutive
+     *                          resources too.
+     * @return - return list of generated resources that are randomly distributed,
+     *         empty if there is no room left in the definition.
+     */
+    private List<String> generateRandomResources(ResourceBitmap definition, int returnConsecutive) {
+        return definition.takeRandom(random, returnConsecutive);
     }
 
     /**
      * This method is used for sequential generation of resources if the random
-     * generation fails. This should only trigger is the attempted number of random
-     * generation number is 40% of the available reosurces.
+     * generation fails. The first chunk free in the definitions, in the order they
+     * were given, is used.
      * 
-     * @param definition            -the resource string passed that define the
-     *                              available resources to generate.
-     * @param bannedReosurceStrings - the resources that are not allowed to be added
-     *                              to the return list
-     * @param dss                   - the dynamic status store to check against.
-     * @param keyPrefix             - the prefix for the resource if it was to be
-     *                              found in the DSS.
-     * @param returnConsecutive     - the "chunk" size to generate consecutive
-     *                              resources too.
+     * @param definitions       - the bitmaps of the resource strings that define
+     *                          the available resources to generate.
+     * @param returnConsecutive - the "chunk" size to generate consecutive
+     *                          resources too.
      * @return - return list of generated resources that are sequentially
-     *         distributed.
-     * @throws DynamicStatusStoreException
+     *         distributed, empty if there is no room in any definition.
      */
-    private List<String> generateSequentialResources(ResourceString definition, List<String> bannedReosurceStrings,
-            IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
-            throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
-        String resource = definition.getFirstResource();
-        List<String> resources = new ArrayList<>();
-        int attempt = 0;
-
-        while (resources.size() < returnConsecutive) {
-            if (!(bannedReosurceStrings.contains(resource)) && ((dss.get(keyPrefix + resource)) == null)) {
-                resources.add(resource);
-            } else {
-                resources.clear();
-                attempt++;
-                if (attempt > definition.getNumberOfCombinations()) {
-                    return new ArrayList<>();
-                }
-            }
-            if (resources.size() < returnConsecutive) {
-                try {
-                    resource = definition.getNextResource();
-                } catch (InsufficientResourcesAvailableException e) {
-                    resources.clear();
-                    resource = definition.getNextResource();
-                    attempt++;
-                }
+    private List<String> generateSequentialResources(List<ResourceBitmap> definitions, int returnConsecutive) {
+        for (ResourceBitmap definition : definitions) {
+            List<String> resources = definition.takeFirst(returnConsecutive);
+            if (!resources.isEmpty()) {
+                return resources;
             }
         }
-        return resources;
+        return new ArrayList<>();
     }
 
     /**
@@ -437,6 +392,13 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
             return null;
         }
 
+        /**
+         * Commenting as unused, but required from IDynamicStatusStore implementation.
+         */
+        public IDynamicSlotPool getDynamicSlotPool(String poolKey, String legacyCounterKey) {
+            return null;
+        }
+
         /**
          * Commenting as unused, but required from IDynamicStatusStore implementation.
          */
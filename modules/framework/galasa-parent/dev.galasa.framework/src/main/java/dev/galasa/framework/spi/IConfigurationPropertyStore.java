@@ -5,6 +5,7 @@
  */
 package dev.galasa.framework.spi;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +37,32 @@ public interface IConfigurationPropertyStore {
      */
     @Null
     String getProperty(@NotNull String key) throws ConfigurationPropertyStoreException;
+
+    /**
+     * Retrieve several properties from the underlying configuration property store
+     * at once.
+     * 
+     * The framework uses this to look up all the candidate keys of a hierarchical
+     * property together. The default implementation gets each key in turn, stores
+     * which can fetch several keys in a single request should override it.
+     * 
+     * @param keys - The keys of the properties to retrieve
+     * @return - A map of the keys that were found to their values. Keys that do
+     *         not exist are not included.
+     * @throws ConfigurationPropertyStoreException - If there is a problem accessing
+     *                                             the underlying store
+     */
+    @NotNull
+    default Map<String, String> getProperties(@NotNull List<String> keys) throws ConfigurationPropertyStoreException {
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            String value = getProperty(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
     
     /**
      * Retrieve prefixed properties from the underlying configuration property store.
@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+/**
+ * <p>
+ * A pool of slots in the Dynamic Status Store, used by a manager to limit how many
+ * runs can use a resource at the same time, for example the number of runs on a
+ * zOS image or Docker engine.
+ * </p>
+ *
+ * <p>
+ * Each slot is a DSS property of its own, holding the name of the run using it, so
+ * runs acquiring slots at the same time only collide if they pick the same slot,
+ * rather than all updating a single count. The number of slots in use is the number
+ * of slot properties.
+ * </p>
+ *
+ * <p>
+ * The manager's own properties for the slot can be set or deleted in the same
+ * DSS transaction as the slot is acquired or released, by passing the DSS actions
+ * for them.
+ * </p>
+ */
+public interface IDynamicSlotPool {
+
+    /**
+     * Acquire a slot for the run, retrying with a backoff if another run takes the
+     * same slot at the same time
+     *
+     * @param runName      - The run the slot is for
+     * @param maxSlots     - The number of slots in the pool
+     * @param otherActions - DSS actions to perform in the same transaction as the slot is acquired
+     * @return The name of the slot, or null if there are no free slots
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    @Null
+    String acquireSlot(@NotNull String runName, int maxSlots, IDssAction... otherActions)
+            throws DynamicStatusStoreException;
+
+    /**
+     * Acquire several slots for the run in one DSS transaction, either all of them or none
+     *
+     * @param runName      - The run the slots are for
+     * @param count        - The number of slots needed
+     * @param maxSlots     - The number of slots in the pool
+     * @param otherActions - DSS actions to perform in the same transaction as the slots are acquired
+     * @return The names of the slots, or an empty list if there are not enough free slots
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    @NotNull
+    List<String> acquireSlots(@NotNull String runName, int count, int maxSlots, IDssAction... otherActions)
+            throws DynamicStatusStoreException;
+
+    /**
+     * Release a slot held by the run
+     *
+     * @param slot         - The name of the slot
+     * @param runName      - The run holding the slot
+     * @param otherActions - DSS actions to perform in the same transaction as the slot is released
+     * @return true if the slot was released, false if it is not held by the run
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    boolean releaseSlot(@NotNull String slot, @NotNull String runName, IDssAction... otherActions)
+            throws DynamicStatusStoreException;
+
+    /**
+     * Release several slots held by the run in one DSS transaction
+     *
+     * @param slots        - The names of the slots
+     * @param runName      - The run holding the slots
+     * @param otherActions - DSS actions to perform in the same transaction as the slots are released
+     * @return true if the slots were released, false if any of them is not held by the run
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    boolean releaseSlots(@NotNull List<String> slots, @NotNull String runName, IDssAction... otherActions)
+            throws DynamicStatusStoreException;
+
+    /**
+     * Release all the slots held by a run, for use by resource management once the run has gone
+     *
+     * @param runName - The run holding the slots
+     * @return The number of slots released
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    int releaseRunSlots(@NotNull String runName) throws DynamicStatusStoreException;
+
+    /**
+     * Release one slot held by a run which has gone, for use by resource management
+     * when it finds one of the manager's own properties for a slot left behind.  If
+     * the run holds no slot in the pool it was started by an older manager, and the
+     * legacy counter the pool was created with is decremented instead.
+     *
+     * @param runName - The run holding the slot
+     * @return true if a slot was released
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    boolean releaseStaleSlot(@NotNull String runName) throws DynamicStatusStoreException;
+
+    /**
+     * @return The number of slots in use, including those in the legacy counter
+     * @throws DynamicStatusStoreException if there is a problem accessing the DSS
+     */
+    int getUsedSlots() throws DynamicStatusStoreException;
+}
@@ -183,6 +183,32 @@ public interface IDynamicStatusStoreKeyAccess {
      */
     UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException;
 
+    /**
+     * <p>
+     * Reads all the values with a key prefix and watches the prefix for the
+     * changes made after that read, so a caller keeping its own copy of the
+     * values does not miss a change made between the read and the watch starting.
+     * </p>
+     *
+     * <p>
+     * The default implementation starts the watch before reading, so the watcher
+     * may also be told about changes the read already includes. Stores which can
+     * read at a known revision should start the watch just after it instead.
+     * </p>
+     *
+     * @param watcher    - an interface for the watchers inplementation.
+     * @param keyPrefix  - the string prefix to a key set to read and watch
+     * @param properties - a map which is filled with the values read, keyed as
+     *                   getPrefix returns them
+     * @return - returns a UUID which is used to identify a watcher service.
+     * @throws DynamicStatusStoreException
+     */
+    default UUID getPrefixAndWatch(IDynamicStatusStoreWatcher watcher, String keyPrefix, Map<String, String> properties) throws DynamicStatusStoreException {
+        UUID watchId = watchPrefix(watcher, keyPrefix);
+        properties.putAll(getPrefix(keyPrefix));
+        return watchId;
+    }
+
     /**
      * <p>
      * This method is used to stop any watcher service with a given UUID. It removes
@@ -77,4 +77,42 @@ public interface IDynamicStatusStoreService extends IDynamicStatusStoreKeyAccess
      */
     IDynamicRun getDynamicRun() throws DynamicStatusStoreException;
 
+    /**
+     * <p>
+     * Retrieve a pool of slots in this namespace, used to limit how many runs can
+     * use a resource at the same time.
+     * </p>
+     * 
+     * <p>
+     * The slots are held in the properties poolKey.pool.n, so for example the pool
+     * of slots on zOS image MV2A in the zos namespace could have a key of
+     * 'image.MV2A', giving properties 'dss.zos.image.MV2A.pool.0' and so on.
+     * </p>
+     * 
+     * @param poolKey - The key to prefix the slot properties with
+     * @return The slot pool
+     */
+    default IDynamicSlotPool getDynamicSlotPool(String poolKey) {
+        return getDynamicSlotPool(poolKey, null);
+    }
+
+    /**
+     * <p>
+     * Retrieve a pool of slots in this namespace, which also counts the slots in
+     * a counter property maintained by older versions of the manager.
+     * </p>
+     * 
+     * <p>
+     * Runs started by an older manager only count their slots in the legacy
+     * counter, so the pool treats its value as slots in use until it drops back
+     * to 0, and the maximum is never exceeded whilst old and new runs share the
+     * resource.
+     * </p>
+     * 
+     * @param poolKey          - The key to prefix the slot properties with
+     * @param legacyCounterKey - The key of the counter the older manager kept, or null if there is none
+     * @return The slot pool
+     */
+    IDynamicSlotPool getDynamicSlotPool(String poolKey, String legacyCounterKey);
+
 }
@@ -5,6 +5,8 @@
  */
 package dev.galasa.framework.spi;
 
+import java.util.List;
+
 public interface IDynamicStatusStoreWatcher {
 
     public enum Event {
@@ -15,4 +17,58 @@ public interface IDynamicStatusStoreWatcher {
 
     void propertyModified(String key, Event event, String oldValue, String newValue);
 
+    /**
+     * Called with the changes the store made together, such as the properties
+     * written by one transaction, so that a watcher can apply them as one.
+     * Stores which can not tell which changes were made together report each
+     * change on its own. By default each change is passed to propertyModified.
+     *
+     * @param changes the changes, in the order the store made them
+     */
+    default void propertiesModified(List<PropertyChange> changes) {
+        for (PropertyChange change : changes) {
+            propertyModified(change.getKey(), change.getEvent(), change.getOldValue(), change.getNewValue());
+        }
+    }
+
+    /**
+     * Called when the store can no longer guarantee that changes are being
+     * reported, for example because the underlying watch stream has failed.
+     * Watchers that cache what they have seen should reload from the store.
+     *
+     * @param cause the reason the watch failed, may be null
+     */
+    default void watchFailed(Throwable cause) {}
+
+    public class PropertyChange {
+
+        private final String key;
+        private final Event  event;
+        private final String oldValue;
+        private final String newValue;
+
+        public PropertyChange(String key, Event event, String oldValue, String newValue) {
+            this.key = key;
+            this.event = event;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        public String getNewValue() {
+            return newValue;
+        }
+    }
+
 }
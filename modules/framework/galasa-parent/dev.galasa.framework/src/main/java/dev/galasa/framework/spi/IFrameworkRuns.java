@@ -45,4 +45,17 @@ public interface IFrameworkRuns {
 
     boolean reset(String runname) throws DynamicStatusStoreException;
 
+    /**
+     * Get the shared in-process index of runs. The first call loads the index
+     * from the DSS and starts watching for changes. From then on, the run list
+     * methods of this interface are also answered from the index.
+     * 
+     * Intended for long-running services which poll the runs regularly.
+     * 
+     * @return the run index
+     * @throws FrameworkException if the index could not be loaded
+     */
+    @NotNull
+    IRunIndex getRunIndex() throws FrameworkException;
+
 }
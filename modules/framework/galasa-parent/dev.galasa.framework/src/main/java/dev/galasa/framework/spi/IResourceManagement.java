@@ -7,9 +7,31 @@ package dev.galasa.framework.spi;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import javax.validation.constraints.NotNull;
+
 public interface IResourceManagement {
 
     ScheduledExecutorService getScheduledExecutorService();
 
     void resourceManagementRunSuccessful();
+
+    /**
+     * Get the snapshot of the DSS namespace for the current sweep, taking a new
+     * snapshot if the last one is too old.
+     *
+     * @param namespace the DSS namespace of the manager
+     * @return the snapshot, which is shared with the other monitors of the namespace
+     * @throws FrameworkException if the snapshot could not be taken
+     */
+    @NotNull
+    IResourceManagementSnapshot getSnapshot(@NotNull String namespace) throws FrameworkException;
+
+    /**
+     * When more than one resource manager is running, the runs and resources are
+     * shared out between them, so only one of them cleans up each run or resource.
+     *
+     * @param name the name of a run, or of a resource not belonging to a run
+     * @return true if this resource manager is the one to clean up the run or resource
+     */
+    boolean isResponsibleFor(@NotNull String name);
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * An unchanging view of the DSS properties of a namespace and of the active runs,
+ * taken once per resource management sweep and shared by all the monitors of the
+ * namespace.
+ *
+ * The properties are read before the active runs, so a property belonging to a run
+ * which is not in the active run names was left behind by a run that has gone.
+ * Monitors should work out what needs discarding from the snapshot, and only go
+ * back to the DSS for the properties they change.
+ */
+public interface IResourceManagementSnapshot {
+
+    /**
+     * @return the version of the snapshot, which goes up each time a snapshot is taken
+     */
+    long getVersion();
+
+    /**
+     * @param keyPrefix the prefix of the keys, relative to the namespace
+     * @return the properties with keys starting with the prefix, as
+     *         {@link IDynamicStatusStoreService#getPrefix(String)} would return them
+     */
+    @NotNull
+    Map<String, String> getPrefix(@NotNull String keyPrefix);
+
+    @NotNull
+    Set<String> getActiveRunNames();
+}
@@ -9,8 +9,10 @@ import java.util.List;
 
 import javax.validation.constraints.NotNull;
 
+import dev.galasa.framework.spi.ras.IRasRunResultConsumer;
 import dev.galasa.framework.spi.ras.IRasSearchCriteria;
 import dev.galasa.framework.spi.ras.RasRunResultPage;
+import dev.galasa.framework.spi.ras.RasRunSorter;
 import dev.galasa.framework.spi.ras.RasSortField;
 import dev.galasa.framework.spi.ras.RasTestClass;
 
@@ -28,10 +30,61 @@ public interface IResultArchiveStoreDirectoryService {
     
     @NotNull
     List<IRunResult> getRuns(@NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException;
-    
+
+    /**
+     * Passes each run which matches the search criteria to the consumer in turn.
+     *
+     * Directory services which can read their runs incrementally should override
+     * this, so that large searches do not need all of the runs in memory at once.
+     *
+     * @param consumer the consumer to pass each matching run to
+     * @param searchCriteria the criteria to match, or none to visit every run
+     * @throws ResultArchiveStoreException if there are errors accessing the RAS, or the consumer fails
+     */
+    default void forEachRun(@NotNull IRasRunResultConsumer consumer, @NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+        for (IRunResult run : getRuns(searchCriteria)) {
+            consumer.accept(run);
+        }
+    }
+
     @NotNull
     RasRunResultPage getRunsPage(int maxResults, RasSortField primarySort, String pageCursor, @NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException;
 
+    /**
+     * Gets the first runs which match the search criteria, in the order given by a
+     * test structure field, as described by {@link RasRunSorter}.
+     *
+     * Directory services which can sort and limit their runs more cheaply, for example
+     * by querying an index, should override this.
+     *
+     * @param maxResults the most runs to return, or 0 to return every matching run
+     * @param sortField the test structure field and direction to sort by
+     * @param searchCriteria the criteria to match, or none to consider every run
+     * @return the matching runs, in sort order
+     * @throws ResultArchiveStoreException if there are errors accessing the RAS, or the runs cannot be sorted by the field
+     */
+    @NotNull
+    default List<IRunResult> getSortedRuns(int maxResults, @NotNull RasSortField sortField, @NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+        RasRunSorter sorter = new RasRunSorter(sortField, maxResults);
+        forEachRun(run -> sorter.add(run, run.getTestStructure()), searchCriteria);
+        return sorter.getSortedRuns();
+    }
+
+    /**
+     * Counts the runs which match the search criteria.
+     *
+     * Directory services which can count their runs without reading them should override this.
+     *
+     * @param searchCriteria the criteria to match, or none to count every run
+     * @return the number of matching runs
+     * @throws ResultArchiveStoreException if there are errors accessing the RAS
+     */
+    default int getRunCount(@NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+        int[] runCount = new int[1];
+        forEachRun(run -> runCount[0]++, searchCriteria);
+        return runCount[0];
+    }
+
     /**
      * Get requestors
      * 
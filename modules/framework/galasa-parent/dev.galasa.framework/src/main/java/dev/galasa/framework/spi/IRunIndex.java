@@ -0,0 +1,46 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * An in-process view of all the runs held in the DSS.
+ * 
+ * The index is loaded from the DSS once and then kept up to date by watching
+ * the run properties, so lookups do not go back to the DSS. Lookups by status,
+ * group, submission ID and requestor only touch the runs that match.
+ * 
+ * Each method returns a new list which the caller is free to modify.
+ */
+public interface IRunIndex {
+
+    @NotNull
+    List<IRun> getAllRuns() throws FrameworkException;
+
+    @NotNull
+    List<IRun> getActiveRuns() throws FrameworkException;
+
+    @NotNull
+    List<IRun> getRunsByStatus(@NotNull String status) throws FrameworkException;
+
+    @NotNull
+    List<IRun> getRunsByGroup(@NotNull String groupName) throws FrameworkException;
+
+    @NotNull
+    List<IRun> getRunsBySubmissionId(@NotNull String submissionId) throws FrameworkException;
+
+    @NotNull
+    List<IRun> getRunsByRequestor(@NotNull String requestor) throws FrameworkException;
+
+    /**
+     * @param runName the name of the run to get
+     * @return the run, or null if the run is not known to the index
+     */
+    IRun getRun(@NotNull String runName) throws FrameworkException;
+}
@@ -5,6 +5,8 @@
  */
 package dev.galasa.framework.spi;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.file.Path;
 
 import dev.galasa.framework.spi.teststructure.TestStructure;
@@ -19,6 +21,24 @@ public interface IRunResult {
 
     String getLog() throws ResultArchiveStoreException;
 
+    /**
+     * Opens the run log for reading from the start.
+     *
+     * Result archive stores which hold the log in pieces should override this to fetch
+     * the pieces as they are read, rather than building the whole log in memory first.
+     * The caller must close the reader once it is finished with it.
+     *
+     * @return a reader over the run log, or null if the run has no log
+     * @throws ResultArchiveStoreException if the log cannot be opened
+     */
+    default Reader getLogReader() throws ResultArchiveStoreException {
+        String log = getLog();
+        if (log == null) {
+            return null;
+        }
+        return new StringReader(log);
+    }
+
     void discard() throws ResultArchiveStoreException;
 
     void loadArtifacts() throws ResultArchiveStoreException;
@@ -0,0 +1,26 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+
+/**
+ * Receives the runs found by a search of a RAS directory service one at a time,
+ * so that the caller does not need to hold all of the matching runs in memory.
+ */
+@FunctionalInterface
+public interface IRasRunResultConsumer {
+
+    /**
+     * @param run a run which matched the search
+     * @throws ResultArchiveStoreException to stop the search, the exception is passed back to the caller of the search
+     */
+    void accept(@NotNull IRunResult run) throws ResultArchiveStoreException;
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+
+/**
+ * Runs a query against several RAS directory services at the same time, so a
+ * slow directory service does not hold up the answers from the others.
+ *
+ * Each directory service has the same deadline, measured from when the query
+ * started. Directory services which miss the deadline have their queries
+ * cancelled and are reported in the results, which are then partial. If a
+ * directory service fails, the query fails, as it would if the directory
+ * services were queried one after another.
+ */
+public class RasDirectoryServiceFanOut {
+
+    /**
+     * A query against a single directory service
+     */
+    @FunctionalInterface
+    public interface IDirectoryServiceQuery<T> {
+        T query(IResultArchiveStoreDirectoryService directoryService) throws ResultArchiveStoreException;
+    }
+
+    private final Log logger = LogFactory.getLog(RasDirectoryServiceFanOut.class);
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    /**
+     * @param timeoutMillis how long each directory service has to answer a query
+     */
+    public RasDirectoryServiceFanOut(long timeoutMillis) {
+        this(Executors.newCachedThreadPool(new QueryThreadFactory()), timeoutMillis);
+    }
+
+    public RasDirectoryServiceFanOut(@NotNull ExecutorService executor, long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Queries every directory service, collecting the results as each one answers
+     *
+     * @return the results from the directory services that answered in time, in
+     *         the order of the given directory services
+     * @throws ResultArchiveStoreException if a directory service failed, or if no
+     *         directory service answered in time
+     */
+    public <T> @NotNull RasDirectoryServiceResults<T> queryAll(
+        @NotNull List<IResultArchiveStoreDirectoryService> directoryServices,
+        @NotNull IDirectoryServiceQuery<T> query
+    ) throws ResultArchiveStoreException {
+
+        List<T> results = new ArrayList<>();
+        List<String> timedOutServices = new ArrayList<>();
+
+        if (directoryServices.size() == 1) {
+            // Nothing to wait on at the same time, so don't hand the query to another thread
+            results.add(query.query(directoryServices.get(0)));
+        } else if (!directoryServices.isEmpty()) {
+            Object[] resultsByService = new Object[directoryServices.size()];
+            boolean[] isAnswered = new boolean[directoryServices.size()];
+
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+            List<Future<Integer>> queries = submitQueries(completionService, directoryServices, query, resultsByService);
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+                for (int answered = 0; answered < directoryServices.size(); answered++) {
+                    Integer serviceIndex = waitForNextAnswer(completionService, deadline);
+                    if (serviceIndex == null) {
+                        break;
+                    }
+                    isAnswered[serviceIndex] = true;
+                }
+            } finally {
+                cancelQueries(queries);
+            }
+
+            for (int i = 0; i < directoryServices.size(); i++) {
+                if (isAnswered[i]) {
+                    @SuppressWarnings("unchecked")
+                    T result = (T) resultsByService[i];
+                    results.add(result);
+                } else {
+                    timedOutServices.add(directoryServices.get(i).getName());
+                }
+            }
+
+            if (results.isEmpty()) {
+                throw new ResultArchiveStoreException("No RAS directory service answered within " + timeoutMillis + "ms");
+            }
+            if (!timedOutServices.isEmpty()) {
+                logger.warn("RAS directory services did not answer within " + timeoutMillis + "ms, returning partial results: " + timedOutServices);
+            }
+        }
+        return new RasDirectoryServiceResults<>(results, timedOutServices);
+    }
+
+    /**
+     * Queries every directory service, returning the first non-null answer
+     *
+     * @return the first non-null answer, or null if every directory service answered null
+     * @throws ResultArchiveStoreException if a directory service failed before an
+     *         answer was found, or if no answer was found and a directory service did
+     *         not answer in time
+     */
+    public <T> T queryFirst(
+        @NotNull List<IResultArchiveStoreDirectoryService> directoryServices,
+        @NotNull IDirectoryServiceQuery<T> query
+    ) throws ResultArchiveStoreException {
+
+        T firstResult = null;
+        if (directoryServices.size() == 1) {
+            firstResult = query.query(directoryServices.get(0));
+        } else if (!directoryServices.isEmpty()) {
+            Object[] resultsByService = new Object[directoryServices.size()];
+
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+            List<Future<Integer>> queries = submitQueries(completionService, directoryServices, query, resultsByService);
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+                for (int answered = 0; answered < directoryServices.size() && firstResult == null; answered++) {
+                    Integer serviceIndex = waitForNextAnswer(completionService, deadline);
+                    if (serviceIndex == null) {
+                        throw new ResultArchiveStoreException("Not all RAS directory services answered within " + timeoutMillis + "ms");
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    T result = (T) resultsByService[serviceIndex];
+                    firstResult = result;
+                }
+            } finally {
+                cancelQueries(queries);
+            }
+        }
+        return firstResult;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Stops the threads used to run queries
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    private <T> List<Future<Integer>> submitQueries(
+        CompletionService<Integer> completionService,
+        List<IResultArchiveStoreDirectoryService> directoryServices,
+        IDirectoryServiceQuery<T> query,
+        Object[] resultsByService
+    ) {
+        List<Future<Integer>> queries = new ArrayList<>();
+        for (int i = 0; i < directoryServices.size(); i++) {
+            int serviceIndex = i;
+            IResultArchiveStoreDirectoryService directoryService = directoryServices.get(i);
+            queries.add(completionService.submit(() -> {
+                resultsByService[serviceIndex] = query.query(directoryService);
+                return serviceIndex;
+            }));
+        }
+        return queries;
+    }
+
+    /**
+     * @return the index of the next directory service to answer, or null if the deadline passed first
+     */
+    private Integer waitForNextAnswer(CompletionService<Integer> completionService, long deadline) throws ResultArchiveStoreException {
+        Integer serviceIndex = null;
+        try {
+            long remainingNanos = deadline - System.nanoTime();
+            Future<Integer> answer = completionService.poll(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            if (answer != null) {
+                serviceIndex = answer.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResultArchiveStoreException) {
+                throw (ResultArchiveStoreException) cause;
+            }
+            throw new ResultArchiveStoreException("Problem querying a RAS directory service", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultArchiveStoreException("Interrupted while querying RAS directory services", e);
+        }
+        return serviceIndex;
+    }
+
+    private void cancelQueries(List<Future<Integer>> queries) {
+        for (Future<Integer> query : queries) {
+            query.cancel(true);
+        }
+    }
+
+    private static class QueryThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ras-directory-query-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * The results of a query made across RAS directory services, along with the
+ * names of any directory services which did not answer in time.
+ */
+public class RasDirectoryServiceResults<T> {
+
+    private final List<T> results;
+    private final List<String> timedOutServices;
+
+    public RasDirectoryServiceResults(@NotNull List<T> results, @NotNull List<String> timedOutServices) {
+        this.results = new ArrayList<>(results);
+        this.timedOutServices = new ArrayList<>(timedOutServices);
+    }
+
+    /**
+     * @return the results, in the order of the directory services that returned them
+     */
+    public @NotNull List<T> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * @return the names of the directory services which did not answer before their deadline
+     */
+    public @NotNull List<String> getTimedOutServices() {
+        return Collections.unmodifiableList(timedOutServices);
+    }
+
+    /**
+     * @return true if some directory services did not answer, so the results may be incomplete
+     */
+    public boolean isPartial() {
+        return !timedOutServices.isEmpty();
+    }
+}
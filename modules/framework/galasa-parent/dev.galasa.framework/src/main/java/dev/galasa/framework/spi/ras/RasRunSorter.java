@@ -0,0 +1,146 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.teststructure.TestStructure;
+
+/**
+ * Keeps the first runs in the order given by a sort field, so that a sorted,
+ * limited search only holds the runs it is going to return.
+ *
+ * Runs are ordered by the value of a test structure field. Runs without a value
+ * come first when sorting in ascending order and last when sorting in descending
+ * order. Runs with equal values keep the order in which they were added.
+ */
+public class RasRunSorter {
+
+    private static final String SORT_ASCENDING = "asc";
+
+    // The test structure fields which runs can be sorted by
+    private static final Map<String, Function<TestStructure, Comparable<?>>> SORT_FIELDS = Map.ofEntries(
+        Map.entry("runName", TestStructure::getRunName),
+        Map.entry("bundle", TestStructure::getBundle),
+        Map.entry("testName", TestStructure::getTestName),
+        Map.entry("testShortName", TestStructure::getTestShortName),
+        Map.entry("requestor", TestStructure::getRequestor),
+        Map.entry("status", TestStructure::getStatus),
+        Map.entry("result", TestStructure::getResult),
+        Map.entry("group", TestStructure::getGroup),
+        Map.entry("submissionId", TestStructure::getSubmissionId),
+        Map.entry("queued", TestStructure::getQueued),
+        Map.entry("startTime", TestStructure::getStartTime),
+        Map.entry("endTime", TestStructure::getEndTime)
+    );
+
+    private final Function<TestStructure, Comparable<?>> sortField;
+    private final boolean isAscending;
+    private final int maxRuns;
+
+    // Holds the runs to keep with the last one in sort order at the head, so it can be dropped
+    private final PriorityQueue<SortedRun> sortedRuns;
+    private long addedRunCount = 0;
+
+    private static class SortedRun {
+        private final Comparable<?> value;
+        private final long sequence;
+        private final IRunResult run;
+
+        private SortedRun(Comparable<?> value, long sequence, IRunResult run) {
+            this.value = value;
+            this.sequence = sequence;
+            this.run = run;
+        }
+    }
+
+    /**
+     * @param sortField the test structure field and direction to sort by
+     * @param maxRuns the most runs to keep, or 0 to keep every run
+     * @throws ResultArchiveStoreException if runs cannot be sorted by the field
+     */
+    public RasRunSorter(@NotNull RasSortField sortField, int maxRuns) throws ResultArchiveStoreException {
+        this.sortField = SORT_FIELDS.get(sortField.getFieldName());
+        if (this.sortField == null) {
+            throw new ResultArchiveStoreException("Unable to sort runs by '" + sortField.getFieldName() + "'");
+        }
+        this.isAscending = SORT_ASCENDING.equals(sortField.getSortDirection());
+        this.maxRuns = maxRuns;
+
+        Comparator<SortedRun> runOrder = Comparator.<SortedRun, Comparable<?>>comparing(run -> run.value, this::compareSortValues)
+            .thenComparingLong(run -> run.sequence);
+        this.sortedRuns = new PriorityQueue<>(runOrder.reversed());
+    }
+
+    /**
+     * @return true if runs can be sorted by the given test structure field
+     */
+    public static boolean isSortField(String fieldName) {
+        return SORT_FIELDS.containsKey(fieldName);
+    }
+
+    /**
+     * Adds a run, dropping the last run in sort order if more than the maximum number of runs are held
+     *
+     * @param run the run to add
+     * @param testStructure the test structure of the run, which only needs to hold the sort field
+     */
+    public void add(@NotNull IRunResult run, @NotNull TestStructure testStructure) {
+        sortedRuns.add(new SortedRun(getSortValue(testStructure), addedRunCount++, run));
+        if (maxRuns > 0 && sortedRuns.size() > maxRuns) {
+            sortedRuns.poll();
+        }
+    }
+
+    /**
+     * @return the runs which have been kept, in sort order
+     */
+    public @NotNull List<IRunResult> getSortedRuns() {
+        List<SortedRun> runsInReverseOrder = new ArrayList<>(sortedRuns.size());
+        PriorityQueue<SortedRun> remainingRuns = new PriorityQueue<>(sortedRuns);
+        while (!remainingRuns.isEmpty()) {
+            runsInReverseOrder.add(remainingRuns.poll());
+        }
+
+        List<IRunResult> runs = new ArrayList<>(runsInReverseOrder.size());
+        for (int i = runsInReverseOrder.size() - 1; i >= 0; i--) {
+            runs.add(runsInReverseOrder.get(i).run);
+        }
+        return runs;
+    }
+
+    /**
+     * @return the value of the sort field in the given test structure
+     */
+    public Comparable<?> getSortValue(@NotNull TestStructure testStructure) {
+        return sortField.apply(testStructure);
+    }
+
+    /**
+     * Compares two sort field values in sort order
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int compareSortValues(Comparable<?> value1, Comparable<?> value2) {
+        int result;
+        if (value1 == null) {
+            result = (value2 == null) ? 0 : -1;
+        } else if (value2 == null) {
+            result = 1;
+        } else {
+            result = ((Comparable) value1).compareTo(value2);
+        }
+        return isAscending ? result : -result;
+    }
+}
@@ -22,6 +22,20 @@ public class TestGherkinMethod {
     private Instant          startTime;
     private Instant          endTime;
 
+    public TestGherkinMethod() {
+    }
+
+    public TestGherkinMethod(TestGherkinMethod source) {
+        this.methodName = source.methodName;
+        this.status = source.status;
+        this.result = source.result;
+        this.exception = source.exception;
+        this.runLogStart = source.runLogStart;
+        this.runLogEnd = source.runLogEnd;
+        this.startTime = source.startTime;
+        this.endTime = source.endTime;
+    }
+
     public void report(String prefix, StringBuilder sb) {
         String actualStatus = this.status;
         if (actualStatus == null) {
@@ -0,0 +1,48 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.teststructure;
+
+import java.time.Instant;
+
+/**
+ * Records how long a manager took over one of the provisioning phases of a test run
+ */
+public class TestManagerPhaseTiming {
+
+    private String  managerName;
+    private String  phase;
+
+    private Instant startTime;
+    private Instant endTime;
+
+    @SuppressWarnings("unused")
+    private TestManagerPhaseTiming() {
+        // NOP
+    }
+
+    public TestManagerPhaseTiming(String managerName, String phase, Instant startTime, Instant endTime) {
+        this.managerName = managerName;
+        this.phase = phase;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getManagerName() {
+        return managerName;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+}
@@ -6,6 +6,7 @@
 package dev.galasa.framework.spi.teststructure;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 public class TestMethod {
@@ -38,6 +39,32 @@ public class TestMethod {
         this.className = testClass.getName();
     }
 
+    public TestMethod(TestMethod source) {
+        this.className = source.className;
+        this.methodName = source.methodName;
+        this.type = source.type;
+        this.befores = copyOf(source.befores);
+        this.afters = copyOf(source.afters);
+        this.status = source.status;
+        this.result = source.result;
+        this.exception = source.exception;
+        this.runLogStart = source.runLogStart;
+        this.runLogEnd = source.runLogEnd;
+        this.startTime = source.startTime;
+        this.endTime = source.endTime;
+    }
+
+    private static List<TestMethod> copyOf(List<TestMethod> methods) {
+        List<TestMethod> copy = null;
+        if (methods != null) {
+            copy = new ArrayList<TestMethod>();
+            for (TestMethod method : methods) {
+                copy.add(new TestMethod(method));
+            }
+        }
+        return copy;
+    }
+
     public String getClassName() {
         return className;
     }
@@ -40,6 +40,8 @@ public class TestStructure {
     private List<TestMethod> methods;
     private List<TestGherkinMethod> gherkinMethods;
 
+    private List<TestManagerPhaseTiming> managerPhaseTimings;
+
     private List<String>     logRecordIds;
 
     private List<String>     artifactRecordIds;
@@ -61,11 +63,19 @@ public class TestStructure {
             this.endTime = source.endTime;
             if (source.methods != null) {
                 this.methods = new ArrayList<TestMethod>();
-                this.methods.addAll(source.methods);
+                for (TestMethod method : source.methods) {
+                    this.methods.add(new TestMethod(method));
+                }
             }
             if (source.gherkinMethods!= null) {
                 this.gherkinMethods = new ArrayList<TestGherkinMethod>();
-                this.gherkinMethods.addAll(source.gherkinMethods);
+                for (TestGherkinMethod gherkinMethod : source.gherkinMethods) {
+                    this.gherkinMethods.add(new TestGherkinMethod(gherkinMethod));
+                }
+            }
+            if (source.managerPhaseTimings != null) {
+                this.managerPhaseTimings = new ArrayList<TestManagerPhaseTiming>();
+                this.managerPhaseTimings.addAll(source.managerPhaseTimings);
             }
             if (source.logRecordIds != null) {
                 this.logRecordIds = new ArrayList<String>();
@@ -240,6 +250,14 @@ public class TestStructure {
         this.endTime = endTime;
     }
 
+    public List<TestManagerPhaseTiming> getManagerPhaseTimings() {
+        return managerPhaseTimings;
+    }
+
+    public void setManagerPhaseTimings(List<TestManagerPhaseTiming> managerPhaseTimings) {
+        this.managerPhaseTimings = managerPhaseTimings;
+    }
+
     public List<String> getLogRecordIds() {
         return logRecordIds;
     }
@@ -8,6 +8,8 @@ package dev.galasa.framework;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Map.Entry;
 
@@ -20,6 +22,7 @@ import com.google.gson.JsonObject;
 import dev.galasa.framework.mocks.MockCPSStore;
 import dev.galasa.framework.mocks.MockDSSStore;
 import dev.galasa.framework.mocks.MockFramework;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IRun;
 import dev.galasa.framework.spi.IFrameworkRuns.SharedEnvironmentPhase;
@@ -35,6 +38,40 @@ public class FrameworkRunsTest {
         gson.setGsonBuilder(new GalasaGsonBuilder(false));
     }
 
+    // A DSS which counts how many times it has been asked for a set of properties
+    private class CountingMockDSSStore extends MockDSSStore {
+        private Map<String, String> valueMap;
+        private int getPrefixCallCount = 0;
+
+        public CountingMockDSSStore(Map<String, String> valueMap) {
+            super(valueMap);
+            this.valueMap = valueMap;
+        }
+
+        @Override
+        public Map<String, String> getPrefix(String keyPrefix) throws DynamicStatusStoreException {
+            getPrefixCallCount++;
+            Map<String, String> results = new HashMap<>();
+            for (Entry<String, String> entry : valueMap.entrySet()) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return results;
+        }
+
+        public int getPrefixCallCount() {
+            return getPrefixCallCount;
+        }
+    }
+
+    private void addRunToDss(Map<String, String> dssProperties, String runName, String status) {
+        dssProperties.put("run." + runName + ".status", status);
+        dssProperties.put("run." + runName + ".test", "mybundle/mytest");
+        dssProperties.put("run." + runName + ".group", "my.group");
+        dssProperties.put("run." + runName + ".requestor", "me");
+    }
+
     private String getExpectedOverridesJson(Properties properties) {
         JsonArray overridesArray = new JsonArray();
 
@@ -784,4 +821,36 @@ public class FrameworkRunsTest {
         assertThat(thrown).isNotNull();
         assertThat(thrown.getMessage()).contains("Unable to submit shared environment run", sharedEnvironmentRunName, "is there a duplicate runname?");
     }
+
+    @Test
+    public void testGetAllRunsReadsDssOnceRegardlessOfNumberOfRuns() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        int runCount = 500;
+        for (int i = 1; i <= runCount; i++) {
+            addRunToDss(dssProperties, "U" + i, (i % 2 == 0) ? "queued" : "running");
+        }
+
+        CountingMockDSSStore mockDss = new CountingMockDSSStore(dssProperties);
+        MockCPSStore mockCps = new MockCPSStore(new HashMap<>());
+        MockFramework mockFramework = new MockFramework(mockCps, mockDss);
+
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+
+        // When...
+        List<IRun> allRuns = frameworkRuns.getAllRuns();
+        List<IRun> queuedRuns = frameworkRuns.getQueuedRuns();
+
+        // Then...
+        assertThat(allRuns).hasSize(runCount);
+        assertThat(queuedRuns).hasSize(runCount / 2);
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(2);
+
+        IRun run = allRuns.stream().filter(r -> r.getName().equals("U12")).findFirst().get();
+        assertThat(run.getStatus()).isEqualTo("queued");
+        assertThat(run.getTestBundleName()).isEqualTo("mybundle");
+        assertThat(run.getTestClassName()).isEqualTo("mytest");
+        assertThat(run.getGroup()).isEqualTo("my.group");
+        assertThat(run.getRequestor()).isEqualTo("me");
+    }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockCPSStore;
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.mocks.MockFramework;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
+import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.Event;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.PropertyChange;
+
+public class RunIndexTest {
+
+    private static final String QUEUED_TIME = "2026-01-01T10:00:00Z";
+
+    // A DSS which tells its watcher about any properties that are put into it or deleted from it
+    private class WatchableMockDSSStore extends MockDSSStore {
+        private Map<String, String> valueMap;
+        private IDynamicStatusStoreWatcher watcher;
+        private int getPrefixCallCount = 0;
+
+        public WatchableMockDSSStore(Map<String, String> valueMap) {
+            super(valueMap);
+            this.valueMap = valueMap;
+        }
+
+        @Override
+        public void put(String key, String value) throws DynamicStatusStoreException {
+            String oldValue = valueMap.put(key, value);
+            if (watcher != null) {
+                watcher.propertyModified(key, (oldValue == null) ? Event.NEW : Event.MODIFIED, oldValue, value);
+            }
+        }
+
+        @Override
+        public void delete(String key) throws DynamicStatusStoreException {
+            String oldValue = valueMap.remove(key);
+            if (watcher != null) {
+                watcher.propertyModified(key, Event.DELETE, oldValue, null);
+            }
+        }
+
+        // Puts the properties as one transaction, which the watch reports together
+        public void putTogether(Map<String, String> properties) {
+            List<PropertyChange> changes = new ArrayList<>();
+            for (Entry<String, String> property : properties.entrySet()) {
+                String oldValue = valueMap.put(property.getKey(), property.getValue());
+                changes.add(new PropertyChange(property.getKey(), (oldValue == null) ? Event.NEW : Event.MODIFIED, oldValue, property.getValue()));
+            }
+            if (watcher != null) {
+                watcher.propertiesModified(changes);
+            }
+        }
+
+        @Override
+        public Map<String, String> getPrefix(String keyPrefix) throws DynamicStatusStoreException {
+            getPrefixCallCount++;
+            Map<String, String> results = new HashMap<>();
+            for (Entry<String, String> entry : valueMap.entrySet()) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException {
+            this.watcher = watcher;
+            return UUID.randomUUID();
+        }
+
+        @Override
+        public void unwatch(UUID watchId) throws DynamicStatusStoreException {
+            this.watcher = null;
+        }
+
+        public int getPrefixCallCount() {
+            return getPrefixCallCount;
+        }
+    }
+
+    private void addRunToDss(Map<String, String> dssProperties, String runName, String status, String group, String requestor) {
+        dssProperties.put("run." + runName + ".status", status);
+        dssProperties.put("run." + runName + ".queued", QUEUED_TIME);
+        dssProperties.put("run." + runName + ".test", "mybundle/mytest");
+        dssProperties.put("run." + runName + ".group", group);
+        dssProperties.put("run." + runName + ".submissionId", "submission-" + runName);
+        dssProperties.put("run." + runName + ".requestor", requestor);
+    }
+
+    private List<String> getRunNames(List<IRun> runs) {
+        return runs.stream().map(IRun::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testRunIndexLoadsRunsAndIndexesThem() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        addRunToDss(dssProperties, "U1", "queued", "group1", "me");
+        addRunToDss(dssProperties, "U2", "running", "group1", "you");
+        addRunToDss(dssProperties, "U3", "queued", "group2", "me");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+
+        // When...
+        runIndex.start();
+
+        // Then...
+        assertThat(getRunNames(runIndex.getAllRuns())).containsExactlyInAnyOrder("U1", "U2", "U3");
+        assertThat(getRunNames(runIndex.getRunsByStatus("queued"))).containsExactlyInAnyOrder("U1", "U3");
+        assertThat(getRunNames(runIndex.getRunsByGroup("group1"))).containsExactlyInAnyOrder("U1", "U2");
+        assertThat(getRunNames(runIndex.getRunsByRequestor("me"))).containsExactlyInAnyOrder("U1", "U3");
+        assertThat(getRunNames(runIndex.getRunsBySubmissionId("submission-U2"))).containsExactly("U2");
+        assertThat(runIndex.getRunsByStatus("finished")).isEmpty();
+        assertThat(runIndex.getRun("U2").getStatus()).isEqualTo("running");
+        assertThat(runIndex.getRun("U4")).isNull();
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRunIndexKeepsUpToDateWithWatchedChanges() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        addRunToDss(dssProperties, "U1", "queued", "group1", "me");
+        addRunToDss(dssProperties, "U2", "queued", "group1", "me");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+        runIndex.start();
+
+        // When...
+        mockDss.put("run.U1.status", "running");
+        mockDss.put("run.U3.status", "queued");
+        mockDss.put("run.U3.queued", QUEUED_TIME);
+        mockDss.put("run.U3.test", "mybundle/mytest");
+        mockDss.put("run.U3.group", "group2");
+        mockDss.put("run.U3.submissionId", "submission-U3");
+        mockDss.put("run.U3.requestor", "me");
+        mockDss.delete("run.U2.status");
+        mockDss.delete("run.U2.test");
+        mockDss.delete("run.U2.group");
+        mockDss.delete("run.U2.submissionId");
+        mockDss.delete("run.U2.requestor");
+
+        // Then...
+        assertThat(getRunNames(runIndex.getAllRuns())).containsExactlyInAnyOrder("U1", "U3");
+        assertThat(getRunNames(runIndex.getRunsByStatus("queued"))).containsExactly("U3");
+        assertThat(getRunNames(runIndex.getRunsByStatus("running"))).containsExactly("U1");
+        assertThat(getRunNames(runIndex.getRunsByGroup("group1"))).containsExactly("U1");
+        assertThat(getRunNames(runIndex.getRunsByGroup("group2"))).containsExactly("U3");
+        assertThat(runIndex.getRun("U2")).isNull();
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRunWrittenInOneTransactionIsIndexedWithAllItsProperties() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+        runIndex.start();
+
+        Map<String, String> newRunProperties = new HashMap<>();
+        addRunToDss(newRunProperties, "U1", "queued", "group1", "me");
+
+        // When...
+        mockDss.putTogether(newRunProperties);
+
+        // Then...
+        IRun run = runIndex.getRun("U1");
+        assertThat(run.getQueued()).isEqualTo(Instant.parse(QUEUED_TIME));
+        assertThat(run.getGroup()).isEqualTo("group1");
+        assertThat(getRunNames(runIndex.getRunsByStatus("queued"))).containsExactly("U1");
+        assertThat(getRunNames(runIndex.getRunsByRequestor("me"))).containsExactly("U1");
+        assertThat(getRunNames(runIndex.getRunsBySubmissionId("submission-U1"))).containsExactly("U1");
+
+        // When...
+        mockDss.delete("run.U1.status");
+
+        // Then...
+        assertThat(runIndex.getRun("U1")).isNull();
+        assertThat(runIndex.getRunsByRequestor("me")).isEmpty();
+    }
+
+    @Test
+    public void testRunIsNotIndexedUntilItHasATestAndAStatus() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+        runIndex.start();
+
+        // When...
+        mockDss.put("run.U1.status", "queued");
+
+        // Then...
+        assertThat(runIndex.getRunsByStatus("queued")).isEmpty();
+        assertThat(runIndex.getRun("U1")).isNull();
+
+        // When...
+        mockDss.put("run.U1.test", "mybundle/mytest");
+
+        // Then...
+        assertThat(getRunNames(runIndex.getRunsByStatus("queued"))).containsExactly("U1");
+    }
+
+    @Test
+    public void testRunWithoutASubmissionIdOrRequestorIsIndexed() throws Exception {
+        // Given...
+        // A run submitted by an older framework, before runs had a submission ID or requestor
+        Map<String, String> dssProperties = new HashMap<>();
+        dssProperties.put("run.U1.status", "running");
+        dssProperties.put("run.U1.test", "mybundle/mytest");
+        dssProperties.put("run.U1.heartbeat", "2026-01-01T10:01:00Z");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+
+        // When...
+        runIndex.start();
+        mockDss.put("run.U2.status", "allocated");
+        mockDss.put("run.U2.test", "mybundle/mytest");
+
+        // Then...
+        assertThat(getRunNames(runIndex.getAllRuns())).containsExactlyInAnyOrder("U1", "U2");
+        assertThat(getRunNames(runIndex.getActiveRuns())).containsExactlyInAnyOrder("U1", "U2");
+        assertThat(getRunNames(runIndex.getRunsByStatus("running"))).containsExactly("U1");
+        assertThat(runIndex.getRun("U1").getSubmissionId()).isNull();
+        assertThat(runIndex.getRun("U1").getRequestor()).isNull();
+    }
+
+    @Test
+    public void testRunIndexReadsAndWatchesTheDssTogether() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        addRunToDss(dssProperties, "U1", "queued", "group1", "me");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties) {
+            @Override
+            public UUID getPrefixAndWatch(IDynamicStatusStoreWatcher watcher, String keyPrefix, Map<String, String> properties) throws DynamicStatusStoreException {
+                // The watch reports a change made after the read, before the index has finished loading
+                properties.putAll(getPrefix(keyPrefix));
+                UUID watchId = watchPrefix(watcher, keyPrefix);
+                put("run.U1.status", "allocated");
+                return watchId;
+            }
+        };
+
+        RunIndex runIndex = new RunIndex(mockDss);
+
+        // When...
+        runIndex.start();
+
+        // Then...
+        assertThat(runIndex.getRunsByStatus("queued")).isEmpty();
+        assertThat(getRunNames(runIndex.getRunsByStatus("allocated"))).containsExactly("U1");
+    }
+
+    @Test
+    public void testRunIndexReloadsAfterTheWatchFails() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        addRunToDss(dssProperties, "U1", "queued", "group1", "me");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+
+        RunIndex runIndex = new RunIndex(mockDss);
+        runIndex.start();
+
+        // When...
+        // A change is made that the index is not told about, then the watch fails
+        dssProperties.put("run.U1.status", "finished");
+        runIndex.watchFailed(new Exception("simulated watch failure"));
+
+        // Then...
+        assertThat(getRunNames(runIndex.getRunsByStatus("finished"))).containsExactly("U1");
+        assertThat(runIndex.getRunsByStatus("queued")).isEmpty();
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFrameworkRunsUsesRunIndexOnceStarted() throws Exception {
+        // Given...
+        Map<String, String> dssProperties = new HashMap<>();
+        addRunToDss(dssProperties, "U1", "queued", "group1", "me");
+        addRunToDss(dssProperties, "U2", "running", "group2", "me");
+        WatchableMockDSSStore mockDss = new WatchableMockDSSStore(dssProperties);
+        MockFramework mockFramework = new MockFramework(new MockCPSStore(new HashMap<>()), mockDss);
+
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+        IRunIndex runIndex = frameworkRuns.getRunIndex();
+
+        // When...
+        List<IRun> queuedRuns = frameworkRuns.getQueuedRuns();
+        List<IRun> groupedRuns = frameworkRuns.getAllGroupedRuns("group2");
+        List<IRun> allRuns = frameworkRuns.getAllRuns();
+
+        // Then...
+        assertThat(frameworkRuns.getRunIndex()).isSameAs(runIndex);
+        assertThat(getRunNames(queuedRuns)).containsExactly("U1");
+        assertThat(getRunNames(groupedRuns)).containsExactly("U2");
+        assertThat(allRuns).hasSize(2);
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(1);
+    }
+}
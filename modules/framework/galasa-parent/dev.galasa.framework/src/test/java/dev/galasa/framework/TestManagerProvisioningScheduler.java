@@ -0,0 +1,139 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.spi.AbstractManager;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IManager;
+import dev.galasa.framework.spi.teststructure.TestManagerPhaseTiming;
+
+public class TestManagerProvisioningScheduler {
+
+    private static class NamedManager extends AbstractManager {
+        private final String name;
+        private final List<IManager> dependencies = new ArrayList<>();
+
+        public NamedManager(String name, IManager... dependencies) {
+            this.name = name;
+            Collections.addAll(this.dependencies, dependencies);
+        }
+
+        @Override
+        public boolean areYouProvisionalDependentOn(@NotNull IManager otherManager) {
+            return dependencies.contains(otherManager);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private List<TestManagerPhaseTiming> timings = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testIndependentManagersProvisionAtTheSameTime() throws Exception {
+        // Given...
+        NamedManager managerA = new NamedManager("A");
+        NamedManager managerB = new NamedManager("B");
+        ManagerProvisioningScheduler scheduler = new ManagerProvisioningScheduler(List.of(managerA, managerB), timings);
+
+        // Each manager waits for the other to start, which can only happen if they run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When...
+        scheduler.runInParallel("build", manager -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+                    throw new FrameworkException("Managers did not provision in parallel");
+                }
+            } catch (InterruptedException e) {
+                throw new FrameworkException("Interrupted", e);
+            }
+        }, 2);
+
+        // Then...
+        assertThat(timings).hasSize(2);
+        assertThat(timings).allSatisfy(timing -> assertThat(timing.getPhase()).isEqualTo("build"));
+    }
+
+    @Test
+    public void testDependentManagerWaitsForItsDependency() throws Exception {
+        // Given...
+        NamedManager managerA = new NamedManager("A");
+        NamedManager managerB = new NamedManager("B");
+        NamedManager managerC = new NamedManager("C", managerA);
+        ManagerProvisioningScheduler scheduler = new ManagerProvisioningScheduler(List.of(managerA, managerB, managerC), timings);
+
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        // When...
+        scheduler.runInParallel("start", manager -> {
+            events.add(manager + "-start");
+            events.add(manager + "-end");
+        }, 4);
+
+        // Then...
+        assertThat(events).hasSize(6);
+        assertThat(events.indexOf("A-end")).isLessThan(events.indexOf("C-start"));
+    }
+
+    @Test
+    public void testFailureStopsDependentManagersFromProvisioning() throws Exception {
+        // Given...
+        NamedManager managerA = new NamedManager("A");
+        NamedManager managerB = new NamedManager("B", managerA);
+        ManagerProvisioningScheduler scheduler = new ManagerProvisioningScheduler(List.of(managerA, managerB), timings);
+
+        List<String> provisionedManagers = new CopyOnWriteArrayList<>();
+
+        // When...
+        FrameworkException thrown = catchThrowableOfType(() -> scheduler.runInParallel("generate", manager -> {
+            provisionedManagers.add(manager.toString());
+            if (manager == managerA) {
+                throw new FrameworkException("Manager A failed");
+            }
+        }, 4), FrameworkException.class);
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getMessage()).isEqualTo("Manager A failed");
+        assertThat(provisionedManagers).containsExactly("A");
+        assertThat(timings).hasSize(1);
+    }
+
+    @Test
+    public void testSequentialProvisioningRunsManagersInOrder() throws Exception {
+        // Given...
+        NamedManager managerA = new NamedManager("A");
+        NamedManager managerB = new NamedManager("B");
+        ManagerProvisioningScheduler scheduler = new ManagerProvisioningScheduler(List.of(managerA, managerB), timings);
+
+        List<String> provisionedManagers = new ArrayList<>();
+
+        // When...
+        scheduler.runSequentially("generate", manager -> provisionedManagers.add(manager.toString()));
+
+        // Then...
+        assertThat(provisionedManagers).containsExactly("A", "B");
+        assertThat(timings).extracting(TestManagerPhaseTiming::getManagerName)
+            .containsExactly(NamedManager.class.getName(), NamedManager.class.getName());
+    }
+}
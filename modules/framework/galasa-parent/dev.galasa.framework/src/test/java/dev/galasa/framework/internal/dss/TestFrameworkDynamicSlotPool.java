@@ -0,0 +1,293 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.dss;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.mocks.MockTimeService;
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DssUpdate;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDssAction;
+
+public class TestFrameworkDynamicSlotPool {
+
+    private static final String POOL_PREFIX = "image.MV2A.pool.";
+    private static final String LEGACY_COUNTER = "image.MV2A.current.slots";
+
+    // A DSS which performs the actions atomically, and can let another run take a slot first
+    class MockTransactionalDSSStore extends MockDSSStore {
+        public Map<String, String> properties;
+        public String racingSlot;
+
+        public MockTransactionalDSSStore(Map<String, String> properties) {
+            super(properties);
+            this.properties = properties;
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+            Map<String, String> results = new HashMap<>();
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public boolean putSwap(@NotNull String key, String oldValue, @NotNull String newValue) throws DynamicStatusStoreException {
+            if (!Objects.equals(properties.get(key), oldValue)) {
+                return false;
+            }
+            properties.put(key, newValue);
+            return true;
+        }
+
+        @Override
+        public void performActions(IDssAction... actions) throws DynamicStatusStoreException {
+            if (racingSlot != null) {
+                properties.put(racingSlot, "OTHERRUN");
+                racingSlot = null;
+            }
+
+            Map<String, String> updated = new HashMap<>(properties);
+            for (IDssAction action : actions) {
+                if (action instanceof DssAdd) {
+                    DssAdd add = (DssAdd) action;
+                    if (updated.containsKey(add.getKey())) {
+                        throw new DynamicStatusStoreMatchException();
+                    }
+                    updated.put(add.getKey(), add.getValue());
+                } else if (action instanceof DssUpdate) {
+                    DssUpdate update = (DssUpdate) action;
+                    updated.put(update.getKey(), update.getValue());
+                } else {
+                    DssDelete delete = (DssDelete) action;
+                    if (delete.getOldValue() != null && !Objects.equals(updated.get(delete.getKey()), delete.getOldValue())) {
+                        throw new DynamicStatusStoreMatchException();
+                    }
+                    updated.remove(delete.getKey());
+                }
+            }
+            properties.clear();
+            properties.putAll(updated);
+        }
+    }
+
+    private FrameworkDynamicSlotPool createPool(MockTransactionalDSSStore dss, MockTimeService timeService) {
+        return new FrameworkDynamicSlotPool(dss, dss, "zos", "image.MV2A", LEGACY_COUNTER, timeService, new Random(1));
+    }
+
+    private long sumMetric(Map<String, String> properties, String metric) {
+        long total = 0;
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getKey().startsWith(metric + ".")) {
+                total += Long.parseLong(entry.getValue());
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void testAcquireSlotsUpToTheMaximum() throws Exception {
+        // Given...
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(new HashMap<>());
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        String slot1 = pool.acquireSlot("U1", 2);
+        String slot2 = pool.acquireSlot("U2", 2);
+        String slot3 = pool.acquireSlot("U3", 2);
+
+        // Then...
+        assertThat(slot1).isNotNull();
+        assertThat(slot2).isNotNull().isNotEqualTo(slot1);
+        assertThat(slot3).isNull();
+        assertThat(pool.getUsedSlots()).isEqualTo(2);
+        assertThat(dss.properties).containsEntry(POOL_PREFIX + slot1, "U1").containsEntry(POOL_PREFIX + slot2, "U2");
+    }
+
+    @Test
+    public void testOtherActionsArePerformedWithTheAcquire() throws Exception {
+        // Given...
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(new HashMap<>());
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        String slot = pool.acquireSlot("U1", 2, new DssUpdate("slot.run.U1", "active"));
+
+        // Then...
+        assertThat(slot).isNotNull();
+        assertThat(dss.properties).containsEntry("slot.run.U1", "active");
+    }
+
+    @Test
+    public void testLoweredMaximumIsHonouredWhateverSlotsAreInUse() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(POOL_PREFIX + "5", "U1");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        String slot = pool.acquireSlot("U2", 1);
+
+        // Then...
+        assertThat(slot).isNull();
+    }
+
+    @Test
+    public void testAcquireSlotsIsAllOrNothing() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(POOL_PREFIX + "0", "U1");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        List<String> tooMany = pool.acquireSlots("U2", 3, 3);
+        List<String> slots = pool.acquireSlots("U2", 2, 3);
+
+        // Then...
+        assertThat(tooMany).isEmpty();
+        assertThat(slots).containsExactlyInAnyOrder("1", "2");
+        assertThat(pool.getUsedSlots()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCollisionIsRetriedAfterABackoff() throws Exception {
+        // Given...
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(new HashMap<>());
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkDynamicSlotPool pool = createPool(dss, timeService);
+        dss.racingSlot = POOL_PREFIX + "0";
+
+        // When...
+        String slot = pool.acquireSlot("U1", 2);
+
+        // Then...
+        assertThat(slot).isEqualTo("1");
+        assertThat(dss.properties).containsEntry(POOL_PREFIX + "0", "OTHERRUN");
+        assertThat(timeService.now()).isAfter(Instant.EPOCH);
+        assertThat(sumMetric(dss.properties, FrameworkDynamicSlotPool.METRIC_CONTENDED + "zos.image.MV2A")).isEqualTo(1);
+    }
+
+    @Test
+    public void testContentionIsCountedOnAStripeOfThePoolsMetric() throws Exception {
+        // Given...
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(new HashMap<>());
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        for (int run = 0; run < 20; run++) {
+            dss.racingSlot = POOL_PREFIX + "0";
+            pool.acquireSlot("U" + run, 1);
+            dss.properties.remove(POOL_PREFIX + "0");
+        }
+
+        // Then...
+        assertThat(sumMetric(dss.properties, FrameworkDynamicSlotPool.METRIC_CONTENDED + "zos.image.MV2A")).isEqualTo(20);
+        for (String key : dss.properties.keySet()) {
+            if (key.startsWith(FrameworkDynamicSlotPool.METRIC_CONTENDED)) {
+                String stripe = key.substring((FrameworkDynamicSlotPool.METRIC_CONTENDED + "zos.image.MV2A.").length());
+                assertThat(Integer.parseInt(stripe)).isBetween(0, FrameworkDynamicSlotPool.METRIC_STRIPES - 1);
+            }
+        }
+    }
+
+    @Test
+    public void testLegacySlotsCountTowardsTheMaximum() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(LEGACY_COUNTER, "2");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        String slot1 = pool.acquireSlot("U1", 3);
+        String slot2 = pool.acquireSlot("U2", 3);
+
+        // Then...
+        assertThat(slot1).isNotNull();
+        assertThat(slot2).isNull();
+        assertThat(pool.getUsedSlots()).isEqualTo(3);
+    }
+
+    @Test
+    public void testReleaseStaleSlotReleasesAPoolSlotBeforeTheLegacyCounter() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(POOL_PREFIX + "0", "U1");
+        properties.put(LEGACY_COUNTER, "1");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        boolean releasedNew = pool.releaseStaleSlot("U1");
+        boolean releasedOld = pool.releaseStaleSlot("OLDRUN1");
+        boolean releasedNothing = pool.releaseStaleSlot("OLDRUN2");
+
+        // Then...
+        assertThat(releasedNew).isTrue();
+        assertThat(releasedOld).isTrue();
+        assertThat(releasedNothing).isFalse();
+        assertThat(dss.properties).containsOnly(entry(LEGACY_COUNTER, "0"));
+        assertThat(pool.getUsedSlots()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReleaseSlotOnlyReleasesTheRunsOwnSlot() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(POOL_PREFIX + "0", "U1");
+        properties.put("slot.run.U1", "active");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        boolean releasedByOther = pool.releaseSlot("0", "U2");
+        boolean released = pool.releaseSlot("0", "U1", new DssDelete("slot.run.U1", null));
+
+        // Then...
+        assertThat(releasedByOther).isFalse();
+        assertThat(released).isTrue();
+        assertThat(dss.properties).isEmpty();
+    }
+
+    @Test
+    public void testReleaseRunSlotsReleasesAllTheSlotsOfTheRun() throws Exception {
+        // Given...
+        Map<String, String> properties = new HashMap<>();
+        properties.put(POOL_PREFIX + "0", "U1");
+        properties.put(POOL_PREFIX + "1", "U2");
+        properties.put(POOL_PREFIX + "2", "U1");
+        MockTransactionalDSSStore dss = new MockTransactionalDSSStore(properties);
+        FrameworkDynamicSlotPool pool = createPool(dss, new MockTimeService(Instant.EPOCH));
+
+        // When...
+        int released = pool.releaseRunSlots("U1");
+
+        // Then...
+        assertThat(released).isEqualTo(2);
+        assertThat(dss.properties).containsOnly(entry(POOL_PREFIX + "1", "U2"));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.ras;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockFramework;
+import dev.galasa.framework.mocks.MockRASStoreService;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.teststructure.TestMethod;
+import dev.galasa.framework.spi.teststructure.TestStructure;
+
+public class TestFrameworkMultipleResultArchiveStore {
+
+    private static class MockWritableRASStoreService extends MockRASStoreService {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final List<String> testStructureStatuses = new CopyOnWriteArrayList<>();
+        private CountDownLatch writeLatch;
+        private boolean isFlushed = false;
+
+        public MockWritableRASStoreService() {
+            super(null);
+        }
+
+        @Override
+        public void writeLog(@NotNull String message) throws ResultArchiveStoreException {
+            waitForLatch();
+            messages.add(message);
+        }
+
+        @Override
+        public void updateTestStructure(@NotNull TestStructure testStructure) throws ResultArchiveStoreException {
+            waitForLatch();
+            String methodStatus = testStructure.getMethods().get(0).getStatus();
+            testStructureStatuses.add(testStructure.getStatus() + "/" + methodStatus);
+        }
+
+        private void waitForLatch() throws ResultArchiveStoreException {
+            if (writeLatch != null) {
+                try {
+                    writeLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new ResultArchiveStoreException("Interrupted", e);
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            isFlushed = true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    @Test
+    public void testWritesToSecondaryStoresDoNotHoldUpTheCallerAndAreFlushedInOrder() throws Exception {
+        // Given...
+        MockWritableRASStoreService primaryStore = new MockWritableRASStoreService();
+        MockWritableRASStoreService secondaryStore = new MockWritableRASStoreService();
+
+        // The secondary store cannot complete any writes until the latch is released
+        secondaryStore.writeLatch = new CountDownLatch(1);
+
+        FrameworkMultipleResultArchiveStore store = new FrameworkMultipleResultArchiveStore(new MockFramework(), primaryStore);
+        store.addResultArchiveStoreService(secondaryStore);
+
+        // When...
+        store.writeLog("first");
+        store.writeLog("second");
+
+        // Then...
+        assertThat(primaryStore.messages).containsExactly("first", "second");
+        assertThat(secondaryStore.messages).isEmpty();
+
+        secondaryStore.writeLatch.countDown();
+        store.flush();
+
+        assertThat(secondaryStore.messages).containsExactly("first", "second");
+        assertThat(primaryStore.isFlushed).isTrue();
+        assertThat(secondaryStore.isFlushed).isTrue();
+    }
+
+    @Test
+    public void testSecondaryStoresWriteTheTestStructureAsItWasWhenItWasUpdated() throws Exception {
+        // Given...
+        MockWritableRASStoreService primaryStore = new MockWritableRASStoreService();
+        MockWritableRASStoreService secondaryStore = new MockWritableRASStoreService();
+        secondaryStore.writeLatch = new CountDownLatch(1);
+
+        FrameworkMultipleResultArchiveStore store = new FrameworkMultipleResultArchiveStore(new MockFramework(), primaryStore);
+        store.addResultArchiveStoreService(secondaryStore);
+
+        TestMethod testMethod = new TestMethod(TestFrameworkMultipleResultArchiveStore.class);
+        testMethod.setStatus("started");
+        List<TestMethod> methods = new ArrayList<>();
+        methods.add(testMethod);
+
+        TestStructure testStructure = new TestStructure();
+        testStructure.setStatus("running");
+        testStructure.setMethods(methods);
+
+        // When...
+        store.updateTestStructure(testStructure);
+
+        // The test carries on while the secondary store is still waiting to write
+        testStructure.setStatus("finished");
+        testMethod.setStatus("finished");
+        secondaryStore.writeLatch.countDown();
+        store.flush();
+
+        // Then...
+        assertThat(primaryStore.testStructureStatuses).containsExactly("running/started");
+        assertThat(secondaryStore.testStructureStatuses).containsExactly("running/started");
+    }
+
+    @Test
+    public void testWritesToASecondaryStoreThatHasFallenTooFarBehindAreDroppedAndCounted() throws Exception {
+        // Given...
+        MockWritableRASStoreService primaryStore = new MockWritableRASStoreService();
+        MockWritableRASStoreService secondaryStore = new MockWritableRASStoreService();
+        secondaryStore.writeLatch = new CountDownLatch(1);
+
+        FrameworkMultipleResultArchiveStore store = new FrameworkMultipleResultArchiveStore(new MockFramework(), primaryStore);
+        store.addResultArchiveStoreService(secondaryStore);
+
+        // The writer thread picks up one write and blocks on the latch, so give it time to do so
+        store.writeLog("blocked");
+        Thread.sleep(200);
+
+        // When...
+        int extraWrites = 5;
+        for (int i = 0; i < FrameworkMultipleResultArchiveStore.SECONDARY_QUEUE_CAPACITY + extraWrites; i++) {
+            store.writeLog("message" + i);
+        }
+
+        // Then...
+        assertThat(primaryStore.messages).hasSize(FrameworkMultipleResultArchiveStore.SECONDARY_QUEUE_CAPACITY + extraWrites + 1);
+        assertThat(store.getLostSecondaryWrites()).isEqualTo(extraWrites);
+
+        secondaryStore.writeLatch.countDown();
+        store.flush();
+        assertThat(secondaryStore.messages).hasSize(FrameworkMultipleResultArchiveStore.SECONDARY_QUEUE_CAPACITY + 1);
+        assertThat(secondaryStore.messages).last().isEqualTo("message" + (FrameworkMultipleResultArchiveStore.SECONDARY_QUEUE_CAPACITY - 1));
+    }
+
+    @Test
+    public void testShutdownDrainsTheWritesQueuedForSecondaryStores() throws Exception {
+        // Given...
+        MockWritableRASStoreService primaryStore = new MockWritableRASStoreService();
+        MockWritableRASStoreService secondaryStore = new MockWritableRASStoreService();
+        secondaryStore.writeLatch = new CountDownLatch(1);
+
+        FrameworkMultipleResultArchiveStore store = new FrameworkMultipleResultArchiveStore(new MockFramework(), primaryStore);
+        store.addResultArchiveStoreService(secondaryStore);
+
+        store.writeLog("first");
+        store.writeLog("second");
+
+        // When...
+        secondaryStore.writeLatch.countDown();
+        store.shutdown();
+
+        // Then...
+        assertThat(secondaryStore.messages).containsExactly("first", "second");
+        assertThat(store.getLostSecondaryWrites()).isZero();
+
+        // Writes after shutdown cannot reach the secondary store, so they are counted
+        store.writeLog("third");
+        assertThat(primaryStore.messages).containsExactly("first", "second", "third");
+        assertThat(store.getLostSecondaryWrites()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.ras.directory;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ras.RasRunResultPage;
+import dev.galasa.framework.spi.ras.RasSearchCriteriaRequestor;
+import dev.galasa.framework.spi.ras.RasSortField;
+import dev.galasa.framework.spi.teststructure.TestStructure;
+import dev.galasa.framework.spi.utils.GalasaGson;
+
+public class DirectoryRASDirectoryServiceTest {
+
+    private Path rasDirectory;
+    private GalasaGson gson = new GalasaGson();
+
+    @Before
+    public void before() throws IOException {
+        this.rasDirectory = Files.createTempDirectory("galasa_junit_ras_");
+    }
+
+    @After
+    public void after() throws IOException {
+        if (this.rasDirectory != null && Files.exists(this.rasDirectory)) {
+            FileUtils.deleteDirectory(this.rasDirectory.toFile());
+        }
+    }
+
+    private Path writeRun(String runName, String status, String requestor, Instant queued) throws IOException {
+        TestStructure testStructure = new TestStructure();
+        testStructure.setRunName(runName);
+        testStructure.setTestName("dev.galasa.SimpleTest");
+        testStructure.setStatus(status);
+        testStructure.setRequestor(requestor);
+        testStructure.setQueued(queued);
+
+        Path runDirectory = rasDirectory.resolve(runName);
+        Files.createDirectories(runDirectory);
+        Path structureFile = runDirectory.resolve("structure.json");
+        Files.write(structureFile, gson.toJson(testStructure).getBytes(StandardCharsets.UTF_8));
+        return structureFile;
+    }
+
+    private List<String> getRunNames(List<IRunResult> runs) throws Exception {
+        List<String> runNames = new ArrayList<>();
+        for (IRunResult run : runs) {
+            runNames.add(run.getTestStructure().getRunName());
+        }
+        return runNames;
+    }
+
+    private DirectoryRASDirectoryService createDirectoryService() {
+        return new DirectoryRASDirectoryService(rasDirectory, gson);
+    }
+
+    @Test
+    public void testGetRunsReturnsRunsAndWritesCatalogue() throws Exception {
+        // Given...
+        writeRun("U1", "finished", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        writeRun("U2", "running", "jim", Instant.parse("2024-01-01T11:00:00Z"));
+        DirectoryRASDirectoryService directoryService = createDirectoryService();
+
+        // When...
+        List<IRunResult> runs = directoryService.getRuns(new RasSearchCriteriaRequestor("bob"));
+
+        // Then...
+        assertThat(getRunNames(runs)).containsExactly("U1");
+        assertThat(directoryService.getRequestors()).containsExactlyInAnyOrder("bob", "jim");
+        assertThat(rasDirectory.resolve(DirectoryRASRunCatalogue.CATALOGUE_FILE_NAME)).exists();
+    }
+
+    @Test
+    public void testUnchangedRunIsAnsweredFromCatalogueWithoutReadingStructure() throws Exception {
+        // Given...
+        Path structureFile = writeRun("U1", "finished", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        createDirectoryService().getRuns();
+
+        // Make the structure unreadable without changing its modified time
+        FileTime modifiedTime = Files.getLastModifiedTime(structureFile);
+        Files.write(structureFile, "not json".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(structureFile, modifiedTime);
+
+        // When...
+        List<String> requestors = createDirectoryService().getRequestors();
+
+        // Then...
+        assertThat(requestors).containsExactly("bob");
+    }
+
+    @Test
+    public void testChangedAndDeletedRunsAreRecatalogued() throws Exception {
+        // Given...
+        Path structureFile = writeRun("U1", "running", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        Path deletedStructureFile = writeRun("U2", "finished", "jim", Instant.parse("2024-01-01T11:00:00Z"));
+        DirectoryRASDirectoryService directoryService = createDirectoryService();
+        assertThat(directoryService.getRuns()).hasSize(2);
+
+        // When...
+        FileTime modifiedTime = Files.getLastModifiedTime(structureFile);
+        writeRun("U1", "finished", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        Files.setLastModifiedTime(structureFile, FileTime.fromMillis(modifiedTime.toMillis() + 1000));
+        FileUtils.deleteDirectory(deletedStructureFile.getParent().toFile());
+
+        List<IRunResult> runs = directoryService.getRuns();
+
+        // Then...
+        assertThat(runs).hasSize(1);
+        assertThat(runs.get(0).getTestStructure().getStatus()).isEqualTo("finished");
+    }
+
+    @Test
+    public void testGetRunsPageReturnsSortedPagesWithCursor() throws Exception {
+        // Given...
+        writeRun("U1", "finished", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        writeRun("U2", "finished", "bob", Instant.parse("2024-01-01T12:00:00Z"));
+        writeRun("U3", "finished", "bob", Instant.parse("2024-01-01T11:00:00Z"));
+        DirectoryRASDirectoryService directoryService = createDirectoryService();
+        RasSortField sortField = new RasSortField("queued", "desc");
+
+        // When...
+        RasRunResultPage firstPage = directoryService.getRunsPage(2, sortField, null);
+        RasRunResultPage secondPage = directoryService.getRunsPage(2, sortField, firstPage.getNextCursor());
+
+        // Then...
+        assertThat(getRunNames(firstPage.getRuns())).containsExactly("U2", "U3");
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(getRunNames(secondPage.getRuns())).containsExactly("U1");
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void testGetSortedRunsReturnsFirstRunsInSortOrderAndCountsAllMatches() throws Exception {
+        // Given...
+        writeRun("U1", "finished", "bob", Instant.parse("2024-01-01T10:00:00Z"));
+        writeRun("U2", "finished", "bob", Instant.parse("2024-01-01T12:00:00Z"));
+        writeRun("U3", "finished", "bob", Instant.parse("2024-01-01T11:00:00Z"));
+        writeRun("U4", "finished", "jim", Instant.parse("2024-01-01T13:00:00Z"));
+        DirectoryRASDirectoryService directoryService = createDirectoryService();
+        RasSearchCriteriaRequestor bobsRuns = new RasSearchCriteriaRequestor("bob");
+
+        // When...
+        List<IRunResult> newestRuns = directoryService.getSortedRuns(2, new RasSortField("queued", "desc"), bobsRuns);
+        List<IRunResult> oldestRuns = directoryService.getSortedRuns(2, new RasSortField("queued", "asc"), bobsRuns);
+        int runCount = directoryService.getRunCount(bobsRuns);
+
+        // Then...
+        assertThat(getRunNames(newestRuns)).containsExactly("U2", "U3");
+        assertThat(getRunNames(oldestRuns)).containsExactly("U1", "U3");
+        assertThat(runCount).isEqualTo(3);
+    }
+}
@@ -15,6 +15,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +28,7 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import dev.galasa.framework.mocks.MockTimeService;
 import dev.galasa.framework.spi.IConfidentialTextService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IFrameworkInitialisation;
@@ -154,6 +156,7 @@ public class DirectoryRASSTest {
         drass.writeLog(message1);
         drass.writeLog(message2);
         drass.writeLog(messages);
+        drass.flush();
 
         final List<String> readMessages = Files.readAllLines(this.rasDirectory.resolve(runname).resolve("run.log"));
 
@@ -163,4 +166,94 @@ public class DirectoryRASSTest {
         Assert.assertEquals("message 1 wrong", messages.get(1), readMessages.get(3));
     }
 
+    @Test
+    public void testTestStructureUpdatesAreCoalescedUntilFlush() throws ResultArchiveStoreException, IOException {
+        // The clock does not move, so the update can only be written by the flush
+        final MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        DirectoryResultArchiveStoreService drass = new DirectoryResultArchiveStoreService(framework,
+                this.rasDirectory.toUri(), timeService);
+        final Path pathStructure = this.rasDirectory.resolve(runname).resolve("structure.json");
+        final GalasaGson gson = new GalasaGson();
+
+        final TestStructure writeStructure = new TestStructure();
+        writeStructure.setStatus("building");
+        drass.updateTestStructure(writeStructure);
+
+        writeStructure.setStatus("running");
+        drass.updateTestStructure(writeStructure);
+
+        TestStructure readStructure = gson.fromJson(new String(Files.readAllBytes(pathStructure), "utf-8"), TestStructure.class);
+        Assert.assertEquals("Update within the write interval should be held back", "building", readStructure.getStatus());
+
+        drass.flush();
+
+        readStructure = gson.fromJson(new String(Files.readAllBytes(pathStructure), "utf-8"), TestStructure.class);
+        Assert.assertEquals("Latest update should be written by the flush", "running", readStructure.getStatus());
+    }
+
+    @Test
+    public void testHeldBackWritesAreWrittenOnceTheirIntervalHasPassed() throws ResultArchiveStoreException, IOException {
+        final MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        DirectoryResultArchiveStoreService drass = new DirectoryResultArchiveStoreService(framework,
+                this.rasDirectory.toUri(), timeService);
+        final Path pathStructure = this.rasDirectory.resolve(runname).resolve("structure.json");
+        final Path pathRunLog = this.rasDirectory.resolve(runname).resolve("run.log");
+        final GalasaGson gson = new GalasaGson();
+
+        final TestStructure writeStructure = new TestStructure();
+        writeStructure.setStatus("building");
+        drass.updateTestStructure(writeStructure);
+        writeStructure.setStatus("running");
+        drass.updateTestStructure(writeStructure);
+        drass.writeLog("message 1");
+
+        timeService.setCurrentTime(Instant.EPOCH.plusMillis(500));
+        drass.flushDue();
+
+        TestStructure readStructure = gson.fromJson(new String(Files.readAllBytes(pathStructure), "utf-8"), TestStructure.class);
+        Assert.assertEquals("Update within the write interval should be held back", "building", readStructure.getStatus());
+        Assert.assertEquals("Message within the flush interval should be held back", List.of(), Files.readAllLines(pathRunLog));
+
+        timeService.setCurrentTime(Instant.EPOCH.plusMillis(1000));
+        drass.flushDue();
+
+        readStructure = gson.fromJson(new String(Files.readAllBytes(pathStructure), "utf-8"), TestStructure.class);
+        Assert.assertEquals("Latest update should be written once the interval has passed", "running", readStructure.getStatus());
+        Assert.assertEquals("Message should be written once the interval has passed", List.of("message 1"), Files.readAllLines(pathRunLog));
+
+        drass.shutdown();
+    }
+
+    @Test
+    public void testRunLogIsWrittenByTheFlushThreadWithoutAFlush() throws Exception {
+        DirectoryResultArchiveStoreService drass = new DirectoryResultArchiveStoreService(framework,
+                this.rasDirectory.toUri());
+        final Path pathRunLog = this.rasDirectory.resolve(runname).resolve("run.log");
+
+        drass.writeLog("message 1");
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (Files.readAllLines(pathRunLog).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Assert.assertEquals("run log wrong", List.of("message 1"), Files.readAllLines(pathRunLog));
+
+        drass.shutdown();
+    }
+
+    @Test
+    public void testRunLogIsWrittenOnShutdownAndAfterwards() throws ResultArchiveStoreException, IOException {
+        DirectoryResultArchiveStoreService drass = new DirectoryResultArchiveStoreService(framework,
+                this.rasDirectory.toUri());
+
+        drass.writeLog("before shutdown");
+        drass.shutdown();
+        drass.writeLog("after shutdown");
+
+        final List<String> readMessages = Files.readAllLines(this.rasDirectory.resolve(runname).resolve("run.log"));
+
+        Assert.assertEquals("run log wrong", List.of("before shutdown", "after shutdown"), readMessages);
+    }
+
 }
@@ -167,4 +167,67 @@ public class TestCacheRBACImpl {
         // Then...
         assertThat(dssData).isEmpty();
     }
+
+    @Test
+    public void testRepeatedChecksAreAnsweredFromLocalCache() throws Exception {
+        // Given...
+        MockTimeService timeService = new MockTimeService(Instant.now());
+        MockAuthStoreService mockAuthStoreService = new MockAuthStoreService(timeService);
+        MockIDynamicStatusStoreService mockDssService = new MockIDynamicStatusStoreService();
+
+        String loginId = "bob";
+        MockUser mockUser = new MockUser();
+        mockUser.setLoginId(loginId);
+        mockUser.setRoleId("2");
+
+        mockAuthStoreService.addUser(mockUser);
+        MockRBACService mockRbacService = FilledMockRBACService.createTestRBACServiceWithTestUser(loginId);
+
+        CacheRBACImpl cache = new CacheRBACImpl(mockDssService, mockAuthStoreService, mockRbacService);
+        String apiAccessActionId = "GENERAL_API_ACCESS";
+
+        assertThat(cache.isActionPermitted(loginId, apiAccessActionId)).isTrue();
+
+        // Remove the DSS entry without telling the watchers, so only the local cache knows the user
+        mockDssService.data.clear();
+
+        // When...
+        boolean isApiAccessPermitted = cache.isActionPermitted(loginId, apiAccessActionId);
+
+        // Then...
+        assertThat(isApiAccessPermitted).isTrue();
+        assertThat(cache.getLocalCacheHits()).isEqualTo(1);
+        assertThat(cache.getLocalCacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testChangesMadeByAnotherServerAreSeenThroughTheDssWatch() throws Exception {
+        // Given...
+        MockTimeService timeService = new MockTimeService(Instant.now());
+        MockAuthStoreService mockAuthStoreService = new MockAuthStoreService(timeService);
+        MockIDynamicStatusStoreService mockDssService = new MockIDynamicStatusStoreService();
+
+        String loginId = "bob";
+        MockUser mockUser = new MockUser();
+        mockUser.setLoginId(loginId);
+        mockUser.setRoleId("2");
+
+        mockAuthStoreService.addUser(mockUser);
+        MockRBACService mockRbacService = FilledMockRBACService.createTestRBACServiceWithTestUser(loginId);
+
+        // Two API servers sharing the same DSS
+        CacheRBAC cache = new CacheRBACImpl(mockDssService, mockAuthStoreService, mockRbacService);
+        CacheRBAC otherServerCache = new CacheRBACImpl(mockDssService, mockAuthStoreService, mockRbacService);
+
+        assertThat(cache.isActionPermitted(loginId, "GENERAL_API_ACCESS")).isTrue();
+        otherServerCache.isActionPermitted(loginId, "GENERAL_API_ACCESS");
+
+        // When...
+        otherServerCache.invalidateUser(loginId);
+        otherServerCache.addUser(loginId, Set.of("CPS_PROPERTIES_SET"));
+
+        // Then...
+        assertThat(cache.isActionPermitted(loginId, "GENERAL_API_ACCESS")).isFalse();
+        assertThat(cache.isActionPermitted(loginId, "CPS_PROPERTIES_SET")).isTrue();
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.After;
+import org.junit.Test;
+
+import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
+import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+
+public class TestRasDirectoryServiceFanOut {
+
+    private static class MockDirectoryService implements IResultArchiveStoreDirectoryService {
+        private final String name;
+        private final List<String> requestors;
+        private CountDownLatch answerLatch;
+        private ResultArchiveStoreException failure;
+
+        public MockDirectoryService(String name, String... requestors) {
+            this.name = name;
+            this.requestors = List.of(requestors);
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return name;
+        }
+
+        @Override
+        public @NotNull List<String> getRequestors() throws ResultArchiveStoreException {
+            if (failure != null) {
+                throw failure;
+            }
+            if (answerLatch != null) {
+                try {
+                    answerLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new ResultArchiveStoreException("Interrupted", e);
+                }
+            }
+            return requestors;
+        }
+
+        @Override
+        public boolean isLocal() {
+            throw new UnsupportedOperationException("Unimplemented method 'isLocal'");
+        }
+
+        @Override
+        public @NotNull List<IRunResult> getRuns(@NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getRuns'");
+        }
+
+        @Override
+        public @NotNull RasRunResultPage getRunsPage(int maxResults, RasSortField primarySort, String pageCursor, @NotNull IRasSearchCriteria... searchCriteria) throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getRunsPage'");
+        }
+
+        @Override
+        public @NotNull List<RasTestClass> getTests() throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getTests'");
+        }
+
+        @Override
+        public @NotNull List<String> getResultNames() throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getResultNames'");
+        }
+
+        @Override
+        public IRunResult getRunById(@NotNull String runId) throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getRunById'");
+        }
+
+        @Override
+        public List<IRunResult> getRunsByRunName(@NotNull String runName) throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getRunsByRunName'");
+        }
+
+        @Override
+        public List<IRunResult> getRunsByGroupName(@NotNull String groupName) throws ResultArchiveStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getRunsByGroupName'");
+        }
+    }
+
+    private RasDirectoryServiceFanOut fanOut;
+
+    @After
+    public void after() {
+        if (fanOut != null) {
+            fanOut.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryAllReturnsResultsInDirectoryServiceOrder() throws Exception {
+        // Given...
+        MockDirectoryService slowService = new MockDirectoryService("slow", "bob");
+        MockDirectoryService fastService = new MockDirectoryService("fast", "jim");
+
+        // The first service only answers once the second has
+        slowService.answerLatch = new CountDownLatch(1);
+        fanOut = new RasDirectoryServiceFanOut(5000);
+
+        // When...
+        RasDirectoryServiceResults<List<String>> results = fanOut.queryAll(List.of(slowService, fastService), directoryService -> {
+            List<String> requestors = directoryService.getRequestors();
+            if (directoryService == fastService) {
+                slowService.answerLatch.countDown();
+            }
+            return requestors;
+        });
+
+        // Then...
+        assertThat(results.getResults()).containsExactly(List.of("bob"), List.of("jim"));
+        assertThat(results.isPartial()).isFalse();
+    }
+
+    @Test
+    public void testQueryAllReturnsPartialResultsWhenADirectoryServiceMissesItsDeadline() throws Exception {
+        // Given...
+        MockDirectoryService stuckService = new MockDirectoryService("stuck", "bob");
+        MockDirectoryService fastService = new MockDirectoryService("fast", "jim");
+        stuckService.answerLatch = new CountDownLatch(1);
+        fanOut = new RasDirectoryServiceFanOut(200);
+
+        // When...
+        RasDirectoryServiceResults<List<String>> results = fanOut.queryAll(List.of(stuckService, fastService), IResultArchiveStoreDirectoryService::getRequestors);
+
+        // Then...
+        assertThat(results.getResults()).containsExactly(List.of("jim"));
+        assertThat(results.isPartial()).isTrue();
+        assertThat(results.getTimedOutServices()).containsExactly("stuck");
+    }
+
+    @Test
+    public void testQueryAllThrowsWhenADirectoryServiceFails() throws Exception {
+        // Given...
+        MockDirectoryService failingService = new MockDirectoryService("failing");
+        MockDirectoryService workingService = new MockDirectoryService("working", "jim");
+        failingService.failure = new ResultArchiveStoreException("Store is broken");
+        fanOut = new RasDirectoryServiceFanOut(5000);
+
+        // When...
+        ResultArchiveStoreException thrown = catchThrowableOfType(
+            () -> fanOut.queryAll(List.of(failingService, workingService), IResultArchiveStoreDirectoryService::getRequestors),
+            ResultArchiveStoreException.class
+        );
+
+        // Then...
+        assertThat(thrown).isSameAs(failingService.failure);
+    }
+
+    @Test
+    public void testQueryFirstReturnsTheFirstAnswerWithoutWaitingForSlowerServices() throws Exception {
+        // Given...
+        MockDirectoryService stuckService = new MockDirectoryService("stuck", "bob");
+        MockDirectoryService emptyService = new MockDirectoryService("empty");
+        MockDirectoryService matchingService = new MockDirectoryService("matching", "jim");
+        stuckService.answerLatch = new CountDownLatch(1);
+        fanOut = new RasDirectoryServiceFanOut(5000);
+
+        // When...
+        String firstRequestor = fanOut.queryFirst(List.of(stuckService, emptyService, matchingService), directoryService -> {
+            List<String> requestors = directoryService.getRequestors();
+            return requestors.isEmpty() ? null : requestors.get(0);
+        });
+
+        // Then...
+        assertThat(firstRequestor).isEqualTo("jim");
+    }
+}
@@ -11,6 +11,9 @@ import static org.assertj.core.api.Assertions.*;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.junit.After;
@@ -241,4 +244,89 @@ public class FrameworkConfigurationPropertyStoreTest {
 
         assertThat(record).hasSize(0);
     }
-}
\ No newline at end of file
+
+    /**
+     * A file-based CPS which counts the requests made to it
+     */
+    private class CountingFpfConfigurationPropertyStore extends FpfConfigurationPropertyStore {
+        private int getPropertyCallCount = 0;
+        private int getPropertiesCallCount = 0;
+
+        public CountingFpfConfigurationPropertyStore(URI file) throws ConfigurationPropertyStoreException {
+            super(file);
+        }
+
+        @Override
+        public String getProperty(String key) throws ConfigurationPropertyStoreException {
+            getPropertyCallCount++;
+            return super.getProperty(key);
+        }
+
+        @Override
+        public Map<String, String> getProperties(List<String> keys) throws ConfigurationPropertyStoreException {
+            getPropertiesCallCount++;
+            return super.getProperties(keys);
+        }
+    }
+
+    @Test
+    public void testFrameworkGetPropertyFetchesAllCandidateKeysInOneRequest() throws ConfigurationPropertyStoreException, IOException {
+        Properties overrides = new Properties();
+        Properties record = new Properties();
+
+        Properties testProps = new Properties();
+        testProps.setProperty("zos.image.credentialid", "tab!=space");
+
+        FileOutputStream out = new FileOutputStream(testProp);
+        testProps.store(out, null);
+        out.close();
+
+        CountingFpfConfigurationPropertyStore fpfcps = new CountingFpfConfigurationPropertyStore(testProp.toURI());
+
+        FrameworkConfigurationPropertyService test = new FrameworkConfigurationPropertyService(new MockFramework(), fpfcps,
+                overrides, record, "zos");
+
+        String value = test.getProperty("image", "credentialid", "PLEXMA", "MVMA");
+
+        assertThat(value).isEqualTo("tab!=space");
+        assertThat(fpfcps.getPropertiesCallCount).as("all candidate keys should be fetched together").isEqualTo(1);
+
+        assertThat(record.getProperty("zos.image.PLEXMA.MVMA.credentialid._source")).isEqualTo("missing");
+        assertThat(record.getProperty("zos.image.PLEXMA.MVMA.credentialid")).isEqualTo("*** MISSING ***");
+        assertThat(record.getProperty("zos.image.PLEXMA.credentialid._source")).isEqualTo("missing");
+        assertThat(record.getProperty("zos.image.credentialid._source")).isEqualTo("cps");
+        assertThat(record.getProperty("zos.image.credentialid")).isEqualTo("tab!=space");
+    }
+
+    @Test
+    public void testFrameworkGetPropertyDoesNotFetchKeysAfterAnOverride() throws ConfigurationPropertyStoreException, IOException {
+        Properties overrides = new Properties();
+        Properties record = new Properties();
+
+        Properties testProps = new Properties();
+        testProps.setProperty("zos.image.PLEXMA.credentialid", "Waddup");
+        testProps.setProperty("zos.image.credentialid", "tab!=space");
+
+        overrides.setProperty("zos.image.PLEXMA.credentialid", "Sever2");
+
+        FileOutputStream out = new FileOutputStream(testProp);
+        testProps.store(out, null);
+        out.close();
+
+        CountingFpfConfigurationPropertyStore fpfcps = new CountingFpfConfigurationPropertyStore(testProp.toURI());
+
+        FrameworkConfigurationPropertyService test = new FrameworkConfigurationPropertyService(new MockFramework(), fpfcps,
+                overrides, record, "zos");
+
+        String value = test.getProperty("image", "credentialid", "PLEXMA", "MVMA");
+
+        // Only the key before the override needs to come from the store
+        assertThat(value).isEqualTo("Sever2");
+        assertThat(fpfcps.getPropertiesCallCount).isEqualTo(0);
+        assertThat(fpfcps.getPropertyCallCount).isEqualTo(1);
+
+        assertThat(record.getProperty("zos.image.PLEXMA.MVMA.credentialid._source")).isEqualTo("missing");
+        assertThat(record.getProperty("zos.image.PLEXMA.credentialid._source")).isEqualTo("overrides");
+        assertThat(record.getProperty("zos.image.credentialid._source")).isNull();
+    }
+}
@@ -21,13 +21,19 @@ import java.net.URISyntaxException;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -278,6 +284,68 @@ public class FrameworkPropertyFileTest {
         fpf.destroy();
     }
 
+    /**
+     * <p>
+     * This tests that prefix and namespace reads only return the matching keys
+     * </p>
+     */
+    @Test
+    public void testGetPrefixAndNamespaces() throws FrameworkPropertyFileException {
+        FrameworkPropertyFile fpf = new FrameworkPropertyFile(testPropUri);
+        fpf.set("prefix-other.key", "value");
+        fpf.set("prefixa.key", "value");
+
+        Map<String, String> values = fpf.getPrefix("prefix.infix.");
+        List<String> namespaces = fpf.getNamespaces();
+
+        assertEquals("Prefix values were not as expected", 2, values.size());
+        assertEquals("SomeString1", values.get("prefix.infix.suffix1"));
+        assertEquals("SomeString2", values.get("prefix.infix.suffix2"));
+        assertEquals("Namespaces were not as expected", 3, namespaces.size());
+        assertEquals("Namespaces were not as expected", new HashSet<>(Arrays.asList("prefix", "prefix-other", "prefixa")), new HashSet<>(namespaces));
+
+        fpf.destroy();
+    }
+
+    /**
+     * <p>
+     * This tests that no changes are lost when two property files on the same file
+     * are changed by many threads at once.
+     * </p>
+     */
+    @Test
+    public void testConcurrentSetsFromTwoInstancesAreNotLost() throws Exception {
+        FrameworkPropertyFile fpf1 = new FrameworkPropertyFile(testPropUri);
+        FrameworkPropertyFile fpf2 = new FrameworkPropertyFile(testPropUri);
+
+        int threadCount = 8;
+        int setsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            FrameworkPropertyFile fpf = (thread % 2 == 0) ? fpf1 : fpf2;
+            String keyPrefix = "concurrent.thread" + thread + ".";
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < setsPerThread; i++) {
+                    fpf.set(keyPrefix + i, Integer.toString(i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        FrameworkPropertyFile fpf3 = new FrameworkPropertyFile(testPropUri);
+        assertEquals("Some sets were lost", threadCount * setsPerThread, fpf3.getPrefix("concurrent.").size());
+        assertEquals("Some sets were lost", threadCount * setsPerThread, fpf1.getPrefix("concurrent.").size());
+
+        fpf1.destroy();
+        fpf2.destroy();
+        fpf3.destroy();
+    }
+
     /**
      * <p>
      * This tests to see if a watch can be created and that it detects changes to
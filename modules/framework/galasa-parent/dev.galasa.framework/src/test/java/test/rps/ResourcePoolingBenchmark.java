@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package test.rps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.internal.rps.ResourceString;
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.FrameworkResourcePoolingService;
+import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
+
+/**
+ * Obtains resources from pools which are nearly full, as a busy ecosystem does,
+ * reporting the time taken and the number of DSS reads per allocation.
+ *
+ * Run with the number of allocations per pool, which defaults to 2000.
+ */
+public class ResourcePoolingBenchmark {
+
+    private static final String   KEY_PREFIX = "applid.";
+    private static final String   DEFINITION = "APPLID{9}{4-7}{F}{z}";
+    private static final double[] FULLNESS   = new double[] { 0.5, 0.9, 0.99, 0.999 };
+
+    // A DSS which counts the reads made of it
+    private static class CountingDSSStore extends MockDSSStore {
+        private final Map<String, String> properties;
+        private long                      reads;
+
+        private CountingDSSStore(Map<String, String> properties) {
+            super(properties);
+            this.properties = properties;
+        }
+
+        @Override
+        public String get(@NotNull String key) throws DynamicStatusStoreException {
+            reads++;
+            return properties.get(key);
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+            reads++;
+            Map<String, String> results = new HashMap<>();
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    results.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return results;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int allocations = 2000;
+        if (args.length > 0) {
+            allocations = Integer.parseInt(args[0]);
+        }
+
+        List<String> resourceStrings = new ArrayList<>();
+        resourceStrings.add(DEFINITION);
+
+        for (double fullness : FULLNESS) {
+            CountingDSSStore dss = createPool(fullness);
+            FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+
+            // Warm up, then measure
+            obtain(frps, resourceStrings, dss, allocations / 10);
+            dss.reads = 0;
+
+            long startTime = System.nanoTime();
+            int failed = obtain(frps, resourceStrings, dss, allocations);
+            long elapsed = System.nanoTime() - startTime;
+
+            System.out.println(String.format("%5.1f%% full: %8.1f us/allocation, %6.1f DSS reads/allocation, %d failed",
+                    fullness * 100.0, elapsed / 1000.0 / allocations, (double) dss.reads / allocations, failed));
+        }
+    }
+
+    private static CountingDSSStore createPool(double fullness) throws Exception {
+        ResourceString definition = new ResourceString(DEFINITION);
+        int combinations = (int) definition.getNumberOfCombinations();
+
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < combinations; i++) {
+            positions.add(i);
+        }
+        Collections.shuffle(positions, new Random(1));
+
+        Map<String, String> properties = new HashMap<>();
+        int used = Math.min(combinations - 1, (int) (combinations * fullness));
+        for (int i = 0; i < used; i++) {
+            String resource = definition.getResource(positions.get(i));
+            properties.put(KEY_PREFIX + resource, "U1");
+            properties.put(KEY_PREFIX + resource + ".run", "U1");
+        }
+        return new CountingDSSStore(properties);
+    }
+
+    private static int obtain(FrameworkResourcePoolingService frps, List<String> resourceStrings, CountingDSSStore dss,
+            int allocations) {
+        int failed = 0;
+        for (int i = 0; i < allocations; i++) {
+            try {
+                frps.obtainResources(resourceStrings, null, 1, 1, dss, KEY_PREFIX);
+            } catch (InsufficientResourcesAvailableException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+}
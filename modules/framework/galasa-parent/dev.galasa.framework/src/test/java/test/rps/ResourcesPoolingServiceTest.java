@@ -10,11 +10,18 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.validation.constraints.NotNull;
 
 import org.junit.Test;
 
+import dev.galasa.framework.internal.rps.ResourceBitmap;
 import dev.galasa.framework.internal.rps.ResourceString;
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkResourcePoolingService;
 import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
 import dev.galasa.framework.spi.ResourcePoolingServiceException;
@@ -239,4 +246,114 @@ public class ResourcesPoolingServiceTest {
 
         assertTrue("Exception not thrown", caught);
     }
+
+    /**
+     * This test method checks resources map to and from their position in the
+     * order of getNextResource.
+     * 
+     * @throws ResourcePoolingServiceException
+     */
+    @Test
+    public void testResourceIndex() throws ResourcePoolingServiceException {
+        ResourceString rs = new ResourceString("Hello{z}{9}Test");
+
+        assertEquals("Unexpected resource", "Helloa0Test", rs.getResource(0));
+        assertEquals("Unexpected resource", "Hellob0Test", rs.getResource(10));
+        assertEquals("Unexpected resource", "Helloz9Test", rs.getResource(259));
+        assertEquals("Unexpected index", 10, rs.getIndex("Hellob0Test"));
+        assertEquals("Unexpected index", 259, rs.getIndex("Helloz9Test"));
+        assertEquals("Unexpected index", -1, rs.getIndex("HelloA0Test"));
+        assertEquals("Unexpected index", -1, rs.getIndex("Helloa0Tes"));
+    }
+
+    /**
+     * This test method checks the only free resources of a nearly full pool are
+     * found from a single read of the DSS, without checking each resource.
+     * 
+     * @throws InsufficientResourcesAvailableException
+     */
+    @Test
+    public void testNearlyFullPoolIsReadFromTheDssOnce() throws InsufficientResourcesAvailableException {
+        Map<String, String> properties = new HashMap<>();
+        MockDSSStore dss = new MockDSSStore(properties) {
+            @Override
+            public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+                return new HashMap<>(properties);
+            }
+
+            @Override
+            public String get(@NotNull String key) throws DynamicStatusStoreException {
+                throw new UnsupportedOperationException("Resources should not be checked one at a time");
+            }
+        };
+        for (int i = 0; i < 1000; i++) {
+            String resource = String.format("APPLID%03d", i);
+            if (i != 123 && i != 124 && i != 700) {
+                properties.put("applid." + resource, "U1");
+                properties.put("applid." + resource + ".run", "U1");
+            }
+        }
+
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        List<String> resourceStrings = new ArrayList<>();
+        resourceStrings.add("APPLID{9}{9}{9}");
+
+        List<String> consecutive = frps.obtainResources(resourceStrings, null, 2, 2, dss, "applid.");
+        List<String> all = frps.obtainResources(resourceStrings, null, 3, dss, "applid.");
+        Collections.sort(all);
+
+        assertEquals("Unexpected consecutive resources", List.of("APPLID123", "APPLID124"), consecutive);
+        assertEquals("Unexpected resources", List.of("APPLID123", "APPLID124", "APPLID700"), all);
+
+        boolean caught = false;
+        try {
+            frps.obtainResources(resourceStrings, null, 4, dss, "applid.");
+        } catch (InsufficientResourcesAvailableException e) {
+            caught = true;
+        }
+        assertTrue("Exception not thrown", caught);
+    }
+
+    /**
+     * This test method checks resources can be obtained from a definition with
+     * more combinations than an int can hold, such as the default eight letter
+     * resource string, avoiding the resources in use.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testEightCharacterPoolCanBeObtainedFrom() throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("name.AAAAAAAA", "U1");
+        properties.put("name.AAAAAAAC", "U1");
+        MockDSSStore dss = new MockDSSStore(properties) {
+            @Override
+            public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+                return new HashMap<>(properties);
+            }
+        };
+
+        String definition = "{A-Z}{A-Z}{A-Z}{A-Z}{A-Z}{A-Z}{A-Z}{A-Z}";
+        assertEquals("Unexpected combinations", 208827064576L, new ResourceString(definition).getNumberOfCombinations());
+
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        List<String> resourceStrings = new ArrayList<>();
+        resourceStrings.add(definition);
+
+        List<String> resources = frps.obtainResources(resourceStrings, null, 10, dss, "name.");
+        List<String> consecutive = frps.obtainResources(resourceStrings, null, 3, 3, dss, "name.");
+
+        assertEquals("Unexpected number of resources", 10, resources.stream().distinct().count());
+        assertEquals("Unexpected number of consecutive resources", 3, consecutive.size());
+        for (String resource : resources) {
+            assertTrue("Unexpected resource " + resource, resource.matches("[A-Z]{8}"));
+            assertTrue("Resource in use obtained", !properties.containsKey("name." + resource));
+        }
+
+        ResourceBitmap bitmap = new ResourceBitmap(new ResourceString(definition));
+        bitmap.markUsed("AAAAAAAA");
+        bitmap.markUsed("AAAAAAAC");
+        assertEquals("Unexpected first resources", List.of("AAAAAAAD", "AAAAAAAE"), bitmap.takeFirst(2));
+        assertEquals("Unexpected next resource", List.of("AAAAAAAB"), bitmap.takeFirst(1));
+    }
 }
@@ -22,6 +22,7 @@ import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.IDynamicResource;
 import dev.galasa.framework.spi.IDynamicRun;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStore;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
@@ -142,6 +143,11 @@ public class MockDSSStore implements IDynamicStatusStore, IDynamicStatusStoreSer
         throw new UnsupportedOperationException("Unimplemented method 'getDynamicRun'");
     }
 
+    @Override
+    public IDynamicSlotPool getDynamicSlotPool(String poolKey, String legacyCounterKey) {
+        throw new UnsupportedOperationException("Unimplemented method 'getDynamicSlotPool'");
+    }
+
     @Override
     public void put(@NotNull String key, @NotNull String value, @NotNull long timeToLiveSecs)
             throws DynamicStatusStoreException {
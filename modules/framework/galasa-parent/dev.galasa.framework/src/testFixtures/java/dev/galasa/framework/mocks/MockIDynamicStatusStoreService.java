@@ -16,6 +16,7 @@ import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.IDynamicResource;
 import dev.galasa.framework.spi.IDynamicRun;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
 
@@ -45,6 +46,9 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
 
     public Map<String,String> data = new HashMap<>();
 
+    // Watchers are told about changes made through this mock, keyed by the prefix they watch
+    private Map<UUID, Map.Entry<String, IDynamicStatusStoreWatcher>> watchers = new HashMap<>();
+
     @Override
     public boolean putSwap(@NotNull String key, String oldValue, @NotNull String newValue) {
         // Don't record heartbeat events in the history. They are random how many there would be 
@@ -53,7 +57,8 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
         if (!key.endsWith(".heartbeat")) {
             history.add( new DssHistoryRecord(DssHistoryRecordType.PUT, key , newValue));
         }
-        data.put(key,newValue);
+        String previousValue = data.put(key,newValue);
+        notifyWatchers(key, previousValue, newValue);
         return true;
     }
 
@@ -62,7 +67,10 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
         // Heartbeat deletion events should be recorded, as they are a sign that cleanup
         // is being done, so unit tests will want to check that.
         history.add( new DssHistoryRecord(DssHistoryRecordType.DELETE, key ));
-        data.remove(key);
+        String oldValue = data.remove(key);
+        if (oldValue != null) {
+            notifyWatchers(key, oldValue, null);
+        }
     }
 
     @Override
@@ -72,7 +80,8 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
 
     @Override
     public void put(@NotNull String key, @NotNull String value) throws DynamicStatusStoreException {
-        data.put(key, value);
+        String oldValue = data.put(key, value);
+        notifyWatchers(key, oldValue, value);
     }
 
     @Override
@@ -81,6 +90,40 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
         put(key, value);
     }
 
+    @Override
+    public UUID watch(IDynamicStatusStoreWatcher watcher, String key) throws DynamicStatusStoreException {
+        return watchPrefix(watcher, key);
+    }
+
+    @Override
+    public UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException {
+        UUID watchId = UUID.randomUUID();
+        watchers.put(watchId, new AbstractMap.SimpleEntry<>(keyPrefix, watcher));
+        return watchId;
+    }
+
+    @Override
+    public void unwatch(UUID watchId) throws DynamicStatusStoreException {
+        watchers.remove(watchId);
+    }
+
+    private void notifyWatchers(String key, String oldValue, String newValue) {
+        IDynamicStatusStoreWatcher.Event event;
+        if (newValue == null) {
+            event = IDynamicStatusStoreWatcher.Event.DELETE;
+        } else if (oldValue == null) {
+            event = IDynamicStatusStoreWatcher.Event.NEW;
+        } else {
+            event = IDynamicStatusStoreWatcher.Event.MODIFIED;
+        }
+
+        for (Map.Entry<String, IDynamicStatusStoreWatcher> watch : new ArrayList<>(watchers.values())) {
+            if (key.startsWith(watch.getKey())) {
+                watch.getValue().propertyModified(key, event, oldValue, newValue);
+            }
+        }
+    }
+
     // ------------------- un-implemented methods follow --------------------
 
     @Override
@@ -116,21 +159,6 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
                throw new UnsupportedOperationException("Unimplemented method 'performActions'");
     }
 
-    @Override
-    public UUID watch(IDynamicStatusStoreWatcher watcher, String key) throws DynamicStatusStoreException {
-               throw new UnsupportedOperationException("Unimplemented method 'watch'");
-    }
-
-    @Override
-    public UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException {
-               throw new UnsupportedOperationException("Unimplemented method 'watchPrefix'");
-    }
-
-    @Override
-    public void unwatch(UUID watchId) throws DynamicStatusStoreException {
-               throw new UnsupportedOperationException("Unimplemented method 'unwatch'");
-    }
-
     @Override
     public IDynamicResource getDynamicResource(String resourceKey) {
                throw new UnsupportedOperationException("Unimplemented method 'getDynamicResource'");
@@ -140,5 +168,10 @@ public class MockIDynamicStatusStoreService implements IDynamicStatusStoreServic
     public IDynamicRun getDynamicRun() throws DynamicStatusStoreException {
                throw new UnsupportedOperationException("Unimplemented method 'getDynamicRun'");
     }
+
+    @Override
+    public IDynamicSlotPool getDynamicSlotPool(String poolKey, String legacyCounterKey) {
+               throw new UnsupportedOperationException("Unimplemented method 'getDynamicSlotPool'");
+    }
     
 }
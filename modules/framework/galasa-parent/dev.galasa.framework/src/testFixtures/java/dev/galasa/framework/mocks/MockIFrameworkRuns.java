@@ -15,6 +15,7 @@ import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IRunIndex;
 
 public class MockIFrameworkRuns implements IFrameworkRuns{
     protected String groupName;
@@ -93,4 +94,9 @@ public class MockIFrameworkRuns implements IFrameworkRuns{
     public boolean reset(String runname) throws DynamicStatusStoreException {
         return true;
     }
+
+    @Override
+    public @NotNull IRunIndex getRunIndex() throws FrameworkException {
+        throw new UnsupportedOperationException("Unimplemented method 'getRunIndex'");
+    }
 }
\ No newline at end of file
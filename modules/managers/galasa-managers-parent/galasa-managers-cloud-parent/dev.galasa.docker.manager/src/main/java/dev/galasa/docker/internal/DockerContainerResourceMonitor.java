@@ -36,6 +36,7 @@ import dev.galasa.http.StandAloneHttpClient;
 public class DockerContainerResourceMonitor implements Runnable {
     private final IConfigurationPropertyStoreService cps;
     private final IDynamicStatusStoreService dss;
+    private final IResourceManagement resourceManagement;
 
     private final Log logger = LogFactory.getLog(DockerContainerResourceMonitor.class);
 
@@ -46,6 +47,7 @@ public class DockerContainerResourceMonitor implements Runnable {
     public DockerContainerResourceMonitor(IFramework framework, IResourceManagement resourceManagement, IConfigurationPropertyStoreService cps, IDynamicStatusStoreService dss) {
         this.cps = cps;
         this.dss = dss;
+        this.resourceManagement = resourceManagement;
 
         logger.info("Docker container resource monitor intialised");
     }
@@ -110,6 +112,11 @@ public class DockerContainerResourceMonitor implements Runnable {
                     continue;
                 }
 
+                // Another resource manager looks after this run
+                if (!this.resourceManagement.isResponsibleFor(runName)) {
+                    continue;
+                }
+
                 // Check Slot name against runID. If Null or another run then container orphaned
                 if (!runName.equals(dss.get("engine."+engine+".slot."+slotId))) {
                     orphanedContainers.add(container.getId());
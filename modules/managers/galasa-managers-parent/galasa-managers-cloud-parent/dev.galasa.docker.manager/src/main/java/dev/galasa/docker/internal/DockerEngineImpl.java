@@ -129,11 +129,7 @@ public class DockerEngineImpl implements IDockerEngine {
 			}
 
 			// Quick check to see if there is an engine with a free slot. This does not allocate slot
-			String currentSlots = dss.get("engine." + engineId + ".current.slots");
-			if (currentSlots == null) {
-				currentSlots = "0";
-			}
-			int currentSlotsI = Integer.parseInt(currentSlots);
+			int currentSlotsI = DockerEnvironment.getSlotPool(dss, engineId).getUsedSlots();
 
 			if (currentSlotsI < slotLimit) {
 				if (engine != null && port != null) {
@@ -22,8 +22,10 @@ import dev.galasa.docker.DockerProvisionException;
 import dev.galasa.docker.internal.properties.DockerSlots;
 import dev.galasa.framework.spi.DssAdd;
 import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DssUpdate;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicResource;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 
@@ -246,57 +248,39 @@ public class DockerEnvironment implements IDockerEnvironment {
      */
     private DockerSlotImpl allocateAndCreateDssSlot(String dockerEngineId, String runName, DockerEngineImpl engine)
             throws DockerProvisionException {
-        String slotKey = "engine." + dockerEngineId + ".current.slots";
         String slotNamePrefix = "SLOT_" + runName + "_";
-        String allocatedSlotName;
-        String slotPropertyKey;
         String allocatedTime = Instant.now().toString();
 
-        HashMap<String, String> slotProps = new HashMap<>();
-
         try {
             int maxSlots = Integer.parseInt(DockerSlots.get(engine));
-            int usedSlots = 0;
-            String currentSlots = dss.get(slotKey);
 
-            if (currentSlots != null) {
-                usedSlots = Integer.parseInt(currentSlots);
-            }
-            if (usedSlots >= maxSlots) {
-                throw new DockerProvisionException("Not enough available slots");
+            String allocatedSlotName = slotNamePrefix + 0;
+            for (int i = 1; dss.get("engine." + dockerEngineId + ".slot." + allocatedSlotName) != null; i++) {
+                allocatedSlotName = slotNamePrefix + i;
             }
-            usedSlots++;
-            String slotIncrease = Integer.toString(usedSlots);
+            String slotPropertyKey = "engine." + dockerEngineId + ".slot." + allocatedSlotName;
+            String slotStatusKey = "slot." + dockerEngineId + ".run." + runName + "." + allocatedSlotName;
 
-            for (int i = 0;; i++) {
-                slotProps.clear();
-                allocatedSlotName = slotNamePrefix + i;
-                slotPropertyKey = "engine." + dockerEngineId + ".slot." + allocatedSlotName;
-                slotProps.put("slot." + dockerEngineId + ".run." + runName + "." + allocatedSlotName, "active");
-                if (dss.putSwap(slotPropertyKey, null, runName)) {
-                    break;
-                }
+            String poolSlot = getSlotPool(dss, dockerEngineId).acquireSlot(runName, maxSlots,
+                    new DssUpdate(slotPropertyKey, runName),
+                    new DssUpdate(slotStatusKey, "active"));
+            if (poolSlot == null) {
+                throw new DockerProvisionException("Not enough available slots");
             }
 
-            if (dss.putSwap(slotKey, currentSlots, slotIncrease, slotProps)) {
-                String resourcePropertyPrefix = "slot." + allocatedSlotName;
+            String resourcePropertyPrefix = "slot." + allocatedSlotName;
 
-                HashMap<String, String> resProps = new HashMap<>();
-                resProps.put(resourcePropertyPrefix, runName);
-                resProps.put(resourcePropertyPrefix + ".allocated", allocatedTime);
+            HashMap<String, String> resProps = new HashMap<>();
+            resProps.put(resourcePropertyPrefix, runName);
+            resProps.put(resourcePropertyPrefix + ".allocated", allocatedTime);
 
-                dynamicResource.put(resProps);
+            dynamicResource.put(resProps);
 
-                return new DockerSlotImpl(dockerManager, engine, allocatedSlotName, resProps);
-            } else {
-                // Retry as another slot was allocated during the allocation of this slot
-                dss.delete(slotPropertyKey);
-                return allocateAndCreateDssSlot(dockerEngineId, runName, engine);
-            }
+            return new DockerSlotImpl(dockerManager, engine, allocatedSlotName, poolSlot, resProps);
         } catch (DockerManagerException e) {
             logger.error("Could not find number of Docker slots in CPS");
         } catch (DynamicStatusStoreException e) {
-            logger.warn("Could not perform putswap on dss");
+            logger.warn("Could not allocate a slot in the dss");
         }
         throw new DockerProvisionException("Failed to provision Docker slot");
     }
@@ -313,35 +297,19 @@ public class DockerEnvironment implements IDockerEnvironment {
         String dockerEngineId = dockerEngine.getEngineId();
 
         try {
-            String currentSlot = dss.get("engine." + dockerEngineId + ".current.slots");
-            if (currentSlot == null) {
-                return;
-            }
-
-            int usedSlots = Integer.parseInt(currentSlot);
-            usedSlots--;
-            if (usedSlots < 0) {
-                usedSlots = 0;
-            }
             dynamicResource.delete(dockerSlot.getResourcePropertyKeys());
 
+            String runName = framework.getTestRunName();
             String prefix = "engine." + dockerEngineId + ".slot." + dockerSlot.getSlotName();
-            String slotKey = "slot." + dockerEngineId + ".run." + framework.getTestRunName() + "."
-                    + dockerSlot.getSlotName();
-            HashMap<String, String> otherProps = new HashMap<>();
-            otherProps.put(slotKey, "free");
-            if (!dss.putSwap("engine." + dockerEngineId + ".current.slots", currentSlot, Integer.toString(usedSlots),
-                    otherProps)) {
-                Thread.sleep(200);
-                freeDockerSlot(dockerSlot);
-                return;
+            String slotKey = "slot." + dockerEngineId + ".run." + runName + "." + dockerSlot.getSlotName();
+
+            DssDelete deleteSlot = new DssDelete(prefix, null);
+            DssDelete deleteSlotStatus = new DssDelete(slotKey, null);
+            IDynamicSlotPool slotPool = getSlotPool(dss, dockerEngineId);
+            if (!slotPool.releaseSlot(dockerSlot.getPoolSlot(), runName, deleteSlot, deleteSlotStatus)) {
+                // The slot has already been released by the manager clean up routines
+                dss.performActions(deleteSlot, deleteSlotStatus);
             }
-
-            HashSet<String> delProps = new HashSet<>();
-            delProps.add(prefix);
-            delProps.add(prefix + ".allocated");
-            delProps.add(slotKey);
-            dss.delete(delProps);
             logger.info("Discarding slot: " + dockerSlot.getSlotName() + ". on the Docker engine: " + dockerEngineId);
         } catch (Exception e) {
             logger.warn("Failed to free slot on engine " + dockerEngineId + ", slot " + dockerSlot.getSlotName()
@@ -360,18 +328,6 @@ public class DockerEnvironment implements IDockerEnvironment {
     public static void deleteStaleDssSlot(String runName, String dockerEngineId, String slotName,
             IDynamicStatusStoreService dss) {
         try {
-            String numberOfSlotKey = "engine." + dockerEngineId + ".current.slots";
-            String currentSlot = dss.get(numberOfSlotKey);
-            if (currentSlot == null) {
-                return;
-            }
-
-            int usedSlots = Integer.parseInt(currentSlot);
-            usedSlots--;
-            if (usedSlots < 0) {
-                usedSlots = 0;
-            }
-
             IDynamicResource dynamicResource = dss.getDynamicResource("engine." + dockerEngineId);
             String resPrefix = "slot." + slotName;
 
@@ -383,15 +339,10 @@ public class DockerEnvironment implements IDockerEnvironment {
             String slotStatusKey = "slot." + dockerEngineId + ".run." + runName + "." + slotName;
             String runIdKey = "engine." + dockerEngineId + ".slot." + slotName;
 
-            HashMap<String, String> dockerDssProps = new HashMap<>();
-            dockerDssProps.put(slotStatusKey, "free");
+            // Switch the slot to free first, so only one clean up releases it
+            if (dss.putSwap(slotStatusKey, "active", "free")) {
+                getSlotPool(dss, dockerEngineId).releaseStaleSlot(runName);
 
-            if ("active".equals(dss.get(slotStatusKey))) {
-                if (!dss.putSwap(numberOfSlotKey, currentSlot, Integer.toString(usedSlots), dockerDssProps)) {
-                    Thread.sleep(200);
-                    deleteStaleDssSlot(runName, dockerEngineId, slotName, dss);
-                    return;
-                }
                 HashSet<String> props = new HashSet<>();
                 props.add(slotStatusKey);
                 props.add(runIdKey);
@@ -403,6 +354,19 @@ public class DockerEnvironment implements IDockerEnvironment {
         }
     }
 
+    /**
+     * The slot pool of a Docker engine, which also counts the slots in the
+     * engine.ID.current.slots count kept by older versions of the manager until
+     * they are all freed
+     * 
+     * @param dss
+     * @param dockerEngineId
+     * @return the slot pool
+     */
+    public static IDynamicSlotPool getSlotPool(IDynamicStatusStoreService dss, String dockerEngineId) {
+        return dss.getDynamicSlotPool("engine." + dockerEngineId, "engine." + dockerEngineId + ".current.slots");
+    }
+
     @Override
     public DockerVolumeImpl allocateDockerVolume(String volumeName, String tag, String mountPath, String dockerEngineTag, boolean readOnly) throws DockerProvisionException {
 
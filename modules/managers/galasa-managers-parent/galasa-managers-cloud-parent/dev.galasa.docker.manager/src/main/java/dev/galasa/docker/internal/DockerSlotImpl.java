@@ -18,6 +18,7 @@ public class DockerSlotImpl {
 	private final DockerManagerImpl dockerManager;
 	private final HashMap<String,String> resourceProperties;
 	private final String slotName;
+	private final String poolSlot;
 	private final DockerEngineImpl dockerEngine;
 
 	/**
@@ -25,11 +26,13 @@ public class DockerSlotImpl {
 	 * 
 	 * @param dockerManager
 	 * @param slotName
+	 * @param poolSlot
 	 * @param resourceProperties
 	 */
-	public DockerSlotImpl(DockerManagerImpl dockerManager, DockerEngineImpl dockerEngine, String slotName, HashMap<String,String> resourceProperties) {
+	public DockerSlotImpl(DockerManagerImpl dockerManager, DockerEngineImpl dockerEngine, String slotName, String poolSlot, HashMap<String,String> resourceProperties) {
 		this.dockerManager 			= dockerManager;
 		this.slotName 				= slotName;
+		this.poolSlot 				= poolSlot;
 		this.resourceProperties 	= resourceProperties;
 		this.dockerEngine			= dockerEngine;
     }
@@ -52,6 +55,15 @@ public class DockerSlotImpl {
 		return this.slotName;
 	}
 
+	/**
+	 * Return the slot held in the engine's slot pool. E.g. 3
+	 * 
+	 * @return String
+	 */
+	public String getPoolSlot() {
+		return this.poolSlot;
+	}
+
 	/**
 	 * Return a set of the resource properties used by this slot.
 	 * 
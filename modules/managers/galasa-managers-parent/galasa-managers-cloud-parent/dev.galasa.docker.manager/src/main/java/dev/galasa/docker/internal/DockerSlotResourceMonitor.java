@@ -17,6 +17,7 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 /**
  * Docker resource monitor
@@ -64,16 +65,17 @@ public class DockerSlotResourceMonitor implements Runnable {
 
     public void checkForStaleSlots() {
         try {
-            Map<String, String> slotRuns = dss.getPrefix("slot");
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot("docker");
+            Map<String, String> slotRuns = snapshot.getPrefix("slot");
 			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+			Set<String> activeRunNames = snapshot.getActiveRunNames();
 
 			for(String key : slotRuns.keySet()) {
 				Matcher matcher = slotRunPattern.matcher(key);
 				if (matcher.find()) {
 					String runName = matcher.group(2);
 
-					if (!activeRunNames.contains(runName)) {
+					if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
 						String dockerEngine = matcher.group(1);
 						String slot    = matcher.group(3);
 
@@ -27,6 +27,7 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import dev.galasa.http.HttpClientResponse;
 import dev.galasa.http.IHttpClient;
 import dev.galasa.http.StandAloneHttpClient;
@@ -59,10 +60,10 @@ public class DockerVolumeResourceMonitor implements Runnable {
         try {
             updateDockerEngines();
         
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot("docker");
 
-            removeStaleProperties(activeRunNames);
-            checkForStaleVolumes(activeRunNames);
+            removeStaleProperties(snapshot);
+            checkForStaleVolumes(snapshot.getActiveRunNames());
         } catch (Exception e)  {
             logger.error("Volume monitor failed: ", e);
         }
@@ -98,7 +99,8 @@ public class DockerVolumeResourceMonitor implements Runnable {
                 }
                 JsonObject labels = volJson.get("Labels").getAsJsonObject();
                 if (!(labels.get("GALASA") == null)) {
-                    if (!activeRunNames.contains(labels.get("RUN_ID").getAsString())){
+                    String runId = labels.get("RUN_ID").getAsString();
+                    if (!activeRunNames.contains(runId) && this.resourceManagement.isResponsibleFor(runId)){
                         logger.info("Found orphaned volume: " + volJson.get("Name").getAsString());
                         orphanedVolumes.add(volJson.get("Name").getAsString());
                     }
@@ -125,10 +127,11 @@ public class DockerVolumeResourceMonitor implements Runnable {
         }
     }
 
-    public void removeStaleProperties (Set<String> activeRunNames) {
+    public void removeStaleProperties (IResourceManagementSnapshot snapshot) {
 
         try{
-            Map<String, String> volumeProps = dss.getPrefix("slot");
+            Map<String, String> volumeProps = snapshot.getPrefix("slot");
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
             
 
             for(String key : volumeProps.keySet()) {
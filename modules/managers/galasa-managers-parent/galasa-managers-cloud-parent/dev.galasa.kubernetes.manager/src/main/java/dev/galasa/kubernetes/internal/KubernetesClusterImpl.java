@@ -22,6 +22,8 @@ import com.google.gson.Gson;
 
 import dev.galasa.ICredentials;
 import dev.galasa.ICredentialsToken;
+import dev.galasa.framework.spi.DssUpdate;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourcePoolingService;
@@ -55,6 +57,7 @@ public class KubernetesClusterImpl {
     private final String                     clusterId;
     private final IDynamicStatusStoreService dss;
     private final IFramework                 framework;
+    private final IDynamicSlotPool           slotPool;
     
     private ApiClient                        apiClient;
 
@@ -62,12 +65,21 @@ public class KubernetesClusterImpl {
         this.clusterId = clusterId;     
         this.dss       = dss;
         this.framework = framework;
+        //*** Older managers only counted the namespaces in cluster.ID.current.slots, keep counting them until they are freed
+        this.slotPool  = dss.getDynamicSlotPool("cluster." + clusterId, "cluster." + clusterId + ".current.slots");
     }
 
     public String getId() {
         return this.clusterId;
     }
 
+    /**
+     * @return The pool of namespace slots on the cluster
+     */
+    public IDynamicSlotPool getSlotPool() {
+        return this.slotPool;
+    }
+
     /**
      * Return the current availability of namespaces in the cluster
      * 
@@ -78,11 +90,7 @@ public class KubernetesClusterImpl {
 
         try {
             int maxSlots = KubernetesMaxSlots.get(this);
-            int currentSlots = 0;
-            String sCurrentSlots = dss.get("cluster." + this.clusterId + ".current.slots");
-            if (sCurrentSlots != null) {
-                currentSlots = Integer.parseInt(sCurrentSlots);
-            }
+            int currentSlots = this.slotPool.getUsedSlots();
 
             if (currentSlots >= maxSlots) { 
                 return null; // so fuzzy floats don't get involved
@@ -130,34 +138,20 @@ public class KubernetesClusterImpl {
                         continue; //*** Unable to reserve this name,  add to rejected and try next
                     }
 
-                    //*** Now we have a namespace,  increase the slot count
-                    while(true) { //*** have to loop around incase another test changed the current slot count
-                        int maxSlots = KubernetesMaxSlots.get(this);
-                        int currentSlots = 0;
-                        String sCurrentSlots = dss.get("cluster." + this.clusterId + ".current.slots");
-                        if (sCurrentSlots != null) {
-                            currentSlots = Integer.parseInt(sCurrentSlots);
-                        }
-
-                        if (currentSlots >= maxSlots) {
-                            dss.deletePrefix(namespacePrefix); // Clear the reserved namespace
-                            return null; // no availability
-                        }
-
-                        currentSlots++;
-                        HashMap<String, String> slotOtherValues = new HashMap<>();
-                        slotOtherValues.put(namespacePrefix, "active");
-                        slotOtherValues.put("slot.run." + runName + ".cluster." + this.clusterId + ".namespace." + possibleNamespace, "active");
-                        slotOtherValues.put("slot.run." + runName + ".cluster." + this.clusterId + ".namespace." + possibleNamespace + ".tag", namespaceTag);
-                        if (dss.putSwap("cluster." + this.clusterId + ".current.slots", sCurrentSlots, Integer.toString(currentSlots), slotOtherValues)) {
-                            selectedNamespace = possibleNamespace;
-                            break;
-                        }
-                    }
-                    
-                    if (selectedNamespace != null) {
-                        break;
+                    //*** Now we have a namespace,  acquire a slot on the cluster
+                    String slotKey = "slot.run." + runName + ".cluster." + this.clusterId + ".namespace." + possibleNamespace;
+                    String poolSlot = this.slotPool.acquireSlot(runName, KubernetesMaxSlots.get(this),
+                            new DssUpdate(namespacePrefix, "active"),
+                            new DssUpdate(slotKey, "active"),
+                            new DssUpdate(slotKey + ".tag", namespaceTag));
+                    if (poolSlot == null) {
+                        dss.deletePrefix(namespacePrefix); // Clear the reserved namespace
+                        return null; // no availability
                     }
+                    //*** Remember the slot so the namespace can free it, if lost the slots of the run are freed instead
+                    dss.put(slotKey + ".slot", poolSlot);
+                    selectedNamespace = possibleNamespace;
+                    break;
                 }
             }
             
@@ -175,31 +175,18 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
             String namespacePrefix = "cluster." + this.cluster.getId() + ".namespace." + this.namespaceId;
             String slotKey = "slot.run." + runName + ".cluster." + this.cluster.getId() + ".namespace." + namespaceId;
 
-            String slotStatus = dss.get(slotKey);
-            if ("active".equals(slotStatus)) {
-                //*** Decrement the cluster current slot count and mark the namespace as free
-                while(true) { //*** have to loop around incase another test changed the current slot count
-                    int currentSlots = 0;
-                    String sCurrentSlots = dss.get("cluster." + this.cluster.getId() + ".current.slots");
-                    if (sCurrentSlots != null) {
-                        currentSlots = Integer.parseInt(sCurrentSlots);
-                    }
-                    currentSlots--;
-
-                    if (currentSlots < 0) {
-                        currentSlots = 0;
-                    }
-
-                    HashMap<String, String> slotOtherValues = new HashMap<>();
-                    slotOtherValues.put(namespacePrefix, "free");
-                    slotOtherValues.put(slotKey, "free");
-                    if (dss.putSwap("cluster." + this.cluster.getId() + ".current.slots", sCurrentSlots, Integer.toString(currentSlots), slotOtherValues)) {
-                        break;
-                    }
+            //*** Mark the namespace as free first, so only one clean up frees the cluster slot
+            if (dss.putSwap(slotKey, "active", "free")) {
+                //*** Free the cluster slot held for the namespace, the run may have been started by an older manager without one
+                String poolSlot = dss.get(slotKey + ".slot");
+                if (poolSlot != null) {
+                    this.cluster.getSlotPool().releaseSlot(poolSlot, runName);
+                } else {
+                    this.cluster.getSlotPool().releaseStaleSlot(runName);
                 }
             }
 
-            //*** Slot count has been decremented, we can now delete the actual DSS properties
+            //*** Slot has been freed, we can now delete the actual DSS properties
             dss.deletePrefix(namespacePrefix);
             dss.deletePrefix(slotKey);
 
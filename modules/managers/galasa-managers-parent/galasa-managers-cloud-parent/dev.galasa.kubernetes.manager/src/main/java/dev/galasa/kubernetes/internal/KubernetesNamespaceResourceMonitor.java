@@ -17,6 +17,7 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 /**
  * Clean up namespaces when a run is finished with it.
@@ -49,16 +50,17 @@ public class KubernetesNamespaceResourceMonitor implements Runnable {
 		logger.info("Starting Kubernetes Namespace search");
 		try {
 			//*** Find all the runs with slots
-			Map<String, String> slotRuns = dss.getPrefix("slot.run.");
+			IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(KubernetesManagerImpl.NAMESPACE);
+			Map<String, String> slotRuns = snapshot.getPrefix("slot.run.");
 			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+			Set<String> activeRunNames = snapshot.getActiveRunNames();
 
 			for(String key : slotRuns.keySet()) {
 				Matcher matcher = slotRunPattern.matcher(key);
 				if (matcher.find()) {
 					String runName = matcher.group(1);
 
-					if (!activeRunNames.contains(runName)) {
+					if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
 						String cluster   = matcher.group(2);
 						String namespace = matcher.group(3);
 
@@ -16,6 +16,7 @@ import org.apache.commons.logging.LogFactory;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 public class ServerResourceMonitor implements Runnable {
 
@@ -41,9 +42,10 @@ public class ServerResourceMonitor implements Runnable {
         logger.info("Starting OpenStack Server search");
         try {
             // *** Find all the runs with slots
-            Map<String, String> computeServers = dss.getPrefix("run.");
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(OpenstackManagerImpl.NAMESPACE);
+            Map<String, String> computeServers = snapshot.getPrefix("run.");
 
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
 
             for (String key : computeServers.keySet()) {
                 Matcher matcher = serverPattern.matcher(key);
@@ -51,7 +53,7 @@ public class ServerResourceMonitor implements Runnable {
                     String serverName = matcher.group(2);
                     String runName = matcher.group(1);
 
-                    if (!activeRunNames.contains(runName)) {
+                    if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
                         logger.info("Discarding OpenStack server " + serverName + " as run " + runName + " has gone");
 
                         try {
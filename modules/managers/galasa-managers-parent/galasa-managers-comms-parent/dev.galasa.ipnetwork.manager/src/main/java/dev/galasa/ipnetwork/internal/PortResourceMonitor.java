@@ -17,6 +17,7 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 public class PortResourceMonitor implements Runnable {
 
@@ -40,16 +41,17 @@ public class PortResourceMonitor implements Runnable {
     public void run() {
         logger.info("Starting Run Port search");
         try {
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(IpNetworkManagerImpl.NAMESPACE);
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
 
             // *** Find all the runs with ports
-            Map<String, String> portRuns = dss.getPrefix("port.run.");
+            Map<String, String> portRuns = snapshot.getPrefix("port.run.");
             for (String key : portRuns.keySet()) {
                 Matcher matcher = portRunPattern.matcher(key);
                 if (matcher.find()) {
                     String runName = matcher.group(1);
 
-                    if (!activeRunNames.contains(runName)) {
+                    if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
                         String hostId = matcher.group(2);
                         String port = matcher.group(3);
 
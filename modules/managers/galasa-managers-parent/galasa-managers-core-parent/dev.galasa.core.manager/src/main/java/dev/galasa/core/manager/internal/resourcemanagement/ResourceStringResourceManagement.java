@@ -13,11 +13,13 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.internal.CoreManagerImpl;
 import dev.galasa.core.manager.internal.ResourceStringGenerator;
 import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 /**
  * Core Resource String Resource Management
@@ -48,11 +50,12 @@ public class ResourceStringResourceManagement implements Runnable {
     	// This method is called every 20 seconds to do the check
         logger.info("Starting Core Resource String search search");
         try {
-            // *** Find all CORE run keys
-            Map<String, String> linuxRuns = dss.getPrefix("run.");
+            // *** Find all CORE run keys in this sweep's snapshot of the DSS
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(CoreManagerImpl.NAMESPACE);
+            Map<String, String> linuxRuns = snapshot.getPrefix("run.");
 
-            // Ask the framework for all the active runs
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            // The runs which were active when the snapshot was taken
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
 
             // Search through all the Core run keys (more than just the resource strings
             for (String key : linuxRuns.keySet()) {
@@ -64,7 +67,7 @@ public class ResourceStringResourceManagement implements Runnable {
                     String resourceString = matcher.group(2);
 
                     // Is the run still active
-                    if (!activeRunNames.contains(runName)) {
+                    if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
                     	// Nope, discard the resource string for that run
                         logger.info("Discarding Resource String " + resourceString + " as run " + runName + " has gone");
 
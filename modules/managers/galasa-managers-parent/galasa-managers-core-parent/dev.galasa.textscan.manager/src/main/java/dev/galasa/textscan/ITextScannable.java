@@ -5,6 +5,7 @@
  */
 package dev.galasa.textscan;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -63,4 +64,49 @@ public interface ITextScannable {
      * @throws TextScanException if there is an error retrieving the text
      */
 	public String getScannableString() throws TextScanException;
+
+    /**
+     * Fetch the InputStream for the scannable, starting part way through.  Scannables that are able to fetch
+     * just the end of their text should override this, so that scanning a growing log only fetches the
+     * text added since it was last scanned.
+     * 
+     * @param offset The number of bytes to skip
+     * @return The latest inputstream, positioned at the offset
+     * @throws TextScanException If there is an error fetching the inputstream or the offset is beyond the end of it
+     */
+	public default InputStream getScannableInputStream(long offset) throws TextScanException {
+		InputStream inputStream = getScannableInputStream();
+		try {
+			long remaining = offset;
+			while (remaining > 0) {
+				long skipped = inputStream.skip(remaining);
+				if (skipped <= 0) {
+					if (inputStream.read() < 0) {
+						throw new IOException("Failed to skip " + offset + " bytes. Actual bytes skipped " + (offset - remaining));
+					}
+					skipped = 1;
+				}
+				remaining -= skipped;
+			}
+		} catch (IOException e) {
+			throw new TextScanException("Unable to skip to offset " + offset + " of scannable '" + getScannableName() + "'", e);
+		}
+		return inputStream;
+	}
+
+    /**
+     * Fetch the latest scannable text, starting part way through.  Scannables that are able to fetch
+     * just the end of their text should override this.
+     * 
+     * @param offset The number of characters to skip
+     * @return The latest scannable text after the offset
+     * @throws TextScanException If there is an error retrieving the text or the offset is beyond the end of it
+     */
+	public default String getScannableString(long offset) throws TextScanException {
+		String text = getScannableString();
+		if (offset > text.length()) {
+			throw new TextScanException("Offset " + offset + " is beyond the end of scannable '" + getScannableName() + "'");
+		}
+		return text.substring((int) offset);
+	}
 }
@@ -6,35 +6,52 @@
 package dev.galasa.textscan.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.textscan.FailTextFoundException;
 import dev.galasa.textscan.ILogScanner;
 import dev.galasa.textscan.ITextScannable;
-import dev.galasa.textscan.ITextScanner;
 import dev.galasa.textscan.IncorrectOccurrencesException;
 import dev.galasa.textscan.MissingTextException;
 import dev.galasa.textscan.TextScanException;
 
 public class LogScannerImpl implements ILogScanner {
 	
-	private static final Log logger = LogFactory.getLog(LogScannerImpl.class);
-
 	private static final String MESSAGE_PROBLEM_SCANNING = "Problem scanning '";
 
 	private static final String MESSAGE_UNKNOWN_SCANNABLE_TYPE = "Unknown scannable type";
 
 	private static final String QUOTE = "'";
+
+	private static final String SCAN = "scan";
+
+	private static final String SCAN_FOR_MATCH = "scanForMatch";
+
+	private static final int MAX_TAIL_SCANS = 16;
 	
-	private ITextScanner textScanner = new TextScannerImpl();
+	private TextScannerImpl textScanner = new TextScannerImpl();
     private ITextScannable scannable;
 	private String scannableName;
 	protected long checkpoint = -1;
 
+	// Scans which carry on from where they got to the last time the same search was made,
+	// so that polling a growing log only scans the text added to it since
+	private final Map<List<Object>, LogTailScan> tailScans = new LinkedHashMap<List<Object>, LogTailScan>(MAX_TAIL_SCANS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, LogTailScan> eldest) {
+			return size() > MAX_TAIL_SCANS;
+		}
+	};
+
 	@Override
     public ILogScanner setScannable(ITextScannable scannable) throws TextScanException {
 		setInternalScannable(scannable);
@@ -52,6 +69,7 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner reset() {
     	this.scannable = null;
     	this.scannableName = null;
+    	this.tailScans.clear();
     	
         return this;
     }
@@ -60,9 +78,8 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner checkpoint() throws TextScanException {
     	checkScannableNoNull();
     	if (this.scannable.isScannableInputStream()) {
-    		try {
-				byte[] bytes = IOUtils.toByteArray(this.scannable.getScannableInputStream());
-				this.checkpoint = bytes.length;
+    		try (InputStream inputStream = this.scannable.getScannableInputStream()) {
+				this.checkpoint = IOUtils.skip(inputStream, Long.MAX_VALUE);
 			} catch (IOException e) {
 	    		throw new TextScanException("Unable to checkpoint scannable '" + this.scannableName + QUOTE, e);
 			}
@@ -71,6 +88,7 @@ public class LogScannerImpl implements ILogScanner {
     	} else {
     		throw new TextScanException("Unable to checkpoint scannable '" + this.scannableName + QUOTE +", unknown scannable type");
     	}
+    	this.tailScans.clear();
 
         return this;
     }
@@ -78,12 +96,14 @@ public class LogScannerImpl implements ILogScanner {
     @Override
 	public ILogScanner setCheckpoint(long checkpoint) throws TextScanException {
     	this.checkpoint = checkpoint;
+    	this.tailScans.clear();
 		return this;
 	}
 
 	@Override
     public ILogScanner resetCheckpoint() {
     	this.checkpoint = -1;
+    	this.tailScans.clear();
         return this;
     }
 
@@ -96,14 +116,7 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner scanSinceCheckpoint(Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkIsCheckpointed();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchPattern, failPattern, count);
-    		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString().substring((int) this.checkpoint), searchPattern, failPattern, count);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		scan(this.checkpoint, searchPattern, failPattern, count);
 		} catch (FailTextFoundException e) {
 			throw new FailTextFoundException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (MissingTextException e) {
@@ -120,14 +133,7 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner scanSinceCheckpoint(String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkIsCheckpointed();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchString, failString, count);
-    		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString().substring((int) this.checkpoint), searchString, failString, count);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		scan(this.checkpoint, searchString, failString, count);
 		} catch (FailTextFoundException e) {
 			throw new FailTextFoundException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (MissingTextException e) {
@@ -144,14 +150,7 @@ public class LogScannerImpl implements ILogScanner {
     public String scanForMatchSinceCheckpoint(Pattern searchPattern, Pattern failPattern, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkIsCheckpointed();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchPattern, failPattern, occurrance);
-    		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString().substring((int) this.checkpoint), searchPattern, failPattern, occurrance);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		return scanForMatch(this.checkpoint, searchPattern, failPattern, occurrance);
 		} catch (MissingTextException e) {
 			throw new MissingTextException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (IncorrectOccurrencesException e) {
@@ -165,14 +164,7 @@ public class LogScannerImpl implements ILogScanner {
     public String scanForMatchSinceCheckpoint(String searchString, String failString, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkIsCheckpointed();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchString, failString, occurrance);
-    		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString().substring((int) this.checkpoint), searchString, failString, occurrance);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		return scanForMatch(this.checkpoint, searchString, failString, occurrance);
 		} catch (MissingTextException e) {
 			throw new MissingTextException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (IncorrectOccurrencesException e) {
@@ -186,13 +178,7 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner scan(Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkScannableNoNull();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchPattern, failPattern, count);
-    		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString(), searchPattern, failPattern, count);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		scan(0, searchPattern, failPattern, count);
 		} catch (FailTextFoundException e) {
 			throw new FailTextFoundException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (MissingTextException e) {
@@ -209,13 +195,7 @@ public class LogScannerImpl implements ILogScanner {
     public ILogScanner scan(String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkScannableNoNull();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchString, failString, count);
-    		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString(), searchString, failString, count);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		scan(0, searchString, failString, count);
 		} catch (FailTextFoundException e) {
 			throw new FailTextFoundException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (MissingTextException e) {
@@ -232,13 +212,7 @@ public class LogScannerImpl implements ILogScanner {
     public String scanForMatch(Pattern searchPattern, Pattern failPattern, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkScannableNoNull();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchPattern, failPattern, occurrance);
-    		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString(), searchPattern, failPattern, occurrance);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		return scanForMatch(0, searchPattern, failPattern, occurrance);
 		} catch (MissingTextException e) {
 			throw new MissingTextException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (IncorrectOccurrencesException e) {
@@ -252,13 +226,7 @@ public class LogScannerImpl implements ILogScanner {
     public String scanForMatch(String searchString, String failString, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
     	checkScannableNoNull();
     	try {
-    		if (this.scannable.isScannableInputStream()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchString, failString, occurrance);
-    		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString(), searchString, failString, occurrance);
-    		} else {
-    			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
-    		}
+    		return scanForMatch(0, searchString, failString, occurrance);
 		} catch (MissingTextException e) {
 			throw new MissingTextException(MESSAGE_PROBLEM_SCANNING + this.scannableName + QUOTE ,e);
 		} catch (IncorrectOccurrencesException e) {
@@ -287,20 +255,93 @@ public class LogScannerImpl implements ILogScanner {
 		}
 	}
 
-	protected void skipToCheckpoint() throws TextScanException {
-		if (getCheckpoint() == -1) {
-			logger.warn("Log '" + this.scannableName + "' has not been checkpointed");
-			return;
+	private void scan(long offset, Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
+		if (this.scannable.isScannableInputStream()) {
+			List<Object> search = Arrays.asList(SCAN, count, describe(searchPattern), describe(failPattern));
+			TextScan textScan = scanTail(offset, search, () -> TextScannerImpl.newScan(searchPattern, failPattern, count));
+			this.textScanner.checkScan(textScan, searchPattern, failPattern, count);
+		} else if (this.scannable.isScannableString()) {
+			this.textScanner.scan(this.scannable.getScannableString(offset), searchPattern, failPattern, count);
+		} else {
+			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
 		}
-		try {
-			this.scannable.updateScannable();
-			long skipped = this.scannable.getScannableInputStream().skip(this.checkpoint);
-			if (skipped != this.checkpoint) {
-				throw new IOException("Failed to skip " + checkpoint + " bytes. Actual bytes skipped " + skipped);
-			}
-		} catch (IOException e) {
-			throw new TextScanException("Unable to skip to checkpoint of scannable '" + this.scannableName + QUOTE, e);
+	}
+
+	private void scan(long offset, String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
+		if (isTailScannable(searchString, failString)) {
+			List<Object> search = Arrays.asList(SCAN, count, searchString, failString);
+			TextScan textScan = scanTail(offset, search, () -> TextScannerImpl.newScan(searchString, failString, count));
+			this.textScanner.checkScan(textScan, searchString, failString, count);
+		} else if (this.scannable.isScannableString()) {
+			this.textScanner.scan(this.scannable.getScannableString(offset), searchString, failString, count);
+		} else {
+			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
+		}
+	}
+
+	private String scanForMatch(long offset, Pattern searchPattern, Pattern failPattern, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
+		if (this.scannable.isScannableInputStream()) {
+			List<Object> search = Arrays.asList(SCAN_FOR_MATCH, occurrance, describe(searchPattern), describe(failPattern));
+			TextScan textScan = scanTail(offset, search, () -> TextScannerImpl.newScanForMatch(searchPattern, failPattern, occurrance));
+			return this.textScanner.getScanMatch(textScan, searchPattern, occurrance);
+		} else if (this.scannable.isScannableString()) {
+			return this.textScanner.scanForMatch(this.scannable.getScannableString(offset), searchPattern, failPattern, occurrance);
+		} else {
+			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
+		}
+	}
+
+	private String scanForMatch(long offset, String searchString, String failString, int occurrance) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
+		TextScan textScan;
+		if (this.scannable.isScannableInputStream()) {
+			List<Object> search = Arrays.asList(SCAN_FOR_MATCH, occurrance, searchString, failString);
+			textScan = scanTail(offset, search, () -> TextScannerImpl.newScanForMatch(searchString, failString, occurrance));
+		} else if (isTailScannable(searchString, failString)) {
+			// Fail text anywhere in a String wins, the same as counting occurrences
+			List<Object> search = Arrays.asList(SCAN, occurrance, searchString, failString);
+			textScan = scanTail(offset, search, () -> TextScannerImpl.newScan(searchString, failString, occurrance));
+		} else if (this.scannable.isScannableString()) {
+			return this.textScanner.scanForMatch(this.scannable.getScannableString(offset), searchString, failString, occurrance);
+		} else {
+			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
+		}
+		return this.textScanner.getScanMatch(textScan, searchString, occurrance);
+	}
+
+	/**
+	 * An InputStream is always scanned a window of lines at a time, so only its new
+	 * lines need scanning. A String is scanned as a whole, which only gives the same
+	 * result as scanning its new lines when the text searched for cannot span lines.
+	 */
+	private boolean isTailScannable(String searchString, String failString) {
+		return this.scannable.isScannableInputStream()
+				|| (this.scannable.isScannableString() && isWithinLine(searchString) && (failString == null || isWithinLine(failString)));
+	}
+
+	private boolean isWithinLine(String text) {
+		return !text.isEmpty() && text.indexOf('\n') < 0 && text.indexOf('\r') < 0;
+	}
+
+	private Object describe(Pattern pattern) {
+		Object description = null;
+		if (pattern != null) {
+			description = Arrays.asList(pattern.pattern(), pattern.flags());
 		}
+		return description;
+	}
+
+	private TextScan scanTail(long offset, List<Object> search, TextScanSupplier textScanSupplier) throws TextScanException {
+		List<Object> key = Arrays.asList(offset, search);
+		LogTailScan tailScan = this.tailScans.get(key);
+		if (tailScan == null) {
+			tailScan = new LogTailScan(offset, textScanSupplier.get());
+			this.tailScans.put(key, tailScan);
+		}
+		return tailScan.scan(this.scannable);
+	}
+
+	private interface TextScanSupplier {
+		TextScan get() throws TextScanException;
 	}
 
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+
+import dev.galasa.textscan.ITextScannable;
+import dev.galasa.textscan.TextScanException;
+
+/**
+ * Scans a log from an offset, remembering how far the scan got so that scanning the
+ * log again only fetches and scans the text that has been added to it since.
+ *
+ * Only complete lines are remembered. Text after the last line ending may still be
+ * being written, so it is scanned without changing what is remembered, and is
+ * scanned again once its line is complete.
+ *
+ * Each scan first checks that the log still holds the last line scanned where it was.
+ * If the log has been truncated or replaced, for example by a rollover, the scan
+ * starts again from the start of the log, as the offset no longer points into the
+ * text it was taken from.
+ */
+class LogTailScan {
+
+	// At most this much of the last complete line scanned is kept to check the log against
+	private static final int MAX_ANCHOR_LENGTH = 128;
+
+	private final TextScan initialScan;
+
+	private TextScan committedScan;
+
+	// Where the text after the last complete line scanned starts, in bytes for an InputStream or characters for a String
+	private long nextOffset;
+
+	// The text just before nextOffset, held as ISO-8859-1 for an InputStream so that each byte is one character
+	private String anchor;
+
+	private TextStreamScanner streamScanner;
+
+	/**
+	 * @param startOffset where to start scanning the log
+	 * @param textScan what to scan the log for
+	 */
+	LogTailScan(long startOffset, TextScan textScan) {
+		this.initialScan = textScan.copy();
+		this.committedScan = textScan;
+		this.nextOffset = startOffset;
+		this.anchor = "";
+	}
+
+	/**
+	 * Scans the text added to the log since it was last scanned
+	 *
+	 * @return the scan of the log from the start offset to the end of its latest text
+	 */
+	TextScan scan(ITextScannable scannable) throws TextScanException {
+		String completeLines;
+		String partialLine;
+		if (scannable.isScannableInputStream()) {
+			scannable.updateScannable();
+			byte[] tail = fetchTail(scannable);
+			if (tail == null) {
+				restart();
+				tail = fetchTail(scannable);
+			}
+			if (committedScan.isFinished()) {
+				return committedScan;
+			}
+
+			int completeLength = 0;
+			for (int i = tail.length - 1; i >= 0 && completeLength == 0; i--) {
+				if (tail[i] == '\n') {
+					completeLength = i + 1;
+				}
+			}
+			completeLines = new String(tail, 0, completeLength, Charset.defaultCharset());
+			partialLine = new String(tail, completeLength, tail.length - completeLength, Charset.defaultCharset());
+			commit(new String(tail, 0, completeLength, StandardCharsets.ISO_8859_1));
+		} else if (scannable.isScannableString()) {
+			String tail = fetchTailString(scannable);
+			if (tail == null) {
+				restart();
+				tail = fetchTailString(scannable);
+			}
+			if (committedScan.isFinished()) {
+				return committedScan;
+			}
+
+			int completeLength = tail.lastIndexOf('\n') + 1;
+			completeLines = tail.substring(0, completeLength);
+			partialLine = tail.substring(completeLength);
+			commit(completeLines);
+		} else {
+			throw new TextScanException("Unknown scannable type");
+		}
+		try {
+			if (!completeLines.isEmpty()) {
+				if (streamScanner == null) {
+					streamScanner = newStreamScanner(completeLines);
+				} else {
+					streamScanner.resume(new StringReader(completeLines));
+				}
+				committedScan.scan(streamScanner);
+			}
+
+			TextScan textScan = committedScan;
+			if (!textScan.isFinished() && !partialLine.isEmpty()) {
+				textScan = committedScan.copy();
+				if (streamScanner == null) {
+					textScan.scan(newStreamScanner(partialLine));
+				} else {
+					textScan.scan(streamScanner.copy(new StringReader(partialLine)));
+				}
+			}
+			return textScan;
+		} catch (IOException e) {
+			throw new TextScanException("Problem scanning '" + scannable.getScannableName() + "'", e);
+		}
+	}
+
+	/**
+	 * Fetches the log after the last complete line scanned, or only checks the log if
+	 * the scan is finished
+	 *
+	 * @return the text after the last complete line scanned, or null if the log no longer
+	 *         holds that line where it was
+	 */
+	private byte[] fetchTail(ITextScannable scannable) throws TextScanException {
+		byte[] expectedAnchor = anchor.getBytes(StandardCharsets.ISO_8859_1);
+		InputStream inputStream = openAt(scannable, nextOffset - expectedAnchor.length);
+		if (inputStream == null) {
+			return null;
+		}
+
+		try (InputStream tailStream = inputStream) {
+			byte[] foundAnchor = new byte[expectedAnchor.length];
+			if (IOUtils.read(tailStream, foundAnchor) < expectedAnchor.length || !Arrays.equals(foundAnchor, expectedAnchor)) {
+				return null;
+			}
+			if (committedScan.isFinished()) {
+				return new byte[0];
+			}
+			return IOUtils.toByteArray(tailStream);
+		} catch (IOException e) {
+			throw new TextScanException("Unable to read scannable '" + scannable.getScannableName() + "'", e);
+		}
+	}
+
+	private String fetchTailString(ITextScannable scannable) throws TextScanException {
+		String text;
+		try {
+			text = scannable.getScannableString(nextOffset - anchor.length());
+		} catch (TextScanException e) {
+			if (anchor.isEmpty()) {
+				throw e;
+			}
+			// The log is now shorter than the text scanned
+			return null;
+		}
+
+		if (!text.startsWith(anchor)) {
+			return null;
+		}
+		return text.substring(anchor.length());
+	}
+
+	private InputStream openAt(ITextScannable scannable, long offset) throws TextScanException {
+		try {
+			return scannable.getScannableInputStream(offset);
+		} catch (TextScanException e) {
+			if (anchor.isEmpty()) {
+				throw e;
+			}
+			// The log is now shorter than the text scanned
+			return null;
+		}
+	}
+
+	/**
+	 * Remembers that the complete lines of the tail have been scanned
+	 */
+	private void commit(String completeLines) {
+		nextOffset += completeLines.length();
+		if (!completeLines.isEmpty()) {
+			int lineStart = completeLines.lastIndexOf('\n', completeLines.length() - 2) + 1;
+			lineStart = Math.max(lineStart, completeLines.length() - MAX_ANCHOR_LENGTH);
+			anchor = completeLines.substring(lineStart);
+		}
+	}
+
+	/**
+	 * Starts the scan again from the start of a log which has been truncated or replaced
+	 */
+	private void restart() {
+		committedScan = initialScan.copy();
+		nextOffset = 0;
+		anchor = "";
+		streamScanner = null;
+	}
+
+	private TextStreamScanner newStreamScanner(String text) {
+		return new TextStreamScanner(new StringReader(text), TextStreamScanner.DEFAULT_WINDOW_LINES, TextStreamScanner.DEFAULT_CHUNK_SIZE);
+	}
+}
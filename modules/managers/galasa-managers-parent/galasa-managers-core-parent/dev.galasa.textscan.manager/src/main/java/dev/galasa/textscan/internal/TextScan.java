@@ -0,0 +1,186 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.io.IOException;
+
+/**
+ * The progress of scanning the text of a {@link TextStreamScanner} for search text
+ * and fail text, which can be carried on as more text is read.
+ */
+class TextScan {
+
+	private final TextWindowMatcher searchMatcher;
+	private final TextWindowMatcher failMatcher;
+	private final int occurrence;
+	private final boolean isStopAtOccurrence;
+
+	private int found = 0;
+	private String match;
+	private String failText;
+
+	/**
+	 * @param searchMatcher the search text
+	 * @param failMatcher the fail text, or null if there is none
+	 * @param occurrence the occurrence of the search text being looked for
+	 * @param isStopAtOccurrence true if finding the occurrence before any fail text
+	 *        decides the outcome, false if the whole text must be checked for fail text,
+	 *        in which case fail text found after the occurrence still decides the outcome
+	 */
+	TextScan(TextWindowMatcher searchMatcher, TextWindowMatcher failMatcher, int occurrence, boolean isStopAtOccurrence) {
+		this.searchMatcher = searchMatcher;
+		this.failMatcher = failMatcher;
+		this.occurrence = occurrence;
+		this.isStopAtOccurrence = isStopAtOccurrence;
+	}
+
+	/**
+	 * @return a scan which carries on from where this one has got to, leaving this scan as it is
+	 */
+	TextScan copy() {
+		TextScan copy = new TextScan(searchMatcher, failMatcher, occurrence, isStopAtOccurrence);
+		copy.found = this.found;
+		copy.match = this.match;
+		copy.failText = this.failText;
+		return copy;
+	}
+
+	/**
+	 * Scans the windows of text which have not been scanned yet, until the outcome is decided
+	 */
+	void scan(TextStreamScanner streamScanner) throws IOException {
+		WindowSearch search = new WindowSearch(streamScanner, searchMatcher);
+		WindowSearch failSearch = null;
+		if (failMatcher != null) {
+			failSearch = new WindowSearch(streamScanner, failMatcher);
+		}
+
+		while (!isFinished() && streamScanner.nextWindow()) {
+			String windowFailText = null;
+			int failLine = Integer.MAX_VALUE;
+			if (failSearch != null) {
+				failSearch.start();
+				if (failSearch.find(false)) {
+					windowFailText = failMatcher.group();
+					failLine = failSearch.getLine();
+				}
+			}
+
+			// Fail text wins over matches found on the same line or later
+			search.start();
+			while (search.find(true) && search.getLine() < failLine) {
+				found++;
+				if (found == occurrence) {
+					match = searchMatcher.group();
+					if (isFinished()) {
+						return;
+					}
+				}
+			}
+
+			failText = windowFailText;
+		}
+	}
+
+	/**
+	 * @return true if no more text need be scanned to decide the outcome
+	 */
+	boolean isFinished() {
+		return failText != null || (match != null && (isStopAtOccurrence || failMatcher == null));
+	}
+
+	/**
+	 * @return the number of occurrences of the search text found before any fail text
+	 */
+	int getFound() {
+		return found;
+	}
+
+	/**
+	 * @return the occurrence of the search text being looked for, or null if it has not been found
+	 */
+	String getMatch() {
+		return match;
+	}
+
+	/**
+	 * @return the fail text found, or null if none has been found
+	 */
+	String getFailText() {
+		return failText;
+	}
+
+	/**
+	 * Searches the new lines of each window of a stream in the same order as
+	 * scanning the stream through a sliding window of lines, where the window is
+	 * moved on one line at a time and searched from its start.
+	 *
+	 * Text which can span lines is searched in each sliding window ending with a new
+	 * line, as marking out a region of the window costs nothing. Text which cannot
+	 * span lines would be found at the same places in every sliding window, so the
+	 * new lines are searched just once.
+	 */
+	private static class WindowSearch {
+
+		private final TextStreamScanner streamScanner;
+		private final TextWindowMatcher matcher;
+
+		// The last line of the sliding window being searched
+		private int line;
+
+		private WindowSearch(TextStreamScanner streamScanner, TextWindowMatcher matcher) {
+			this.streamScanner = streamScanner;
+			this.matcher = matcher;
+		}
+
+		/**
+		 * Starts searching the new lines of the stream scanner's current window
+		 */
+		private void start() {
+			line = streamScanner.getFirstNewLine();
+			if (matcher.isWithinLine()) {
+				matcher.reset(streamScanner.getWindow(), streamScanner.getLineStart(line), streamScanner.getWindowLength());
+			} else {
+				resetToSlidingWindow();
+			}
+		}
+
+		/**
+		 * @param isOnlyNewMatches true to skip matches which have been found before
+		 * @return true if another match was found, which the matcher holds
+		 */
+		private boolean find(boolean isOnlyNewMatches) {
+			while (true) {
+				while (matcher.find()) {
+					if (!isOnlyNewMatches || matcher.isWithinLine() || streamScanner.isNewMatch(matcher.start())) {
+						return true;
+					}
+				}
+
+				if (matcher.isWithinLine() || line + 1 >= streamScanner.getLineCount()) {
+					return false;
+				}
+				line++;
+				resetToSlidingWindow();
+			}
+		}
+
+		/**
+		 * @return the line of the window on which the last match was found
+		 */
+		private int getLine() {
+			int matchLine = line;
+			if (matcher.isWithinLine()) {
+				matchLine = streamScanner.getLineIndex(matcher.start());
+			}
+			return matchLine;
+		}
+
+		private void resetToSlidingWindow() {
+			matcher.reset(streamScanner.getWindow(), streamScanner.getSlidingWindowStart(line), streamScanner.getLineEnd(line));
+		}
+	}
+}
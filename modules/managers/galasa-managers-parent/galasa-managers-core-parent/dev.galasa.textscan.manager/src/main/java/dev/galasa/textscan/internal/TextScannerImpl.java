@@ -5,12 +5,9 @@
  */
 package dev.galasa.textscan.internal;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +31,19 @@ public class TextScannerImpl implements ITextScanner {
 	private static final String PATTERN = "Pattern";
 	private static final String STRING = "String";
 
+	// The most lines a match may span when scanning an InputStream, and how many characters are read at a time
+	private final int windowLines;
+	private final int chunkSize;
+
+	public TextScannerImpl() {
+		this(TextStreamScanner.DEFAULT_WINDOW_LINES, TextStreamScanner.DEFAULT_CHUNK_SIZE);
+	}
+
+	TextScannerImpl(int windowLines, int chunkSize) {
+		this.windowLines = windowLines;
+		this.chunkSize = chunkSize;
+	}
+
 	@Override
 	public ITextScanner scan(String text, Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
 
@@ -110,71 +120,57 @@ public class TextScannerImpl implements ITextScanner {
 
 	@Override
 	public ITextScanner scan(InputStream inputStream, Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
+		TextScan textScan = newScan(searchPattern, failPattern, count);
+		scanInputStream(inputStream, textScan);
+		return checkScan(textScan, searchPattern, failPattern, count);
+	}
+
+	@Override
+	public ITextScanner scan(InputStream inputStream, String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
+		TextScan textScan = newScan(searchString, failString, count);
+		scanInputStream(inputStream, textScan);
+		return checkScan(textScan, searchString, failString, count);
+	}
 
+	/**
+	 * @return a scan for at least count occurrences of the search pattern, to be checked by {@link #checkScan(TextScan, Pattern, Pattern, int)}
+	 */
+	static TextScan newScan(Pattern searchPattern, Pattern failPattern, int count) throws TextScanException {
 		if (count < 1) {
 			throw new TextScanException(MSG_INVALID_COUNT);
 		}
+		return new TextScan(TextWindowMatcher.forPattern(searchPattern), newFailMatcher(failPattern), count, false);
+	}
 
-		ArrayList<Integer> foundPatternStartPositions = new ArrayList<>();
-		LinkedList<String> buffer = new LinkedList<>();
-
-		int offset = 0;
-
-		try (BufferedReader reader = new BufferedReader (new InputStreamReader(inputStream))){
-			String line = "";
-			while ((line = reader.readLine()) != null) {
-				buffer.add(line);
-				if (buffer.size() > 10) {
-					offset = offset + buffer.remove(0).length() + 1;
-				}
-
-				// Build a String from the current buffer
-				StringBuilder sb = new StringBuilder();
-				for (String queueLine : buffer) {
-					sb.append(queueLine);
-					sb.append("\n");
-				}
-
-				String currentBuffer = sb.toString();
-
-				if (failPattern != null && failPattern.matcher(currentBuffer).find()) {
-					throw new FailTextFoundException(String.format(MSG_FAIL_FOUND, PATTERN, failPattern));
-				}
-
-				Matcher m = searchPattern.matcher(currentBuffer);
-				while (m.find()) {
-
-					int stp = m.start() + offset;
-					if (!foundPatternStartPositions.contains(stp)) {
-						foundPatternStartPositions.add(stp);
+	/**
+	 * @return a scan for at least count occurrences of the search string, to be checked by {@link #checkScan(TextScan, String, String, int)}
+	 */
+	static TextScan newScan(String searchString, String failString, int count) throws TextScanException {
+		if (count < 1) {
+			throw new TextScanException(MSG_INVALID_COUNT);
+		}
+		return new TextScan(TextWindowMatcher.forLiteral(searchString), newFailMatcher(failString), count, false);
+	}
 
-					}
-				}
-			}
-			if (foundPatternStartPositions.size() >= count) {
-				return this;
-			}
-		} catch (IOException e) {
-			throw new TextScanException("Problem in InputStream scan", e);
+	ITextScanner checkScan(TextScan textScan, Pattern searchPattern, Pattern failPattern, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException {
+		if (textScan.getFailText() != null) {
+			throw new FailTextFoundException(String.format(MSG_FAIL_FOUND, PATTERN, failPattern));
 		}
 
-		if(foundPatternStartPositions.isEmpty()) {
+		int found = textScan.getFound();
+		if (found >= count) {
+			return this;
+		}
+		if(found == 0) {
 			throw new MissingTextException(String.format(MSG_SEARCH_NOT_FOUND, PATTERN, searchPattern));
 		}
-		throw new IncorrectOccurrencesException(String.format(MSG_EXPECTING_BUT_FOUND, count, PATTERN, searchPattern, foundPatternStartPositions.size()));
+		throw new IncorrectOccurrencesException(String.format(MSG_EXPECTING_BUT_FOUND, count, PATTERN, searchPattern, found));
 	}
 
-	@Override
-	public ITextScanner scan(InputStream inputStream, String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException, TextScanException {
-
-		Pattern p = Pattern.compile("\\Q" + searchString + "\\E");
-		Pattern fp = null;
-		if (failString != null) {
-			fp = Pattern.compile("\\Q" + failString + "\\E");
-		}
+	ITextScanner checkScan(TextScan textScan, String searchString, String failString, int count) throws FailTextFoundException, MissingTextException, IncorrectOccurrencesException {
 		ITextScanner textScanner;
 		try {
-			textScanner = scan(inputStream,p,fp,count);
+			textScanner = checkScan(textScan, quote(searchString), quote(failString), count);
 		} catch (FailTextFoundException e) {
 			throw new FailTextFoundException(String.format(MSG_FAIL_FOUND, STRING, failString), e);
 		} catch (MissingTextException e) {
@@ -185,6 +181,38 @@ public class TextScannerImpl implements ITextScanner {
 		return textScanner;
 	}
 
+	private void scanInputStream(InputStream inputStream, TextScan textScan) throws TextScanException {
+		try (TextStreamScanner streamScanner = new TextStreamScanner(new InputStreamReader(inputStream), windowLines, chunkSize)) {
+			textScan.scan(streamScanner);
+		} catch (IOException e) {
+			throw new TextScanException("Problem in InputStream scan", e);
+		}
+	}
+
+	private static TextWindowMatcher newFailMatcher(Pattern failPattern) {
+		TextWindowMatcher failMatcher = null;
+		if (failPattern != null) {
+			failMatcher = TextWindowMatcher.forPattern(failPattern);
+		}
+		return failMatcher;
+	}
+
+	private static TextWindowMatcher newFailMatcher(String failString) {
+		TextWindowMatcher failMatcher = null;
+		if (failString != null) {
+			failMatcher = TextWindowMatcher.forLiteral(failString);
+		}
+		return failMatcher;
+	}
+
+	private static Pattern quote(String text) {
+		Pattern pattern = null;
+		if (text != null) {
+			pattern = Pattern.compile("\\Q" + text + "\\E");
+		}
+		return pattern;
+	}
+
 	@Override
 	public String scanForMatch(String text, Pattern searchPattern, Pattern failPattern, int occurrence) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
 
@@ -262,75 +290,60 @@ public class TextScannerImpl implements ITextScanner {
 
 	@Override
 	public String scanForMatch(InputStream inputStream, Pattern searchPattern, Pattern failPattern, int occurrence) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
+		TextScan textScan = newScanForMatch(searchPattern, failPattern, occurrence);
+		scanInputStream(inputStream, textScan);
+		return getScanMatch(textScan, searchPattern, occurrence);
+	}
 
+	@Override
+	public String scanForMatch(InputStream inputStream, String searchString, String failString, int occurrence) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
+		TextScan textScan = newScanForMatch(searchString, failString, occurrence);
+		scanInputStream(inputStream, textScan);
+		return getScanMatch(textScan, searchString, occurrence);
+	}
+
+	/**
+	 * @return a scan for an occurrence of the search pattern, to be checked by {@link #getScanMatch(TextScan, Pattern, int)}
+	 */
+	static TextScan newScanForMatch(Pattern searchPattern, Pattern failPattern, int occurrence) throws TextScanException {
 		if (occurrence < 1) {
 			throw new TextScanException(MSG_INVALID_COUNT);
 		}
+		return new TextScan(TextWindowMatcher.forPattern(searchPattern), newFailMatcher(failPattern), occurrence, true);
+	}
 
-		ArrayList<Integer> foundPatternStartPositions = new ArrayList<>();
-		LinkedList<String> buffer = new LinkedList<>();
-
-		int offset = 0;
-		String foundString = "";
-
-		try (BufferedReader  reader = new BufferedReader (new InputStreamReader(inputStream))) {
-			String line = "";
-			while ((line =reader.readLine()) != null) {
-				buffer.add(line);
-				if (buffer.size() > 10) {
-					offset = offset + buffer.remove(0).length() + 1;
-				}
-
-				// Build a String from the current buffer
-				StringBuilder sb = new StringBuilder();
-				for (String queueLine : buffer) {
-					sb.append(queueLine);
-					sb.append("\n");
-				}
-
-				String currentBuffer = sb.toString();
-
-				if (failPattern != null) {
-					Matcher fm = failPattern.matcher(currentBuffer);
-					if (fm.find()) {
-						return fm.group(); 
-					}
-				}
-				
-				Matcher m = searchPattern.matcher(currentBuffer);
-
-				while (m.find()) {
-
-					int stp = m.start() + offset;
-					if (!foundPatternStartPositions.contains(stp)) {
-						foundPatternStartPositions.add(stp);
-						foundString = m.group();
-					} 
-					if (foundPatternStartPositions.size() >= occurrence) {
-						return foundString;
-					}
-				}
-			}
+	/**
+	 * @return a scan for an occurrence of the search string, to be checked by {@link #getScanMatch(TextScan, String, int)}
+	 */
+	static TextScan newScanForMatch(String searchString, String failString, int occurrence) throws TextScanException {
+		if (occurrence < 1) {
+			throw new TextScanException(MSG_INVALID_COUNT);
+		}
+		return new TextScan(TextWindowMatcher.forLiteral(searchString), newFailMatcher(failString), occurrence, true);
+	}
 
-		} catch (IOException e) {
-			throw new TextScanException("Problem in InputStream scan", e);
+	/**
+	 * @return the fail text if any was found, otherwise the occurrence of the search pattern
+	 */
+	String getScanMatch(TextScan textScan, Pattern searchPattern, int occurrence) throws MissingTextException, IncorrectOccurrencesException {
+		if (textScan.getFailText() != null) {
+			return textScan.getFailText();
 		}
-		if(foundPatternStartPositions.isEmpty()) {
+		if (textScan.getMatch() != null) {
+			return textScan.getMatch();
+		}
+
+		int found = textScan.getFound();
+		if(found == 0) {
 			throw new MissingTextException(String.format(MSG_SEARCH_NOT_FOUND, PATTERN, searchPattern));
 		}
-		throw new IncorrectOccurrencesException(String.format(MSG_UNABLE_TO_FIND_OCCURRENCE, occurrence, searchPattern, foundPatternStartPositions.size()));
+		throw new IncorrectOccurrencesException(String.format(MSG_UNABLE_TO_FIND_OCCURRENCE, occurrence, searchPattern, found));
 	}
 
-	@Override
-	public String scanForMatch(InputStream inputStream, String searchString, String failString, int occurrence) throws MissingTextException, IncorrectOccurrencesException, TextScanException {
-		Pattern p = Pattern.compile("\\Q" + searchString + "\\E");
-		Pattern fp = null;
-		if (failString != null) {
-			fp = Pattern.compile("\\Q" + failString + "\\E");
-		}
+	String getScanMatch(TextScan textScan, String searchString, int occurrence) throws MissingTextException, IncorrectOccurrencesException {
 		String match;
 		try {
-			match = scanForMatch(inputStream, p, fp, occurrence);
+			match = getScanMatch(textScan, quote(searchString), occurrence);
 		} catch (MissingTextException e) {
 			throw new MissingTextException(String.format(MSG_SEARCH_NOT_FOUND, STRING, searchString), e);
 		} catch (IncorrectOccurrencesException e) {
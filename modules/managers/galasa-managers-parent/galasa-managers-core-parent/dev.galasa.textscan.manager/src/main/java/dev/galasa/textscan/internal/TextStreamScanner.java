@@ -0,0 +1,351 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads a stream of text in large chunks of whole lines, so that the text can be
+ * scanned in a single pass however long it is.
+ *
+ * Each window of text holds the last few lines of the previous window followed by
+ * the newly read lines, so that every new line can be scanned together with the
+ * lines before it, in the same way as when text was scanned through a sliding
+ * window of lines. Because lines are scanned more than once, the start position of
+ * every match is remembered until its line leaves the window, so that no match is
+ * counted twice.
+ *
+ * Line endings are normalised to '\n', and a final line without one is given one.
+ * Scanning can be carried on with more text from another reader, so text which is
+ * appended to a log need not be scanned again from the start.
+ */
+class TextStreamScanner implements Closeable {
+
+	static final int DEFAULT_WINDOW_LINES = 10;
+	static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+	private Reader reader;
+	private final int windowLines;
+	private final int chunkSize;
+
+	private final char[] readBuffer;
+	private boolean isLastCharCarriageReturn = false;
+	private boolean isEndOfStream = false;
+
+	// The window, followed by any partial line read after it
+	private char[] text;
+	private int textLength = 0;
+
+	// The number of characters of text in the window, which always ends with a complete line
+	private int windowLength = 0;
+
+	// The position in the stream of the start of the text
+	private long textStartPosition = 0;
+
+	// The start of each line in the window
+	private int[] lineStarts = new int[64];
+	private int lineCount = 0;
+
+	// The index of the first line which was not in the previous window
+	private int firstNewLine = 0;
+
+	// The stream positions of the matches found in the window
+	private final LongHashSet matchStarts = new LongHashSet();
+
+	/**
+	 * @param reader the text to scan, which is closed when this scanner is closed
+	 * @param windowLines the number of lines in the sliding window, which is the most lines a match may span
+	 * @param chunkSize roughly how many characters to read for each window
+	 */
+	TextStreamScanner(Reader reader, int windowLines, int chunkSize) {
+		this.reader = reader;
+		this.windowLines = Math.max(1, windowLines);
+		this.chunkSize = Math.max(1, chunkSize);
+		this.readBuffer = new char[this.chunkSize];
+		this.text = new char[this.chunkSize * 2];
+	}
+
+	private TextStreamScanner(Reader reader, TextStreamScanner other) {
+		this(reader, other.windowLines, other.chunkSize);
+		this.text = Arrays.copyOf(other.text, Math.max(other.text.length, this.text.length));
+		this.textLength = other.textLength;
+		this.windowLength = other.windowLength;
+		this.textStartPosition = other.textStartPosition;
+		this.lineStarts = Arrays.copyOf(other.lineStarts, other.lineStarts.length);
+		this.lineCount = other.lineCount;
+		this.firstNewLine = other.firstNewLine;
+		this.matchStarts.addAll(other.matchStarts);
+	}
+
+	/**
+	 * Carries on scanning with the text from another reader, once every window of
+	 * the current reader has been scanned. The text scanned so far must end with a
+	 * complete line.
+	 *
+	 * @param reader the text following the text scanned so far
+	 */
+	void resume(Reader reader) {
+		this.reader = reader;
+		this.isEndOfStream = false;
+		this.isLastCharCarriageReturn = false;
+	}
+
+	/**
+	 * @param reader the text following the text scanned so far
+	 * @return a scanner which carries on from where this one has got to with the
+	 *         text from another reader, leaving this scanner as it is
+	 */
+	TextStreamScanner copy(Reader reader) {
+		return new TextStreamScanner(reader, this);
+	}
+
+	/**
+	 * Moves on to the next window, keeping the last lines of the current window
+	 *
+	 * @return false if there are no more lines to scan
+	 */
+	boolean nextWindow() throws IOException {
+		keepOverlappingLines();
+
+		int overlapLength = windowLength;
+		while (!isEndOfStream && (textLength - overlapLength < chunkSize || lastLineEnd() <= overlapLength)) {
+			readChunk();
+		}
+
+		if (isEndOfStream && textLength > 0 && text[textLength - 1] != '\n') {
+			append('\n');
+		}
+
+		windowLength = lastLineEnd();
+		findLineStarts();
+		if (windowLength <= overlapLength) {
+			firstNewLine = lineCount;
+			return false;
+		}
+
+		firstNewLine = getLineIndex(overlapLength);
+		return true;
+	}
+
+	/**
+	 * @return the characters of the text, of which the first {@link #getWindowLength()} are the window
+	 */
+	char[] getWindow() {
+		return text;
+	}
+
+	int getWindowLength() {
+		return windowLength;
+	}
+
+	int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * @return the index of the first line which has not been scanned before
+	 */
+	int getFirstNewLine() {
+		return firstNewLine;
+	}
+
+	int getLineStart(int line) {
+		return lineStarts[line];
+	}
+
+	/**
+	 * @return the position just after the '\n' which ends the line
+	 */
+	int getLineEnd(int line) {
+		int lineEnd = windowLength;
+		if (line + 1 < lineCount) {
+			lineEnd = lineStarts[line + 1];
+		}
+		return lineEnd;
+	}
+
+	/**
+	 * @return the start of the sliding window of lines which ends with the given line
+	 */
+	int getSlidingWindowStart(int line) {
+		return lineStarts[Math.max(0, line - (windowLines - 1))];
+	}
+
+	/**
+	 * Records a match found in the current window
+	 *
+	 * @return true if the match has not been found before
+	 */
+	boolean isNewMatch(int start) {
+		return matchStarts.add(textStartPosition + start);
+	}
+
+	/**
+	 * @return the index within the window of the line holding the given character
+	 */
+	int getLineIndex(int position) {
+		int index = Arrays.binarySearch(lineStarts, 0, lineCount, position);
+		if (index < 0) {
+			index = -index - 2;
+		}
+		return index;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private void readChunk() throws IOException {
+		int charsRead = reader.read(readBuffer);
+		if (charsRead < 0) {
+			isEndOfStream = true;
+			return;
+		}
+
+		for (int i = 0; i < charsRead; i++) {
+			char c = readBuffer[i];
+			if (c == '\r') {
+				append('\n');
+				isLastCharCarriageReturn = true;
+			} else {
+				if (c != '\n' || !isLastCharCarriageReturn) {
+					append(c);
+				}
+				isLastCharCarriageReturn = false;
+			}
+		}
+	}
+
+	private void append(char c) {
+		if (textLength == text.length) {
+			text = Arrays.copyOf(text, text.length * 2);
+		}
+		text[textLength++] = c;
+	}
+
+	private int lastLineEnd() {
+		int position = textLength;
+		while (position > 0 && text[position - 1] != '\n') {
+			position--;
+		}
+		return position;
+	}
+
+	private void findLineStarts() {
+		lineCount = 0;
+		addLineStart(0);
+		for (int position = 0; position < windowLength - 1; position++) {
+			if (text[position] == '\n') {
+				addLineStart(position + 1);
+			}
+		}
+	}
+
+	private void addLineStart(int position) {
+		if (lineCount == lineStarts.length) {
+			lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+		}
+		lineStarts[lineCount++] = position;
+	}
+
+	/**
+	 * Drops all but the last lines of the window from the text, which are kept so
+	 * that matches continuing into the next chunk can be found
+	 */
+	private void keepOverlappingLines() {
+		if (windowLength == 0) {
+			return;
+		}
+
+		int keepFrom = windowLength;
+		if (windowLines > 1) {
+			keepFrom = lineStarts[Math.max(0, lineCount - (windowLines - 1))];
+		}
+
+		System.arraycopy(text, keepFrom, text, 0, textLength - keepFrom);
+		textLength -= keepFrom;
+		windowLength -= keepFrom;
+		textStartPosition += keepFrom;
+
+		// Only the matches in the kept lines can be found again
+		matchStarts.removeBelow(textStartPosition);
+	}
+
+	/**
+	 * A set of stream positions, held without boxing them
+	 */
+	private static class LongHashSet {
+
+		private static final long EMPTY = -1;
+
+		private long[] slots = newSlots(64);
+		private int size = 0;
+
+		private static long[] newSlots(int capacity) {
+			long[] slots = new long[capacity];
+			Arrays.fill(slots, EMPTY);
+			return slots;
+		}
+
+		/**
+		 * @return true if the position was not already in the set
+		 */
+		boolean add(long position) {
+			if ((size + 1) * 2 > slots.length) {
+				rehash(slots.length * 2, Long.MIN_VALUE);
+			}
+
+			int mask = slots.length - 1;
+			int slot = hash(position) & mask;
+			while (slots[slot] != EMPTY) {
+				if (slots[slot] == position) {
+					return false;
+				}
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = position;
+			size++;
+			return true;
+		}
+
+		private void addAll(LongHashSet other) {
+			for (long position : other.slots) {
+				if (position != EMPTY) {
+					add(position);
+				}
+			}
+		}
+
+		/**
+		 * Removes every position before the given one
+		 */
+		void removeBelow(long firstPosition) {
+			if (size > 0) {
+				rehash(slots.length, firstPosition);
+			}
+		}
+
+		private void rehash(int capacity, long firstPosition) {
+			long[] oldSlots = slots;
+			slots = newSlots(capacity);
+			size = 0;
+			for (long position : oldSlots) {
+				if (position != EMPTY && position >= firstPosition) {
+					add(position);
+				}
+			}
+		}
+
+		private static int hash(long position) {
+			long hash = position * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32));
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.nio.CharBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds matches in part of the window of text held by a {@link TextStreamScanner},
+ * working on the window's characters in place.
+ *
+ * Matches are found from the start of the part being searched in the same way as
+ * {@link Matcher#find()}, so they do not overlap each other, and the part being
+ * searched is treated as the whole of the text, so anchors such as '^' match at
+ * its start.
+ */
+abstract class TextWindowMatcher {
+
+	protected char[] text;
+
+	/**
+	 * @return a matcher for a regular expression
+	 */
+	static TextWindowMatcher forPattern(Pattern pattern) {
+		return new RegexWindowMatcher(pattern);
+	}
+
+	/**
+	 * @return a matcher for an exact string, which compares characters directly
+	 *         rather than going through the regular expression engine
+	 */
+	static TextWindowMatcher forLiteral(String literal) {
+		TextWindowMatcher matcher;
+		if (literal.isEmpty()) {
+			matcher = new RegexWindowMatcher(Pattern.compile("\\Q\\E"));
+		} else {
+			matcher = new LiteralWindowMatcher(literal);
+		}
+		return matcher;
+	}
+
+	/**
+	 * Starts matching again in a new part of the text
+	 *
+	 * @param text the characters of the window
+	 * @param start the first character to search
+	 * @param end the position after the last character to search
+	 */
+	abstract void reset(char[] text, int start, int end);
+
+	/**
+	 * @return true if every match lies within a single line, so where the search
+	 *         starts cannot change which matches are found on a line
+	 */
+	abstract boolean isWithinLine();
+
+	abstract boolean find();
+
+	abstract int start();
+
+	abstract int end();
+
+	String group() {
+		return new String(text, start(), end() - start());
+	}
+
+	private static class RegexWindowMatcher extends TextWindowMatcher {
+
+		private final Matcher matcher;
+
+		private RegexWindowMatcher(Pattern pattern) {
+			this.matcher = pattern.matcher("");
+		}
+
+		@Override
+		void reset(char[] text, int start, int end) {
+			if (this.text != text) {
+				this.text = text;
+				matcher.reset(CharBuffer.wrap(text));
+			}
+			matcher.region(start, end);
+		}
+
+		@Override
+		boolean isWithinLine() {
+			return false;
+		}
+
+		@Override
+		boolean find() {
+			return matcher.find();
+		}
+
+		@Override
+		int start() {
+			return matcher.start();
+		}
+
+		@Override
+		int end() {
+			return matcher.end();
+		}
+	}
+
+	private static class LiteralWindowMatcher extends TextWindowMatcher {
+
+		private final char[] literal;
+		private final boolean isWithinLine;
+		private int nextPosition;
+		private int end;
+		private int matchStart = -1;
+
+		private LiteralWindowMatcher(String literal) {
+			this.literal = literal.toCharArray();
+			this.isWithinLine = literal.indexOf('\n') < 0 && literal.indexOf('\r') < 0;
+		}
+
+		@Override
+		void reset(char[] text, int start, int end) {
+			this.text = text;
+			this.nextPosition = start;
+			this.end = end;
+			this.matchStart = -1;
+		}
+
+		@Override
+		boolean isWithinLine() {
+			return isWithinLine;
+		}
+
+		@Override
+		boolean find() {
+			char firstChar = literal[0];
+			int lastStart = end - literal.length;
+
+			matchStart = -1;
+			for (int position = nextPosition; position <= lastStart; position++) {
+				if (text[position] == firstChar && isLiteralAt(position)) {
+					matchStart = position;
+					nextPosition = position + literal.length;
+					break;
+				}
+			}
+			return matchStart >= 0;
+		}
+
+		private boolean isLiteralAt(int position) {
+			for (int i = 1; i < literal.length; i++) {
+				if (text[position + i] != literal[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		int start() {
+			return matchStart;
+		}
+
+		@Override
+		int end() {
+			return matchStart + literal.length;
+		}
+	}
+}
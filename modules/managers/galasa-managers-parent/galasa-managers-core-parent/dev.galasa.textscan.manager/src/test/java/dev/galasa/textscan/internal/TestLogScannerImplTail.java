@@ -0,0 +1,212 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.ITextScannable;
+import dev.galasa.textscan.IncorrectOccurrencesException;
+import dev.galasa.textscan.MissingTextException;
+import dev.galasa.textscan.TextScanException;
+import dev.galasa.textscan.TextScanManagerException;
+
+public class TestLogScannerImplTail {
+
+	/**
+	 * A log which is written to as the test goes on, recording the offsets it is read from
+	 */
+	private static class GrowingLog implements ITextScannable {
+		private final boolean isInputStream;
+		private final StringBuilder log = new StringBuilder();
+		private final List<Long> offsetsRead = new ArrayList<>();
+
+		private GrowingLog(boolean isInputStream) {
+			this.isInputStream = isInputStream;
+		}
+
+		private void write(String text) {
+			log.append(text);
+		}
+
+		private void replace(String text) {
+			log.setLength(0);
+			log.append(text);
+		}
+
+		@Override
+		public boolean isScannableInputStream() {
+			return isInputStream;
+		}
+
+		@Override
+		public boolean isScannableString() {
+			return !isInputStream;
+		}
+
+		@Override
+		public String getScannableName() {
+			return "GrowingLog";
+		}
+
+		@Override
+		public ITextScannable updateScannable() throws TextScanException {
+			return this;
+		}
+
+		@Override
+		public InputStream getScannableInputStream() throws TextScanException {
+			return new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public InputStream getScannableInputStream(long offset) throws TextScanException {
+			offsetsRead.add(offset);
+			return ITextScannable.super.getScannableInputStream(offset);
+		}
+
+		@Override
+		public String getScannableString() throws TextScanException {
+			return log.toString();
+		}
+
+		@Override
+		public String getScannableString(long offset) throws TextScanException {
+			offsetsRead.add(offset);
+			return ITextScannable.super.getScannableString(offset);
+		}
+	}
+
+	@Test
+	public void testPollingALogSinceTheCheckpointOnlyReadsTheTextAfterTheLastCompleteLine() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(true);
+		log.write("old line\n");
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+		logScanner.checkpoint();
+
+		// When...
+		log.write("starting\nstill star");
+		Throwable notStarted = catchThrowable(() -> logScanner.scanForMatchSinceCheckpoint(Pattern.compile("started"), null, 1));
+		log.write("ting\nstarted\n");
+		String match = logScanner.scanForMatchSinceCheckpoint(Pattern.compile("started"), null, 1);
+
+		// Then...
+		assertThat(notStarted).isInstanceOf(MissingTextException.class);
+		assertThat(match).isEqualTo("started");
+		// The second read starts at the last complete line scanned, to check it is still there
+		assertThat(log.offsetsRead).containsExactly(9L, 9L);
+	}
+
+	@Test
+	public void testMatchesInALineWrittenInPartsAreCountedOnce() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(true);
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+
+		// When...
+		log.write("ready\n");
+		Throwable firstLine = catchThrowable(() -> logScanner.scan("ready", null, 3));
+		log.write("ready");
+		Throwable partialLine = catchThrowable(() -> logScanner.scan("ready", null, 3));
+		log.write("\n");
+		Throwable completedLine = catchThrowable(() -> logScanner.scan("ready", null, 3));
+
+		// Then...
+		assertThat(firstLine).isInstanceOf(IncorrectOccurrencesException.class).hasRootCauseMessage("Expecting 3 instances of Pattern '\\Qready\\E' but found 1 occurrence(s)");
+		assertThat(partialLine).isInstanceOf(IncorrectOccurrencesException.class).hasRootCauseMessage("Expecting 3 instances of Pattern '\\Qready\\E' but found 2 occurrence(s)");
+		assertThat(completedLine).isInstanceOf(IncorrectOccurrencesException.class).hasRootCauseMessage("Expecting 3 instances of Pattern '\\Qready\\E' but found 2 occurrence(s)");
+		assertThat(log.offsetsRead).containsExactly(0L, 0L, 0L);
+	}
+
+	@Test
+	public void testFailTextWrittenToAStringLogAfterTheSearchTextIsStillFound() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(false);
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+
+		// When...
+		log.write("server started\n");
+		String beforeFailure = logScanner.scanForMatch("started", "abended", 1);
+		log.write("server abended\n");
+		String afterFailure = logScanner.scanForMatch("started", "abended", 1);
+
+		// Then...
+		assertThat(beforeFailure).isEqualTo("started");
+		assertThat(afterFailure).isEqualTo("abended");
+		assertThat(log.offsetsRead).containsExactly(0L, 0L);
+	}
+
+	@Test
+	public void testFoundTextIsNotFoundOnceTheLogIsTruncated() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(true);
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+		log.write("starting\nstarted\n");
+		String beforeTruncation = logScanner.scanForMatch("started", null, 1);
+
+		// When...
+		log.replace("starting\n");
+		Throwable afterTruncation = catchThrowable(() -> logScanner.scanForMatch("started", null, 1));
+		log.write("started again\n");
+		String afterRestart = logScanner.scanForMatch("started", null, 1);
+
+		// Then...
+		assertThat(beforeTruncation).isEqualTo("started");
+		assertThat(afterTruncation).isInstanceOf(MissingTextException.class);
+		assertThat(afterRestart).isEqualTo("started");
+	}
+
+	@Test
+	public void testReplacedLogIsScannedFromTheStart() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(true);
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+		log.write("first server starting\n");
+		Throwable beforeReplacement = catchThrowable(() -> logScanner.scanForMatch("abended", null, 1));
+
+		// When...
+		// The log rolls over to a new one which is already longer than the text scanned
+		log.replace("second server starting\nsecond server abended\n");
+		String afterReplacement = logScanner.scanForMatch("abended", null, 1);
+
+		// Then...
+		assertThat(beforeReplacement).isInstanceOf(MissingTextException.class);
+		assertThat(afterReplacement).isEqualTo("abended");
+		assertThat(log.offsetsRead).containsExactly(0L, 0L, 0L);
+	}
+
+	@Test
+	public void testReplacedStringLogIsScannedFromTheStart() throws TextScanManagerException {
+		// Given...
+		GrowingLog log = new GrowingLog(false);
+		LogScannerImpl logScanner = new LogScannerImpl();
+		logScanner.setScannable(log);
+		log.write("server started\n");
+		String beforeReplacement = logScanner.scanForMatch("started", "abended", 1);
+
+		// When...
+		log.replace("server abended\n");
+		String afterReplacement = logScanner.scanForMatch("started", "abended", 1);
+
+		// Then...
+		assertThat(beforeReplacement).isEqualTo("started");
+		assertThat(afterReplacement).isEqualTo("abended");
+	}
+}
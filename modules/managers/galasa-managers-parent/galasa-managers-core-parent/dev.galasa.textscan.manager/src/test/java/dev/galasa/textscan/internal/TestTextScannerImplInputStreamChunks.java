@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.IncorrectOccurrencesException;
+import dev.galasa.textscan.TextScanManagerException;
+
+public class TestTextScannerImplInputStreamChunks {
+
+	// A chunk size small enough to split most lines, so matches cross chunk boundaries
+	private static final int TINY_CHUNK_SIZE = 4;
+
+	private InputStream toInputStream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testMatchesAcrossChunkBoundariesAreCountedOnce() throws TextScanManagerException {
+		// Given...
+		String text = "alpha beta\ngamma alpha\nbeta alpha beta\n";
+		TextScannerImpl scanner = new TextScannerImpl(TextStreamScanner.DEFAULT_WINDOW_LINES, TINY_CHUNK_SIZE);
+
+		// When...
+		scanner.scan(toInputStream(text), "alpha", null, 3);
+		IncorrectOccurrencesException thrown = catchThrowableOfType(
+			() -> scanner.scan(toInputStream(text), Pattern.compile("alpha"), null, 4),
+			IncorrectOccurrencesException.class
+		);
+
+		// Then...
+		assertThat(thrown).hasMessageContaining("found 3 occurrence(s)");
+	}
+
+	@Test
+	public void testMatchesSpanningLinesAreFoundWithCarriageReturnLineEndings() throws TextScanManagerException {
+		// Given...
+		String text = "Line 1\r\nLine 2\r\nLine 3\rLine 4";
+		TextScannerImpl scanner = new TextScannerImpl(TextStreamScanner.DEFAULT_WINDOW_LINES, TINY_CHUNK_SIZE);
+
+		// When...
+		String match = scanner.scanForMatch(toInputStream(text), Pattern.compile("Line 2\nLine 3\nLine \\d\n"), null, 1);
+
+		// Then...
+		assertThat(match).isEqualTo("Line 2\nLine 3\nLine 4\n");
+	}
+
+	@Test
+	public void testMatchesSpanningMoreLinesThanTheWindowAreNotFound() throws TextScanManagerException {
+		// Given...
+		String text = "start\nmiddle\nend\nstart\nend\n";
+		TextScannerImpl scanner = new TextScannerImpl(2, TINY_CHUNK_SIZE);
+
+		// When...
+		String match = scanner.scanForMatch(toInputStream(text), Pattern.compile("start\\n(middle\\n)?end"), null, 1);
+		IncorrectOccurrencesException thrown = catchThrowableOfType(
+			() -> scanner.scan(toInputStream(text), Pattern.compile("start\\n(middle\\n)?end"), null, 2),
+			IncorrectOccurrencesException.class
+		);
+
+		// Then...
+		assertThat(match).isEqualTo("start\nend");
+		assertThat(thrown).hasMessageContaining("found 1 occurrence(s)");
+	}
+
+	@Test
+	public void testAnchoredPatternsMatchAtTheStartOfEachLine() throws TextScanManagerException {
+		// Given...
+		String text = "Line 1\nLine 2\nLine 3\nend\n";
+		TextScannerImpl scanner = new TextScannerImpl(2, TINY_CHUNK_SIZE);
+
+		// When...
+		String match = scanner.scanForMatch(toInputStream(text), Pattern.compile("^Line \\d"), null, 3);
+		scanner.scan(toInputStream(text), Pattern.compile("^Line"), null, 3);
+
+		// Then...
+		assertThat(match).isEqualTo("Line 3");
+	}
+
+	@Test
+	public void testScanForMatchReturnsWhicheverOfSearchAndFailTextEndsFirst() throws TextScanManagerException {
+		// Given...
+		String text = "one\nfound\ntwo\nfound\nfailed\nfound\n";
+		TextScannerImpl scanner = new TextScannerImpl(TextStreamScanner.DEFAULT_WINDOW_LINES, 1024);
+
+		// When...
+		String secondFound = scanner.scanForMatch(toInputStream(text), "found", "failed", 2);
+		String thirdFound = scanner.scanForMatch(toInputStream(text), "found", "failed", 3);
+
+		// Then...
+		assertThat(secondFound).isEqualTo("found");
+		assertThat(thirdFound).isEqualTo("failed");
+	}
+}
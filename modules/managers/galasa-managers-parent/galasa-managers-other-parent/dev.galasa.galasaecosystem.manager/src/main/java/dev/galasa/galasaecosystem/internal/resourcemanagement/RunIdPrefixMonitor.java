@@ -18,6 +18,8 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
+import dev.galasa.galasaecosystem.internal.GalasaEcosystemManagerImpl;
 import dev.galasa.galasaecosystem.internal.RunIdPrefixImpl;
 
 /**
@@ -51,9 +53,10 @@ public class RunIdPrefixMonitor implements Runnable {
 		logger.info("Galasa Ecosystem run ID prefix search");
 		try {
 			//*** run prefixes
-			Map<String, String> prefixed = dss.getPrefix("runid.prefix.");
+			IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(GalasaEcosystemManagerImpl.NAMESPACE);
+			Map<String, String> prefixed = snapshot.getPrefix("runid.prefix.");
 			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+			Set<String> activeRunNames = snapshot.getActiveRunNames();
 			
 			HashSet<String> cleanedPrefixes = new HashSet<>();
 
@@ -67,7 +70,7 @@ public class RunIdPrefixMonitor implements Runnable {
 					    continue; //*** just cleaned this run
 					}
 
-					if (!activeRunNames.contains(runName)) {
+					if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
 						logger.info("Cleaning run ID prefix " + prefixName + " as run " + runName + " has gone");
 						
 						cleanedPrefixes.add(prefixName);
@@ -18,6 +18,8 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
+import dev.galasa.galasaecosystem.internal.GalasaEcosystemManagerImpl;
 
 /**
  * Clean up the ecosystem properties when the run is deleted
@@ -50,9 +52,10 @@ public class RunResourceMonitor implements Runnable {
 		logger.info("Galasa Ecosystem Run search");
 		try {
 			//*** Find all the runs with properties
-			Map<String, String> slotRuns = dss.getPrefix("run.");
+			IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(GalasaEcosystemManagerImpl.NAMESPACE);
+			Map<String, String> slotRuns = snapshot.getPrefix("run.");
 			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+			Set<String> activeRunNames = snapshot.getActiveRunNames();
 			
 			HashSet<String> cleanedRuns = new HashSet<>();
 
@@ -65,7 +68,7 @@ public class RunResourceMonitor implements Runnable {
 					    continue; //*** just cleaned this run
 					}
 
-					if (!activeRunNames.contains(runName)) {
+					if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
 						logger.info("Cleaning Run " + runName + " properties as run has gone");
 						
 						cleanedRuns.add(runName);
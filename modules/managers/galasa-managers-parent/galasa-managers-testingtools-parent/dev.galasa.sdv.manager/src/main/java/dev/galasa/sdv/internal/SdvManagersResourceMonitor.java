@@ -11,8 +11,8 @@ import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
-import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
@@ -28,7 +28,6 @@ public class SdvManagersResourceMonitor implements Runnable {
 
     private static final Log LOG = LogFactory.getLog(SdvManagersResourceMonitor.class);
 
-    private final IFramework framework;
     private final IResourceManagement resourceManagement;
     private final IDynamicStatusStoreService dss;
 
@@ -37,13 +36,11 @@ public class SdvManagersResourceMonitor implements Runnable {
     /**
      * SdvManagersResourceMonitor constructor.
      *
-     * @param framework - Galasa framework.
      * @param resourceManagement - Galasa Resource Management.
      * @param dss - Galasa DSS.
      */
-    public SdvManagersResourceMonitor(IFramework framework, IResourceManagement resourceManagement,
+    public SdvManagersResourceMonitor(IResourceManagement resourceManagement,
             IDynamicStatusStoreService dss) {
-        this.framework = framework;
         this.resourceManagement = resourceManagement;
         this.dss = dss;
         LOG.info("SDV Managers resource monitor initialised");
@@ -55,9 +52,11 @@ public class SdvManagersResourceMonitor implements Runnable {
 
         try {
             // Get the list of SDV manager props in the DSS
-            Map<String, String> sdvManagersInDss = dss.getPrefix("manager.runningManagers");
+            IResourceManagementSnapshot snapshot =
+                    this.resourceManagement.getSnapshot(SdvManagerImpl.NAMESPACE);
+            Map<String, String> sdvManagersInDss = snapshot.getPrefix("manager.runningManagers");
 
-            Set<String> allActiveRuns = this.framework.getFrameworkRuns().getActiveRunNames();
+            Set<String> allActiveRuns = snapshot.getActiveRunNames();
 
             // Iterate through all SDV managers stored in the DSS
             for (Map.Entry<String, String> entry : sdvManagersInDss.entrySet()) {
@@ -66,7 +65,8 @@ public class SdvManagersResourceMonitor implements Runnable {
                         new HashSet<String>(Arrays.asList(entry.getValue().split(",")));
 
                 for (String runName : initialRunList) {
-                    if (!allActiveRuns.contains(runName)) {
+                    if (!allActiveRuns.contains(runName)
+                            && this.resourceManagement.isResponsibleFor(runName)) {
                         String removeRun = runName;
                         String removeCicsApplId = entry.getKey().split(PERIOD_REGEX)[2];
 
@@ -45,12 +45,10 @@ public class SdvResourceManagement implements IResourceManagementProvider {
         }
 
         sdvUserResourceMonitor = new SdvUserResourceMonitor(
-            framework,
             resourceManagement,
             dss
         );
         sdvManagersResourceMonitor = new SdvManagersResourceMonitor(
-            framework,
             resourceManagement,
             dss
         );
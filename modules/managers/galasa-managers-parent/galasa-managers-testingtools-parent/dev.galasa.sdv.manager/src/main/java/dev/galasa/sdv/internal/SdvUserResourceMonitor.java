@@ -7,8 +7,8 @@
 package dev.galasa.sdv.internal;
 
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
-import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.logging.Log;
@@ -22,7 +22,6 @@ public class SdvUserResourceMonitor implements Runnable {
 
     private static final Log LOG = LogFactory.getLog(SdvUserResourceMonitor.class);
 
-    private final IFramework framework;
     private final IResourceManagement resourceManagement;
     private final IDynamicStatusStoreService dss;
 
@@ -31,13 +30,11 @@ public class SdvUserResourceMonitor implements Runnable {
     /**
      * SdvUserResourceMonitor constructor.
      *
-     * @param framework - Galasa framework.
      * @param resourceManagement - Galasa Resource Management.
      * @param dss - Galasa DSS.
      */
-    public SdvUserResourceMonitor(IFramework framework, IResourceManagement resourceManagement,
+    public SdvUserResourceMonitor(IResourceManagement resourceManagement,
             IDynamicStatusStoreService dss) {
-        this.framework = framework;
         this.resourceManagement = resourceManagement;
         this.dss = dss;
         LOG.info("SDV User provisioning resource monitor initialised");
@@ -50,14 +47,17 @@ public class SdvUserResourceMonitor implements Runnable {
         try {
 
             // Get the list of SDV Users allocated in the DSS
-            Map<String, String> sdvUsersInDss = dss.getPrefix("sdvuser");
+            IResourceManagementSnapshot snapshot =
+                    this.resourceManagement.getSnapshot(SdvManagerImpl.NAMESPACE);
+            Map<String, String> sdvUsersInDss = snapshot.getPrefix("sdvuser");
 
-            Set<String> allActiveRuns = this.framework.getFrameworkRuns().getActiveRunNames();
+            Set<String> allActiveRuns = snapshot.getActiveRunNames();
 
             // Iterate through all SDV Users stored in the DSS
             for (Map.Entry<String, String> entry : sdvUsersInDss.entrySet()) {
                 // Delete DSS SDV User allocation to run not active
-                if (!allActiveRuns.contains(entry.getValue())) {
+                if (!allActiveRuns.contains(entry.getValue())
+                        && this.resourceManagement.isResponsibleFor(entry.getValue())) {
                     String removeRun = entry.getValue();
                     String removeCicsApplId = entry.getKey().split(PERIOD_REGEX)[1];
                     String removeUser = entry.getKey().split(PERIOD_REGEX)[2];
@@ -12,6 +12,7 @@ import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
@@ -52,6 +53,20 @@ class TestSdvManagersResourceMonitor {
         Mockito.when(mockLog.isDebugEnabled()).thenReturn(true);
     }
 
+    private static void mockSnapshot(IResourceManagement resMan, IFramework framework,
+            IDynamicStatusStoreService dssService, String prefix) throws FrameworkException {
+        Mockito.when(resMan.getSnapshot(SdvManagerImpl.NAMESPACE)).thenAnswer(invocation -> {
+            Map<String, String> properties = dssService.getPrefix(prefix);
+            Set<String> activeRunNames = framework.getFrameworkRuns().getActiveRunNames();
+
+            IResourceManagementSnapshot snapshot = Mockito.mock(IResourceManagementSnapshot.class);
+            Mockito.when(snapshot.getPrefix(prefix)).thenReturn(properties);
+            Mockito.when(snapshot.getActiveRunNames()).thenReturn(activeRunNames);
+            return snapshot;
+        });
+        Mockito.when(resMan.isResponsibleFor(Mockito.anyString())).thenReturn(true);
+    }
+
     @Test
     void testRunWithNoActiveRunsOrDssEntries()
             throws ClassNotFoundException, InstantiationException, IllegalAccessException,
@@ -75,14 +90,17 @@ class TestSdvManagersResourceMonitor {
         Mockito.when(dssService.getPrefix(runningManagersPrefixString))
                 .thenReturn(runningManagersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, runningManagersPrefixString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvManagersResourceMonitorClass =
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -131,14 +149,17 @@ class TestSdvManagersResourceMonitor {
         Mockito.when(dssService.getPrefix(runningManagersPrefixString))
                 .thenReturn(runningManagersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, runningManagersPrefixString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvManagersResourceMonitorClass =
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -161,7 +182,7 @@ class TestSdvManagersResourceMonitor {
 
     @Test
     void testRunException()
-            throws DynamicStatusStoreException, ClassNotFoundException, InstantiationException,
+            throws FrameworkException, ClassNotFoundException, InstantiationException,
             IllegalAccessException, IllegalArgumentException, InvocationTargetException,
             NoSuchMethodException, SecurityException, NoSuchFieldException {
         // Mock framework
@@ -175,14 +196,17 @@ class TestSdvManagersResourceMonitor {
         Mockito.when(dssService.getPrefix(runningManagersPrefixString))
                 .thenThrow(new DynamicStatusStoreException("cannot read store"));
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, runningManagersPrefixString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvManagersResourceMonitorClass =
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -238,14 +262,17 @@ class TestSdvManagersResourceMonitor {
                 .thenReturn(runOneString + "," + runTwoString);
         Mockito.when(dssService.get(runningManagersApplid2)).thenReturn(runThreeString);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, runningManagersPrefixString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvManagersResourceMonitorClass =
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -293,14 +320,17 @@ class TestSdvManagersResourceMonitor {
                 .thenReturn(runningManagersInDss);
         Mockito.when(dssService.get(runningManagersApplid2)).thenReturn(runThreeString);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, runningManagersPrefixString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvManagersResourceMonitorClass =
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -326,9 +356,6 @@ class TestSdvManagersResourceMonitor {
             throws FrameworkException, ClassNotFoundException, NoSuchFieldException,
             SecurityException, InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException, NoSuchMethodException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -348,9 +375,9 @@ class TestSdvManagersResourceMonitor {
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -375,9 +402,6 @@ class TestSdvManagersResourceMonitor {
             throws FrameworkException, ClassNotFoundException, NoSuchFieldException,
             SecurityException, InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException, NoSuchMethodException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -395,9 +419,9 @@ class TestSdvManagersResourceMonitor {
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -423,9 +447,6 @@ class TestSdvManagersResourceMonitor {
             throws DynamicStatusStoreException, ClassNotFoundException, InstantiationException,
             IllegalAccessException, IllegalArgumentException, InvocationTargetException,
             NoSuchMethodException, SecurityException, NoSuchFieldException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -439,9 +460,9 @@ class TestSdvManagersResourceMonitor {
                 Class.forName(sdvManagersResourceMonitorClassString);
         SdvManagersResourceMonitor sdvManagersResourceMonitor =
                 (SdvManagersResourceMonitor) sdvManagersResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
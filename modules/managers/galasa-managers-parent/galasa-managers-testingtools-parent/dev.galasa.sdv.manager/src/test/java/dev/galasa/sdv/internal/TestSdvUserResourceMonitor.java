@@ -13,6 +13,7 @@ import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
@@ -69,6 +70,20 @@ class TestSdvUserResourceMonitor {
         sdvUserPoolStatic.close();
     }
 
+    private static void mockSnapshot(IResourceManagement resMan, IFramework framework,
+            IDynamicStatusStoreService dssService, String prefix) throws FrameworkException {
+        Mockito.when(resMan.getSnapshot(SdvManagerImpl.NAMESPACE)).thenAnswer(invocation -> {
+            Map<String, String> properties = dssService.getPrefix(prefix);
+            Set<String> activeRunNames = framework.getFrameworkRuns().getActiveRunNames();
+
+            IResourceManagementSnapshot snapshot = Mockito.mock(IResourceManagementSnapshot.class);
+            Mockito.when(snapshot.getPrefix(prefix)).thenReturn(properties);
+            Mockito.when(snapshot.getActiveRunNames()).thenReturn(activeRunNames);
+            return snapshot;
+        });
+        Mockito.when(resMan.isResponsibleFor(Mockito.anyString())).thenReturn(true);
+    }
+
     @Test
     void testRunWithNoActiveRunsOrDssEntries()
             throws ClassNotFoundException, InstantiationException, IllegalAccessException,
@@ -91,13 +106,16 @@ class TestSdvUserResourceMonitor {
         Map<String, String> sdvUsersInDss = new HashMap<>();
         Mockito.when(dssService.getPrefix(sdvUserString)).thenReturn(sdvUsersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, sdvUserString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -146,13 +164,16 @@ class TestSdvUserResourceMonitor {
         sdvUsersInDss.put(dssEntryUser1RegionB, "RUN2");
         Mockito.when(dssService.getPrefix(sdvUserString)).thenReturn(sdvUsersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, sdvUserString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -199,13 +220,16 @@ class TestSdvUserResourceMonitor {
         sdvUsersInDss.put(dssEntryUser1RegionB, runFourString);
         Mockito.when(dssService.getPrefix(sdvUserString)).thenReturn(sdvUsersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, sdvUserString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -255,13 +279,16 @@ class TestSdvUserResourceMonitor {
         sdvUsersInDss.put(dssEntryUser1RegionB, runFourString);
         Mockito.when(dssService.getPrefix(sdvUserString)).thenReturn(sdvUsersInDss);
 
+        // Mock the snapshot of the DSS for the sweep
+        mockSnapshot(resMan, framework, dssService, sdvUserString);
+
         // Get SdvUserResourceMonitor instance
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -292,9 +319,6 @@ class TestSdvUserResourceMonitor {
     void testrunFinishedOrDeleted() throws FrameworkException, ClassNotFoundException,
             NoSuchFieldException, SecurityException, InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException, NoSuchMethodException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -310,9 +334,9 @@ class TestSdvUserResourceMonitor {
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -340,9 +364,6 @@ class TestSdvUserResourceMonitor {
     void testrunFinishedOrDeletedException() throws FrameworkException, ClassNotFoundException,
             NoSuchFieldException, SecurityException, InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException, NoSuchMethodException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -359,9 +380,9 @@ class TestSdvUserResourceMonitor {
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
@@ -393,9 +414,6 @@ class TestSdvUserResourceMonitor {
             throws FrameworkException, ClassNotFoundException, NoSuchFieldException,
             SecurityException, InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException, NoSuchMethodException {
-        // Mock framework
-        IFramework framework = Mockito.mock(IFramework.class);
-
         // Mock resourceManagement
         IResourceManagement resMan = Mockito.mock(IResourceManagement.class);
 
@@ -411,9 +429,9 @@ class TestSdvUserResourceMonitor {
         Class<?> sdvUserResourceMonitorClass = Class.forName(sdvUserResourceMonitorClassString);
         SdvUserResourceMonitor sdvUserResourceMonitor =
                 (SdvUserResourceMonitor) sdvUserResourceMonitorClass
-                        .getDeclaredConstructor(IFramework.class, IResourceManagement.class,
+                        .getDeclaredConstructor(IResourceManagement.class,
                                 IDynamicStatusStoreService.class)
-                        .newInstance(framework, resMan, dssService);
+                        .newInstance(resMan, dssService);
 
         // Replace LOG
         final Field unsafeField = Unsafe.class.getDeclaredField(theUnsafeString);
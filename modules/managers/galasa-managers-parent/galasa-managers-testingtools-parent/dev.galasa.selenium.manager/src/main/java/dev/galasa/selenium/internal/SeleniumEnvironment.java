@@ -15,9 +15,9 @@ import org.apache.commons.logging.LogFactory;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.DssAdd;
 import dev.galasa.framework.spi.DssDeletePrefix;
-import dev.galasa.framework.spi.DssSwap;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.ResourceUnavailableException;
 import dev.galasa.selenium.Browser;
@@ -43,9 +43,11 @@ public class SeleniumEnvironment {
 	private Path screenshotRasDirectory;
 		
 	private List<String> slots = new ArrayList<>();
+	private List<String> poolSlots = new ArrayList<>();
 	private List<ISeleniumManager> drivers = new ArrayList<>();
 	
 	private IDynamicStatusStoreService dss;
+	private IDynamicSlotPool slotPool;
 	private String runName;
 	
 	private int sessions = 0;
@@ -54,9 +56,21 @@ public class SeleniumEnvironment {
 		this.seleniumManager = seleleniumManager;
 		this.screenshotRasDirectory = screenshotRasDirectory;
 		this.dss = seleleniumManager.getDss();
+		this.slotPool = getSlotPool(this.dss);
 		this.runName = seleniumManager.getFramework().getTestRunName();
 	}
 	
+	/**
+	 * The pool of driver slots, which also counts the slots in the driver.current.slots
+	 * count kept by older versions of the manager until they are all freed
+	 * 
+	 * @param dss
+	 * @return the slot pool
+	 */
+	public static IDynamicSlotPool getSlotPool(IDynamicStatusStoreService dss) {
+		return dss.getDynamicSlotPool("driver", "driver.current.slots");
+	}
+	
 	/**
 	 * Allocate the driver based on CPS configurations.
 	 * 
@@ -132,50 +146,15 @@ public class SeleniumEnvironment {
 	 * @throws SeleniumManagerException
 	 */
 	private String allocateSlot() throws ResourceUnavailableException, SeleniumManagerException {
-		String slotKey = "driver.current.slots";
-		String slots = "";
-		String slotName = "";
-		int currentSlots = 0;
+		String slotName = "SeleniumSlot_" + this.runName + "_" + sessions;
 		
-		Exception lastPerformActionsException = null;
 		try {
-			for (int i=0; i<50;i++) {
-				slots = dss.get(slotKey);
-				if (slots != null) {
-					currentSlots = Integer.valueOf(slots);
-				} else {
-					slots = "0";
-					dss.performActions(
-						new DssAdd(slotKey, slots)
-					);
-					currentSlots = 0;
-				}
-				
-				if (currentSlots >= SeleniumDriverMaxSlots.get()) {
-					throw new ResourceUnavailableException("Failed to provsion. No slots avilable");
-				}			
-				
-				String slotNamePrefix = "SeleniumSlot_" + this.runName + "_";
-			
-				String slotNameAttempt = slotNamePrefix + sessions;
-				try {
-					currentSlots++;
-					dss.performActions(
-					new DssAdd("driver.slot." + slotNameAttempt,runName),
-					new DssSwap(slotKey, slots, String.valueOf(currentSlots))
-					);
-					slotName = slotNameAttempt;
-					break;
-				} catch (DynamicStatusStoreException e) {
-					logger.trace("Failed to get slot: " + slotNameAttempt + ". Retrying... ");
-					lastPerformActionsException = e;
-				}
+			String poolSlot = this.slotPool.acquireSlot(this.runName, SeleniumDriverMaxSlots.get(),
+					new DssAdd("driver.slot." + slotName, runName));
+			if (poolSlot == null) {
+				throw new ResourceUnavailableException("Failed to provsion. No slots avilable");
 			}
-
-			if ("".equals(slotName)) {
-				throw new SeleniumManagerException("Unable to resolve a slot name", lastPerformActionsException);
-			}
-			
+			this.poolSlots.add(poolSlot);
 		} catch (DynamicStatusStoreException | ConfigurationPropertyStoreException e) {
 			throw new SeleniumManagerException("Failed to allocate slot", e);
 		}
@@ -214,19 +193,20 @@ public class SeleniumEnvironment {
 	}
 	
 	private void freeSlots() throws SeleniumManagerException {
+		if (slots.isEmpty()) {
+			return;
+		}
+		
 		List<IDssAction> actions = new ArrayList<>();
 		try {
 			for (String slot: slots) {
 				actions.add(new DssDeletePrefix("driver.slot."+slot));
 			}
-			int newSlots = 0;
-			String currentSlots = dss.get("driver.current.slots");
-			if (currentSlots != null){
-				newSlots = Integer.valueOf(currentSlots)-actions.size();
-			} 
-			actions.add(new DssSwap("driver.current.slots", currentSlots, String.valueOf(newSlots)));
 			
-			dss.performActions(actions.toArray(new IDssAction[actions.size()]));
+			if (!this.slotPool.releaseSlots(this.poolSlots, this.runName, actions.toArray(new IDssAction[actions.size()]))) {
+				// Slots already released by the resource monitor, just tidy the slot properties
+				dss.performActions(actions.toArray(new IDssAction[actions.size()]));
+			}
 		} catch (DynamicStatusStoreException e) {
 			throw new SeleniumManagerException("Failed to clean slots", e);
 		}
@@ -117,6 +117,9 @@ public class SeleniumGridSessionMonitor implements Runnable {
 						logger.info("Slot found for this session, moving on");
 						continue;
 					}
+					if (!this.resourceManagement.isResponsibleFor(slotName)) {
+						continue; // Another resource manager looks after this slot
+					}
 					
 					logger.info("Looking to discard the session " + driverSlots.get(key) + ". Slot " + slotName + " no longer exists");
 					// Check to see if the selenium session still exists on the grid
@@ -14,12 +14,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.framework.spi.DssDelete;
-import dev.galasa.framework.spi.DssSwap;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 /**
  * Looks for slots allocated to non active tests.
@@ -62,8 +62,9 @@ public class SeleniumSlotResourceMonitor implements Runnable {
 	
 	public void checkForStaleSlots() {
 		try {
-			Map<String, String> driverSlots = dss.getPrefix("driver.slot");
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+			IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(SeleniumManagerImpl.NAMESPACE);
+			Map<String, String> driverSlots = snapshot.getPrefix("driver.slot");
+			Set<String> activeRunNames = snapshot.getActiveRunNames();
 			
 			for(String key: driverSlots.keySet()) {
 				if (key.endsWith(".session")) {
@@ -76,6 +77,9 @@ public class SeleniumSlotResourceMonitor implements Runnable {
 					logger.info("Run still active, continuing");
 					continue;
 				}
+				if (!this.resourceManagement.isResponsibleFor(runName)) {
+					continue; // Another resource manager looks after this run
+				}
 				
 				Matcher matcher = slotRunPattern.matcher(key);
 				if (matcher.find()) {
@@ -84,9 +88,9 @@ public class SeleniumSlotResourceMonitor implements Runnable {
 					
 					try {
 						logger.info("Discarding slot " + slotName + " as the run " + runName + " no longer exists");
-						int currentSlots = Integer.valueOf(dss.get("driver.current.slots"));
-						dss.performActions(	new DssDelete(key, runName),
-											new DssSwap("driver.current.slots", String.valueOf(currentSlots), String.valueOf(currentSlots-1)));
+						// Delete the slot first, so only one clean up releases it
+						dss.performActions(new DssDelete(key, runName));
+						SeleniumEnvironment.getSlotPool(dss).releaseStaleSlot(runName);
 					} catch (DynamicStatusStoreException e) {
 						logger.error("Failed to clean slot:" + slotName);
 					}
@@ -17,6 +17,8 @@ import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
+import dev.galasa.linux.internal.LinuxManagerImpl;
 import dev.galasa.linux.internal.shared.LinuxSharedImage;
 
 public class SlotResourceManagement implements Runnable {
@@ -41,9 +43,10 @@ public class SlotResourceManagement implements Runnable {
         logger.info("Starting Linux slot search");
         try {
             // *** Find all the runs with slots
-            Map<String, String> linuxRuns = dss.getPrefix("run.");
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(LinuxManagerImpl.NAMESPACE);
+            Map<String, String> linuxRuns = snapshot.getPrefix("run.");
 
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
 
             for (String key : linuxRuns.keySet()) {
                 Matcher matcher = serverPattern.matcher(key);
@@ -51,7 +54,7 @@ public class SlotResourceManagement implements Runnable {
                     String runName = matcher.group(1);
                     String imageName = matcher.group(2);
 
-                    if (!activeRunNames.contains(runName)) {
+                    if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
                         logger.info("Discarding Linux slot " + imageName + " as run " + runName + " has gone");
 
                         try {
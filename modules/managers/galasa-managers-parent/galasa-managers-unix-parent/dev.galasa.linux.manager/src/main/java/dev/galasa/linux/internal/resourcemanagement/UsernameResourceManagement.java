@@ -16,7 +16,9 @@ import org.apache.commons.logging.LogFactory;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 import dev.galasa.ipnetwork.spi.SSHClient;
+import dev.galasa.linux.internal.LinuxManagerImpl;
 import dev.galasa.linux.internal.properties.LinuxPropertiesSingleton;
 import dev.galasa.linux.internal.shared.LinuxSharedImage;
 import dev.galasa.linux.internal.shared.LinuxSharedIpHost;
@@ -43,9 +45,10 @@ public class UsernameResourceManagement implements Runnable {
         logger.info("Starting Linux username search");
         try {
             // *** Find all the runs with usernames
-            Map<String, String> linuxRuns = dss.getPrefix("run.");
+            IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(LinuxManagerImpl.NAMESPACE);
+            Map<String, String> linuxRuns = snapshot.getPrefix("run.");
 
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+            Set<String> activeRunNames = snapshot.getActiveRunNames();
 
             for (String key : linuxRuns.keySet()) {
                 Matcher matcher = serverPattern.matcher(key);
@@ -54,7 +57,7 @@ public class UsernameResourceManagement implements Runnable {
                     String imageName = matcher.group(2);
                     String username = matcher.group(3);
 
-                    if (!activeRunNames.contains(runName)) {
+                    if (!activeRunNames.contains(runName) && this.resourceManagement.isResponsibleFor(runName)) {
                         logger.info("Discarding Linux username " + imageName + "/" + username + " as run " + runName + " has gone");
 
                         SSHClient commandShell = null;
@@ -19,9 +19,9 @@ import dev.galasa.ICredentials;
 import dev.galasa.ICredentialsUsernamePassword;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.DssDelete;
-import dev.galasa.framework.spi.DssSwap;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.creds.CredentialsException;
 import dev.galasa.framework.spi.creds.CredentialsUsernamePassword;
@@ -215,21 +215,23 @@ public class LinuxSharedImage implements ILinuxProvisionedImage {
 
     public static void discardDssSlot(IDynamicStatusStoreService dss, String hostId, String runName) throws DynamicStatusStoreException {
 
-        int usedSlots = 0;
-        String sUsedSlots = dss.get(hostId + ".used.slots");
-        if (sUsedSlots != null) {
-            usedSlots = Integer.parseInt(sUsedSlots);
-        }
-
-        usedSlots--;
-        if (usedSlots < 0) {
-            usedSlots = 0;
+        // Delete the run's image record first, so only one clean up releases the slot
+        DssDelete runImage = new DssDelete("run." + runName + ".image." + hostId, "active");
+        try {
+            dss.performActions(runImage);
+        } catch(DynamicStatusStoreMatchException e) {
+            return; // already discarded
         }
 
-        DssSwap slotCount = new DssSwap(hostId + ".used.slots", sUsedSlots, Integer.toString(usedSlots));
-        DssDelete runImage = new DssDelete("run." + runName + ".image." + hostId, null);
+        getSlotPool(dss, hostId).releaseStaleSlot(runName);
+    }
 
-        dss.performActions(slotCount, runImage);
+    /**
+     * The slot pool of a shared image, which also counts the slots in the HOSTID.used.slots
+     * count kept by older versions of the manager until they are all freed
+     */
+    public static IDynamicSlotPool getSlotPool(IDynamicStatusStoreService dss, String hostId) {
+        return dss.getDynamicSlotPool("image." + hostId, hostId + ".used.slots");
     }
 
     public static void discardDssUsername(IDynamicStatusStoreService dss, ICommandShell commandShell, String hostId, String username, String runName) throws DynamicStatusStoreException {
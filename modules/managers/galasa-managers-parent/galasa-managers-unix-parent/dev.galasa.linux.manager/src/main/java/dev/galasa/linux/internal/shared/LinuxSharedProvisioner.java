@@ -15,9 +15,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.framework.spi.DssAdd;
-import dev.galasa.framework.spi.DssSwap;
+import dev.galasa.framework.spi.DssDelete;
 import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
-import dev.galasa.framework.spi.IDssAction;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IResourcePoolingService;
 import dev.galasa.framework.spi.ResourceUnavailableException;
@@ -164,12 +164,7 @@ public class LinuxSharedProvisioner implements ILinuxProvisioner {
                     continue;
                 }
 
-                String sUsedSlots = this.dss.get(hostId + ".used.slots");
-                if (sUsedSlots == null || sUsedSlots.isEmpty()) {
-                    sUsedSlots = "0";
-                }
-
-                int usedSlots = Integer.parseInt(sUsedSlots);
+                int usedSlots = LinuxSharedImage.getSlotPool(this.dss, hostId).getUsedSlots();
                 if (usedSlots >= maxSlots) {
                     availableImagesIterator.remove();
                     continue;
@@ -196,30 +191,17 @@ public class LinuxSharedProvisioner implements ILinuxProvisioner {
                 return provisionLinux(tag, operatingSystem, capabilities, retryCount++);
             }
 
-            int usedSlots = 0;
-            String sUsedSlots = this.dss.get(hostId + ".used.slots");
-            if (sUsedSlots != null) {
-                usedSlots = Integer.parseInt(sUsedSlots);
-            }
-            
-            usedSlots++;
-            
-            if (usedSlots > maxSlots) {
-                // must have just changed,  redrive the method again
-                return provisionLinux(tag, operatingSystem, capabilities, retryCount++);
-            }
-            
             String runName = this.manager.getFramework().getTestRunName();
             
-            IDssAction slotsUpdate = null;
-            if (sUsedSlots == null) {
-                slotsUpdate = new DssAdd(hostId + ".used.slots", Integer.toString(usedSlots));
-            } else {
-                slotsUpdate = new DssSwap(hostId + ".used.slots", sUsedSlots, Integer.toString(usedSlots));
+            IDynamicSlotPool slotPool = LinuxSharedImage.getSlotPool(this.dss, hostId);
+            String runImageKey = "run." + runName + ".image." + hostId;
+            String poolSlot = slotPool.acquireSlot(runName, maxSlots, new DssAdd(runImageKey, "active"));
+            if (poolSlot == null) {
+                // must have just filled up,  redrive the method again
+                return provisionLinux(tag, operatingSystem, capabilities, retryCount++);
             }
-            DssAdd runImage = new DssAdd("run." + runName + ".image." + hostId, "active");
 
-            // We needs a unique userid to use on the shared linux box, so reserve that at the sametime
+            // We needs a unique userid to use on the shared linux box, so reserve that now the slot is held
             
             List<String> instanceNamePool = UsernamePool.get(hostId);
             IResourcePoolingService poolingService = this.manager.getFramework().getResourcePoolingService();
@@ -231,6 +213,7 @@ public class LinuxSharedProvisioner implements ILinuxProvisioner {
 
             if (possibleNames.isEmpty()) {
                 // no available usernames on this image,   there should always be more usernames than slots
+                slotPool.releaseSlot(poolSlot, runName, new DssDelete(runImageKey, null));
                 return provisionLinux(tag, operatingSystem, capabilities, retryCount++);
             }
 
@@ -241,9 +224,10 @@ public class LinuxSharedProvisioner implements ILinuxProvisioner {
             DssAdd runUsername = new DssAdd("run." + runName + ".image." + hostId + ".username." + possibleUsername, "active");
             
             try {
-                this.dss.performActions(slotsUpdate, runImage, username, runUsername);
+                this.dss.performActions(username, runUsername);
             } catch(DynamicStatusStoreMatchException e) {
-                //*** collision on either the slot increment or the username,  so simply retry
+                //*** collision on the username,  so give the slot back and simply retry
+                slotPool.releaseSlot(poolSlot, runName, new DssDelete(runImageKey, null));
                 Thread.sleep(200 + new SecureRandom().nextInt(200)); // *** To avoid race conditions
                 return provisionLinux(tag, operatingSystem, capabilities, retryCount++);
             }
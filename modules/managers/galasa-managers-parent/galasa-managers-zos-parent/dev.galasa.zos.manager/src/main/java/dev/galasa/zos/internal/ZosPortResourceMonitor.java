@@ -15,6 +15,7 @@ import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementSnapshot;
 
 public class ZosPortResourceMonitor implements Runnable {
 	
@@ -39,15 +40,16 @@ public class ZosPortResourceMonitor implements Runnable {
 		try {
 			
 			// Get the list of ports allocated in the DSS
-			Map<String, String> zosPortsInDss = dss.getPrefix("zosport");
+			IResourceManagementSnapshot snapshot = this.resourceManagement.getSnapshot(ZosManagerImpl.NAMESPACE);
+			Map<String, String> zosPortsInDss = snapshot.getPrefix("zosport");
 			
-			Set<String> allActiveRuns = this.framework.getFrameworkRuns().getActiveRunNames();
+			Set<String> allActiveRuns = snapshot.getActiveRunNames();
 			
 			// Iterate through all z/OS ports stored in the DSS
 			for (String key : zosPortsInDss.keySet()) {
 	
 				// Delete DSS port allocation to run not active
-				if (!allActiveRuns.contains(zosPortsInDss.get(key))) {
+				if (!allActiveRuns.contains(zosPortsInDss.get(key)) && this.resourceManagement.isResponsibleFor(zosPortsInDss.get(key))) {
 					String removeRun = zosPortsInDss.get(key);
 					String removeImage = key.split("\\.")[1];
 					String removePort = key.split("\\.")[2];
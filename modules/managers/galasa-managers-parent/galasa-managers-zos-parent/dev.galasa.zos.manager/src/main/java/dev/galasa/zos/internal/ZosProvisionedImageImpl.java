@@ -12,7 +12,10 @@ import java.util.HashSet;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.framework.spi.DssDelete;
+import dev.galasa.framework.spi.DssUpdate;
 import dev.galasa.framework.spi.IDynamicResource;
+import dev.galasa.framework.spi.IDynamicSlotPool;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.properties.ImageMaxSlots;
@@ -23,13 +26,16 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
 
     private final IDynamicStatusStoreService dss;
     private final IDynamicResource dynamicResource;
+    private final IDynamicSlotPool slotPool;
 
     private String allocatedSlotName;
+    private String allocatedPoolSlot;
 
     public ZosProvisionedImageImpl(ZosManagerImpl zosManager, String imageId, String clusterId) throws ZosManagerException {
         super(zosManager, imageId, clusterId);
         this.dss = zosManager.getDSS();
         this.dynamicResource = this.dss.getDynamicResource("image." + getImageID());
+        this.slotPool = getSlotPool(this.dss, getImageID());
     }
 
     public boolean hasCapacity() throws ZosManagerException {
@@ -37,8 +43,6 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
     }
 
     public Float getCurrentUsage() throws ZosManagerException {
-        IDynamicStatusStoreService dss = getZosManager().getDSS();
-
         float maxSlots = ImageMaxSlots.get(getImageID());
         if (maxSlots <= 0.0f) {
             return 1.0f;
@@ -46,10 +50,7 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
 
         float usedSlots = 0.0f;
         try {
-            String currentSlots = dss.get("image." + getImageID() + ".current.slots");
-            if (currentSlots != null) {
-                usedSlots = Integer.parseInt(currentSlots);
-            }
+            usedSlots = this.slotPool.getUsedSlots();
         } catch (Exception e) {
             throw new ZosManagerException("Problem finding used slots for zOS Image " + getImageID(), e);
         }
@@ -62,51 +63,33 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
 
         int maxSlots = ImageMaxSlots.get(getImageID());
         try {
-            int usedSlots = 0;
-            String currentSlots = dss.get("image." + getImageID() + ".current.slots");
-            if (currentSlots != null) {
-                usedSlots = Integer.parseInt(currentSlots);
+            //*** Generate a slot name so that we can track who is using all the slots
+            //*** As we dont actually care what the slotname is, to make it relevant add the runname as the slotname
+            //*** Need to becareful with immediate reruns of the same run name so generate a unique slotname for each runname instance
+            String slotName = "SLOT_" + runName;
+            String actualSlotname = slotName;
+            for (int i = 1; dss.get("image." + getImageID() + ".slot." + actualSlotname) != null; i++) {
+                actualSlotname = slotName + "_" + i;
             }
 
-            if (usedSlots >= maxSlots) {
+            //*** allocate a slot, setting the control properties in the same transaction
+            String allocated = Instant.now().toString();
+            String prefix = "image." + getImageID() + ".slot." + actualSlotname;
+            String poolSlot = this.slotPool.acquireSlot(runName, maxSlots,
+                    new DssUpdate(prefix, runName),
+                    new DssUpdate("slot.run." + runName + "." + prefix, "active"));
+            if (poolSlot == null) {
                 return false;
             }
+            this.allocatedPoolSlot = poolSlot;
+            this.allocatedSlotName = actualSlotname;
 
-            //*** allocate a slot
-            usedSlots++;        
-            if (!dss.putSwap("image." + getImageID() + ".current.slots", currentSlots, Integer.toString(usedSlots))) {
-                //*** The value of the current slots changed whilst this was running,  so we need to try again with the updated value
-                Thread.sleep(200); //*** To avoid race conditions
-                return allocateImage();
-            }
-
-            //*** Now generate a slot name so that we can track who is using all the slots
-            //*** As we dont actually care what the slotname is, to make it relevant add the runname as the slotname
-            //*** Need to becareful with immediate reruns of the same run name so generate a unique slotname for each runname instance
-            String slotName = "SLOT_" + runName;
-            for(int i = 0; ;i++) {
-                String actualSlotname = slotName;
-                if (i > 0) {
-                    actualSlotname += "_" + i;
-                }
-
-                //*** Try setting the control properties
-                String allocated = Instant.now().toString();
-                String prefix = "image." + getImageID() + ".slot." + actualSlotname;
-                HashMap<String, String> otherProps = new HashMap<>();
-                otherProps.put("slot.run." + runName + "." + prefix, "active");
-                if (dss.putSwap(prefix, null, runName, otherProps)) {
-                    allocatedSlotName = actualSlotname;
-
-                    String resPrefix = "slot." + this.allocatedSlotName;
-                    //*** Set the user view properties
-                    HashMap<String, String> resProps = new HashMap<>();
-                    resProps.put(resPrefix + ".run", runName);
-                    resProps.put(resPrefix + ".allocated", allocated);
-                    dynamicResource.put(resProps);
-                    break;
-                }
-            }
+            String resPrefix = "slot." + this.allocatedSlotName;
+            //*** Set the user view properties
+            HashMap<String, String> resProps = new HashMap<>();
+            resProps.put(resPrefix + ".run", runName);
+            resProps.put(resPrefix + ".allocated", allocated);
+            dynamicResource.put(resProps);
         } catch (Exception e) {
             throw new ZosManagerException("Problem finding used slots for zOS Image " + getImageID(), e);
         }
@@ -119,19 +102,11 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
     }
 
     public void freeImage() {
-        try {
-            String currentSlots = dss.get("image." + getImageID() + ".current.slots");
-
-            if (currentSlots == null) {
-                return; // Missing value, no need to update
-            }
-
-            int usedSlots = Integer.parseInt(currentSlots);
-            usedSlots--;
-            if (usedSlots < 0) {
-                usedSlots = 0;
-            }
+        if (this.allocatedPoolSlot == null) {
+            return; // Nothing allocated, no need to update
+        }
 
+        try {
             String runName = getZosManager().getFramework().getTestRunName();
 
             //*** Remove the userview set
@@ -142,23 +117,15 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
             resProps.add(resPrefix + ".allocated");
             dynamicResource.delete(resProps);
 
-            //*** Remove the control set
+            //*** Release the slot and remove the control set in the same transaction
             String prefix = "image." + getImageID() + ".slot." + this.allocatedSlotName;
-            HashMap<String, String> otherProps = new HashMap<>();
-            otherProps.put("slot.run." + getZosManager().getFramework().getTestRunName() + "." + prefix, "free");
-            if (!dss.putSwap("image." + getImageID() + ".current.slots", currentSlots, Integer.toString(usedSlots), otherProps)) {
-                //*** The value of the current slots changed whilst this was running,  so we need to try again with the updated value
-                Thread.sleep(200); //*** To avoid race conditions
-                freeImage();
-                return;
+            DssDelete deleteSlot = new DssDelete(prefix, null);
+            DssDelete deleteRunSlot = new DssDelete("slot.run." + runName + "." + prefix, null);
+            if (!this.slotPool.releaseSlot(this.allocatedPoolSlot, runName, deleteSlot, deleteRunSlot)) {
+                //*** The slot has already been released by the manager clean up routines, just tidy the control set
+                dss.performActions(deleteSlot, deleteRunSlot);
             }
-
-            HashSet<String> delProps = new HashSet<>();
-            delProps.add("slot.run." + runName + "." + prefix);
-            delProps.add(prefix);
-            dss.delete(delProps);
-
-            dss.delete("image." + getImageID() + ".current.slot." + this.allocatedSlotName);
+            this.allocatedPoolSlot = null;
 
             logger.info("Discard slot name " + this.allocatedSlotName + " for zOS Image " + getImageID());
         } catch (Exception e) {
@@ -167,8 +134,6 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
     }
 
     public static void deleteDss(String runName, String imageId, String slot, IDynamicStatusStoreService dss) {
-        //*** Have to be careful with the delete as we need to keep the current.slots count correct
-
         try {
             //*** First clear the User view properties
             IDynamicResource dynamicResource = dss.getDynamicResource("image." + imageId);
@@ -180,27 +145,11 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
             resProps.add(resPrefix + ".allocated");
             dynamicResource.delete(resProps);
 
-            //*** Now get the run slot to see if it is still active,   if so,  try to switch to free
+            //*** If the slot is still active, switch it to free so only one clean up releases it
             String prefix = "image." + imageId + ".slot." + slot;
             String runSlot = dss.get("slot.run." + runName + "." + prefix);
-            if ("active".equals(runSlot)) {  //*** The slot is still active so try and free it
-                if (dss.putSwap("slot.run." + runName + "." + prefix, "active", "free")) {
-                    //*** Managed it,   decrement the current slots by 1,  may need a couple attempts as someone else may be updating
-                    while(true) {
-                        String sCurrentSlots = dss.get("image." + imageId + ".current.slots");
-                        int currentSlots = Integer.parseInt(sCurrentSlots);
-                        currentSlots--;
-                        if (currentSlots < 0) {
-                            currentSlots = 0;
-                        }
-
-                        if (dss.putSwap("image." + imageId + ".current.slots", sCurrentSlots, Integer.toString(currentSlots))) {
-                            break;
-                        }
-
-                        Thread.sleep(100);
-                    }
-                }
+            if ("active".equals(runSlot) && dss.putSwap("slot.run." + runName + "." + prefix, "active", "free")) {
+                getSlotPool(dss, imageId).releaseStaleSlot(runName);
             }
 
             //*** Delete the slot records
@@ -213,4 +162,9 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
         }
 
     }
+
+    //*** Older managers only counted the slots in image.<id>.current.slots, so keep counting them until they are freed
+    private static IDynamicSlotPool getSlotPool(IDynamicStatusStoreService dss, String imageId) {
+        return dss.getDynamicSlotPool("image." + imageId, "image." + imageId + ".current.slots");
+    }
 }
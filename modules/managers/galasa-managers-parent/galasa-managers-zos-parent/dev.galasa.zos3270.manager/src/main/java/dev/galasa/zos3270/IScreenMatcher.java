@@ -0,0 +1,27 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270;
+
+/**
+ * The ok and error text to wait for in the fields of a terminal screen, prepared
+ * once so it can be waited for many times.
+ *
+ * A screen matcher is created by {@link ITerminal#createScreenMatcher(String[], String[])}
+ * and cannot be changed, so it can be kept and shared between terminals and threads.
+ */
+public interface IScreenMatcher {
+
+    /**
+     * @return a copy of the text strings to find on the screen
+     */
+    String[] getOkText();
+
+    /**
+     * @return a copy of the text strings deemed to be errors, or null if there are none
+     */
+    String[] getErrorText();
+
+}
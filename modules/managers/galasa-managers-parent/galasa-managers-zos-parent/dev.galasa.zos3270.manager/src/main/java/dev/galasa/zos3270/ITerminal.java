@@ -107,6 +107,37 @@ public interface ITerminal {
      */
     int waitForTextInField(String[] ok, String[] error, long timeoutInMilliseconds) throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception;
 
+    /**
+     * Prepare ok and error text to be waited for many times, which is quicker than
+     * passing the text to each wait.  The matcher can be shared between terminals.
+     * 
+     * @param ok - An array of text strings to find on the screen
+     * @param error - An array of text strings deemed to be errors, or null
+     * @return a matcher for the text
+     */
+    IScreenMatcher createScreenMatcher(String[] ok, String[] error);
+
+    /**
+     * @param matcher - The ok and error text to find on the screen
+     * @return the index of the ok string that was found
+     * @throws TerminalInterruptedException - If the wait was interrupted for some reason
+     * @throws TextNotFoundException - None of the ok or error strings were found before the timeout
+     * @throws ErrorTextFoundException - One of the error strings were found, index of which is in the exception
+     * @throws Zos3270Exception - general zos 3270 error
+     */
+    int waitForTextInField(IScreenMatcher matcher) throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception;
+
+    /**
+     * @param matcher - The ok and error text to find on the screen
+     * @param timeoutInMilliseconds - timeout
+     * @return the index of the ok string that was found
+     * @throws TerminalInterruptedException - If the wait was interrupted for some reason
+     * @throws TextNotFoundException - None of the ok or error strings were found before the timeout
+     * @throws ErrorTextFoundException - One of the error strings were found, index of which is in the exception
+     * @throws Zos3270Exception - general zos 3270 error
+     */
+    int waitForTextInField(IScreenMatcher matcher, long timeoutInMilliseconds) throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception;
+
     ITerminal verifyTextInField(String string) throws TextNotFoundException;
 
     boolean isTextInField(String string);
@@ -10,24 +10,29 @@ import java.util.concurrent.TimeUnit;
 
 import dev.galasa.zos3270.AttentionIdentification;
 import dev.galasa.zos3270.ErrorTextFoundException;
+import dev.galasa.zos3270.IScreenMatcher;
 import dev.galasa.zos3270.IScreenUpdateListener;
-import dev.galasa.zos3270.TextNotFoundException;
 import dev.galasa.zos3270.Zos3270Exception;
 import dev.galasa.zos3270.spi.Screen;
+import dev.galasa.zos3270.spi.ScreenMatcher;
 
 public class ScreenUpdateTextListener implements IScreenUpdateListener {
 
     private final Screen screen;
-    private final String[] okText;
-    private final String[] errorText;
-    private int foundItem = -1;
-    private ErrorTextFoundException errorFound = null;
+    private final ScreenMatcher.Search search;
     private Semaphore    textFound = new Semaphore(1, true);
 
     public ScreenUpdateTextListener(Screen screen, String ok[], String error[]) throws InterruptedException {
+        this(screen, new ScreenMatcher(ok, error));
+    }
+
+    /**
+     * The fields of the screen are searched for the text as it is updated, only
+     * searching again the fields which have changed since the last update
+     */
+    public ScreenUpdateTextListener(Screen screen, IScreenMatcher matcher) throws InterruptedException {
         this.screen = screen;
-        this.okText = ok;
-        this.errorText = error;
+        this.search = ScreenMatcher.of(matcher).newSearch();
         this.textFound.acquire();
 
         synchronized (this.screen) {
@@ -41,16 +46,15 @@ public class ScreenUpdateTextListener implements IScreenUpdateListener {
 
     @Override
     public void screenUpdated(Direction direction, AttentionIdentification aid) {
-        try {
-            this.foundItem = screen.searchFieldContaining(okText, errorText);
-            this.textFound.release();
-        } catch (TextNotFoundException e) {
-            // IGNORE
-        } catch (ErrorTextFoundException e) {
-            this.errorFound = e;
-            this.textFound.release();
+        // *** Keep the text first found, which the waiting thread will report
+        if (this.search.isFound()) {
+            return;
         }
 
+        screen.searchFieldContaining(this.search);
+        if (this.search.isFound()) {
+            this.textFound.release();
+        }
     }
 
     public int waitForText(long maxWait) throws InterruptedException, ErrorTextFoundException, Zos3270Exception {
@@ -61,16 +65,21 @@ public class ScreenUpdateTextListener implements IScreenUpdateListener {
         this.textFound = null;
         screen.unregisterScreenUpdateListener(this);
         
-        if (errorFound != null) {
-            throw errorFound;
+        if (!this.search.isFound()) {
+            return -1;
         }
 
-        return foundItem;
+        return this.search.getFoundIndex();
     }
 
     public static int waitForText(Screen screen, String ok[], String error[], long maxWait)
             throws InterruptedException, Zos3270Exception {
-        return new ScreenUpdateTextListener(screen, ok, error).waitForText(maxWait);
+        return waitForText(screen, new ScreenMatcher(ok, error), maxWait);
+    }
+
+    public static int waitForText(Screen screen, IScreenMatcher matcher, long maxWait)
+            throws InterruptedException, Zos3270Exception {
+        return new ScreenUpdateTextListener(screen, matcher).waitForText(maxWait);
     }
 
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.terminal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.gson.stream.JsonWriter;
+
+import dev.galasa.ResultArchiveStoreContentType;
+import dev.galasa.SetContentType;
+import dev.galasa.framework.spi.IConfidentialTextService;
+import dev.galasa.zos3270.common.screens.FieldContents;
+import dev.galasa.zos3270.common.screens.Terminal;
+import dev.galasa.zos3270.common.screens.TerminalField;
+import dev.galasa.zos3270.common.screens.TerminalImage;
+import dev.galasa.zos3270.common.screens.TerminalSize;
+
+/**
+ * Writes the images of a terminal to the RAS and the live terminal on a background
+ * thread, so a test is not held up by the writing.
+ *
+ * The images are streamed as JSON straight into the compressed RAS file, with
+ * confidential text removed from each string as it is written.  The JSON is that of
+ * the {@link Terminal} pojo with false booleans and nulls left out, and with field
+ * contents always given as text, nulls being shown as spaces.
+ *
+ * Updates to the live terminal are held back for a short time, so only the latest
+ * image of a burst of updates is sent.
+ */
+public class TerminalImageWriter {
+
+    // The number of batches of images which can be waiting to be written before the test waits for them
+    private static final int  MAX_PENDING_BATCHES        = 4;
+
+    // How long the live terminal is left before being sent the latest image
+    private static final long LIVE_TERMINAL_DELAY_MILLIS = 250;
+
+    private static final long IDLE_THREAD_SECONDS        = 10;
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final String                          terminalId;
+    private final String                          runId;
+    private final Path                            terminalRasDirectory;
+    private final IConfidentialTextService        cts;
+    private final boolean                         applyCtf;
+
+    private final ScheduledThreadPoolExecutor     executor;
+    private final Semaphore                       pendingBatches = new Semaphore(MAX_PENDING_BATCHES);
+
+    private volatile URL                          liveTerminalUrl;
+    private int                                   liveTerminalSequence;
+    private final AtomicReference<TerminalImage>  latestLiveImage = new AtomicReference<>();
+
+    /**
+     * @param liveTerminalUrl the live terminal of this terminal, or null if there is none
+     */
+    public TerminalImageWriter(@NotNull String terminalId, String runId, @NotNull Path terminalRasDirectory,
+            URL liveTerminalUrl, @NotNull IConfidentialTextService cts, boolean applyCtf) {
+        this.terminalId = terminalId;
+        this.runId = runId;
+        this.terminalRasDirectory = terminalRasDirectory;
+        this.liveTerminalUrl = liveTerminalUrl;
+        this.cts = cts;
+        this.applyCtf = applyCtf;
+
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "zos3270-terminal-" + terminalId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setKeepAliveTime(IDLE_THREAD_SECONDS, TimeUnit.SECONDS);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue a batch of images to be written to the RAS, waiting if too many batches
+     * are already waiting to be written
+     *
+     * @param sequence the sequence number of the batch, which names the RAS file
+     * @param images the images, which must not be changed once queued
+     */
+    public void writeImages(int sequence, @NotNull TerminalSize defaultSize, @NotNull List<TerminalImage> images) {
+        Terminal rasTerminal = new Terminal(this.terminalId, this.runId, sequence, defaultSize);
+        rasTerminal.getImages().addAll(images);
+
+        this.pendingBatches.acquireUninterruptibly();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    writeRasTerminal(rasTerminal);
+                } catch (Exception e) {
+                    logger.error("Unable to write terminal cache to the RAS", e);
+                } finally {
+                    this.pendingBatches.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            this.pendingBatches.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for all the batches of images queued so far to be written to the RAS
+     */
+    public void flush() {
+        this.pendingBatches.acquireUninterruptibly(MAX_PENDING_BATCHES);
+        this.pendingBatches.release(MAX_PENDING_BATCHES);
+    }
+
+    /**
+     * Send an image to the live terminal once the delay has passed, unless a later
+     * image is given first
+     *
+     * @param image the image, which must not be changed once given
+     */
+    public void updateLiveTerminal(@NotNull TerminalImage image) {
+        if (this.liveTerminalUrl == null) {
+            return;
+        }
+
+        if (this.latestLiveImage.getAndSet(image) == null) {
+            this.executor.schedule(this::sendLiveTerminal, LIVE_TERMINAL_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void writeRasTerminal(Terminal rasTerminal) throws IOException {
+        String terminalFilename = this.terminalId + "-" + String.format("%05d", rasTerminal.getSequence()) + ".gz";
+        Path terminalPath = this.terminalRasDirectory.resolve(terminalFilename);
+
+        try (GZIPOutputStream gos = new GZIPOutputStream(Files.newOutputStream(terminalPath,
+                new SetContentType(new ResultArchiveStoreContentType("application/zos3270terminal")),
+                StandardOpenOption.CREATE))) {
+            writeTerminal(rasTerminal, gos);
+        }
+    }
+
+    private void sendLiveTerminal() {
+        TerminalImage image = this.latestLiveImage.getAndSet(null);
+        URL url = this.liveTerminalUrl;
+        if (image == null || url == null) {
+            return;
+        }
+
+        try {
+            this.liveTerminalSequence++;
+            Terminal liveTerminal = new Terminal(this.terminalId, this.runId, this.liveTerminalSequence,
+                    image.getImageSize());
+            liveTerminal.getImages().add(image);
+
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("PUT");
+            connection.addRequestProperty("Content-Type", "application/json");
+            connection.setDoInput(true);
+            connection.setDoOutput(true);
+            connection.connect();
+            try (OutputStream os = connection.getOutputStream()) {
+                writeTerminal(liveTerminal, os);
+            }
+            if (connection.getResponseCode() != 200) {
+                logger.warn("Unable to write live terminal due to " + connection.getResponseCode() + " - "
+                        + connection.getResponseMessage());
+                this.liveTerminalUrl = null;
+            }
+        } catch (Exception e) {
+            logger.error("Failed to write live terminal image, image lost", e);
+            this.liveTerminalUrl = null;
+        }
+    }
+
+    /**
+     * Write a terminal as JSON to a stream, which is flushed but left open
+     */
+    void writeTerminal(Terminal terminal, OutputStream outputStream) throws IOException {
+        JsonWriter json = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        json.setSerializeNulls(false);
+
+        json.beginObject();
+        json.name("id").value(removeConfidentialText(terminal.getId()));
+        json.name("runId").value(removeConfidentialText(terminal.getRunId()));
+        json.name("sequence").value(terminal.getSequence());
+        json.name("images").beginArray();
+        for (TerminalImage image : terminal.getImages()) {
+            writeImage(json, image);
+        }
+        json.endArray();
+        json.name("defaultSize");
+        writeSize(json, terminal.getDefaultSize());
+        json.endObject();
+
+        json.flush();
+    }
+
+    private void writeImage(JsonWriter json, TerminalImage image) throws IOException {
+        json.beginObject();
+        json.name("sequence").value(image.getSequence());
+        json.name("id").value(removeConfidentialText(image.getId()));
+        writeTrue(json, "inbound", image.isInbound());
+        json.name("type").value(removeConfidentialText(image.getType()));
+        json.name("imageSize");
+        writeSize(json, image.getImageSize());
+        json.name("cursorColumn").value(image.getCursorColumn());
+        json.name("cursorRow").value(image.getCursorRow());
+        json.name("aid").value(removeConfidentialText(image.getAid()));
+        json.name("fields").beginArray();
+        for (TerminalField field : image.getFields()) {
+            writeField(json, field);
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void writeField(JsonWriter json, TerminalField field) throws IOException {
+        json.beginObject();
+        json.name("row").value(field.getRow());
+        json.name("column").value(field.getColumn());
+        writeTrue(json, "unformatted", field.isUnformatted());
+        writeTrue(json, "fieldProtected", field.isFieldProtected());
+        writeTrue(json, "fieldNumeric", field.isFieldNumeric());
+        writeTrue(json, "fieldDisplay", field.isFieldDisplay());
+        writeTrue(json, "fieldIntenseDisplay", field.isFieldIntenseDisplay());
+        writeTrue(json, "fieldSelectorPen", field.isFieldSelectorPen());
+        writeTrue(json, "fieldModifed", field.isFieldModifed());
+        writeCharacter(json, "foregroundColour", field.getForegroundColour());
+        writeCharacter(json, "backgroundColour", field.getBackgroundColour());
+        writeCharacter(json, "highlight", field.getHighlight());
+        json.name("contents").beginArray();
+        for (FieldContents contents : field.getContents()) {
+            Character[] chars = contents.getChars();
+            StringBuilder text = new StringBuilder(chars.length);
+            for (Character c : chars) {
+                text.append(c == null ? ' ' : c.charValue());
+            }
+
+            json.beginObject();
+            json.name("text").value(removeConfidentialText(text.toString()));
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private static void writeSize(JsonWriter json, TerminalSize size) throws IOException {
+        if (size == null) {
+            json.nullValue();
+            return;
+        }
+
+        json.beginObject();
+        json.name("columns").value(size.getColumns());
+        json.name("rows").value(size.getRows());
+        json.endObject();
+    }
+
+    private static void writeTrue(JsonWriter json, String name, boolean value) throws IOException {
+        if (value) {
+            json.name(name).value(true);
+        }
+    }
+
+    private static void writeCharacter(JsonWriter json, String name, Character value) throws IOException {
+        if (value != null) {
+            json.name(name).value(value.toString());
+        }
+    }
+
+    private String removeConfidentialText(String text) {
+        if (text == null || !this.applyCtf) {
+            return text;
+        }
+        return this.cts.removeConfidentialText(text);
+    }
+
+}
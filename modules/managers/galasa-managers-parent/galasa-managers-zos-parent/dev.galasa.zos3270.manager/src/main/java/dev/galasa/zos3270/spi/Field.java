@@ -15,6 +15,7 @@ public class Field {
     private final int            start;
 
     private char[]               text;
+    private String               textString;
 
     private final boolean        fieldProtected;
     private final boolean        fieldNumeric;
@@ -42,6 +43,23 @@ public class Field {
         this.highlight        = sf.getHighlight();
     }
 
+    Field(int start, char[] text, boolean fieldProtected, boolean fieldNumeric, boolean fieldDisplay,
+            boolean fieldIntenseDisplay, boolean fieldSelectorPen, boolean fieldModifed,
+            Colour foregroundColour, Colour backgroundColour, Highlight highlight) {
+        this.start = start;
+        this.fieldProtected = fieldProtected;
+        this.fieldNumeric = fieldNumeric;
+        this.fieldDisplay = fieldDisplay;
+        this.fieldIntenseDisplay = fieldIntenseDisplay;
+        this.fieldSelectorPen = fieldSelectorPen;
+        this.fieldModifed = fieldModifed;
+        this.text = text;
+
+        this.foregroundColour = foregroundColour;
+        this.backgroundColour = backgroundColour;
+        this.highlight        = highlight;
+    }
+
     public Field() {
         this.start = -1;
         this.fieldProtected = false;
@@ -60,6 +78,7 @@ public class Field {
         char[] newText = Arrays.copyOf(this.text, this.text.length + 1);
         newText[newText.length - 1] = newChar;
         this.text = newText;
+        this.textString = null;
     }
 
     @Override
@@ -90,7 +109,17 @@ public class Field {
     }
 
     public boolean containsText(String searchText) {
-        return new String(this.text).contains(searchText);
+        if (this.textString == null) {
+            this.textString = new String(this.text);
+        }
+        return this.textString.contains(searchText);
+    }
+
+    /**
+     * @return the characters of the field with nulls left in, which must not be changed
+     */
+    char[] getText() {
+        return this.text;
     }
 
     public int getStart() {
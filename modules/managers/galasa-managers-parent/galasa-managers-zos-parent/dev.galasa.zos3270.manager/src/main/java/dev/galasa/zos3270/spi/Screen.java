@@ -26,6 +26,7 @@ import dev.galasa.zos3270.ErrorTextFoundException;
 import dev.galasa.zos3270.FieldNotFoundException;
 import dev.galasa.zos3270.IDatastreamListener;
 import dev.galasa.zos3270.IDatastreamListener.DatastreamDirection;
+import dev.galasa.zos3270.IScreenMatcher;
 import dev.galasa.zos3270.IScreenUpdateListener;
 import dev.galasa.zos3270.IScreenUpdateListener.Direction;
 import dev.galasa.zos3270.common.screens.TerminalSize;
@@ -93,7 +94,7 @@ public class Screen {
     private final Network                           network;
 
     private boolean                                 usingAlternate;
-    private IBufferHolder[]                         buffer;
+    private ScreenBuffer                            buffer;
     private int                                     screenSize;
     private int                                     columns;
     private int                                     rows;
@@ -118,6 +119,15 @@ public class Screen {
     
     private boolean                                 detectedSetAttribute = false;
 
+    // The fields last calculated, which are recalculated once the buffer changes
+    private Field[]                                 fields;
+    private long                                    fieldsModificationCount;
+    // The start of field the unformatted or wrapped field last calculated took its attributes from
+    private int                                     fieldsWrappedStartOfField = -1;
+
+    // The matcher last built for ok and error text, as the same text is usually searched for again
+    private ScreenMatcher                           lastMatcher;
+
     /**
      * @deprecated use the {@link #Screen(TerminalSize primarySize, TerminalSize alternateSize, Network network, Charset codePage)}
      * constructor instead.  
@@ -242,12 +252,8 @@ public class Screen {
     }
 
     private void resetMdt() {
-        for(int i = 0; i < this.screenSize; i++) {
-            IBufferHolder bh = this.buffer[i];
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField sof = (BufferStartOfField) bh;
-                sof.clearFieldModified();
-            }
+        for (int start : this.buffer.getFieldStarts()) {
+            this.buffer.clearFieldModified(start);
         }
     }
 
@@ -260,22 +266,17 @@ public class Screen {
             BufferAddress cursor = new BufferAddress(this.screenCursor);
             outboundBuffer.write(cursor.getCharRepresentation());
 
-            for(IBufferHolder bh : this.buffer) {
-                if (bh == null) {
+            for(int i = 0; i < this.screenSize; i++) {
+                if (this.buffer.isEmpty(i)) {
                     outboundBuffer.write(0);
-                } else if (bh instanceof BufferGraphicsEscape) {
-                    BufferGraphicsEscape bc = (BufferGraphicsEscape) bh;
+                } else if (this.buffer.isGraphicsEscape(i)) {
                     outboundBuffer.write(OrderGraphicsEscape.ID);
-                    outboundBuffer.write(bc.getFieldEbcdic(this.codePage));
-                } else if (bh instanceof BufferChar) {
-                    BufferChar bc = (BufferChar) bh;
-                    outboundBuffer.write(bc.getFieldEbcdic(this.codePage));
-                } else if (bh instanceof BufferStartOfField) {
-                    BufferStartOfField sf = (BufferStartOfField) bh;
-                    OrderStartField osf = new OrderStartField(sf.isProtected(), sf.isNumeric(), sf.isDisplay(), sf.isIntenseDisplay(), sf.isSelectorPen(), sf.isFieldModifed());
-                    outboundBuffer.write(osf.getBytes());
+                    outboundBuffer.write(this.buffer.getFieldEbcdic(i, this.codePage));
+                } else if (this.buffer.isChar(i)) {
+                    outboundBuffer.write(this.buffer.getFieldEbcdic(i, this.codePage));
                 } else {
-                    throw new DatastreamException("Unrecognised Buffer Holder - " + bh.getClass().getName());
+                    OrderStartField osf = new OrderStartField(this.buffer.isProtected(i), this.buffer.isNumeric(i), this.buffer.isDisplay(i), this.buffer.isIntenseDisplay(i), this.buffer.isSelectorPen(i), this.buffer.isFieldModifed(i));
+                    outboundBuffer.write(osf.getBytes());
                 }
             }
             String outboundHex = new String(Hex.encodeHex(outboundBuffer.toByteArray()));
@@ -333,50 +334,42 @@ public class Screen {
         // *** Locate the first StartOfField in the buffer, if absent, then unformatted,
         // send everything back.
 
+        int[] fieldStarts = buffer.getFieldStarts();
         int start = 0;
         int end = 0;
-        for (; start < buffer.length; start++) {
-            if (buffer[start] instanceof BufferStartOfField) {
-                break;
-            }
-        }
-
-        if (start >= buffer.length) { // indicates unfromatted, send it all
+        if (fieldStarts.length == 0) { // indicates unfromatted, send it all
             start = 0;
-            end = buffer.length - 1;
+            end = screenSize - 1;
 
             // OrderSetBufferAddress sba = new OrderSetBufferAddress(new BufferAddress(0));
             // outboundBuffer.write(sba.getCharRepresentation());
             fieldModified = true;
         } else { // formatted
+            start = fieldStarts[0];
             end = start - 1;
             if (end < 0) {
-                end = buffer.length - 1;
+                end = screenSize - 1;
             }
         }
 
         int pos = start;
         while (true) {
-            IBufferHolder bh = buffer[pos];
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField bsf = (BufferStartOfField) bh;
-                fieldModified = bsf.isFieldModifed();
+            if (buffer.isStartOfField(pos)) {
+                fieldModified = buffer.isFieldModifed(pos);
 
                 if (fieldModified) { // Send whether unprotected or not
                     OrderSetBufferAddress sba = new OrderSetBufferAddress(new BufferAddress(pos + 1));
                     outboundBuffer.write(sba.getCharRepresentation());
                 }
-            } else if (bh instanceof BufferGraphicsEscape) {
-                BufferGraphicsEscape bc = (BufferGraphicsEscape) bh;
+            } else if (buffer.isGraphicsEscape(pos)) {
                 if (fieldModified) {
                     outboundBuffer.write(OrderGraphicsEscape.ID);
-                    byte value = bc.getFieldEbcdic(this.codePage);
+                    byte value = buffer.getFieldEbcdic(pos, this.codePage);
                     outboundBuffer.write(value);
                 }
-            } else if (bh instanceof BufferChar) {
-                BufferChar bc = (BufferChar) bh;
+            } else if (buffer.isChar(pos)) {
                 if (fieldModified) {
-                    byte value = bc.getFieldEbcdic(this.codePage);
+                    byte value = buffer.getFieldEbcdic(pos, this.codePage);
                     if (value != 0) {
                         outboundBuffer.write(value);
                     }
@@ -388,7 +381,7 @@ public class Screen {
             }
 
             pos++;
-            if (pos >= buffer.length) {
+            if (pos >= screenSize) {
                 pos = 0;
             }
         }
@@ -559,9 +552,7 @@ public class Screen {
             this.usingAlternate = false;
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            buffer[i] = null;
-        }
+        buffer.clear();
 
         this.screenCursor  = 0;
         this.workingCursor = 0;
@@ -582,9 +573,7 @@ public class Screen {
             this.usingAlternate = true;
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            buffer[i] = null;
-        }
+        buffer.clear();
 
         this.screenCursor  = 0;
         this.workingCursor = 0;
@@ -592,7 +581,8 @@ public class Screen {
 
     private void allocateBuffer() {
         this.screenSize = this.columns * this.rows;
-        this.buffer = new IBufferHolder[this.screenSize];        
+        this.buffer = new ScreenBuffer(this.screenSize);
+        this.fields = null;
     }
 
     /**
@@ -623,7 +613,7 @@ public class Screen {
 
         boolean firstPosition = true;
         while (firstPosition || this.workingCursor != endOfRepeat) {
-            this.buffer[this.workingCursor] = new BufferChar(order.getChar());
+            this.buffer.setChar(this.workingCursor, order.getChar());
             if (endOfRepeat == this.screenSize && this.workingCursor == (this.screenSize - 1)) {
                 endOfRepeat = 0;
                 break;
@@ -643,80 +633,43 @@ public class Screen {
     }
 
     private void processSF(OrderStartField order) {
-        this.buffer[this.workingCursor] = new BufferStartOfField(this.workingCursor, order.isFieldProtected(),
+        this.buffer.setStartOfField(this.workingCursor, order.isFieldProtected(),
                 order.isFieldNumeric(), order.isFieldDisplay(), order.isFieldIntenseDisplay(),
-                order.isFieldSelectorPen(), order.isFieldModifed());
+                order.isFieldSelectorPen(), order.isFieldModifed(), null, null, null);
         incrementWorkingCursor();
     }
 
     private void processSFE(OrderStartFieldExtended order) {
-        OrderStartField sf = order.getOrderStartField();
-        BufferStartOfField bsf = null;
-
-        if (sf != null) {
-            bsf = new BufferStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
-                    sf.isFieldDisplay(), sf.isFieldIntenseDisplay(), sf.isFieldSelectorPen(), sf.isFieldModifed(),
-                    order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
-        }
-
-        if (bsf == null) {
-            bsf = new BufferStartOfField(this.workingCursor, false, false, true, false, false, false);
-        }
-
-        this.buffer[this.workingCursor] = bsf;
-        incrementWorkingCursor();
+        setStartOfField(order.getOrderStartField(), order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
     }
 
     private void processMF(OrderModifyField order) {
-        OrderStartField sf = order.getOrderStartField();
-        BufferStartOfField bsf = null;
+        setStartOfField(order.getOrderStartField(), order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
+    }
 
+    private void setStartOfField(OrderStartField sf, AttributeExtendedHighlighting highlight,
+            AttributeForegroundColour foregroundColour, AttributeBackgroundColour backgroundColour) {
         if (sf != null) {
-            bsf = new BufferStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
+            this.buffer.setStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
                     sf.isFieldDisplay(), sf.isFieldIntenseDisplay(), sf.isFieldSelectorPen(), sf.isFieldModifed(),
-                    order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
-        }
-
-        if (bsf == null) {
-            bsf = new BufferStartOfField(this.workingCursor, false, false, true, false, false, false);
+                    highlight == null ? null : highlight.getHighlight(),
+                    foregroundColour == null ? null : foregroundColour.getColour(),
+                    backgroundColour == null ? null : backgroundColour.getColour());
+        } else {
+            this.buffer.setStartOfField(this.workingCursor, false, false, true, false, false, false, null, null, null);
         }
 
-        this.buffer[this.workingCursor] = bsf;
         incrementWorkingCursor();
     }
 
     private void processEUA(OrderEraseUnprotectedToAddress order) {
         boolean charProtected = true;
-        IBufferHolder bh = this.buffer[this.workingCursor];
         // are we on a SF, if so take the protected setting
-        if (bh instanceof BufferStartOfField) {
-            charProtected = ((BufferStartOfField)bh).isProtected();
+        if (this.buffer.isStartOfField(this.workingCursor)) {
+            charProtected = this.buffer.isProtected(this.workingCursor);
         } else {
-            // we have to go looking backwards for it
-            int searchCursor = this.workingCursor - 1;
-            if (searchCursor < 0) {
-                searchCursor = this.screenSize - 1;
-            }
-            boolean found = false;
-            while(searchCursor != this.workingCursor) {
-                bh = this.buffer[searchCursor];
-
-                if (bh instanceof BufferStartOfField) {
-                    charProtected = ((BufferStartOfField)bh).isProtected();
-                    found = true;
-                    break;
-                }
-
-                searchCursor--;
-                if (searchCursor < 0) {
-                    searchCursor = this.screenSize - 1;
-                }
-            }
-
-            if (!found) {
-                // assume no fields, so unprotected;
-                charProtected = false;
-            }
+            // we have to go looking backwards for it, if no fields, assume unprotected
+            charProtected = this.buffer.isProtected(this.buffer.findStartOfField(this.workingCursor));
         }
 
 
@@ -730,12 +683,11 @@ public class Screen {
 
         int eraseCursor = this.workingCursor;
         while(true) {
-            bh = this.buffer[eraseCursor];
-            if (bh instanceof BufferStartOfField) {
-                charProtected = ((BufferStartOfField)bh).isProtected();
+            if (this.buffer.isStartOfField(eraseCursor)) {
+                charProtected = this.buffer.isProtected(eraseCursor);
             } else {
                 if (!charProtected) {
-                    this.buffer[eraseCursor] = null;
+                    this.buffer.clear(eraseCursor);
                 }
             }
 
@@ -762,54 +714,41 @@ public class Screen {
     }
 
     private void processNewLine() {
-        this.buffer[this.workingCursor] = new BufferNewLine();
+        this.buffer.setControl(this.workingCursor, OrderNewLine.ID);
         incrementWorkingCursor();
     }
 
     private void processFormFeed() {
-        this.buffer[this.workingCursor] = new BufferFormFeed();
+        this.buffer.setControl(this.workingCursor, OrderFormFeed.ID);
         incrementWorkingCursor();
     }
 
     private void processCarrageReturn() {
-        this.buffer[this.workingCursor] = new BufferCarrageReturn();
+        this.buffer.setControl(this.workingCursor, OrderCarrageReturn.ID);
         incrementWorkingCursor();
     }
 
     private void processEndOfMedium() {
-        this.buffer[this.workingCursor] = new BufferEndOfMedium();
+        this.buffer.setControl(this.workingCursor, OrderEndOfMedium.ID);
         incrementWorkingCursor();
     }
 
     private void processGraphicsEscape(OrderGraphicsEscape order) {
-        this.buffer[this.workingCursor] = new BufferGraphicsEscape(order.getByte());
+        this.buffer.setGraphicsEscape(this.workingCursor, order.getByte());
         incrementWorkingCursor();
     }
 
     private void processText(OrderText order) {
         String text = order.getText();
         for (int i = 0; i < text.length(); i++) {
-            this.buffer[this.workingCursor] = new BufferChar(text.charAt(i));
+            this.buffer.setChar(this.workingCursor, text.charAt(i));
             incrementWorkingCursor();
         }
 
     }
 
     private String buildRawScreenStringFromBuffer() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.buffer.length; i++) {
-            IBufferHolder currentBufferHolder = this.buffer[i];
-            String currentBufferStr = null;
-            if (currentBufferHolder == null) {
-                currentBufferStr = " ";
-            } else {
-                currentBufferStr = currentBufferHolder.getStringWithoutNulls();
-            }
-
-            sb.append(currentBufferStr);
-        }
-
-        return sb.toString();
+        return this.buffer.getText();
     }
 
     public String printScreen() {
@@ -872,18 +811,12 @@ public class Screen {
         int col = 0;
 
         // *** Check to see if the screen is wrapped or unformatted
-        BufferStartOfField currentBufferStartOfField = new BufferStartOfField(0, false, false, true, false, false, false);
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    currentBufferStartOfField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+        int currentStartOfField = -1;
+        if (!this.buffer.isStartOfField(0)) {
+            currentStartOfField = this.buffer.findLastStartOfField();
         }  // no need for else as it will be picked up in the loop
 
-        for (int i = 0; i < this.buffer.length; i++) {
+        for (int i = 0; i < this.screenSize; i++) {
             // print row header
             if (col == 0) {
                 screenBuffer.append("=");
@@ -892,19 +825,19 @@ public class Screen {
             }
 
             // Print actual text
-            IBufferHolder bufferHolder = this.buffer[i];
-            if (bufferHolder == null) {
+            char character = this.buffer.getChar(i);
+            if (character == 0) {
                 screenBuffer.append(" ");
             } else {
-                screenBuffer.append(bufferHolder.getStringWithoutNulls());
+                screenBuffer.append(character);
+            }
 
-                if (bufferHolder instanceof BufferStartOfField) {
-                    currentBufferStartOfField = (BufferStartOfField)bufferHolder;
-                }
+            if (this.buffer.isStartOfField(i)) {
+                currentStartOfField = i;
             }
 
 
-            if (bufferHolder == null || bufferHolder == currentBufferStartOfField) {
+            if (this.buffer.isEmpty(i) || i == currentStartOfField) {
                 foregroundLine.append(" ");
                 backgroundLine.append(" ");
                 highlightLine.append(" ");
@@ -913,18 +846,18 @@ public class Screen {
                 numericLine.append(" ");
                 modifiedLine.append(" ");
             } else {
-                AttributeForegroundColour foregroundColour = currentBufferStartOfField.getAttributeForegroundColour();
+                Colour foregroundColour = this.buffer.getForegroundColour(currentStartOfField);
                 if (foregroundColour == null) {
                     foregroundLine.append(" ");
                 } else {
-                    foregroundLine.append(foregroundColour.getColour().getLetter());
+                    foregroundLine.append(foregroundColour.getLetter());
                 }
                 
-                AttributeBackgroundColour backgroundColour = currentBufferStartOfField.getAttributeBackgroundColour();
+                Colour backgroundColour = this.buffer.getBackgroundColour(currentStartOfField);
                 if (backgroundColour == null) {
                     backgroundLine.append(" ");
                 } else {
-                    backgroundLine.append(backgroundColour.getColour().getLetter());
+                    backgroundLine.append(backgroundColour.getLetter());
                 }
                 
 
@@ -932,11 +865,11 @@ public class Screen {
 
 
                 // Calculate Highlight
-                AttributeExtendedHighlighting extendedHighlighting = currentBufferStartOfField.getAttributeExtendedHighlighting();
+                Highlight extendedHighlighting = this.buffer.getHighlight(currentStartOfField);
                 if (extendedHighlighting == null) {
                     highlightLine.append(" ");
                 } else {
-                    switch(extendedHighlighting.getHighlight()) {
+                    switch(extendedHighlighting) {
                     case BLINK:
                         highlightLine.append("b");
                         break;
@@ -959,28 +892,28 @@ public class Screen {
                 }
 
                 // Calculate intensity
-                if (currentBufferStartOfField.isIntenseDisplay()) {
+                if (this.buffer.isIntenseDisplay(currentStartOfField)) {
                     intensityLine.append("i");
                 } else {
                     intensityLine.append(" ");
                 }
 
                 // Calculate Protected
-                if (currentBufferStartOfField.isProtected()) {
+                if (this.buffer.isProtected(currentStartOfField)) {
                     protectedLine.append("p");
                 } else {
                     protectedLine.append("u");
                 }
 
                 // Calculate Numeric
-                if (currentBufferStartOfField.isNumeric()) {
+                if (this.buffer.isNumeric(currentStartOfField)) {
                     numericLine.append("n");
                 } else {
                     numericLine.append(" ");
                 }
 
                 // Calculate Modified
-                if (currentBufferStartOfField.isFieldModifed()) {
+                if (this.buffer.isFieldModifed(currentStartOfField)) {
                     modifiedLine.append("m");
                 } else {
                     modifiedLine.append(" ");
@@ -1098,59 +1031,50 @@ public class Screen {
     }
 
     public String retrieveFlatScreen() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.buffer.length; i++) {
-            if (this.buffer[i] == null) {
-                sb.append(" ");
-            } else {
-                sb.append(this.buffer[i].getStringWithoutNulls());
-            }
-        }
-        return sb.toString();
+        return this.buffer.getText();
     }
 
 
 
     public synchronized @NotNull Field[] calculateFields() {
-        ArrayList<Field> fields = new ArrayList<>();
+        return getFields().clone();
+    }
 
-        Field currentField = null;
+    /**
+     * The fields are only calculated again if the buffer has changed since they
+     * were last calculated, so they must not be changed.  A field whose positions
+     * have not changed is kept as the same object when the fields are calculated again.
+     */
+    private synchronized Field[] getFields() {
+        long modificationCount = this.buffer.getModificationCount();
+        if (this.fields == null || this.fieldsModificationCount != modificationCount) {
+            int wrappedStartOfField = this.buffer.findLastStartOfField();
+            this.fields = buildFields(wrappedStartOfField);
+            this.fieldsModificationCount = modificationCount;
+            this.fieldsWrappedStartOfField = wrappedStartOfField;
+        }
+        return this.fields;
+    }
 
-        // *** Check to see if the screen is wrapped or unformatted
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            BufferStartOfField wrapSoField = null;
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    wrapSoField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+    private Field[] buildFields(int wrappedStartOfField) {
+        int[] fieldStarts = this.buffer.getFieldStarts();
+        ArrayList<Field> fields = new ArrayList<>(fieldStarts.length + 1);
 
-            if (wrapSoField == null) {
-                currentField = new Field();
-            } else {
-                currentField = new Field(-1, wrapSoField);
+        // *** Check to see if the screen is wrapped or unformatted
+        if (fieldStarts.length == 0 || fieldStarts[0] != 0) {
+            int end = this.screenSize;
+            if (fieldStarts.length > 0) {
+                end = fieldStarts[0];
             }
+            fields.add(buildField(-1, wrappedStartOfField, 0, end));
         }
 
-        for (int i = 0; i < this.buffer.length; i++) {
-            IBufferHolder bh = this.buffer[i];
-            if (bh == null) {
-                currentField.appendChar((char) 0x00); // NOSONAR, can't be null
-            } else if (bh instanceof BufferStartOfField) {
-                if (currentField != null) {
-                    fields.add(currentField);
-                }
-                currentField = new Field(i, (BufferStartOfField) bh);
-            } else if (bh instanceof BufferChar) {
-                currentField.appendChar(((BufferChar) bh).getChar());// NOSONAR, can't be null
-            } else {
-                throw new UnsupportedOperationException("Unrecognised buffer type " + bh.getClass().getName());
+        for (int i = 0; i < fieldStarts.length; i++) {
+            int end = this.screenSize;
+            if (i + 1 < fieldStarts.length) {
+                end = fieldStarts[i + 1];
             }
-        }
-        if (currentField != null) {
-            fields.add(currentField);
+            fields.add(buildField(fieldStarts[i], fieldStarts[i], fieldStarts[i] + 1, end));
         }
 
         // *** If the SBA were not in order, possibility that the safeguard first field
@@ -1164,8 +1088,57 @@ public class Screen {
         return fields.toArray(new Field[fields.size()]);
     }
 
+    private Field buildField(int start, int startOfField, int textStart, int textEnd) {
+        Field previousField = findPreviousField(start);
+        // The wrapped field takes its attributes from the last start of field, which may now be a different one
+        if (start < 0 && startOfField != this.fieldsWrappedStartOfField) {
+            previousField = null;
+        }
+        if (previousField != null && previousField.length() == textEnd - textStart + 1
+                && this.buffer.getModificationCount(textStart, textEnd) <= this.fieldsModificationCount
+                && (startOfField < 0
+                        || this.buffer.getModificationCount(startOfField, startOfField + 1) <= this.fieldsModificationCount)) {
+            return previousField;
+        }
+        return newField(start, startOfField, textStart, textEnd);
+    }
+
+    /**
+     * @return the field last calculated which started at a position, -1 for the
+     *         unformatted or wrapped field, or null if there was none
+     */
+    private Field findPreviousField(int start) {
+        if (this.fields == null) {
+            return null;
+        }
+
+        int low = 0;
+        int high = this.fields.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Field field = this.fields[middle];
+            int fieldStart = field.isDummyField() ? -1 : field.getStart();
+            if (fieldStart < start) {
+                low = middle + 1;
+            } else if (fieldStart > start) {
+                high = middle - 1;
+            } else {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private Field newField(int start, int startOfField, int textStart, int textEnd) {
+        return new Field(start, this.buffer.getChars(textStart, textEnd), this.buffer.isProtected(startOfField),
+                this.buffer.isNumeric(startOfField), this.buffer.isDisplay(startOfField),
+                this.buffer.isIntenseDisplay(startOfField), this.buffer.isSelectorPen(startOfField),
+                this.buffer.isFieldModifed(startOfField), this.buffer.getForegroundColour(startOfField),
+                this.buffer.getBackgroundColour(startOfField), this.buffer.getHighlight(startOfField));
+    }
+
     public void searchFieldContaining(String text) throws TextNotFoundException {
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 return;
             }
@@ -1175,29 +1148,24 @@ public class Screen {
     }
 
     public int searchFieldContaining(@NotNull String[] okText, String[] errorText) throws TextNotFoundException, ErrorTextFoundException {
-        if (errorText != null) {
-            for(int i = 0; i < errorText.length; i++) {
-                for (Field field : calculateFields()) {
-                    if (field.containsText(errorText[i])) {
-                        throw new ErrorTextFoundException("Found error text '" + errorText[i] + "' on screen", i);
-                    }
-                }
-            }
-        }
+        return searchFieldContaining(getScreenMatcher(okText, errorText));
+    }
 
-        for(int i = 0; i < okText.length; i++) {
-            for (Field field : calculateFields()) {
-                if (field.containsText(okText[i])) {
-                    return i;
-                }
-            }
-        }
+    public int searchFieldContaining(@NotNull IScreenMatcher matcher) throws TextNotFoundException, ErrorTextFoundException {
+        ScreenMatcher.Search search = ScreenMatcher.of(matcher).newSearch();
+        searchFieldContaining(search);
+        return search.getFoundIndex();
+    }
 
-        throw new TextNotFoundException("Unable to locate text on sreen");
+    /**
+     * Bring a search up to date with the fields of the screen
+     */
+    public synchronized void searchFieldContaining(@NotNull ScreenMatcher.Search search) {
+        search.update(getFields());
     }
 
     public boolean isTextInField(String text) {
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 return true;
             }
@@ -1229,11 +1197,23 @@ public class Screen {
     }
 
     public int waitForTextInField(String[] ok, String[] error, long timeoutInMilliseconds) throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception {
+        return waitForTextInField(getScreenMatcher(ok, error), timeoutInMilliseconds);
+    }
+
+    private synchronized ScreenMatcher getScreenMatcher(@NotNull String[] ok, String[] error) {
+        if (this.lastMatcher == null || !this.lastMatcher.isMatcherFor(ok, error)) {
+            this.lastMatcher = new ScreenMatcher(ok, error);
+        }
+        return this.lastMatcher;
+    }
+
+    public int waitForTextInField(@NotNull IScreenMatcher matcher, long timeoutInMilliseconds) throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception {
         int foundIndex = -1;
         try {
-            foundIndex = ScreenUpdateTextListener.waitForText(this, ok, error, timeoutInMilliseconds);
+            foundIndex = ScreenUpdateTextListener.waitForText(this, matcher, timeoutInMilliseconds);
             if (foundIndex < 0) {
-                if (ok != null && ok.length == 1 && error == null) {
+                String[] ok = matcher.getOkText();
+                if (ok.length == 1 && matcher.getErrorText() == null) {
                     throw new TextNotFoundException(CANT_FIND_TEXT + ok[0] + "'");
                 }
                 throw new TextNotFoundException("Unable to find a field containing any of the request text");
@@ -1252,7 +1232,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 this.screenCursor = field.getStart();
                 return;
@@ -1267,40 +1247,25 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        if (buffer[screenCursor] != null && !(buffer[screenCursor] instanceof BufferChar)) {
+        if (buffer.isStartOfField(screenCursor)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + this.screenCursor);
         }
 
-        BufferStartOfField sf = null;
-        int sfPos = screenCursor - 1;
-        if (sfPos < 0) {
-            sfPos = buffer.length - 1;
-        }
-        while(sfPos != screenCursor) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
-                break;
-            }
-
-            sfPos--;
-            if (sfPos < 0) {
-                sfPos = buffer.length - 1;
-            }
-        }
+        int sf = buffer.findStartOfField(screenCursor);
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (buffer.isProtected(sf)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + screenCursor);
         }
 
         //*** Set this and following characters to null
         int pos = this.screenCursor;
         while(true) {
-            if (!(buffer[pos] instanceof BufferChar)) {
+            if (!buffer.isChar(pos)) {
                 break;
             }
 
-            buffer[pos] = new BufferChar((char) 0);
+            buffer.setChar(pos, (char) 0);
             pos++;
             if (pos >= this.screenSize) {
                 pos = 0;
@@ -1311,9 +1276,7 @@ public class Screen {
             }
         }
 
-        if (sf != null) {
-            sf.setFieldModified();
-        }
+        buffer.setFieldModified(sf);
     }
 
 
@@ -1323,23 +1286,16 @@ public class Screen {
         }
 
         boolean unprotected = false;
-        BufferStartOfField startOfFieldUnprotected = null;
+        int startOfFieldUnprotected = -1;
 
         // *** Check to see if the screen is wrapped or unformatted
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            BufferStartOfField wrapSoField = null;
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    wrapSoField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+        if (!this.buffer.isStartOfField(0)) {
+            int wrapSoField = this.buffer.findLastStartOfField();
 
-            if (wrapSoField == null) {
+            if (wrapSoField < 0) {
                 unprotected = true;  // unformatted, screen, so all unprotected
             } else {
-                unprotected = !wrapSoField.isProtected();
+                unprotected = !this.buffer.isProtected(wrapSoField);
                 startOfFieldUnprotected = wrapSoField;
             }
         }
@@ -1347,22 +1303,17 @@ public class Screen {
 
 
         for(int i = 0; i < this.screenSize; i++) {
-            IBufferHolder bh = this.buffer[i];
-
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField sof = (BufferStartOfField) bh;
-                unprotected = !sof.isProtected();
+            if (this.buffer.isStartOfField(i)) {
+                unprotected = !this.buffer.isProtected(i);
                 if (unprotected) {
-                    startOfFieldUnprotected = sof;
+                    startOfFieldUnprotected = i;
                 } else {
-                    startOfFieldUnprotected = null;
+                    startOfFieldUnprotected = -1;
                 }
             } else {
                 if (unprotected) {
-                    this.buffer[i] = null;
-                    if (startOfFieldUnprotected != null) {
-                        startOfFieldUnprotected.setFieldModified();
-                    }
+                    this.buffer.clear(i);
+                    this.buffer.setFieldModified(startOfFieldUnprotected);
                 }
             }
         }
@@ -1378,9 +1329,8 @@ public class Screen {
         int startPosition = this.screenCursor;
         boolean foundUnprotectedField = false;
 
-        IBufferHolder sfCheck = this.buffer[this.screenCursor];    
-        if (sfCheck instanceof BufferStartOfField) {
-            foundUnprotectedField = !((BufferStartOfField)sfCheck).isProtected();
+        if (this.buffer.isStartOfField(this.screenCursor)) {
+            foundUnprotectedField = !this.buffer.isProtected(this.screenCursor);
         }
         while(true) {
             // advance the cursor
@@ -1390,19 +1340,14 @@ public class Screen {
             }
 
             // Get the entry at this position
-            IBufferHolder previousBuffer = this.buffer[this.screenCursor];
-            if (previousBuffer == null || previousBuffer instanceof BufferChar) {
+            if (!this.buffer.isStartOfField(this.screenCursor)) {
                 // if this is a character and we are in an unprotected field, use it
                 if (foundUnprotectedField) {
                     return;
                 }
-            } else  if (previousBuffer instanceof BufferStartOfField) {
-                // we have a start of field
-                BufferStartOfField sof = (BufferStartOfField) previousBuffer;
-                // record if it is unprotected or not
-                foundUnprotectedField = !sof.isProtected();
             } else {
-                throw new FieldNotFoundException("Unrecognised buffer type at pos " + this.screenCursor);
+                // we have a start of field, record if it is unprotected or not
+                foundUnprotectedField = !this.buffer.isProtected(this.screenCursor);
             }
 
             if (this.screenCursor == startPosition) {
@@ -1430,15 +1375,13 @@ public class Screen {
             }
 
             // Get the entry in the previous position
-            IBufferHolder previousBuffer = this.buffer[previousPositionInBuffer];
-            if (previousBuffer == null || previousBuffer instanceof BufferChar) {
+            if (!this.buffer.isStartOfField(previousPositionInBuffer)) {
                 // if it is null or a character, mark position as the last valid position whether unprotected or not
                 lastCharField = previousPositionInBuffer;
-            } else  if (previousBuffer instanceof BufferStartOfField) {
+            } else {
                 // we have a start of field
-                BufferStartOfField sof = (BufferStartOfField) previousBuffer;
                 //if it is protected, invalidate the last valid char position
-                if (sof.isProtected()) {
+                if (this.buffer.isProtected(previousPositionInBuffer)) {
                     lastCharField = -1;
                 } else {
                     // as unprotected field,  indicate that there is atleast one on the screen
@@ -1449,8 +1392,6 @@ public class Screen {
                         return;
                     }
                 }
-            } else {
-                throw new FieldNotFoundException("Unrecognised buffer type at pos " + previousPositionInBuffer);
             }
 
             this.screenCursor = previousPositionInBuffer;
@@ -1516,7 +1457,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         if (fields == null || fields.length == 0) {
             this.screenCursor = 0;
@@ -1545,7 +1486,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
 
         int newCursor = ((this.screenCursor / this.columns) + 1) * this.columns;
@@ -1603,36 +1544,21 @@ public class Screen {
         return;
     }
 
-    public void backSpace() throws KeyboardLockedException, FieldNotFoundException {
+    public synchronized void backSpace() throws KeyboardLockedException, FieldNotFoundException {
         if (keyboardLockSet) {
             throw new KeyboardLockedException("Unable to type as keyboard is locked");
         }
 
         int position = this.screenCursor;
 
-        if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+        if (buffer.isStartOfField(position)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + this.screenCursor);
         }
 
-        BufferStartOfField sf = null;
-        int sfPos = position - 1;
-        if (sfPos < 0) {
-            sfPos = buffer.length - 1;
-        }
-        while(sfPos != position) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
-                break;
-            }
-
-            sfPos--;
-            if (sfPos < 0) {
-                sfPos = buffer.length - 1;
-            }
-        }
+        int sfPos = buffer.findStartOfField(position);
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (buffer.isProtected(sfPos)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
@@ -1645,15 +1571,14 @@ public class Screen {
         }
 
         while(true) {
-            this.buffer[position - 1] = this.buffer[position];
-            this.buffer[position] = null;
+            this.buffer.move(position, position - 1);
 
             position++;
             if (position >= this.screenSize) {
                 break;
             }
 
-            if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+            if (buffer.isStartOfField(position)) {
                 break;
             }
         }
@@ -1688,7 +1613,7 @@ public class Screen {
     }
 
     public Field locateFieldAt(int cursorPos) {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         int fieldPosition = 0;
         for (; fieldPosition < fields.length; fieldPosition++) {
@@ -1702,7 +1627,7 @@ public class Screen {
 
     public String getValueFromFieldContaining(String text) throws TextNotFoundException {
         Boolean foundHeader = false;
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (!foundHeader) {
                 if (field.containsText(text)) {
                     foundHeader = true;
@@ -1733,29 +1658,14 @@ public class Screen {
             throw new KeyboardLockedException("Unable to type as keyboard is locked");
         }
 
-        if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+        if (buffer.isStartOfField(position)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
-        BufferStartOfField sf = null;
-        int sfPos = position - 1;
-        if (sfPos < 0) {
-            sfPos = buffer.length - 1;
-        }
-        while(sfPos != position) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
-                break;
-            }
-
-            sfPos--;
-            if (sfPos < 0) {
-                sfPos = buffer.length - 1;
-            }
-        }
+        int sfPos = buffer.findStartOfField(position);
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (buffer.isProtected(sfPos)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
@@ -1764,17 +1674,13 @@ public class Screen {
         }
 
         for (int i = 0; i < text.length(); i++) {
-            IBufferHolder bh = buffer[position];
-            if (bh != null && !(bh instanceof BufferChar)) {
+            if (buffer.isStartOfField(position)) {
                 throw new FieldNotFoundException(
                         "Unable to type where the cursor is pointing to - " + position);
             }
 
-            buffer[position] = new BufferChar(text.charAt(i));
-
-            if (sf != null) {
-                sf.setFieldModified();
-            }
+            buffer.setChar(position, text.charAt(i));
+            buffer.setFieldModified(sfPos);
 
             // We have successfully typed a character, so make sure the cursor is positioned
             // at the next unprotected char, even if it is the position we were just at
@@ -1787,17 +1693,15 @@ public class Screen {
                 }
 
                 this.screenCursor = position;
-                bh = buffer[position];
 
-                if (unprotected && (bh == null || (bh instanceof BufferChar))) {
+                if (unprotected && !buffer.isStartOfField(position)) {
                     break;
                 }
 
-                if (bh != null && (bh instanceof BufferStartOfField)) {
-                    BufferStartOfField sof = (BufferStartOfField) bh;
-                    unprotected = !sof.isProtected();
+                if (buffer.isStartOfField(position)) {
+                    unprotected = !buffer.isProtected(position);
                     if (unprotected) {
-                        sf = sof;
+                        sfPos = position;
                     }
                 }
             }
@@ -1846,7 +1750,7 @@ public class Screen {
     }
 
     public String printFields() {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         StringBuilder sb = new StringBuilder();
         for (Field field : fields) {
@@ -1857,24 +1761,24 @@ public class Screen {
         return sb.toString();
     }
 
-    public void setBuffer(IBufferHolder[] newBuffer) {
-        for (int i = 0; i < this.buffer.length && i < newBuffer.length; i++) {
-            this.buffer[i] = newBuffer[i];
+    public synchronized void setBuffer(IBufferHolder[] newBuffer) {
+        for (int i = 0; i < this.screenSize && i < newBuffer.length; i++) {
+            this.buffer.set(i, newBuffer[i], this.codePage);
         }
     }
 
-    public void setBuffer(int col, int row, String text) {
+    public synchronized void setBuffer(int col, int row, String text) {
         int pos = (row * columns) + col;
         for (int i = 0; i < text.length(); i++) {
-            buffer[pos] = new BufferChar(text.charAt(i));
+            buffer.setChar(pos, text.charAt(i));
             pos++;
         }
     }
 
-    public void nullify(int col, int row, int len) {
+    public synchronized void nullify(int col, int row, int len) {
         int pos = (row * columns) + col;
         for (int i = 0; i < len; i++) {
-            buffer[pos] = null;
+            buffer.clear(pos);
             pos++;
         }
     }
@@ -1882,7 +1786,7 @@ public class Screen {
     public Field getFieldAt(int col, int row) {
         int pos = (row * columns) + col;
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -1941,18 +1845,12 @@ public class Screen {
     }
 
     public synchronized boolean isClearScreen() {
-        for(IBufferHolder bh : buffer) {
-            if (bh != null) {
-                return false;
-            }
-        }
-
-        return true;
+        return buffer.isClear();
     }
 
     public Colour getColourAtPosition(int pos) {
         
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -1965,7 +1863,7 @@ public class Screen {
     }
 
     public Highlight getHighlightAtPosition(int pos) {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -0,0 +1,414 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.spi;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * The buffer positions of a 3270 screen, held as parallel arrays of primitives
+ * rather than an object per position.
+ *
+ * Each position holds the character returned by {@link IBufferHolder#getChar()} for
+ * the equivalent buffer holder, 0 for an empty position, and the kind of buffer holder
+ * it is. Start of field positions also hold their field attributes, and control orders
+ * and graphics escapes hold the byte sent back to the host.
+ *
+ * Where a start of field position is asked for, -1 means the screen is unformatted
+ * and gives the attributes of an unformatted screen.
+ *
+ */
+class ScreenBuffer {
+
+    private static final byte  EMPTY           = 0;
+    private static final byte  CHARACTER       = 1;
+    private static final byte  START_OF_FIELD  = 2;
+    private static final byte  CONTROL         = 3;
+    private static final byte  GRAPHICS_ESCAPE = 4;
+
+    private static final byte  PROTECTED       = 0x01;
+    private static final byte  NUMERIC         = 0x02;
+    private static final byte  DISPLAY         = 0x04;
+    private static final byte  INTENSE_DISPLAY = 0x08;
+    private static final byte  SELECTOR_PEN    = 0x10;
+    private static final byte  FIELD_MODIFIED  = 0x20;
+
+    private static final Colour[]    COLOURS    = Colour.values();
+    private static final Highlight[] HIGHLIGHTS = Highlight.values();
+
+    private final int          size;
+
+    private final char[]       chars;
+    private final byte[]       types;
+    private final byte[]       attributes;
+    private final byte[]       foregroundColours;
+    private final byte[]       backgroundColours;
+    private final byte[]       highlights;
+    private final byte[]       orderBytes;
+
+    // The start of field positions in ascending order, null if they have changed since last found
+    private int[]              fieldStarts;
+
+    private long               modificationCount;
+
+    // The modification count when each position was last changed
+    private final long[]       positionModificationCounts;
+
+    ScreenBuffer(int size) {
+        this.size              = size;
+        this.chars             = new char[size];
+        this.types             = new byte[size];
+        this.attributes        = new byte[size];
+        this.foregroundColours = new byte[size];
+        this.backgroundColours = new byte[size];
+        this.highlights        = new byte[size];
+        this.orderBytes        = new byte[size];
+        this.positionModificationCounts = new long[size];
+        this.fieldStarts       = new int[0];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return a count which changes whenever any position of the buffer is changed
+     */
+    long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * @return the modification count when any of the positions from start up to end
+     *         was last changed
+     */
+    long getModificationCount(int start, int end) {
+        long latest = 0;
+        for (int i = start; i < end; i++) {
+            latest = Math.max(latest, this.positionModificationCounts[i]);
+        }
+        return latest;
+    }
+
+    void clear() {
+        Arrays.fill(this.chars, (char) 0);
+        Arrays.fill(this.types, EMPTY);
+        this.fieldStarts = new int[0];
+        this.modificationCount++;
+        Arrays.fill(this.positionModificationCounts, this.modificationCount);
+    }
+
+    void clear(int position) {
+        setType(position, EMPTY);
+        this.chars[position] = 0;
+    }
+
+    void setChar(int position, char character) {
+        setType(position, CHARACTER);
+        this.chars[position] = character;
+    }
+
+    /**
+     * Set a control order, such as a new line, which is shown as a space
+     */
+    void setControl(int position, byte order) {
+        setType(position, CONTROL);
+        this.chars[position] = ' ';
+        this.orderBytes[position] = order;
+    }
+
+    void setGraphicsEscape(int position, byte data) {
+        setType(position, GRAPHICS_ESCAPE);
+        this.chars[position] = ' ';
+        this.orderBytes[position] = data;
+    }
+
+    void setStartOfField(int position, boolean fieldProtected, boolean fieldNumeric, boolean fieldDisplay,
+            boolean fieldIntenseDisplay, boolean fieldSelectorPen, boolean fieldModifed,
+            Highlight highlight, Colour foregroundColour, Colour backgroundColour) {
+        setType(position, START_OF_FIELD);
+        this.chars[position] = ' ';
+
+        byte fieldAttributes = 0;
+        if (fieldProtected) {
+            fieldAttributes |= PROTECTED;
+        }
+        if (fieldNumeric) {
+            fieldAttributes |= NUMERIC;
+        }
+        if (fieldDisplay) {
+            fieldAttributes |= DISPLAY;
+        }
+        if (fieldIntenseDisplay) {
+            fieldAttributes |= INTENSE_DISPLAY;
+        }
+        if (fieldSelectorPen) {
+            fieldAttributes |= SELECTOR_PEN;
+        }
+        if (fieldModifed) {
+            fieldAttributes |= FIELD_MODIFIED;
+        }
+        this.attributes[position] = fieldAttributes;
+
+        this.highlights[position]        = toByte(highlight);
+        this.foregroundColours[position] = toByte(foregroundColour);
+        this.backgroundColours[position] = toByte(backgroundColour);
+    }
+
+    /**
+     * Set a position from the buffer holder that would represent it
+     */
+    void set(int position, IBufferHolder bufferHolder, Charset codePage) {
+        if (bufferHolder == null) {
+            clear(position);
+        } else if (bufferHolder instanceof BufferStartOfField) {
+            BufferStartOfField sf = (BufferStartOfField) bufferHolder;
+            setStartOfField(position, sf.isProtected(), sf.isNumeric(), sf.isDisplay(), sf.isIntenseDisplay(),
+                    sf.isSelectorPen(), sf.isFieldModifed(), sf.getHighlight(), sf.getForegroundColour(),
+                    sf.getBackgroundColour());
+        } else if (bufferHolder instanceof BufferGraphicsEscape) {
+            setGraphicsEscape(position, ((BufferGraphicsEscape) bufferHolder).getFieldEbcdic(codePage));
+        } else if (bufferHolder instanceof BufferNewLine || bufferHolder instanceof BufferFormFeed
+                || bufferHolder instanceof BufferCarrageReturn || bufferHolder instanceof BufferEndOfMedium) {
+            setControl(position, ((BufferChar) bufferHolder).getFieldEbcdic(codePage));
+        } else if (bufferHolder instanceof BufferChar) {
+            setChar(position, bufferHolder.getChar());
+        } else {
+            throw new UnsupportedOperationException("Unrecognised buffer type " + bufferHolder.getClass().getName());
+        }
+    }
+
+    /**
+     * Move a position to another, leaving the original position empty
+     */
+    void move(int from, int to) {
+        setType(to, this.types[from]);
+        this.chars[to]             = this.chars[from];
+        this.attributes[to]        = this.attributes[from];
+        this.foregroundColours[to] = this.foregroundColours[from];
+        this.backgroundColours[to] = this.backgroundColours[from];
+        this.highlights[to]        = this.highlights[from];
+        this.orderBytes[to]        = this.orderBytes[from];
+        clear(from);
+    }
+
+    boolean isEmpty(int position) {
+        return this.types[position] == EMPTY;
+    }
+
+    boolean isStartOfField(int position) {
+        return this.types[position] == START_OF_FIELD;
+    }
+
+    boolean isGraphicsEscape(int position) {
+        return this.types[position] == GRAPHICS_ESCAPE;
+    }
+
+    /**
+     * @return true if the position holds a character, control order or graphics escape,
+     *         that is anything a {@link BufferChar} would represent
+     */
+    boolean isChar(int position) {
+        byte type = this.types[position];
+        return type == CHARACTER || type == CONTROL || type == GRAPHICS_ESCAPE;
+    }
+
+    boolean isClear() {
+        for (byte type : this.types) {
+            if (type != EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the character of the position, 0 if it is empty
+     */
+    char getChar(int position) {
+        return this.chars[position];
+    }
+
+    /**
+     * @return the characters of the positions from start up to end, with nulls left in
+     */
+    char[] getChars(int start, int end) {
+        return Arrays.copyOfRange(this.chars, start, end);
+    }
+
+    /**
+     * @return the text of the whole buffer, with nulls shown as spaces
+     */
+    String getText() {
+        char[] text = this.chars.clone();
+        for (int i = 0; i < text.length; i++) {
+            if (text[i] == 0) {
+                text[i] = ' ';
+            }
+        }
+        return new String(text);
+    }
+
+    /**
+     * @return the byte the host sees for a position holding a character, control order
+     *         or graphics escape, 0 for a null character
+     */
+    byte getFieldEbcdic(int position, Charset codePage) {
+        if (this.types[position] == CONTROL || this.types[position] == GRAPHICS_ESCAPE) {
+            return this.orderBytes[position];
+        }
+
+        char character = this.chars[position];
+        if (character == 0) {
+            return 0;
+        }
+        return String.valueOf(character).getBytes(codePage)[0];
+    }
+
+    /**
+     * @return the start of field positions in ascending order, which must not be changed
+     */
+    int[] getFieldStarts() {
+        if (this.fieldStarts == null) {
+            int count = 0;
+            int[] starts = new int[16];
+            for (int i = 0; i < this.size; i++) {
+                if (this.types[i] == START_OF_FIELD) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = i;
+                }
+            }
+            this.fieldStarts = Arrays.copyOf(starts, count);
+        }
+        return this.fieldStarts;
+    }
+
+    /**
+     * Find the start of the field containing a position, searching backwards from the
+     * position before it and wrapping round the end of the buffer
+     *
+     * @return the start of field position, or -1 if there are no other start of fields
+     */
+    int findStartOfField(int position) {
+        int[] starts = getFieldStarts();
+        int index = Arrays.binarySearch(starts, position);
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        if (index > 0) {
+            return starts[index - 1];
+        }
+        if (starts.length > 0 && starts[starts.length - 1] != position) {
+            return starts[starts.length - 1];
+        }
+        return -1;
+    }
+
+    /**
+     * @return the last start of field position, or -1 if there are no start of fields
+     */
+    int findLastStartOfField() {
+        int[] starts = getFieldStarts();
+        if (starts.length == 0) {
+            return -1;
+        }
+        return starts[starts.length - 1];
+    }
+
+    boolean isProtected(int startOfField) {
+        return isAttributeSet(startOfField, PROTECTED);
+    }
+
+    boolean isNumeric(int startOfField) {
+        return isAttributeSet(startOfField, NUMERIC);
+    }
+
+    boolean isDisplay(int startOfField) {
+        return startOfField < 0 || isAttributeSet(startOfField, DISPLAY);
+    }
+
+    boolean isIntenseDisplay(int startOfField) {
+        return isAttributeSet(startOfField, INTENSE_DISPLAY);
+    }
+
+    boolean isSelectorPen(int startOfField) {
+        return isAttributeSet(startOfField, SELECTOR_PEN);
+    }
+
+    boolean isFieldModifed(int startOfField) {
+        return isAttributeSet(startOfField, FIELD_MODIFIED);
+    }
+
+    void setFieldModified(int startOfField) {
+        if (startOfField >= 0 && !isFieldModifed(startOfField)) {
+            this.attributes[startOfField] |= FIELD_MODIFIED;
+            modified(startOfField);
+        }
+    }
+
+    void clearFieldModified(int startOfField) {
+        if (startOfField >= 0 && isFieldModifed(startOfField)) {
+            this.attributes[startOfField] &= ~FIELD_MODIFIED;
+            modified(startOfField);
+        }
+    }
+
+    Highlight getHighlight(int startOfField) {
+        if (startOfField < 0 || this.highlights[startOfField] == 0) {
+            return null;
+        }
+        return HIGHLIGHTS[this.highlights[startOfField] - 1];
+    }
+
+    Colour getForegroundColour(int startOfField) {
+        if (startOfField < 0) {
+            return null;
+        }
+        return toColour(this.foregroundColours[startOfField]);
+    }
+
+    Colour getBackgroundColour(int startOfField) {
+        if (startOfField < 0) {
+            return null;
+        }
+        return toColour(this.backgroundColours[startOfField]);
+    }
+
+    private boolean isAttributeSet(int startOfField, byte attribute) {
+        return startOfField >= 0 && (this.attributes[startOfField] & attribute) != 0;
+    }
+
+    private void setType(int position, byte type) {
+        if (this.types[position] == START_OF_FIELD || type == START_OF_FIELD) {
+            this.fieldStarts = null;
+        }
+        this.types[position] = type;
+        modified(position);
+    }
+
+    private void modified(int position) {
+        this.modificationCount++;
+        this.positionModificationCounts[position] = this.modificationCount;
+    }
+
+    private static byte toByte(Enum<?> value) {
+        if (value == null) {
+            return 0;
+        }
+        return (byte) (value.ordinal() + 1);
+    }
+
+    private static Colour toColour(byte value) {
+        if (value == 0) {
+            return null;
+        }
+        return COLOURS[value - 1];
+    }
+
+}
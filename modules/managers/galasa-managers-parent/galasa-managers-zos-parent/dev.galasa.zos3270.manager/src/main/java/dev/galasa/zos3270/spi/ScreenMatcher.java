@@ -0,0 +1,280 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.spi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.zos3270.ErrorTextFoundException;
+import dev.galasa.zos3270.IScreenMatcher;
+import dev.galasa.zos3270.TextNotFoundException;
+
+/**
+ * Finds all of the ok and error text in a field in one pass over its characters,
+ * using an Aho-Corasick automaton built once from the text.
+ *
+ * The text is found as {@link Screen#searchFieldContaining(String[], String[])} finds it,
+ * within a single field with nulls left in, and the lowest index found wins, with any
+ * error text found winning over ok text.
+ */
+public class ScreenMatcher implements IScreenMatcher {
+
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+    private static final int ROOT      = 0;
+
+    private final String[]   okText;
+    private final String[]   errorText;
+
+    // The edges out of each node of the trie of the text, in character order
+    private final char[][]   edgeChars;
+    private final int[][]    edgeNodes;
+
+    // The node of the longest proper suffix of each node which is also in the trie
+    private final int[]      failureNodes;
+
+    // The lowest index of the text ending at each node or any of its suffixes, NOT_FOUND if none does
+    private final int[]      okIndexes;
+    private final int[]      errorIndexes;
+
+    public ScreenMatcher(@NotNull String[] okText, String[] errorText) {
+        this.okText = okText.clone();
+        this.errorText = (errorText == null) ? null : errorText.clone();
+
+        ArrayList<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        ArrayList<Integer> okFound = new ArrayList<>();
+        ArrayList<Integer> errorFound = new ArrayList<>();
+        addNode(trie, okFound, errorFound);
+
+        for (int i = 0; i < this.okText.length; i++) {
+            int node = addText(trie, okFound, errorFound, this.okText[i]);
+            okFound.set(node, Math.min(okFound.get(node), i));
+        }
+        if (this.errorText != null) {
+            for (int i = 0; i < this.errorText.length; i++) {
+                int node = addText(trie, okFound, errorFound, this.errorText[i]);
+                errorFound.set(node, Math.min(errorFound.get(node), i));
+            }
+        }
+
+        int nodes = trie.size();
+        this.edgeChars = new char[nodes][];
+        this.edgeNodes = new int[nodes][];
+        this.failureNodes = new int[nodes];
+        this.okIndexes = new int[nodes];
+        this.errorIndexes = new int[nodes];
+        for (int node = 0; node < nodes; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            this.edgeChars[node] = new char[edges.size()];
+            this.edgeNodes[node] = new int[edges.size()];
+            int edge = 0;
+            for (Map.Entry<Character, Integer> entry : edges.entrySet()) {
+                this.edgeChars[node][edge] = entry.getKey();
+                this.edgeNodes[node][edge] = entry.getValue();
+                edge++;
+            }
+            this.okIndexes[node] = okFound.get(node);
+            this.errorIndexes[node] = errorFound.get(node);
+        }
+
+        // *** Visit the nodes breadth first so the suffixes of a node are complete before it
+        int[] queue = new int[nodes];
+        int queueEnd = 0;
+        queue[queueEnd++] = ROOT;
+        for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+            int node = queue[queueStart];
+            for (int edge = 0; edge < this.edgeChars[node].length; edge++) {
+                int child = this.edgeNodes[node][edge];
+                int failureNode = ROOT;
+                if (node != ROOT) {
+                    failureNode = nextNode(this.failureNodes[node], this.edgeChars[node][edge]);
+                }
+                this.failureNodes[child] = failureNode;
+                this.okIndexes[child] = Math.min(this.okIndexes[child], this.okIndexes[failureNode]);
+                this.errorIndexes[child] = Math.min(this.errorIndexes[child], this.errorIndexes[failureNode]);
+                queue[queueEnd++] = child;
+            }
+        }
+    }
+
+    /**
+     * @return the matcher itself if it is a {@link ScreenMatcher}, otherwise one built from its text
+     */
+    public static ScreenMatcher of(@NotNull IScreenMatcher matcher) {
+        if (matcher instanceof ScreenMatcher) {
+            return (ScreenMatcher) matcher;
+        }
+        return new ScreenMatcher(matcher.getOkText(), matcher.getErrorText());
+    }
+
+    @Override
+    public String[] getOkText() {
+        return this.okText.clone();
+    }
+
+    @Override
+    public String[] getErrorText() {
+        return (this.errorText == null) ? null : this.errorText.clone();
+    }
+
+    /**
+     * @return true if the matcher was built from the same ok and error text
+     */
+    public boolean isMatcherFor(@NotNull String[] okText, String[] errorText) {
+        return Arrays.equals(this.okText, okText) && Arrays.equals(this.errorText, errorText);
+    }
+
+    /**
+     * @return a new search of a screen for the text
+     */
+    public Search newSearch() {
+        return new Search();
+    }
+
+    private static int addNode(ArrayList<TreeMap<Character, Integer>> trie, ArrayList<Integer> okFound,
+            ArrayList<Integer> errorFound) {
+        trie.add(new TreeMap<>());
+        okFound.add(NOT_FOUND);
+        errorFound.add(NOT_FOUND);
+        return trie.size() - 1;
+    }
+
+    private static int addText(ArrayList<TreeMap<Character, Integer>> trie, ArrayList<Integer> okFound,
+            ArrayList<Integer> errorFound, String text) {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            Integer child = trie.get(node).get(text.charAt(i));
+            if (child == null) {
+                child = addNode(trie, okFound, errorFound);
+                trie.get(node).put(text.charAt(i), child);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int nextNode(int node, char character) {
+        while (true) {
+            int edge = findEdge(this.edgeChars[node], character);
+            if (edge >= 0) {
+                return this.edgeNodes[node][edge];
+            }
+            if (node == ROOT) {
+                return ROOT;
+            }
+            node = this.failureNodes[node];
+        }
+    }
+
+    private static int findEdge(char[] chars, char character) {
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (chars[middle] < character) {
+                low = middle + 1;
+            } else if (chars[middle] > character) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The progress of searching a screen for the text of the matcher, which is brought
+     * up to date as the screen changes by {@link Screen#searchFieldContaining(Search)}.
+     *
+     * Only the fields which have changed since the search was last brought up to date
+     * are searched again, as the screen keeps an unchanged field as the same object.
+     */
+    public class Search {
+
+        private Field[] fields = new Field[0];
+        private int[]   fieldOkIndexes = new int[0];
+        private int[]   fieldErrorIndexes = new int[0];
+
+        private int     okIndex = NOT_FOUND;
+        private int     errorIndex = NOT_FOUND;
+
+        private Search() {
+        }
+
+        void update(Field[] newFields) {
+            if (newFields == this.fields) {
+                return;
+            }
+
+            int[] newOkIndexes = new int[newFields.length];
+            int[] newErrorIndexes = new int[newFields.length];
+            this.okIndex = NOT_FOUND;
+            this.errorIndex = NOT_FOUND;
+
+            int previous = 0;
+            for (int i = 0; i < newFields.length; i++) {
+                Field field = newFields[i];
+                while (previous < this.fields.length && this.fields[previous].getStart() < field.getStart()) {
+                    previous++;
+                }
+
+                if (previous < this.fields.length && this.fields[previous] == field) {
+                    newOkIndexes[i] = this.fieldOkIndexes[previous];
+                    newErrorIndexes[i] = this.fieldErrorIndexes[previous];
+                } else {
+                    searchField(field.getText(), newOkIndexes, newErrorIndexes, i);
+                }
+
+                this.okIndex = Math.min(this.okIndex, newOkIndexes[i]);
+                this.errorIndex = Math.min(this.errorIndex, newErrorIndexes[i]);
+            }
+
+            this.fields = newFields;
+            this.fieldOkIndexes = newOkIndexes;
+            this.fieldErrorIndexes = newErrorIndexes;
+        }
+
+        private void searchField(char[] text, int[] fieldOkIndexes, int[] fieldErrorIndexes, int field) {
+            int node = ROOT;
+            int fieldOkIndex = okIndexes[ROOT];
+            int fieldErrorIndex = errorIndexes[ROOT];
+            for (int i = 0; i < text.length && fieldErrorIndex > 0; i++) {
+                node = nextNode(node, text[i]);
+                fieldOkIndex = Math.min(fieldOkIndex, okIndexes[node]);
+                fieldErrorIndex = Math.min(fieldErrorIndex, errorIndexes[node]);
+            }
+            fieldOkIndexes[field] = fieldOkIndex;
+            fieldErrorIndexes[field] = fieldErrorIndex;
+        }
+
+        /**
+         * @return true if any of the ok or error text has been found
+         */
+        public boolean isFound() {
+            return this.errorIndex != NOT_FOUND || this.okIndex != NOT_FOUND;
+        }
+
+        /**
+         * @return the index of the ok text found
+         * @throws ErrorTextFoundException if any error text was found, with the lowest index of it found
+         * @throws TextNotFoundException if none of the text was found
+         */
+        public int getFoundIndex() throws ErrorTextFoundException, TextNotFoundException {
+            if (this.errorIndex != NOT_FOUND) {
+                throw new ErrorTextFoundException("Found error text '" + errorText[this.errorIndex] + "' on screen",
+                        this.errorIndex);
+            }
+            if (this.okIndex != NOT_FOUND) {
+                return this.okIndex;
+            }
+            throw new TextNotFoundException("Unable to locate text on sreen");
+        }
+    }
+
+}
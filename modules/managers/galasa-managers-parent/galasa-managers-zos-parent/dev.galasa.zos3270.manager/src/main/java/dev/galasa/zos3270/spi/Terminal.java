@@ -21,6 +21,7 @@ import dev.galasa.zos3270.AttentionIdentification;
 import dev.galasa.zos3270.ErrorTextFoundException;
 import dev.galasa.zos3270.FieldNotFoundException;
 import dev.galasa.zos3270.IDatastreamListener;
+import dev.galasa.zos3270.IScreenMatcher;
 import dev.galasa.zos3270.ITerminal;
 import dev.galasa.zos3270.KeyboardLockedException;
 import dev.galasa.zos3270.TerminalInterruptedException;
@@ -301,6 +302,23 @@ public class Terminal implements ITerminal {
         return screen.waitForTextInField(ok, error, timeoutInMilliseconds);
     }
 
+    @Override
+    public IScreenMatcher createScreenMatcher(String[] ok, String[] error) {
+        return new ScreenMatcher(ok, error);
+    }
+
+    @Override
+    public int waitForTextInField(IScreenMatcher matcher)
+            throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception {
+        return waitForTextInField(matcher, this.defaultWaitTime);
+    }
+
+    @Override
+    public int waitForTextInField(IScreenMatcher matcher, long timeoutInMilliseconds)
+            throws TerminalInterruptedException, TextNotFoundException, ErrorTextFoundException, Zos3270Exception {
+        return screen.waitForTextInField(matcher, timeoutInMilliseconds);
+    }
+
     @Override
     public ITerminal type(String text) throws KeyboardLockedException, FieldNotFoundException {
         screen.type(text);
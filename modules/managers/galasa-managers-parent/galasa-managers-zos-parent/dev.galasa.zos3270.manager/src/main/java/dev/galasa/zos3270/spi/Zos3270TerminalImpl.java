@@ -5,20 +5,13 @@
  */
 package dev.galasa.zos3270.spi;
 
-import java.io.IOException;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.zip.GZIPOutputStream;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -27,11 +20,8 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
-import dev.galasa.ResultArchiveStoreContentType;
-import dev.galasa.SetContentType;
 import dev.galasa.framework.spi.IConfidentialTextService;
 import dev.galasa.framework.spi.IFramework;
-import dev.galasa.framework.spi.utils.GalasaGson;
 import dev.galasa.textscan.spi.ITextScannerManagerSpi;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
@@ -47,13 +37,12 @@ import dev.galasa.zos3270.internal.properties.ApplyConfidentialTextFiltering;
 import dev.galasa.zos3270.internal.properties.LiveTerminalUrl;
 import dev.galasa.zos3270.internal.properties.LogConsoleTerminals;
 import dev.galasa.zos3270.internal.properties.TerminalDeviceTypes;
+import dev.galasa.zos3270.internal.terminal.TerminalImageWriter;
 
 public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListener {
 
     private Log logger = LogFactory.getLog(getClass());
 
-    private final GalasaGson gson = new GalasaGson();
-
     private final String terminalId;
     private int updateId;
     private final String runId;
@@ -67,7 +56,7 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
     private final Path terminalRasDirectory;
     private int rasTerminalSequence;
     private URL liveTerminalUrl;
-    private int liveTerminalSequence;
+    private final TerminalImageWriter imageWriter;
     private boolean logConsoleTerminals;
     private boolean autoConnect;
 
@@ -129,6 +118,9 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
             }
         }
 
+        this.imageWriter = new TerminalImageWriter(this.terminalId, this.runId, terminalRasDirectory,
+                this.liveTerminalUrl, this.cts, this.applyCtf);
+
         setDeviceTypes(TerminalDeviceTypes.get(image));
 
         logConsoleTerminals = LogConsoleTerminals.get();
@@ -175,6 +167,9 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
             }
         }
 
+        this.imageWriter = new TerminalImageWriter(this.terminalId, this.runId, terminalRasDirectory,
+                this.liveTerminalUrl, this.cts, this.applyCtf);
+
         setDeviceTypes(TerminalDeviceTypes.get(image));
 
         logConsoleTerminals = LogConsoleTerminals.get();
@@ -215,41 +210,11 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         terminalImage.getFields().addAll(buildTerminalFields(getScreen()));
         cachedImages.add(terminalImage);
         if (cachedImages.size() >= 10) {
-            writeRasOutput();
+            queueRasOutput();
             flushTerminalCache();
         }
 
-        if (liveTerminalUrl != null) {
-            try {
-                liveTerminalSequence++;
-                dev.galasa.zos3270.common.screens.Terminal liveTerminal = new dev.galasa.zos3270.common.screens.Terminal(
-                        this.terminalId, this.runId, liveTerminalSequence, terminalSize);
-                TerminalImage newTerminalImage = removeConfidentialTextFromTerminalImage(terminalImage);
-                liveTerminal.getImages().add(newTerminalImage);
-
-                JsonObject intermediateJson = (JsonObject) gson.toJsonTree(liveTerminal);
-                stripFalseBooleans(intermediateJson);
-                String tempJson = gson.toJson(intermediateJson);
-
-                HttpURLConnection connection = (HttpURLConnection) this.liveTerminalUrl.openConnection();
-                connection.setRequestMethod("PUT");
-                connection.addRequestProperty("Content-Type", "application/json");
-                connection.setDoInput(true);
-                connection.setDoOutput(true);
-                connection.connect();
-                try (OutputStream os = connection.getOutputStream()) {
-                    IOUtils.write(tempJson, os, StandardCharsets.UTF_8);
-                }
-                if (connection.getResponseCode() != 200) {
-                    logger.warn("Unable to write live terminal due to " + connection.getResponseCode() + " - "
-                            + connection.getResponseMessage());
-                    this.liveTerminalUrl = null;
-                }
-            } catch (Exception e) {
-                logger.error("Failed to write live terminal image, image lost", e);
-                this.liveTerminalUrl = null;
-            }
-        }
+        imageWriter.updateLiveTerminal(terminalImage);
 
         if (logConsoleTerminals) {
             String screenData = getScreen().printScreenTextWithCursor();
@@ -264,103 +229,26 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         }
     }
 
+    /**
+     * Write the cached terminal images to the RAS, waiting until all the images
+     * queued to be written have been written
+     */
     public synchronized void writeRasOutput() {
-        rasTerminalSequence++;
-
-        try {
-            writeTerminalGzJson();
-        } catch (Exception e) {
-            logger.error("Unable to write terminal cache to the RAS", e);
-            rasTerminalSequence--;
-            return;
-        }
+        queueRasOutput();
+        imageWriter.flush();
     }
 
     /**
-     * This method creates JSON representations of the Terminal screens and writes them to the RAS
-     * @throws IOException
+     * Queue the cached terminal images to be written to the RAS in the background
      */
-    private synchronized void writeTerminalGzJson() throws IOException {
+    private synchronized void queueRasOutput() {
         if (this.cachedImages.isEmpty()) {
             return;
         }
 
+        rasTerminalSequence++;
         TerminalSize terminalSize = new TerminalSize(getScreen().getNoOfColumns(), getScreen().getNoOfRows());
-        dev.galasa.zos3270.common.screens.Terminal rasTerminal = new dev.galasa.zos3270.common.screens.Terminal(
-                this.terminalId, this.runId, rasTerminalSequence, terminalSize);
-
-        for (TerminalImage terminalImage : this.cachedImages){
-
-            TerminalImage newTerminalImage = removeConfidentialTextFromTerminalImage(terminalImage);
-            rasTerminal.getImages().add(newTerminalImage);
-        }
-
-        JsonObject intermediateJson = (JsonObject) gson.toJsonTree(rasTerminal);
-        stripFalseBooleans(intermediateJson);
-        String tempJson = gson.toJson(intermediateJson);
-
-        if (applyCtf) {
-            tempJson = cts.removeConfidentialText(tempJson);
-        }
-
-        String terminalFilename = this.terminalId + "-" + String.format("%05d", rasTerminalSequence) + ".gz";
-        Path terminalPath = terminalRasDirectory.resolve(terminalFilename);
-
-        try (GZIPOutputStream gos = new GZIPOutputStream(Files.newOutputStream(terminalPath,
-                new SetContentType(new ResultArchiveStoreContentType("application/zos3270terminal")),
-                StandardOpenOption.CREATE))) {
-            IOUtils.write(tempJson, gos, "utf-8");
-            gos.flush();
-            gos.close();
-        }
-    }
-
-    /**
-     * Creates a copy of the original TerminalImage, iterates through it's TerminalFields and FieldContents,
-     * and creates a new TerminalImage with confidential text removed.
-     * @param terminalImage
-     * @return
-     */
-    private TerminalImage removeConfidentialTextFromTerminalImage(TerminalImage terminalImage){
-        // Create a new TerminalImage based on the one we are iterating on
-        TerminalImage newTerminalImage = new TerminalImage(terminalImage.getSequence(), terminalImage.getId(),
-        terminalImage.isInbound(), terminalImage.getType(), terminalImage.getAid(),terminalImage.getImageSize(),
-        terminalImage.getCursorColumn(), terminalImage.getCursorRow());
-
-        for (TerminalField terminalField : terminalImage.getFields()){
-
-            // Create a new TerminalField based on the one we are iterating on
-            TerminalField newTerminalField = new TerminalField(terminalField.getRow(), terminalField.getColumn(),
-            terminalField.isUnformatted(), terminalField.isFieldProtected(), terminalField.isFieldNumeric(),
-            terminalField.isFieldDisplay(), terminalField.isFieldIntenseDisplay(), terminalField.isFieldSelectorPen(),
-            terminalField.isFieldModifed(), terminalField.getForegroundColour(), terminalField.getBackgroundColour(), terminalField.getHighlight());
-
-            StringBuilder sb = new StringBuilder();
-            for (FieldContents contents : terminalField.getContents()) {
-
-                // Converting FieldContents to Strings and removing confidential text if required
-                for (Character c : contents.getChars()) {
-                    if (c == null) {
-                        sb.append(" ");
-                    } else {
-                        sb.append(c);
-                    }
-                }
-                String fieldText = applyCtf ? cts.removeConfidentialText(sb.toString()) : sb.toString();
-
-                char[] fieldTextCharArray = fieldText.toCharArray();
-                Character[] newArray = new Character[fieldTextCharArray.length];
-                for (int i = 0; i < fieldTextCharArray.length; i++){
-                    newArray[i] = Character.valueOf(fieldTextCharArray[i]);
-                }
-
-                // Create new FieldContents with the new Character[] with confidential text removed
-                FieldContents newFieldContents = new FieldContents(newArray);
-                newTerminalField.getContents().add(newFieldContents);
-            }
-            newTerminalImage.getFields().add(newTerminalField);
-        }
-        return newTerminalImage;
+        imageWriter.writeImages(rasTerminalSequence, terminalSize, new ArrayList<>(this.cachedImages));
     }
 
     public synchronized void flushTerminalCache() {
@@ -0,0 +1,90 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.terminal;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import dev.galasa.framework.spi.IConfidentialTextService;
+import dev.galasa.zos3270.common.screens.FieldContents;
+import dev.galasa.zos3270.common.screens.Terminal;
+import dev.galasa.zos3270.common.screens.TerminalField;
+import dev.galasa.zos3270.common.screens.TerminalImage;
+import dev.galasa.zos3270.common.screens.TerminalSize;
+
+public class TerminalImageWriterTest {
+
+    private Terminal createTerminal() {
+        Terminal terminal = new Terminal("term1", "RUN1", 3, new TerminalSize(80, 24));
+
+        TerminalImage image = new TerminalImage(7, "term1-7", false, null, "ENTER", new TerminalSize(80, 24), 5, 1);
+        TerminalField label = new TerminalField(0, 0, false, true, false, true, false, false, false, 'G', null, null);
+        label.getContents().add(new FieldContents(new Character[] { 'P', 'a', 's', 's', ':' }));
+        TerminalField input = new TerminalField(0, 6, false, false, false, true, true, false, true, null, null, 'R');
+        input.getContents().add(new FieldContents(new Character[] { 's', 'e', 'c', 'r', 'e', 't', null, null }));
+        image.getFields().add(label);
+        image.getFields().add(input);
+        terminal.getImages().add(image);
+
+        return terminal;
+    }
+
+    private JsonElement writeTerminal(TerminalImageWriter writer, Terminal terminal) throws Exception {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        writer.writeTerminal(terminal, json);
+        return JsonParser.parseString(new String(json.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTerminalIsWrittenWithoutFalseBooleansOrNulls() throws Exception {
+        // Given...
+        IConfidentialTextService cts = mock(IConfidentialTextService.class);
+        TerminalImageWriter writer = new TerminalImageWriter("term1", "RUN1", Paths.get("ras"), null, cts, false);
+
+        // When...
+        JsonElement json = writeTerminal(writer, createTerminal());
+
+        // Then...
+        assertThat(json).isEqualTo(JsonParser.parseString("{'id':'term1','runId':'RUN1','sequence':3,"
+                + "'images':[{'sequence':7,'id':'term1-7','imageSize':{'columns':80,'rows':24},"
+                + "'cursorColumn':5,'cursorRow':1,'aid':'ENTER','fields':["
+                + "{'row':0,'column':0,'fieldProtected':true,'fieldDisplay':true,'foregroundColour':'G',"
+                + "'contents':[{'text':'Pass:'}]},"
+                + "{'row':0,'column':6,'fieldDisplay':true,'fieldIntenseDisplay':true,'fieldModifed':true,"
+                + "'highlight':'R','contents':[{'text':'secret  '}]}]}],"
+                + "'defaultSize':{'columns':80,'rows':24}}"));
+    }
+
+    @Test
+    public void testConfidentialTextIsRemovedFromTheFieldText() throws Exception {
+        // Given...
+        IConfidentialTextService cts = mock(IConfidentialTextService.class);
+        when(cts.removeConfidentialText(anyString()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).replace("secret", "**1***"));
+        TerminalImageWriter writer = new TerminalImageWriter("term1", "RUN1", Paths.get("ras"), null, cts, true);
+
+        // When...
+        JsonElement json = writeTerminal(writer, createTerminal());
+
+        // Then...
+        JsonElement input = json.getAsJsonObject().getAsJsonArray("images").get(0).getAsJsonObject()
+                .getAsJsonArray("fields").get(1);
+        assertThat(input.getAsJsonObject().getAsJsonArray("contents").get(0).getAsJsonObject().get("text")
+                .getAsString()).isEqualTo("**1***  ");
+    }
+
+}
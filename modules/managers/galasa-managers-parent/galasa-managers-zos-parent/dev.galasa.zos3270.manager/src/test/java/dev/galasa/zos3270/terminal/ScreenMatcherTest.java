@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.terminal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import dev.galasa.zos3270.ErrorTextFoundException;
+import dev.galasa.zos3270.IScreenMatcher;
+import dev.galasa.zos3270.TextNotFoundException;
+import dev.galasa.zos3270.internal.comms.Inbound3270Message;
+import dev.galasa.zos3270.internal.datastream.AbstractOrder;
+import dev.galasa.zos3270.internal.datastream.BufferAddress;
+import dev.galasa.zos3270.internal.datastream.CommandEraseWrite;
+import dev.galasa.zos3270.internal.datastream.CommandWrite;
+import dev.galasa.zos3270.internal.datastream.OrderSetBufferAddress;
+import dev.galasa.zos3270.internal.datastream.OrderStartField;
+import dev.galasa.zos3270.internal.datastream.OrderText;
+import dev.galasa.zos3270.internal.datastream.WriteControlCharacter;
+import dev.galasa.zos3270.spi.Screen;
+import dev.galasa.zos3270.spi.ScreenMatcher;
+import dev.galasa.zos3270.util.Zos3270TestBase;
+
+public class ScreenMatcherTest extends Zos3270TestBase {
+
+    private Screen createScreen(String... fieldTexts) throws Exception {
+        Screen screen = CreateTestScreen(20, 2, null);
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        for (int i = 0; i < fieldTexts.length; i++) {
+            orders.add(new OrderSetBufferAddress(new BufferAddress(i * 20)));
+            orders.add(new OrderStartField(true, false, true, false, false, false));
+            orders.add(new OrderText(fieldTexts[i], ebcdic));
+        }
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+        return screen;
+    }
+
+    @Test
+    public void testLowestIndexOfOverlappingTextIsFound() throws Exception {
+        // Given...
+        Screen screen = createScreen("Find this message");
+        IScreenMatcher matcher = new ScreenMatcher(new String[] { "messages", "this message", "is mess", "s" }, null);
+
+        // When...
+        int found = screen.searchFieldContaining(matcher);
+
+        // Then...
+        assertThat(found).isEqualTo(1);
+    }
+
+    @Test
+    public void testErrorTextInAnyFieldWinsOverOkText() throws Exception {
+        // Given...
+        Screen screen = createScreen("READY", "ABEND S0C4");
+        IScreenMatcher matcher = new ScreenMatcher(new String[] { "READY" },
+                new String[] { "NOT AUTHORIZED", "S0C", "ABEND" });
+
+        // When...
+        Throwable thrown = catchThrowable(() -> screen.searchFieldContaining(matcher));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(ErrorTextFoundException.class)
+                .hasMessage("Found error text 'S0C' on screen");
+        assertThat(((ErrorTextFoundException) thrown).getErrorId()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTextSpanningTwoFieldsIsNotFound() throws Exception {
+        // Given...
+        Screen screen = createScreen("XXXXXXXXXXXXXXXXXXXA", "BCD");
+
+        // When...
+        Throwable thrown = catchThrowable(() -> screen.searchFieldContaining(new String[] { "ABC" }, null));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(TextNotFoundException.class).hasMessage("Unable to locate text on sreen");
+    }
+
+    @Test
+    public void testMatcherCanBeSharedBetweenScreens() throws Exception {
+        // Given...
+        Screen logonScreen = createScreen("USERID", "PASSWORD");
+        Screen menuScreen = createScreen("MAIN MENU");
+        IScreenMatcher matcher = new ScreenMatcher(new String[] { "PASSWORD", "MENU" }, null);
+
+        // When...
+        int logonFound = logonScreen.waitForTextInField(matcher, 0);
+        int menuFound = menuScreen.waitForTextInField(matcher, 0);
+
+        // Then...
+        assertThat(logonFound).isEqualTo(0);
+        assertThat(menuFound).isEqualTo(1);
+    }
+
+    @Test
+    public void testWaitFindsTextWrittenToTheScreenWhileWaiting() throws Exception {
+        // Given...
+        Screen screen = createScreen("Please wait", "");
+        IScreenMatcher matcher = new ScreenMatcher(new String[] { "Complete" }, new String[] { "Failed" });
+        CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return screen.waitForTextInField(matcher, 10000);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // When...
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(21)));
+        orders.add(new OrderText("Complete", ebcdic));
+        screen.processInboundMessage(new Inbound3270Message(new CommandWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        // Then...
+        assertThat(waiting.get()).isEqualTo(0);
+    }
+
+}
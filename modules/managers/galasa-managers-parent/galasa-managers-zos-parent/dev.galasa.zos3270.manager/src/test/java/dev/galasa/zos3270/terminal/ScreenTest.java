@@ -37,6 +37,7 @@ import dev.galasa.zos3270.internal.datastream.StructuredField;
 import dev.galasa.zos3270.internal.datastream.StructuredFieldReadPartition;
 import dev.galasa.zos3270.internal.datastream.WriteControlCharacter;
 import dev.galasa.zos3270.spi.DatastreamException;
+import dev.galasa.zos3270.spi.Field;
 import dev.galasa.zos3270.spi.NetworkException;
 import dev.galasa.zos3270.spi.Screen;
 import dev.galasa.zos3270.util.Zos3270TestBase;
@@ -311,6 +312,91 @@ public class ScreenTest extends Zos3270TestBase {
         });
     }
 
+    @Test
+    public void testCalculatedFieldsChangeWhenTextIsTyped() throws Exception {
+        // Given...
+        Screen screen = CreateTestScreen(10, 2, null);
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(0)));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderText("Name", ebcdic));
+        orders.add(new OrderStartField(false, false, true, false, false, false));
+        orders.add(new OrderInsertCursor());
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+        Field[] fieldsBeforeTyping = screen.calculateFields();
+
+        // When...
+        screen.type("Bob");
+        Field[] fieldsAfterTyping = screen.calculateFields();
+
+        // Then...
+        assertThat(fieldsBeforeTyping[1].getFieldWithoutNulls()).isEqualTo("              ");
+        assertThat(fieldsBeforeTyping[1].isFieldModifed()).isFalse();
+        assertThat(fieldsAfterTyping[1].getFieldWithoutNulls()).isEqualTo("Bob           ");
+        assertThat(fieldsAfterTyping[1].isFieldModifed()).isTrue();
+    }
+
+    @Test
+    public void testChangingCalculatedFieldsDoesNotChangeTheScreen() throws Exception {
+        // Given...
+        Screen screen = CreateTestScreen(10, 2, null);
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(0)));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderText("Hello", ebcdic));
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        // When...
+        Field[] fields = screen.calculateFields();
+        fields[0] = null;
+
+        // Then...
+        assertThat(screen.calculateFields()[0]).isNotNull();
+        assertThat(screen.isTextInField("Hello")).isTrue();
+    }
+
+    @Test
+    public void testWrappedFieldTakesItsAttributesFromTheNewLastFieldWhenTheOldOneIsRemoved() throws Exception {
+        // Given...
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(10)));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderSetBufferAddress(new BufferAddress(15)));
+        orders.add(new OrderStartField(false, false, true, false, false, false));
+
+        Screen screen = CreateTestScreen(10, 2, null);
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        // The wrapped field takes its attributes from the unprotected field at 15
+        assertThat(screen.calculateFields()[0].isProtected()).isFalse();
+
+        // When...
+        // The field at 15 is overwritten, so the protected field at 10 is now the last one
+        ArrayList<AbstractOrder> overwrite = new ArrayList<>();
+        overwrite.add(new OrderSetBufferAddress(new BufferAddress(15)));
+        overwrite.add(new OrderText("X", ebcdic));
+        screen.processInboundMessage(new Inbound3270Message(new CommandWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, false), overwrite));
+
+        Field wrappedField = screen.calculateFields()[0];
+
+        // Then...
+        Screen freshScreen = CreateTestScreen(10, 2, null);
+        orders.add(new OrderSetBufferAddress(new BufferAddress(15)));
+        orders.add(new OrderText("X", ebcdic));
+        freshScreen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        assertThat(freshScreen.calculateFields()[0].isProtected()).isTrue();
+        assertThat(wrappedField.isProtected()).isTrue();
+        assertThat(screen.printFields()).isEqualTo(freshScreen.printFields());
+    }
+
     private ByteBuffer createQueryListBuffer(byte reqtyp, byte... qcodes) {
         int length = 6 + qcodes.length;
         ByteBuffer buffer = ByteBuffer.allocate(length);
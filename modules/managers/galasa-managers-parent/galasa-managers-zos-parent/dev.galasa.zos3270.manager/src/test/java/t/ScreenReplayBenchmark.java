@@ -0,0 +1,78 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package t;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.codec.binary.Hex;
+
+import dev.galasa.zos3270.internal.comms.Inbound3270Message;
+import dev.galasa.zos3270.internal.comms.Network;
+import dev.galasa.zos3270.internal.comms.NetworkThread;
+import dev.galasa.zos3270.spi.Screen;
+import dev.galasa.zos3270.util.Zos3270TestBase;
+
+/**
+ * Replays a recorded datastream into a screen and waits for text in its fields, as a
+ * test driving a terminal does, reporting the time taken and memory allocated per screen.
+ *
+ * Run with the number of screens to replay, which defaults to 20000.
+ */
+public class ScreenReplayBenchmark extends Zos3270TestBase {
+
+    // An erase write of a map with protected labels and unprotected input fields, which restores the keyboard
+    private static final String RECORDED_SCREEN = "f5c311c5e41311405d290242f1c0f8c3e5c6d4e2f0f140e3c5e2e340d4c1d7e2c5e311c5d21d60c3e4e2e3d6d4c5d940d5e4d4c2c5d97a1dd1f1f1f1f1f1f11df011c7f6290242f1c060d7c1d9e340d5e4d4c2c5d97a1dd1f2f2f2f2f2f2f2f2f2f21df0114ad9290242f1c060d8e4c1d5e3c9e3e87a1dd1f3f3f3f340401df0115a50290242f2c061c3d6d5e3d9d6d340e3c5e2e34040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040404040"; // pragma: allowlist secret
+
+    private static final String[] OK_TEXT    = new String[] { "QUANTITY" };
+    private static final String[] ERROR_TEXT = new String[] { "ABEND", "NOT AUTHORIZED", "INVALID" };
+
+    // How many times each screen is searched, as a test polls the screen while waiting
+    private static final int SEARCHES_PER_SCREEN = 5;
+
+    public static void main(String[] args) throws Exception {
+        int screens = 20000;
+        if (args.length > 0) {
+            screens = Integer.parseInt(args[0]);
+        }
+
+        Network network = new Network("here", 1, "a");
+        Screen screen = CreateTestScreen(80, 24, network);
+        NetworkThread networkThread = new NetworkThread(null, screen, null, null);
+
+        byte[] recordedScreen = Hex.decodeHex(RECORDED_SCREEN);
+
+        // Warm up, then measure
+        replay(screen, networkThread, recordedScreen, screens / 10);
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long startAllocated = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        replay(screen, networkThread, recordedScreen, screens);
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - startAllocated;
+
+        System.out.println("Replayed " + screens + " screens");
+        System.out.println(String.format("%.1f us/screen", elapsed / 1000.0 / screens));
+        System.out.println(String.format("%d bytes allocated/screen", allocated / screens));
+    }
+
+    private static void replay(Screen screen, NetworkThread networkThread, byte[] recordedScreen, int screens) throws Exception {
+        for (int i = 0; i < screens; i++) {
+            Inbound3270Message inbound = networkThread.process3270Data(ByteBuffer.wrap(recordedScreen));
+            screen.processInboundMessage(inbound);
+
+            for (int j = 0; j < SEARCHES_PER_SCREEN; j++) {
+                screen.waitForTextInField(OK_TEXT, ERROR_TEXT, 0);
+            }
+            screen.type("12345");
+            screen.searchFieldContaining(OK_TEXT, ERROR_TEXT);
+        }
+    }
+
+}